@@ -0,0 +1,81 @@
+package gestor.bench;
+
+import gestor.Alumno;
+import gestor.GestorUniversidad;
+import gestor.OpcionesGestor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda de alumnos por nombre (ver IndiceNombres) sobre un registro con nombres realistas:
+// muchos comparten nombre o apellido, como en la mesa de ayuda de verdad.
+//   - prefijo: parte del nombre sin tildes ("maria d", "gonz")
+//   - parecidos1 / parecidos2: el mismo texto con un error de tipeo, buscado con distancia 1 y 2
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class BusquedaNombresBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int alumnos;
+
+    private static final int CONSULTAS = 1024; // Potencia de 2: se recorren con una máscara
+
+    private GestorUniversidad gestor;
+    private final String[] prefijos = new String[CONSULTAS];
+    private final String[] conErrores = new String[CONSULTAS];
+    private int turno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosSinteticos.silenciarConsola();
+        Random azar = new Random(17);
+        gestor = new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false));
+        for (int a = 0; a < alumnos; a++) {
+            gestor.registrarAlumno(new Alumno(DatosSinteticos.idAlumno(a), DatosSinteticos.nombrePersona(azar),
+                    1, 8.0, new HashSet<>()));
+        }
+        for (int i = 0; i < CONSULTAS; i++) {
+            String[] palabras = DatosSinteticos.nombrePersona(azar).toLowerCase().split(" ");
+            String palabra = palabras[azar.nextInt(palabras.length)];
+            String texto = palabra.substring(0, Math.min(palabra.length(), 3 + azar.nextInt(4)));
+            prefijos[i] = texto;
+            conErrores[i] = conError(texto, azar);
+        }
+    }
+
+    // Cambia una letra (o da vuelta dos vecinas) en una posición al azar
+    private static String conError(String texto, Random azar) {
+        char[] letras = texto.toCharArray();
+        int p = azar.nextInt(letras.length - 1);
+        if (azar.nextBoolean()) {
+            char c = letras[p];
+            letras[p] = letras[p + 1];
+            letras[p + 1] = c;
+        } else {
+            letras[p] = (char) ('a' + azar.nextInt(26));
+        }
+        return new String(letras);
+    }
+
+    @Benchmark
+    public List<Alumno> prefijo() {
+        return gestor.buscarAlumnosPorNombre(prefijos[turno++ & (CONSULTAS - 1)], 10);
+    }
+
+    @Benchmark
+    public List<Alumno> parecidos1() {
+        return gestor.buscarAlumnosParecidos(conErrores[turno++ & (CONSULTAS - 1)], 1, 10);
+    }
+
+    @Benchmark
+    public List<Alumno> parecidos2() {
+        return gestor.buscarAlumnosParecidos(conErrores[turno++ & (CONSULTAS - 1)], 2, 10);
+    }
+}
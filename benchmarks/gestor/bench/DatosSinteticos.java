@@ -0,0 +1,101 @@
+package gestor.bench;
+
+import gestor.Alumno;
+import gestor.Curso;
+import gestor.GestorUniversidad;
+import gestor.OpcionesGestor;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// --- DATOS SINTÉTICOS PARA BENCHMARKS ---
+// Arma un GestorUniversidad de tamaño configurable con datos pseudoaleatorios (semilla fija),
+// para que dos corridas del mismo benchmark midan exactamente lo mismo.
+public final class DatosSinteticos {
+
+    // Catálogo de temas del que salen los intereses de los alumnos y las áreas de los cursos
+    public static final String[] TEMAS = {
+            "IA", "algoritmos", "redes", "seguridad", "etica", "filosofia", "matematicas", "estadistica",
+            "bases de datos", "compiladores", "sistemas operativos", "graficos", "robotica", "fisica",
+            "quimica", "biologia", "economia", "finanzas", "derecho", "historia", "literatura", "arte",
+            "musica", "diseño", "marketing", "psicologia", "sociologia", "idiomas", "geografia", "web",
+            "moviles", "nube", "datos", "optimizacion", "criptografia", "electronica", "control",
+            "energia", "ambiente", "salud"
+    };
+
+    // Nombres y apellidos comunes (con tildes), para las búsquedas por nombre
+    public static final String[] NOMBRES = {
+            "María", "José", "Juan", "Ana", "Luis", "Carmen", "Carlos", "Lucía", "Jorge", "Sofía",
+            "Pedro", "Valentina", "Andrés", "Camila", "Miguel", "Isabel", "Diego", "Paula", "Javier", "Inés",
+            "Alejandro", "Daniela", "Fernando", "Gabriela", "Ricardo", "Mónica", "Sebastián", "Natalia",
+            "Tomás", "Verónica", "Raúl", "Patricia", "Ángel", "Beatriz", "Óscar", "Adriana", "Héctor", "Elena"
+    };
+    public static final String[] APELLIDOS = {
+            "García", "Rodríguez", "González", "Fernández", "López", "Martínez", "Sánchez", "Pérez", "Gómez",
+            "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez", "Romero", "Alonso",
+            "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez", "Serrano",
+            "Blanco", "Molina", "Morales", "Suárez", "Ortega", "Delgado", "Castro", "Ortiz", "Rubio", "Marín",
+            "Sanz", "Núñez", "Iglesias", "Medina", "Garrido", "Cortés", "Castillo", "Santos", "Lozano", "Guerrero"
+    };
+
+    public static final int CUPO_POR_CURSO = 30;
+
+    private DatosSinteticos() { }
+
+    // Los métodos del gestor todavía imprimen en consola; en un benchmark eso solo mediría la terminal.
+    public static void silenciarConsola() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public static String idAlumno(int i) { return "A" + i; }
+    public static String idCurso(int i) { return "C" + i; }
+
+    public static Alumno nuevoAlumno(int i, Random azar) {
+        return new Alumno(idAlumno(i), "Alumno " + i, 1 + azar.nextInt(10),
+                Math.round(azar.nextDouble() * 100) / 10.0, temasAlAzar(azar, 3));
+    }
+
+    // "Nombre Apellido Apellido" al azar (ej: "Lucía Díaz Romero")
+    public static String nombrePersona(Random azar) {
+        return NOMBRES[azar.nextInt(NOMBRES.length)] + " " + APELLIDOS[azar.nextInt(APELLIDOS.length)]
+                + " " + APELLIDOS[azar.nextInt(APELLIDOS.length)];
+    }
+
+    public static Curso nuevoCurso(int i, int cupo, Random azar) {
+        return new Curso(idCurso(i), "Curso " + i, "Docente " + (i % 97), cupo, 3 + azar.nextInt(3),
+                temasAlAzar(azar, 2));
+    }
+
+    private static Set<String> temasAlAzar(Random azar, int cantidad) {
+        Set<String> temas = new HashSet<>();
+        while (temas.size() < cantidad) {
+            temas.add(TEMAS[azar.nextInt(TEMAS.length)]);
+        }
+        return temas;
+    }
+
+    // Registra 'cantidadCursos' cursos y 'cantidadAlumnos' alumnos.
+    // Si 'llenarCursos' es verdadero, cada curso queda con su cupo completo (y luego todo nuevo intento va a espera).
+    public static GestorUniversidad construir(int cantidadAlumnos, int cantidadCursos, boolean llenarCursos, long semilla) {
+        silenciarConsola();
+        Random azar = new Random(semilla);
+        GestorUniversidad gestor = new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false));
+        for (int c = 0; c < cantidadCursos; c++) {
+            gestor.registrarCurso(nuevoCurso(c, CUPO_POR_CURSO, azar));
+        }
+        for (int a = 0; a < cantidadAlumnos; a++) {
+            gestor.registrarAlumno(nuevoAlumno(a, azar));
+        }
+        if (llenarCursos) {
+            for (int c = 0; c < cantidadCursos; c++) {
+                for (int k = 0; k < CUPO_POR_CURSO; k++) {
+                    gestor.inscribirAlumnoEnCurso(idAlumno(azar.nextInt(cantidadAlumnos)), idCurso(c));
+                }
+            }
+        }
+        return gestor;
+    }
+}
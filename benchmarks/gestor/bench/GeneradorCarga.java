@@ -0,0 +1,263 @@
+package gestor.bench;
+
+import gestor.GestorUniversidad;
+import gestor.OpcionesGestor;
+import gestor.ServidorHttp;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// --- GENERADOR DE CARGA PARA EL SERVIDOR HTTP ---
+// Simula la apertura de matrícula: abre muchas conexiones a la vez (un hilo virtual por conexión),
+// espera a que TODAS estén abiertas y entonces las suelta juntas. Cada conexión manda varios
+// pedidos seguidos por el mismo socket (keep-alive) con una mezcla de inscripciones, bajas y consultas.
+// Al final muestra pedidos por segundo y la latencia (p50, p99, p99.9, máximo).
+//
+// No es un benchmark JMH: mide el sistema completo (red local, servidor del JDK, gestor).
+//
+// Uso (después de mvn -B -Pjmh package):
+//   java -cp target/benchmarks.jar gestor.bench.GeneradorCarga [--conexiones 5000] [--pedidos 20]
+//        [--alumnos 100000] [--cursos 1000] [--fragmentos 0] [--servidor host:puerto]
+// Sin --servidor levanta uno propio en este mismo proceso con datos sintéticos.
+// Ojo: cada conexión usa un descriptor de archivo (dos si el servidor está en el mismo proceso);
+// para decenas de miles hay que subir el límite del sistema (ulimit -n).
+public class GeneradorCarga {
+
+    public static void main(String[] args) throws Exception {
+        int conexiones = 5000;
+        int pedidos = 20;
+        int cantidadAlumnos = 100_000;
+        int cantidadCursos = 1000;
+        int fragmentos = 0;
+        String destino = null;
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--conexiones": conexiones = Integer.parseInt(args[i + 1]); break;
+                case "--pedidos": pedidos = Integer.parseInt(args[i + 1]); break;
+                case "--alumnos": cantidadAlumnos = Integer.parseInt(args[i + 1]); break;
+                case "--cursos": cantidadCursos = Integer.parseInt(args[i + 1]); break;
+                case "--fragmentos": fragmentos = Integer.parseInt(args[i + 1]); break;
+                case "--servidor": destino = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        GestorUniversidad gestor = null;
+        ServidorHttp servidor = null;
+        String host;
+        int puerto;
+        if (destino == null) {
+            gestor = construir(cantidadAlumnos, cantidadCursos, fragmentos);
+            servidor = new ServidorHttp(gestor, 0);
+            servidor.iniciar();
+            host = "localhost";
+            puerto = servidor.getPuerto();
+        } else {
+            host = destino.substring(0, destino.lastIndexOf(':'));
+            puerto = Integer.parseInt(destino.substring(destino.lastIndexOf(':') + 1));
+        }
+
+        System.out.println("Conexiones: " + conexiones + " | Pedidos por conexión: " + pedidos
+                + " | Destino: " + host + ":" + puerto);
+        Resultado resultado = correr(host, puerto, conexiones, pedidos, cantidadAlumnos, cantidadCursos);
+        resultado.imprimir();
+
+        if (servidor != null) servidor.close();
+        if (gestor != null) gestor.close();
+    }
+
+    // Mismos datos que DatosSinteticos, pero con un gestor concurrente (el servidor lo exige)
+    private static GestorUniversidad construir(int cantidadAlumnos, int cantidadCursos, int fragmentos) {
+        Random azar = new Random(7);
+        GestorUniversidad gestor = new GestorUniversidad(new OpcionesGestor()
+                .concurrente(true).cargarDatosDemo(false).fragmentos(fragmentos));
+        for (int c = 0; c < cantidadCursos; c++) {
+            gestor.registrarCurso(DatosSinteticos.nuevoCurso(c, DatosSinteticos.CUPO_POR_CURSO, azar));
+        }
+        for (int a = 0; a < cantidadAlumnos; a++) {
+            gestor.registrarAlumno(DatosSinteticos.nuevoAlumno(a, azar));
+        }
+        return gestor;
+    }
+
+    // --- Corrida ---
+
+    private static Resultado correr(String host, int puerto, int conexiones, int pedidos,
+                                    int cantidadAlumnos, int cantidadCursos) throws Exception {
+        CountDownLatch abiertas = new CountDownLatch(conexiones);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicLong errores = new AtomicLong();
+        List<Future<long[]>> latencias = new ArrayList<>(conexiones);
+
+        long inicio;
+        long fin;
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < conexiones; c++) {
+                Random azar = new Random(c);
+                latencias.add(hilos.submit(() -> {
+                    long[] tiempos = new long[pedidos];
+                    int hechos = 0;
+                    Conexion conexion = null;
+                    try {
+                        conexion = new Conexion(host, puerto);
+                    } catch (IOException e) {
+                        errores.incrementAndGet();
+                    } finally {
+                        abiertas.countDown();
+                    }
+                    largada.await();
+                    while (conexion != null && hechos < pedidos) {
+                        String pedido = pedidoAlAzar(azar, cantidadAlumnos, cantidadCursos);
+                        long t0 = System.nanoTime();
+                        try {
+                            int codigo = conexion.enviar(pedido, host);
+                            if (codigo >= 500) errores.incrementAndGet();
+                        } catch (IOException e) {
+                            errores.incrementAndGet();
+                            conexion.cerrar();
+                            try {
+                                conexion = new Conexion(host, puerto); // Se reintenta con otra conexión
+                            } catch (IOException otra) {
+                                conexion = null;
+                            }
+                            continue;
+                        }
+                        tiempos[hechos++] = System.nanoTime() - t0;
+                    }
+                    if (conexion != null) conexion.cerrar();
+                    return Arrays.copyOf(tiempos, hechos);
+                }));
+            }
+            abiertas.await();
+            inicio = System.nanoTime();
+            largada.countDown();
+
+            // Se juntan las latencias a medida que terminan (el try espera a todos los hilos)
+            List<long[]> todas = new ArrayList<>(conexiones);
+            for (Future<long[]> f : latencias) {
+                todas.add(f.get());
+            }
+            fin = System.nanoTime();
+
+            int total = 0;
+            for (long[] t : todas) total += t.length;
+            long[] juntas = new long[total];
+            int k = 0;
+            for (long[] t : todas) {
+                System.arraycopy(t, 0, juntas, k, t.length);
+                k += t.length;
+            }
+            Arrays.sort(juntas);
+            return new Resultado(juntas, errores.get(), fin - inicio);
+        }
+    }
+
+    // Mezcla aproximada de un día de matrícula: mayormente inscripciones, algunas bajas y consultas
+    private static String pedidoAlAzar(Random azar, int cantidadAlumnos, int cantidadCursos) {
+        String alumno = DatosSinteticos.idAlumno(azar.nextInt(cantidadAlumnos));
+        String curso = DatosSinteticos.idCurso(azar.nextInt(cantidadCursos));
+        int tirada = azar.nextInt(100);
+        if (tirada < 60) return "POST /inscripciones?alumno=" + alumno + "&curso=" + curso;
+        if (tirada < 70) return "DELETE /inscripciones?alumno=" + alumno + "&curso=" + curso;
+        if (tirada < 80) return "GET /espera?curso=" + curso + "&alumno=" + alumno;
+        if (tirada < 90) return "GET /recomendaciones?alumno=" + alumno;
+        if (tirada < 95) return "GET /carga?alumno=" + alumno;
+        return "GET /demanda?k=10";
+    }
+
+    // --- Cliente HTTP/1.1 mínimo (keep-alive sobre un socket) ---
+
+    private static final class Conexion {
+        private final Socket socket;
+        private final OutputStream salida;
+        private final InputStream entrada;
+
+        Conexion(String host, int puerto) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, puerto), 30_000);
+            salida = socket.getOutputStream();
+            entrada = new BufferedInputStream(socket.getInputStream());
+        }
+
+        // Manda "MÉTODO ruta", lee la respuesta completa y devuelve el código HTTP
+        int enviar(String metodoYRuta, String host) throws IOException {
+            String pedido = metodoYRuta + " HTTP/1.1\r\nHost: " + host + "\r\nContent-Length: 0\r\n\r\n";
+            salida.write(pedido.getBytes(StandardCharsets.US_ASCII));
+            salida.flush();
+
+            String estado = leerLinea();
+            int codigo = Integer.parseInt(estado.substring(9, 12)); // "HTTP/1.1 200 OK"
+            int largo = 0;
+            String linea;
+            while (!(linea = leerLinea()).isEmpty()) {
+                if (linea.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    largo = Integer.parseInt(linea.substring(15).trim());
+                }
+            }
+            long pendientes = largo;
+            while (pendientes > 0) {
+                long saltados = entrada.skip(pendientes);
+                if (saltados <= 0) {
+                    if (entrada.read() < 0) throw new EOFException();
+                    saltados = 1;
+                }
+                pendientes -= saltados;
+            }
+            return codigo;
+        }
+
+        private String leerLinea() throws IOException {
+            StringBuilder sb = new StringBuilder(64);
+            int c;
+            while ((c = entrada.read()) != '\n') {
+                if (c < 0) throw new EOFException();
+                if (c != '\r') sb.append((char) c);
+            }
+            return sb.toString();
+        }
+
+        void cerrar() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nada que hacer
+            }
+        }
+    }
+
+    // --- Resumen ---
+
+    private record Resultado(long[] latenciasOrdenadas, long errores, long duracionNanos) {
+
+        long percentil(double p) {
+            if (latenciasOrdenadas.length == 0) return 0;
+            int i = (int) Math.ceil(p / 100.0 * latenciasOrdenadas.length) - 1;
+            return latenciasOrdenadas[Math.max(0, Math.min(i, latenciasOrdenadas.length - 1))];
+        }
+
+        void imprimir() {
+            double segundos = duracionNanos / 1e9;
+            System.out.printf("Pedidos: %d en %.2f s -> %.0f pedidos/s | Errores: %d%n",
+                    latenciasOrdenadas.length, segundos, latenciasOrdenadas.length / segundos, errores);
+            System.out.printf("Latencia (ms): p50 %.2f | p99 %.2f | p99.9 %.2f | máx %.2f%n",
+                    percentil(50) / 1e6, percentil(99) / 1e6, percentil(99.9) / 1e6,
+                    latenciasOrdenadas.length == 0 ? 0 : latenciasOrdenadas[latenciasOrdenadas.length - 1] / 1e6);
+        }
+    }
+}
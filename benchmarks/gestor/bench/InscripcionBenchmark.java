@@ -0,0 +1,76 @@
+package gestor.bench;
+
+import gestor.GestorUniversidad;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Mide inscripciones y bajas sobre cursos LLENOS, que es el camino caro (lista de espera).
+// Hay un curso "estrella" (C0) con una lista de espera de 'profundidadEspera' alumnos;
+// el resto del catálogo también está lleno para que los mapas tengan el tamaño real.
+//
+// Cada operación da de baja a un alumno de la cohorte de C0 y lo vuelve a inscribir:
+//  - si estaba dentro, se libera un cupo (promoción desde la espera) y él vuelve a la fila;
+//  - si estaba esperando, sale de la fila y vuelve a entrar.
+// En ambos casos el curso queda igual que antes, así que la medición es estable.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class InscripcionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int alumnos;
+
+    @Param({"100", "1000", "10000"})
+    public int cursos;
+
+    @Param({"1000", "100000"})
+    public int profundidadEspera;
+
+    private GestorUniversidad gestor;
+    private String[] cohorte;
+    private String[] ajenos;
+    private int turno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosSinteticos.construir(alumnos, cursos, true, 7);
+        String estrella = DatosSinteticos.idCurso(0);
+
+        // La cohorte de C0: todos los que estén dentro o esperando
+        int tamCohorte = Math.min(alumnos, DatosSinteticos.CUPO_POR_CURSO + profundidadEspera);
+        cohorte = new String[tamCohorte];
+        for (int i = 0; i < tamCohorte; i++) {
+            cohorte[i] = DatosSinteticos.idAlumno(i);
+            gestor.inscribirAlumnoEnCurso(cohorte[i], estrella);
+        }
+
+        // Alumnos que nunca pidieron C0 (para medir la inscripción directo a la espera)
+        Random azar = new Random(11);
+        ajenos = new String[1024];
+        for (int i = 0; i < ajenos.length; i++) {
+            ajenos[i] = DatosSinteticos.idAlumno((tamCohorte + azar.nextInt(Math.max(1, alumnos - tamCohorte))) % alumnos);
+        }
+    }
+
+    @Benchmark
+    public void bajaYReinscripcion() {
+        String alumno = cohorte[turno = (turno + 7919) % cohorte.length];
+        gestor.darDeBajaAlumnoDelCurso(alumno, "C0");
+        gestor.inscribirAlumnoEnCurso(alumno, "C0");
+    }
+
+    // Un alumno nuevo pide un curso lleno (va a la espera) y luego renuncia a la espera.
+    @Benchmark
+    public void inscribirEnCursoLlenoYRetirarse() {
+        turno = (turno + 1) & Integer.MAX_VALUE;
+        String alumno = ajenos[turno & 1023];
+        String curso = DatosSinteticos.idCurso(1 + (turno % Math.max(1, cursos - 1)));
+        gestor.inscribirAlumnoEnCurso(alumno, curso);
+        gestor.darDeBajaAlumnoDelCurso(alumno, curso);
+    }
+}
@@ -0,0 +1,55 @@
+package gestor.bench;
+
+import gestor.GestorUniversidad;
+import gestor.ResultadoInscripcion;
+import gestor.SolicitudInscripcion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compara una ráfaga de inscripciones (una generación entera pidiendo los cursos troncales)
+// enviada pedido por pedido contra la misma ráfaga enviada con inscribirEnLote.
+// Cada invocación parte de un gestor recién armado (sin contar ese armado), porque la ráfaga lo modifica.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class InscripcionLoteBenchmark {
+
+    @Param({"1000", "20000"})
+    public int generacion;
+
+    @Param({"5"})
+    public int troncales;
+
+    private GestorUniversidad gestor;
+    private List<SolicitudInscripcion> solicitudes;
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        gestor = DatosSinteticos.construir(generacion, 50, false, 3);
+        solicitudes = new ArrayList<>(generacion * troncales);
+        for (int a = 0; a < generacion; a++) {
+            for (int c = 0; c < troncales; c++) {
+                solicitudes.add(new SolicitudInscripcion(DatosSinteticos.idAlumno(a), DatosSinteticos.idCurso(c)));
+            }
+        }
+    }
+
+    @Benchmark
+    public GestorUniversidad unoPorUno() {
+        for (SolicitudInscripcion solicitud : solicitudes) {
+            gestor.inscribirAlumnoEnCurso(solicitud.getIdAlumno(), solicitud.getIdCurso());
+        }
+        return gestor;
+    }
+
+    @Benchmark
+    public ResultadoInscripcion[] enLote() {
+        return gestor.inscribirEnLote(solicitudes);
+    }
+}
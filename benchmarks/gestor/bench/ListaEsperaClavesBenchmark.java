@@ -0,0 +1,71 @@
+package gestor.bench;
+
+import gestor.Alumno;
+import gestor.ListaEsperaVersionada;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Mide las operaciones que reordenan la fila del gestor (treap inmutable con claves 'long' empaquetadas):
+// cada paso de la bajada es una comparación de números. Cada medición deja la fila del mismo tamaño que la encontró.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ListaEsperaClavesBenchmark {
+
+    @Param({"1000", "100000"})
+    public int profundidad;
+
+    private ListaEsperaVersionada fila;
+    private Alumno[] enFila;
+    private Alumno[] recienLlegados;
+    private double[] promedios;
+    private int turno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random azar = new Random(42);
+        fila = new ListaEsperaVersionada();
+        enFila = new Alumno[profundidad];
+        for (int i = 0; i < profundidad; i++) {
+            enFila[i] = DatosSinteticos.nuevoAlumno(i, azar);
+            fila.offer(enFila[i]);
+        }
+        recienLlegados = new Alumno[1024];
+        promedios = new double[1024];
+        for (int i = 0; i < 1024; i++) {
+            recienLlegados[i] = DatosSinteticos.nuevoAlumno(profundidad + i, azar);
+            promedios[i] = Math.round(azar.nextDouble() * 100) / 10.0;
+        }
+    }
+
+    // Llega alguien a la fila y sale el de mayor prioridad (ciclo de baja con promoción)
+    @Benchmark
+    public Alumno offerPoll() {
+        fila.offer(recienLlegados[turno++ & 1023]);
+        return fila.poll();
+    }
+
+    // Cambia el promedio de alguien que espera y se reacomoda
+    @Benchmark
+    public boolean actualizar() {
+        turno = (turno + 7919) % profundidad;
+        Alumno alumno = enFila[turno];
+        alumno.setPromedio(promedios[turno & 1023]);
+        return fila.update(alumno);
+    }
+
+    // Un alumno de la mitad de la fila renuncia y vuelve a entrar
+    @Benchmark
+    public boolean salirYVolver() {
+        turno = (turno + 7919) % profundidad;
+        Alumno alumno = enFila[turno];
+        boolean estaba = fila.remove(alumno);
+        fila.offer(alumno);
+        return estaba;
+    }
+}
@@ -0,0 +1,58 @@
+package gestor.bench;
+
+import gestor.Alumno;
+import gestor.GestorUniversidad;
+import gestor.ListaEsperaVersionada;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Mide las consultas de la "página de estado": el lugar de un alumno en la fila y una página de 50,
+// en la fila del gestor (treap con tamaños), contra la forma vieja (copiar la fila y ordenarla).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ListaEsperaPosicionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int profundidad;
+
+    private ListaEsperaVersionada fila;
+    private Alumno[] enFila;
+    private int turno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random azar = new Random(42);
+        fila = new ListaEsperaVersionada();
+        enFila = new Alumno[profundidad];
+        for (int i = 0; i < profundidad; i++) {
+            enFila[i] = DatosSinteticos.nuevoAlumno(i, azar);
+            fila.offer(enFila[i]);
+        }
+    }
+
+    @Benchmark
+    public int posicion() {
+        return fila.posicionDe(enFila[turno = (turno + 7919) % profundidad]);
+    }
+
+    // Una página de 50 en la mitad de la fila
+    @Benchmark
+    public List<Alumno> paginaMitad() {
+        return fila.pagina(profundidad / 2, 50);
+    }
+
+    // Lo que hacía mostrarListaDeEspera antes: copiar todo y ordenarlo
+    @Benchmark
+    public List<Alumno> copiarYOrdenar() {
+        List<Alumno> copia = fila.toList();
+        copia.sort(GestorUniversidad.obtenerComparadorListaEspera());
+        return copia;
+    }
+}
@@ -0,0 +1,78 @@
+package gestor.bench;
+
+import gestor.Curso;
+import gestor.GestorUniversidad;
+import gestor.OpcionesGestor;
+import gestor.PoliticaSincronizacion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Mide cuánto cuesta la durabilidad: inscripción + baja con el diario activo, desde varios hilos.
+// Con CADA_COMMIT los hilos que confirman al mismo tiempo comparten un fsync (group commit),
+// así que el rendimiento debe crecer con los hilos en lugar de quedar en "un fsync por operación".
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class PersistenciaBenchmark {
+
+    @Param({"CADA_COMMIT", "PERIODICA", "NUNCA"})
+    public PoliticaSincronizacion politica;
+
+    private static final int CURSOS = 64;
+    private static final int ALUMNOS = 10_000;
+
+    private Path directorio;
+    private GestorUniversidad gestor;
+
+    @State(Scope.Thread)
+    public static class Hilo {
+        final Random azar = new Random(Thread.currentThread().getId());
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosSinteticos.silenciarConsola();
+        directorio = Files.createTempDirectory("gestor-bench");
+        gestor = new GestorUniversidad(new OpcionesGestor()
+                .concurrente(true)
+                .cargarDatosDemo(false)
+                .directorioDatos(directorio)
+                .politicaSincronizacion(politica)
+                .intervaloSnapshotSegundos(0));
+        Random azar = new Random(3);
+        for (int c = 0; c < CURSOS; c++) {
+            gestor.registrarCurso(new Curso(DatosSinteticos.idCurso(c), "Curso " + c, "Docente", 1_000_000, 4, new HashSet<>()));
+        }
+        for (int a = 0; a < ALUMNOS; a++) {
+            gestor.registrarAlumno(DatosSinteticos.nuevoAlumno(a, azar));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        gestor.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void inscribirYDarDeBaja(Hilo hilo) {
+        String alumno = DatosSinteticos.idAlumno(hilo.azar.nextInt(ALUMNOS));
+        String curso = DatosSinteticos.idCurso(hilo.azar.nextInt(CURSOS));
+        gestor.inscribirAlumnoEnCurso(alumno, curso);
+        gestor.darDeBajaAlumnoDelCurso(alumno, curso);
+    }
+}
@@ -0,0 +1,41 @@
+package gestor.bench;
+
+import gestor.GestorUniversidad;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Mide las consultas de lectura que más se usan durante la semana de inscripciones:
+// recomendaciones por afinidad y el ranking de cursos con más demanda.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class ReportesBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int alumnos;
+
+    @Param({"100", "1000", "10000"})
+    public int cursos;
+
+    private GestorUniversidad gestor;
+    private int turno;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosSinteticos.construir(alumnos, cursos, true, 13);
+    }
+
+    @Benchmark
+    public void recomendarCursos() {
+        gestor.recomendarCursos(DatosSinteticos.idAlumno(turno = (turno + 7919) % alumnos));
+    }
+
+    @Benchmark
+    public void cursosConMasDemanda() {
+        gestor.cursosConMasDemanda();
+    }
+}
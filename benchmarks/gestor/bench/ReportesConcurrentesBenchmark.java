@@ -0,0 +1,68 @@
+package gestor.bench;
+
+import gestor.GestorUniversidad;
+import gestor.VersionCurso;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Inscripciones y reportes A LA VEZ sobre el mismo gestor (grupo "semana"):
+// un hilo da de baja y vuelve a inscribir alumnos de C0 (curso lleno, con fila), mientras
+// otros dos leen la fila completa de C0, su cantidad de inscritos y el Top-5 de demanda.
+// Los reportes leen la versión publicada de cada curso (ver VersionCurso), sin candado;
+// comparar la latencia de 'inscribir' con la de InscripcionBenchmark muestra cuánto frenan a las altas.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Group)
+public class ReportesConcurrentesBenchmark {
+
+    @Param({"100000"})
+    public int alumnos;
+
+    @Param({"1000"})
+    public int cursos;
+
+    @Param({"10000"})
+    public int profundidadEspera;
+
+    private GestorUniversidad gestor;
+    private String[] cohorte;
+    private final String estrella = DatosSinteticos.idCurso(0);
+
+    @State(Scope.Thread)
+    public static class Turno {
+        int siguiente;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosSinteticos.construir(alumnos, cursos, true, 7);
+        cohorte = new String[Math.min(alumnos, DatosSinteticos.CUPO_POR_CURSO + profundidadEspera)];
+        for (int i = 0; i < cohorte.length; i++) {
+            cohorte[i] = DatosSinteticos.idAlumno(i);
+            gestor.inscribirAlumnoEnCurso(cohorte[i], estrella);
+        }
+    }
+
+    // Misma operación que InscripcionBenchmark: el curso queda igual después de cada par baja + alta
+    @Benchmark
+    @Group("semana")
+    @GroupThreads(1)
+    public Object inscribir(Turno turno) {
+        String idAlumno = cohorte[turno.siguiente = (turno.siguiente + 7919) % cohorte.length];
+        gestor.darDeBajaAlumnoDelCurso(idAlumno, estrella);
+        return gestor.inscribirAlumnoEnCurso(idAlumno, estrella);
+    }
+
+    @Benchmark
+    @Group("semana")
+    @GroupThreads(2)
+    public int reportes() {
+        VersionCurso version = gestor.obtenerVersionCurso(estrella);
+        return version.listaEspera(0, Integer.MAX_VALUE).size() + version.getCantidadInscritos()
+                + gestor.obtenerCursosConMasDemanda(5).size();
+    }
+}
@@ -0,0 +1,265 @@
+package gestor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Representa a un estudiante dentro del sistema universitario.
+// Actúa como una "ficha" que guarda tanto su información personal como su historial académico actual.
+public class Alumno {
+
+    // --- Datos Identificativos y Académicos ---
+    private String idAlumno;    // Matrícula única del estudiante
+    private String nombre;      // Nombre completo
+
+    // Semestre y promedio (los que deciden la prioridad en las listas de espera) van juntos en un
+    // objeto inmutable: se cambian de un solo golpe, y quien los lea sin candado (reportes, servidor,
+    // diario) nunca ve un semestre nuevo con un promedio viejo.
+    private volatile DatosAcademicos academicos;
+
+    // --- Preferencias y Carga Actual ---
+    // Guarda los temas que le gustan (ej: "IA", "Redes") para poder recomendarle cursos afines.
+    // Se guardan como bits del diccionario global de temas (ver Etiquetas), no como textos.
+    private final long[] intereses;
+
+    // Mantiene un registro de las materias que está cursando actualmente.
+    // Se guardan como índices densos de curso (ver TablaIds), no como códigos de texto,
+    // en un conjunto que recuerda el orden de inscripción (ver ConjuntoEnteros).
+    private ConjuntoEnteros cursosInscritos;
+
+    // Suma de los créditos de esas materias. Se actualiza en cada alta y baja (no se recalcula),
+    // así que leerla cuesta O(1) y sirve para aplicar el máximo de créditos al inscribir.
+    private volatile int creditosInscritos;
+
+    // Cursos en cuya lista de espera está formado (null = en ninguna todavía). Así un cambio de promedio
+    // o un retiro total solo visitan esas filas, no el catálogo entero. Lo mantiene el gestor con el
+    // candado del curso tomado: primero se anota aquí y después entra a la fila; al salir, al revés.
+    private volatile ConjuntoEnteros filasEnEspera;
+
+    // Bloques de la semana que ya tienen clase: el OR de los horarios de esas materias (ver Horario).
+    // Inscribir solo cruza el horario del curso nuevo contra este mapa, sin recorrer sus otras materias.
+    // Nunca se modifica en su lugar (cada cambio publica una copia); null = ninguna materia con horario.
+    private volatile long[] horarioOcupado;
+
+    // --- Identidad Interna ---
+    // Número consecutivo que le asigna el gestor al registrarlo (-1 mientras no esté registrado)
+    // y la tabla que traduce los índices de curso de vuelta a sus códigos.
+    private int indice = -1;
+    private TablaIds<Curso> tablaCursos;
+    private IndiceCarga indiceCarga; // Donde avisar cada cambio de créditos (null = en ninguno)
+
+    // --- Constructor ---
+    // Crea un nuevo estudiante con sus datos básicos e inicializa su lista de cursos vacía,
+    // lista para empezar a inscribir materias.
+    public Alumno(String idAlumno, String nombre, int semestre, double promedio, Set<String> intereses) {
+        this.idAlumno = idAlumno;
+        this.nombre = nombre;
+        this.academicos = new DatosAcademicos(semestre, promedio);
+        this.intereses = Etiquetas.codificar(intereses);
+        this.cursosInscritos = new ConjuntoEnteros(); // Inicializa la lista vacía
+    }
+
+    // --- Métodos de Consulta (Getters) ---
+    // Permiten a otras partes del sistema "leer" la información del alumno sin modificarla.
+    public String getIdAlumno() { return idAlumno; }
+    public String getNombre() { return nombre; }
+    public int getSemestre() { return academicos.semestre; }
+    public double getPromedio() { return academicos.promedio; }
+
+    // Los dos datos del mismo instante (para quien necesita ambos, ej: para ordenar la fila o anotarlos)
+    DatosAcademicos datosAcademicos() { return academicos; }
+    public Set<String> getIntereses() { return Etiquetas.decodificar(intereses); } // Copia de solo lectura
+
+    public int getCreditosInscritos() { return creditosInscritos; }
+
+    long[] bitsIntereses() { return intereses; }
+
+    // Entrega una copia de sus materias (como códigos): la lista real puede cambiar desde otros hilos.
+    // Las lecturas no toman el candado del alumno: leen la versión publicada del conjunto (ver ConjuntoEnteros).
+    public List<String> getCursosInscritos() {
+        List<String> codigos = new ArrayList<>(cursosInscritos.size());
+        for (int indiceCurso : cursosInscritos.toArray()) {
+            codigos.add(tablaCursos.idDe(indiceCurso));
+        }
+        return codigos;
+    }
+
+    // Copia de sus materias como índices de curso (para el gestor, sin traducir a texto).
+    int[] indicesCursosInscritos() {
+        return cursosInscritos.toArray();
+    }
+
+    public int getIndice() { return indice; }
+
+    // Lo llama el gestor al registrarlo.
+    void vincular(int indice, TablaIds<Curso> tablaCursos, IndiceCarga indiceCarga) {
+        this.indice = indice;
+        this.tablaCursos = tablaCursos;
+        this.indiceCarga = indiceCarga;
+    }
+
+    // --- Actualización de Datos Académicos ---
+    // Cambian la prioridad del alumno en las listas de espera; quien los use debe avisar
+    // a las listas donde esté esperando (ver GestorUniversidad.actualizarDatosAcademicos).
+
+    static final class DatosAcademicos {
+        final int semestre;
+        final double promedio;
+
+        DatosAcademicos(int semestre, double promedio) {
+            this.semestre = semestre;
+            this.promedio = promedio;
+        }
+    }
+
+    public synchronized void setSemestre(int semestre) { academicos = new DatosAcademicos(semestre, academicos.promedio); }
+    public synchronized void setPromedio(double promedio) { academicos = new DatosAcademicos(academicos.semestre, promedio); }
+
+    // Cambia ambos datos a la vez y retorna las filas donde está esperando EN ESE MOMENTO.
+    // Va con el candado del alumno, igual que anotarse en una fila: o la fila ya estaba en la lista
+    // que se retorna (y quien llama la reacomoda), o entra después y ya lee los datos nuevos.
+    synchronized int[] cambiarDatosAcademicos(int semestre, double promedio) {
+        academicos = new DatosAcademicos(semestre, promedio);
+        return indicesCursosEnEspera();
+    }
+
+    // --- Listas de Espera donde está Formado ---
+
+    synchronized void entrarAEspera(int indiceCurso) {
+        if (filasEnEspera == null) filasEnEspera = new ConjuntoEnteros();
+        filasEnEspera.add(indiceCurso);
+    }
+
+    synchronized void salirDeEspera(int indiceCurso) {
+        if (filasEnEspera != null) filasEnEspera.remove(indiceCurso);
+    }
+
+    // Copia de los cursos en cuya fila espera (sin candado: lee la versión publicada del conjunto).
+    int[] indicesCursosEnEspera() {
+        ConjuntoEnteros filas = filasEnEspera;
+        return filas == null ? new int[0] : filas.toArray();
+    }
+
+    // --- Gestión de Materias del Alumno ---
+
+    // Estos métodos son 'synchronized' porque un mismo alumno puede estar inscribiéndose
+    // en dos cursos distintos al mismo tiempo (cada curso tiene su propio candado, el alumno no).
+
+    // Las versiones con código de texto son para el resto del sistema; el gestor usa las de índice.
+    // Un alumno aún no registrado (o un curso desconocido) no puede tener materias.
+
+    // Agrega una materia a la lista personal del alumno.
+    // Incluye una protección para evitar que se inscriba dos veces al mismo curso.
+    public void addCursoInscrito(String idCurso) {
+        int indiceCurso = indiceCurso(idCurso);
+        if (indiceCurso >= 0) agregarCurso(indiceCurso);
+    }
+
+    // Elimina una materia de su lista (cuando el alumno se da de baja).
+    // Retorna 'verdadero' si realmente la tenía inscrita.
+    public boolean removeCursoInscrito(String idCurso) {
+        int indiceCurso = indiceCurso(idCurso);
+        return indiceCurso >= 0 && quitarCurso(indiceCurso);
+    }
+
+    public boolean estaInscritoEn(String idCurso) {
+        int indiceCurso = indiceCurso(idCurso);
+        return indiceCurso >= 0 && tieneCurso(indiceCurso);
+    }
+
+    synchronized void agregarCurso(int indiceCurso) {
+        agregarCurso(indiceCurso, 0, false); // No hace nada si ya lo tenía
+    }
+
+    // Agrega la materia revisando en el mismo paso las reglas del alumno: que con sus créditos no pase
+    // de 'maximoCreditos' (0 = sin límite) y, si 'revisarHorario', que no choque con sus otras clases.
+    // Dos inscripciones del mismo alumno en cursos distintos (cada una con el candado de SU curso)
+    // no pueden así pasarse juntas del máximo ni quedar en la misma hora.
+    // Retorna INSCRITO si la agregó; si no, YA_INSCRITO, LIMITE_CREDITOS o CHOQUE_HORARIO.
+    synchronized ResultadoInscripcion agregarCurso(int indiceCurso, int maximoCreditos, boolean revisarHorario) {
+        if (cursosInscritos.contains(indiceCurso)) return ResultadoInscripcion.YA_INSCRITO;
+        Curso curso = tablaCursos.get(indiceCurso);
+        if (!cabenCreditos(curso.getCreditos(), maximoCreditos)) return ResultadoInscripcion.LIMITE_CREDITOS;
+        if (revisarHorario && chocaHorario(curso)) return ResultadoInscripcion.CHOQUE_HORARIO;
+        cursosInscritos.add(indiceCurso);
+        if (!curso.getHorario().estaVacio()) horarioOcupado = Horario.sumar(horarioOcupado, curso.getHorario());
+        cambiarCreditos(creditosInscritos + curso.getCreditos());
+        return ResultadoInscripcion.INSCRITO;
+    }
+
+    synchronized boolean quitarCurso(int indiceCurso) {
+        if (!cursosInscritos.remove(indiceCurso)) return false;
+        Curso curso = tablaCursos.get(indiceCurso);
+        if (!curso.getHorario().estaVacio()) horarioOcupado = sumarHorarios(); // Una baja: se vuelve a sumar lo que queda
+        cambiarCreditos(creditosInscritos - curso.getCreditos());
+        return true;
+    }
+
+    // Arma sus materias de una vez (alumno que se carga desde una imagen). No avisa al índice de carga:
+    // el gestor ya lo cargó con los totales de la imagen (ver GestorUniversidad.cargarImagen).
+    synchronized void restaurarCursos(int[] indicesCursos) {
+        int total = creditosInscritos;
+        for (int indiceCurso : indicesCursos) {
+            if (cursosInscritos.add(indiceCurso)) total += tablaCursos.get(indiceCurso).getCreditos();
+        }
+        creditosInscritos = total;
+        horarioOcupado = sumarHorarios();
+    }
+
+    // OR de los horarios de todas sus materias (null si ninguna tiene horario).
+    private long[] sumarHorarios() {
+        long[] ocupado = null;
+        for (int indiceCurso : cursosInscritos.toArray()) {
+            Horario horario = tablaCursos.get(indiceCurso).getHorario();
+            if (!horario.estaVacio()) ocupado = Horario.sumar(ocupado, horario);
+        }
+        return ocupado;
+    }
+
+    // Qué regla le impide sumar ese curso: LIMITE_CREDITOS, CHOQUE_HORARIO o null si ninguna.
+    // Sin candado y en O(1) (un total y un AND por palabra del horario): sirve para decidir rápido;
+    // lo que vale es la revisión que repite agregarCurso.
+    ResultadoInscripcion impedimentoPara(Curso curso, int maximoCreditos) {
+        if (!cabenCreditos(curso.getCreditos(), maximoCreditos)) return ResultadoInscripcion.LIMITE_CREDITOS;
+        if (chocaHorario(curso)) return ResultadoInscripcion.CHOQUE_HORARIO;
+        return null;
+    }
+
+    // ¿Puede sumar 'creditos' más sin pasarse del máximo? (0 = sin límite).
+    boolean cabenCreditos(int creditos, int maximoCreditos) {
+        return maximoCreditos <= 0 || creditosInscritos + creditos <= maximoCreditos;
+    }
+
+    boolean chocaHorario(Curso curso) {
+        return Horario.chocan(horarioOcupado, curso.getHorario());
+    }
+
+    // Con el candado del alumno tomado: así sus movimientos llegan al índice en el mismo orden en que ocurren.
+    private void cambiarCreditos(int nuevos) {
+        int antes = creditosInscritos;
+        creditosInscritos = nuevos;
+        if (indiceCarga != null) indiceCarga.mover(indice, antes, nuevos);
+    }
+
+    synchronized boolean tieneCurso(int indiceCurso) {
+        return cursosInscritos.contains(indiceCurso);
+    }
+
+    private int indiceCurso(String idCurso) {
+        return tablaCursos == null ? -1 : tablaCursos.indiceDe(idCurso);
+    }
+
+    public int cantidadCursosInscritos() {
+        return cursosInscritos.size();
+    }
+
+    // --- Visualización ---
+    // Genera un resumen de texto limpio con los datos clave del alumno.
+    // Útil para mostrar la información en la consola de forma rápida.
+    @Override
+    public String toString() {
+        DatosAcademicos datos = academicos;
+        return "ID: " + idAlumno + " | Nombre: " + nombre + " | Semestre: " + datos.semestre + " | Promedio: " + datos.promedio +
+                " | Intereses: " + getIntereses() + " | Cursos: " + cantidadCursosInscritos();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,305 @@
+package gestor;
+
+import java.util.Arrays;
+
+// Conjunto de enteros (índices de alumno o de curso) que recuerda el orden de llegada.
+// Reemplaza a ListaEnteros en las listas de inscritos y en las materias de cada alumno:
+// ahí importa el orden (lista de asistencia) pero también preguntar "¿está?" y quitar a alguien
+// sin recorrer un curso de miles de alumnos.
+//
+// Versiones: el contenido nunca se modifica en su lugar. Cada alta o baja arma una versión nueva
+// (compartiendo casi todo con la anterior) y la publica en un campo volatile. Así un reporte puede
+// leer (toArray, size, foto) SIN candado y mientras otro hilo inscribe: ve una versión completa,
+// la de antes o la de después del cambio, nunca una a medias.
+// - Con pocos valores (hasta UMBRAL) la versión es un int[] exacto, sin huecos: cada cambio copia
+//   ese arreglo chico (las 4 o 5 materias de un alumno), y buscar es recorrerlo.
+// - Con más, es un árbol de 32 ramas (ver Version): las casillas se llenan en orden de llegada y
+//   al quitar un valor su casilla queda como HUECO. Cada cambio copia solo el camino de la raíz a
+//   la hoja (2 o 3 arreglos de 32). Cuando los huecos son más que los vivos, se compacta de una vez.
+//   Para ubicar un valor sin recorrer hay un índice hash (direccionamiento abierto, sondeo lineal)
+//   valor -> casilla, que es solo del escritor.
+//
+// Solo admite valores >= 0. Las operaciones que modifican (y contains, que usa el índice) no son
+// seguras entre hilos por sí mismas: las protege quien las usa (candado del curso o del alumno).
+public class ConjuntoEnteros {
+
+    static final int UMBRAL = 16;
+    private static final int HUECO = -1;
+    private static final int[] VACIO = new int[0];
+
+    // Versión publicada: un int[] (pocos valores) o una Version. Ninguna de las dos cambia nunca.
+    private volatile Object actual = VACIO;
+
+    // Índice del escritor: pares [valor, casilla + 1] por ranura (0 = libre). null = sin índice.
+    private int[] tabla;
+    private int mascara;
+    private int desplazamiento; // 32 - log2(ranuras): se usan los bits altos de la mezcla
+
+    public ConjuntoEnteros() {
+    }
+
+    // Adopta el arreglo tal cual (sin copiarlo): quien lo pasa no debe volver a tocarlo.
+    // Los valores no deben repetirse. El índice se arma recién con la primera búsqueda.
+    static ConjuntoEnteros envolver(int[] valores) {
+        ConjuntoEnteros conjunto = new ConjuntoEnteros();
+        conjunto.actual = valores.length <= UMBRAL ? valores : Version.desde(valores, valores.length);
+        return conjunto;
+    }
+
+    // --- Operaciones (escritor) ---
+
+    // Agrega el valor al final. Retorna 'falso' (sin cambiar nada) si ya estaba.
+    public boolean add(int valor) {
+        if (casillaDe(valor) >= 0) return false;
+        Object contenido = actual;
+        if (contenido instanceof int[]) {
+            int[] valores = (int[]) contenido;
+            int[] nuevos = Arrays.copyOf(valores, valores.length + 1);
+            nuevos[valores.length] = valor;
+            if (nuevos.length <= UMBRAL) {
+                actual = nuevos;
+            } else {
+                Version version = Version.desde(nuevos, nuevos.length);
+                reconstruirTabla(version);
+                actual = version;
+            }
+        } else {
+            Version version = (Version) contenido;
+            int casilla = version.usadas;
+            if (2 * (casilla + 1) > mascara + 1) { // La tabla pasaría de medio llena
+                version = version.agregar(valor);
+                reconstruirTabla(version);
+            } else {
+                version = version.agregar(valor);
+                insertarEnTabla(valor, casilla);
+            }
+            actual = version;
+        }
+        return true;
+    }
+
+    public boolean contains(int valor) {
+        return casillaDe(valor) >= 0;
+    }
+
+    // Quita el valor conservando el orden de los demás.
+    public boolean remove(int valor) {
+        int casilla = casillaDe(valor);
+        if (casilla < 0) return false;
+        Object contenido = actual;
+        if (contenido instanceof int[]) {
+            int[] valores = (int[]) contenido;
+            int[] nuevos = new int[valores.length - 1];
+            System.arraycopy(valores, 0, nuevos, 0, casilla);
+            System.arraycopy(valores, casilla + 1, nuevos, casilla, nuevos.length - casilla);
+            actual = nuevos.length == 0 ? VACIO : nuevos;
+            return true;
+        }
+        Version version = ((Version) contenido).vaciar(casilla);
+        if (version.tam <= UMBRAL / 2) {
+            actual = version.toArray(); // Volvió a ser chico: deja el árbol y el índice
+            tabla = null;
+        } else if (version.usadas - version.tam > version.tam) {
+            version = Version.desde(version.toArray(), version.tam); // Más huecos que vivos: compactar
+            reconstruirTabla(version);
+            actual = version;
+        } else {
+            quitarDeTabla(valor);
+            actual = version;
+        }
+        return true;
+    }
+
+    // --- Lecturas (cualquier hilo, sin candado) ---
+
+    public int size() {
+        return tamano(actual);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Los valores en orden de llegada.
+    public int[] toArray() {
+        return valores(actual);
+    }
+
+    // La versión publicada en este momento, para guardarla junto a otras (ver VersionCurso).
+    // Es inmutable: se lee después con valores() y tamano(), aunque el conjunto haya seguido cambiando.
+    Object foto() {
+        return actual;
+    }
+
+    static int[] valores(Object foto) {
+        return foto instanceof int[] ? ((int[]) foto).clone() : ((Version) foto).toArray();
+    }
+
+    static int tamano(Object foto) {
+        return foto instanceof int[] ? ((int[]) foto).length : ((Version) foto).tam;
+    }
+
+    // --- Búsqueda (escritor) ---
+
+    private int casillaDe(int valor) {
+        Object contenido = actual;
+        if (contenido instanceof int[]) {
+            int[] valores = (int[]) contenido;
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] == valor) return i;
+            }
+            return -1;
+        }
+        if (tabla == null) reconstruirTabla((Version) contenido); // Vino de envolver()
+        for (int r = ranura(valor); ; r = (r + 1) & mascara) {
+            int casilla = tabla[2 * r + 1] - 1;
+            if (casilla < 0) return -1;
+            if (tabla[2 * r] == valor) return casilla;
+        }
+    }
+
+    private int ranura(int valor) {
+        return (valor * 0x9E3779B9) >>> desplazamiento; // Mezcla de Fibonacci: reparte índices consecutivos
+    }
+
+    // --- Mantenimiento del Índice ---
+
+    // Tabla con al menos el doble de ranuras que casillas usadas (así nunca pasa de medio llena).
+    private void reconstruirTabla(Version version) {
+        int ranuras = Integer.highestOneBit(Math.max(UMBRAL, version.usadas + 1) * 2 - 1) << 1;
+        tabla = new int[2 * ranuras];
+        mascara = ranuras - 1;
+        desplazamiento = Integer.numberOfLeadingZeros(ranuras) + 1;
+        for (int inicio = 0; inicio < version.usadas; inicio += Version.ANCHO) {
+            int[] hoja = version.hoja(inicio);
+            int fin = Math.min(Version.ANCHO, version.usadas - inicio);
+            for (int j = 0; j < fin; j++) {
+                if (hoja[j] != HUECO) insertarEnTabla(hoja[j], inicio + j);
+            }
+        }
+    }
+
+    private void insertarEnTabla(int valor, int casilla) {
+        int r = ranura(valor);
+        while (tabla[2 * r + 1] != 0) r = (r + 1) & mascara;
+        tabla[2 * r] = valor;
+        tabla[2 * r + 1] = casilla + 1;
+    }
+
+    // Borrado sin marcas en el sondeo lineal: los que venían detrás se corren hacia atrás
+    // si su ranura ideal lo permite, así las búsquedas siguen cortando en la primera ranura libre.
+    private void quitarDeTabla(int valor) {
+        int r = ranura(valor);
+        while (tabla[2 * r] != valor || tabla[2 * r + 1] == 0) r = (r + 1) & mascara;
+        int libre = r;
+        for (int j = (libre + 1) & mascara; tabla[2 * j + 1] != 0; j = (j + 1) & mascara) {
+            int ideal = ranura(tabla[2 * j]);
+            // ¿La ranura ideal de j está fuera del tramo (libre, j]? Entonces puede ocupar 'libre'
+            boolean fuera = libre <= j ? (ideal <= libre || ideal > j) : (ideal <= libre && ideal > j);
+            if (fuera) {
+                tabla[2 * libre] = tabla[2 * j];
+                tabla[2 * libre + 1] = tabla[2 * j + 1];
+                libre = j;
+            }
+        }
+        tabla[2 * libre] = 0;
+        tabla[2 * libre + 1] = 0;
+    }
+
+    // --- Versión Grande (árbol de 32 ramas) ---
+    // La casilla i se encuentra bajando por los grupos de 5 bits de i, del más alto al más bajo:
+    // las hojas son int[32] y los nodos de arriba Object[32]. 'nivel' es el corrimiento de la raíz
+    // (0 = la raíz ya es una hoja). Nada se modifica después de construido: los cambios copian el camino.
+    private static final class Version {
+        static final int BITS = 5;
+        static final int ANCHO = 1 << BITS;
+
+        final Object raiz;
+        final int nivel;
+        final int usadas; // Casillas ocupadas (vivos + huecos)
+        final int tam;    // Valores vivos
+
+        Version(Object raiz, int nivel, int usadas, int tam) {
+            this.raiz = raiz;
+            this.nivel = nivel;
+            this.usadas = usadas;
+            this.tam = tam;
+        }
+
+        // Arma el árbol de una vez con los primeros 'cantidad' valores (sin huecos): hojas y luego
+        // cada nivel agrupando de a 32, en O(n).
+        static Version desde(int[] valores, int cantidad) {
+            Object[] fila = new Object[Math.max(1, (cantidad + ANCHO - 1) / ANCHO)];
+            for (int h = 0; h < fila.length; h++) {
+                int[] hoja = new int[ANCHO];
+                int desde = h * ANCHO;
+                System.arraycopy(valores, desde, hoja, 0, Math.max(0, Math.min(ANCHO, cantidad - desde)));
+                fila[h] = hoja;
+            }
+            int nivel = 0;
+            while (fila.length > 1) {
+                Object[] arriba = new Object[(fila.length + ANCHO - 1) / ANCHO];
+                for (int p = 0; p < arriba.length; p++) {
+                    Object[] hijos = new Object[ANCHO];
+                    System.arraycopy(fila, p * ANCHO, hijos, 0, Math.min(ANCHO, fila.length - p * ANCHO));
+                    arriba[p] = hijos;
+                }
+                fila = arriba;
+                nivel += BITS;
+            }
+            return new Version(fila[0], nivel, cantidad, cantidad);
+        }
+
+        Version agregar(int valor) {
+            Object nuevaRaiz = raiz;
+            int nuevoNivel = nivel;
+            if (usadas == ANCHO << nivel) { // Árbol lleno: crece un nivel por arriba
+                Object[] hijos = new Object[ANCHO];
+                hijos[0] = raiz;
+                nuevaRaiz = hijos;
+                nuevoNivel += BITS;
+            }
+            return new Version(poner(nuevaRaiz, nuevoNivel, usadas, valor), nuevoNivel, usadas + 1, tam + 1);
+        }
+
+        Version vaciar(int casilla) {
+            int nuevasUsadas = casilla == usadas - 1 ? usadas - 1 : usadas; // Quitar el último no deja hueco
+            return new Version(poner(raiz, nivel, casilla, HUECO), nivel, nuevasUsadas, tam - 1);
+        }
+
+        // Copia el camino hasta la casilla (creando los nodos que falten) con el valor nuevo
+        private static Object poner(Object nodo, int nivel, int casilla, int valor) {
+            if (nivel == 0) {
+                int[] hoja = nodo == null ? new int[ANCHO] : ((int[]) nodo).clone();
+                hoja[casilla & (ANCHO - 1)] = valor;
+                return hoja;
+            }
+            Object[] hijos = nodo == null ? new Object[ANCHO] : ((Object[]) nodo).clone();
+            int i = (casilla >>> nivel) & (ANCHO - 1);
+            hijos[i] = poner(hijos[i], nivel - BITS, casilla, valor);
+            return hijos;
+        }
+
+        // La hoja que contiene la casilla 'inicio'
+        int[] hoja(int inicio) {
+            Object nodo = raiz;
+            for (int s = nivel; s > 0; s -= BITS) {
+                nodo = ((Object[]) nodo)[(inicio >>> s) & (ANCHO - 1)];
+            }
+            return (int[]) nodo;
+        }
+
+        int[] toArray() {
+            int[] valores = new int[tam];
+            int k = 0;
+            for (int inicio = 0; inicio < usadas; inicio += ANCHO) {
+                int[] hoja = hoja(inicio);
+                int fin = Math.min(ANCHO, usadas - inicio);
+                for (int j = 0; j < fin; j++) {
+                    if (hoja[j] != HUECO) valores[k++] = hoja[j];
+                }
+            }
+            return valores;
+        }
+    }
+}
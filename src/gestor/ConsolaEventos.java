@@ -0,0 +1,77 @@
+package gestor;
+
+import java.io.PrintStream;
+
+// Muestra los eventos del gestor en la consola, con los mismos mensajes de siempre.
+// Es el sumidero que usa Main; el formateo de textos solo ocurre aquí.
+public class ConsolaEventos implements SumideroEventos {
+
+    private final PrintStream salida;
+
+    public ConsolaEventos() {
+        this(System.out);
+    }
+
+    public ConsolaEventos(PrintStream salida) {
+        this.salida = salida;
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Alumno alumno, Curso curso) {
+        salida.println(mensaje(tipo, alumno, curso));
+    }
+
+    // Traduce el evento al texto que ve el usuario
+    public static String mensaje(TipoEvento tipo, Alumno alumno, Curso curso) {
+        switch (tipo) {
+            case ALUMNO_REGISTRADO:
+                return "✅ Alumno " + alumno.getNombre() + " registrado correctamente.";
+            case ALUMNO_DUPLICADO:
+                return "⚠️ Error: Alumno con ID " + alumno.getIdAlumno() + " ya existe.";
+            case CURSO_REGISTRADO:
+                return "✅ Curso " + curso.getNombre() + " registrado correctamente.";
+            case CURSO_DUPLICADO:
+                return "⚠️ Error: Curso con ID " + curso.getIdCurso() + " ya existe.";
+            case ALUMNO_NO_ENCONTRADO:
+                return "⚠️ Error: Alumno no encontrado.";
+            case CURSO_NO_ENCONTRADO:
+                return "⚠️ Error: Curso no encontrado.";
+            case ALUMNO_O_CURSO_NO_ENCONTRADO:
+                return "⚠️ Error: Alumno o curso no encontrado.";
+            case INSCRITO:
+                return "✅ Inscripción exitosa: " + alumno.getNombre() + " en " + curso.getNombre();
+            case YA_INSCRITO:
+                return "⚠️ Alumno " + alumno.getNombre() + " ya está inscrito en " + curso.getNombre();
+            case EN_ESPERA:
+                return "➡️ Cupo lleno. " + alumno.getNombre() + " enviado a Lista de Espera de " + curso.getNombre() + ".";
+            case YA_EN_ESPERA:
+                return "⚠️ Alumno ya se encuentra en la lista de espera.";
+            case LIMITE_CREDITOS:
+                return "⚠️ " + alumno.getNombre() + " no puede inscribirse en " + curso.getNombre() + ": pasaría el máximo de créditos (lleva " + alumno.getCreditosInscritos() + ").";
+            case CHOQUE_HORARIO:
+                return "⚠️ " + alumno.getNombre() + " no puede inscribirse en " + curso.getNombre() + ": choca con el horario de otra de sus materias (" + curso.getHorario() + ").";
+            case BAJA:
+                return "✅ Baja exitosa: " + alumno.getNombre() + " dado de baja de " + curso.getNombre() + ".";
+            case BAJA_DE_ESPERA:
+                return "✅ Baja exitosa de Lista de Espera: " + alumno.getNombre() + " removido de la espera de " + curso.getNombre() + ".";
+            case BAJA_SIN_REGISTRO:
+                return "⚠️ Error: El alumno no está inscrito ni en lista de espera en este curso.";
+            case CUPO_ACTUALIZADO:
+                return "✅ Cupo de " + curso.getNombre() + " actualizado: " + curso.getCuposDisponibles() + "/" + curso.getCupoMaximo() + " disponibles.";
+            case CUPO_INSUFICIENTE:
+                return "⚠️ Error: El nuevo cupo de " + curso.getNombre() + " es menor que la cantidad de inscritos.";
+            case PROMOVIDO_DESDE_ESPERA:
+                return "\n📣 ¡Cupo liberado! " + alumno.getNombre() + " ha sido inscrito en " + curso.getNombre() + " desde la Lista de Espera.";
+            case SIN_CUPO_PARA_PROMOVER:
+                return "⚠️ No se puede procesar la lista: No hay cupos disponibles en el curso.";
+            case RETIRADO_DE_ESPERA_POR_CREDITOS:
+                return "⚠️ " + alumno.getNombre() + " salió de la Lista de Espera de " + curso.getNombre() + ": con ese curso pasaría el máximo de créditos.";
+            case RETIRADO_DE_ESPERA_POR_HORARIO:
+                return "⚠️ " + alumno.getNombre() + " salió de la Lista de Espera de " + curso.getNombre() + ": ya tiene otra clase a esa hora.";
+            case DATOS_ACADEMICOS_ACTUALIZADOS:
+                return "✅ Datos académicos de " + alumno.getNombre() + " actualizados.";
+            default:
+                return tipo.toString();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package gestor;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Representa una materia o asignatura que ofrece la universidad.
+// Esta clase controla su propia información, cuántos asientos quedan libres y qué temas abarca.
+public class Curso {
+
+    // --- Datos de Identificación ---
+    private String idCurso;      // Código único de la materia (ej: "MAT101")
+    private String nombre;       // Título de la clase
+    private String docente;      // Nombre del profesor encargado
+
+    // --- Gestión de Capacidad (Cupos) ---
+    private volatile int cupoMaximo; // El límite total de alumnos permitidos (puede cambiar si se abre otra sala)
+    private volatile int cuposDisponibles;// Cuántos asientos quedan libres en este momento
+
+    // --- Control de Concurrencia ---
+    // Candado propio del curso: quien modifique sus cupos, su lista de inscritos o su lista de espera
+    // debe tenerlo. Así dos cursos distintos se atienden en paralelo y uno mismo nunca se sobrevende.
+    // (Con fragmentos no se usa: el único que modifica el curso es su hilo dueño, ver MotorFragmentos.)
+    private final ReentrantLock candado = new ReentrantLock();
+
+    // Última foto publicada del curso (ver VersionCurso): la leen los reportes sin tomar el candado.
+    private volatile VersionCurso version;
+
+    // Número consecutivo que le asigna el gestor al registrarlo (-1 mientras no esté registrado).
+    // Con él se ubican su lista de inscritos, su lista de espera y su lugar en el ranking.
+    private int indice = -1;
+
+    // --- Datos Académicos ---
+    private int creditos;        // Valor académico o "peso" de la materia
+    // Etiquetas o temas que cubre el curso (ej: "Matemáticas", "Lógica").
+    // Sirve para que el sistema sepa si recomendarlo o no. Van como bits de Etiquetas.
+    private final long[] areas;
+    // Cuándo se dicta en la semana (bloques de 15 minutos). Con él se evitan los choques de horario
+    // al inscribir (ver Horario y Alumno).
+    private final Horario horario;
+
+    // --- Constructor ---
+    // Configura la materia nueva. Al crearse, los cupos disponibles son iguales
+    // al máximo permitido porque aún no hay nadie inscrito.
+    public Curso(String idCurso, String nombre, String docente, int cupoMaximo, int creditos, Set<String> areas) {
+        this(idCurso, nombre, docente, cupoMaximo, creditos, areas, Horario.VACIO);
+    }
+
+    public Curso(String idCurso, String nombre, String docente, int cupoMaximo, int creditos, Set<String> areas,
+                 Horario horario) {
+        this.idCurso = idCurso;
+        this.nombre = nombre;
+        this.docente = docente;
+        this.cupoMaximo = cupoMaximo;
+        this.cuposDisponibles = cupoMaximo; // Inicia totalmente vacío/disponible
+        this.creditos = creditos;
+        this.areas = Etiquetas.codificar(areas);
+        this.horario = horario == null ? Horario.VACIO : horario;
+    }
+
+    // --- Métodos de Consulta (Getters) ---
+    // Permiten al resto del sistema ver la información de la materia sin alterarla.
+    public String getIdCurso() { return idCurso; }
+    public String getNombre() { return nombre; }
+    public String getDocente() { return docente; }
+    public int getCupoMaximo() { return cupoMaximo; }
+    public int getCuposDisponibles() { return cuposDisponibles; }
+    public int getCreditos() { return creditos; }
+    public Set<String> getAreas() { return Etiquetas.decodificar(areas); } // Copia de solo lectura
+    public Horario getHorario() { return horario; }
+    public ReentrantLock getCandado() { return candado; }
+    public int getIndice() { return indice; }
+
+    void setIndice(int indice) { this.indice = indice; }
+    VersionCurso getVersion() { return version; }
+    void setVersion(VersionCurso version) { this.version = version; }
+    long[] bitsAreas() { return areas; }
+
+    // --- Gestión de Asientos (Inventario) ---
+
+    // Intenta ocupar un asiento cuando un alumno se quiere inscribir.
+    // Retorna 'verdadero' si hubo lugar, o 'falso' si la clase ya estaba llena.
+    // La revisión y el descuento ocurren bajo el candado, así dos hilos no pueden ocupar la última silla.
+    public boolean disminuirCupo() {
+        candado.lock();
+        try {
+            return ocuparAsiento();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Solo para la recuperación: deja el curso con 'ocupados' asientos ya tomados de una vez.
+    void restaurarOcupados(int ocupados) {
+        cuposDisponibles = Math.max(0, cupoMaximo - ocupados);
+    }
+
+    // Libera un asiento cuando un alumno se da de baja.
+    // Tiene un control de seguridad para no liberar más asientos de los que existen físicamente.
+    public void aumentarCupo() {
+        candado.lock();
+        try {
+            liberarAsiento();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Cambia el límite de alumnos (ej: se consiguió un salón más grande).
+    // Los asientos ya ocupados se respetan: los libres quedan como "nuevo cupo - ocupados".
+    // Retorna 'falso' (sin cambiar nada) si el nuevo cupo no alcanza para los que ya están inscritos.
+    public boolean cambiarCupoMaximo(int nuevoCupo) {
+        candado.lock();
+        try {
+            return fijarCupoMaximo(nuevoCupo);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Las mismas tres operaciones para el gestor, que ya tiene el curso para él solo (su candado
+    // tomado o ser su hilo dueño): no vuelven a tomar el candado.
+    boolean ocuparAsiento() {
+        if (cuposDisponibles > 0) {
+            cuposDisponibles--;
+            return true; // Éxito: Se ocupó un lugar
+        }
+        return false; // Fallo: No hay cupo
+    }
+
+    void liberarAsiento() {
+        if (cuposDisponibles < cupoMaximo) {
+            cuposDisponibles++;
+        }
+    }
+
+    boolean fijarCupoMaximo(int nuevoCupo) {
+        int ocupados = cupoMaximo - cuposDisponibles;
+        if (nuevoCupo < ocupados) return false;
+        cupoMaximo = nuevoCupo;
+        cuposDisponibles = nuevoCupo - ocupados;
+        return true;
+    }
+
+    // --- Visualización ---
+    // Muestra el estado actual del curso de forma legible, útil para ver rápidamente
+    // cuántos lugares quedan (ej: "Cupo: 5/30").
+    @Override
+    public String toString() {
+        return "ID: " + idCurso + " | Nombre: " + nombre + " | Docente: " + docente +
+                " | Cupo: " + cuposDisponibles + "/" + cupoMaximo + " | Créditos: " + creditos +
+                " | Áreas: " + getAreas() + (horario.estaVacio() ? "" : " | Horario: " + horario);
+    }
+}
\ No newline at end of file
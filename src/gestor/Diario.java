@@ -0,0 +1,323 @@
+package gestor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// --- DIARIO DE ESCRITURA ANTICIPADA (Write-Ahead Log) ---
+// Archivo binario donde solo se agregan registros al final, uno por cada cambio de estado.
+// Si el programa se cae, releyendo el diario se reconstruye todo lo que pasó.
+//
+// Formato de cada registro: [int largo][int crc32c][largo bytes de contenido].
+// El crc permite detectar un registro a medio escribir al final del archivo (caída durante la escritura).
+//
+// "Group commit": quien anota solo copia su registro a un búfer en memoria. Un hilo escritor
+// vacía el búfer al FileChannel y hace UN fsync por tanda, así cien inscripciones simultáneas
+// cuestan un solo viaje al disco en lugar de cien.
+public class Diario implements Closeable {
+
+    private static final int TAM_BUFER = 1 << 20; // 1 MB por tanda
+
+    private final PoliticaSincronizacion politica;
+    private final long intervaloSincronizacionMs;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Condition hayDatos = candado.newCondition();
+    private final Condition escrito = candado.newCondition();
+
+    // Doble búfer: en uno se acumulan registros mientras el otro se está escribiendo a disco.
+    private ByteBuffer pendiente = ByteBuffer.allocate(TAM_BUFER);
+    private ByteBuffer enVuelo = ByteBuffer.allocate(TAM_BUFER);
+
+    private FileChannel canal;
+    private long lsnAnotado = 0;  // Cantidad de registros entregados al diario
+    private long lsnDurable = 0;  // Registros ya escritos (y forzados a disco si la política lo pide)
+    private long ultimoFsync = System.nanoTime();
+    private boolean cerrando = false;
+    private IOException error;
+
+    private final Thread escritor;
+
+    public Diario(Path archivo, PoliticaSincronizacion politica, long intervaloSincronizacionMs) throws IOException {
+        this.politica = politica;
+        this.intervaloSincronizacionMs = Math.max(1, intervaloSincronizacionMs);
+        this.canal = abrirCanal(archivo);
+        this.escritor = new Thread(this::cicloEscritor, "diario-escritor");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    private static FileChannel abrirCanal(Path archivo) throws IOException {
+        return FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // --- Escritura ---
+
+    // Copia el registro al búfer y devuelve su número de secuencia (LSN). No toca el disco.
+    public long anotar(byte[] contenido) {
+        int necesario = contenido.length + 8;
+        candado.lock();
+        try {
+            revisarError();
+            while (pendiente.remaining() < necesario) {
+                if (pendiente.position() == 0) {
+                    // Registro más grande que el búfer entero: se agranda solo el que está vacío.
+                    // El otro puede estar a medio escribir a disco y no se toca.
+                    pendiente = ByteBuffer.allocate(necesario);
+                    break;
+                }
+                // Búfer lleno: esperamos a que el escritor lo vacíe (contrapresión)
+                hayDatos.signal();
+                escrito.awaitUninterruptibly();
+                revisarError();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(contenido);
+            pendiente.putInt(contenido.length);
+            pendiente.putInt((int) crc.getValue());
+            pendiente.put(contenido);
+            long lsn = ++lsnAnotado;
+            hayDatos.signal();
+            return lsn;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Bloquea hasta que el registro 'lsn' sea durable. Solo espera con la política CADA_COMMIT;
+    // con las otras políticas la operación se confirma apenas queda en el búfer.
+    public void esperar(long lsn) {
+        if (politica != PoliticaSincronizacion.CADA_COMMIT) return;
+        esperarEscrito(lsn);
+    }
+
+    // Espera a que todo lo anotado hasta ahora sea durable (según la política).
+    public void esperarTodo() {
+        long lsn;
+        candado.lock();
+        try {
+            lsn = lsnAnotado;
+        } finally {
+            candado.unlock();
+        }
+        esperar(lsn);
+    }
+
+    private void esperarEscrito(long lsn) {
+        candado.lock();
+        try {
+            while (lsnDurable < lsn) {
+                revisarError();
+                hayDatos.signal();
+                escrito.awaitUninterruptibly();
+            }
+            revisarError();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Escribe todo lo pendiente, fuerza el fsync y continúa en otro archivo.
+    // Quien llama debe garantizar que nadie anote mientras tanto (ver GestorUniversidad.compactar).
+    public void rotar(Path nuevoArchivo) throws IOException {
+        vaciar();
+        candado.lock();
+        try {
+            canal.close();
+            canal = abrirCanal(nuevoArchivo);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Escribe todo lo pendiente y lo fuerza a disco, sin importar la política.
+    public void vaciar() throws IOException {
+        long lsn;
+        candado.lock();
+        try {
+            lsn = lsnAnotado;
+        } finally {
+            candado.unlock();
+        }
+        esperarEscrito(lsn);
+        candado.lock();
+        try {
+            canal.force(false);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        vaciar();
+        candado.lock();
+        try {
+            cerrando = true;
+            hayDatos.signal();
+        } finally {
+            candado.unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+    }
+
+    // --- Hilo Escritor ---
+
+    private void cicloEscritor() {
+        while (true) {
+            ByteBuffer lleno;
+            FileChannel destino;
+            long hasta;
+            candado.lock();
+            try {
+                while (pendiente.position() == 0 && !cerrando) {
+                    try {
+                        hayDatos.await(intervaloSincronizacionMs, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        cerrando = true;
+                    }
+                }
+                if (pendiente.position() == 0 && cerrando) return;
+
+                // Intercambio de búferes: los nuevos registros siguen llegando mientras escribimos este
+                lleno = pendiente;
+                pendiente = enVuelo;
+                enVuelo = lleno;
+                destino = canal;
+                hasta = lsnAnotado;
+            } finally {
+                candado.unlock();
+            }
+
+            // Se escribe desde 'lleno' y no desde el campo 'enVuelo', que anotar() podría cambiar
+            IOException fallo = null;
+            try {
+                lleno.flip();
+                while (lleno.hasRemaining()) {
+                    destino.write(lleno);
+                }
+                if (debeForzar()) {
+                    destino.force(false);
+                    ultimoFsync = System.nanoTime();
+                }
+            } catch (IOException e) {
+                fallo = e;
+            } finally {
+                lleno.clear();
+            }
+
+            candado.lock();
+            try {
+                if (fallo != null) {
+                    error = fallo;
+                } else {
+                    lsnDurable = hasta;
+                }
+                escrito.signalAll();
+            } finally {
+                candado.unlock();
+            }
+            if (fallo != null) return;
+        }
+    }
+
+    private boolean debeForzar() {
+        switch (politica) {
+            case CADA_COMMIT:
+                return true;
+            case PERIODICA:
+                return System.nanoTime() - ultimoFsync >= TimeUnit.MILLISECONDS.toNanos(intervaloSincronizacionMs);
+            default:
+                return false;
+        }
+    }
+
+    private void revisarError() {
+        if (error != null) {
+            throw new UncheckedIOException("El diario dejó de escribirse", error);
+        }
+    }
+
+    // --- Lectura (Recuperación) ---
+
+    // Lo que encontró leer(): cuántos registros sanos había y hasta dónde llegan.
+    static final class Lectura {
+        final long registros;
+        final long finSano;   // Bytes desde el inicio hasta el final del último registro sano
+        final long tamano;    // Tamaño del archivo al leerlo
+
+        Lectura(long registros, long finSano, long tamano) {
+            this.registros = registros;
+            this.finSano = finSano;
+            this.tamano = tamano;
+        }
+
+        // ¿Había algo después del último registro sano? (incompleto, dañado o basura)
+        boolean cortada() {
+            return finSano < tamano;
+        }
+    }
+
+    // Recorre los registros del archivo en orden y entrega el contenido de cada uno. Se detiene en el
+    // primer registro incompleto o con crc incorrecto, SIN tocar el archivo: quien llama decide si esa
+    // cola se puede descartar (solo en el último diario, ver Persistencia.recuperar y recortar).
+    public static Lectura leer(Path archivo, Consumer<DataInputStream> aplicar) throws IOException {
+        long leidos = 0;
+        long finSano = 0;
+        long tamano = Files.size(archivo);
+        try (InputStream base = Files.newInputStream(archivo);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(base, 1 << 16))) {
+            while (true) {
+                int largo;
+                int crcEsperado;
+                byte[] contenido;
+                try {
+                    largo = entrada.readInt();
+                    crcEsperado = entrada.readInt();
+                    if (largo < 0) break;
+                    contenido = entrada.readNBytes(largo);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (contenido.length < largo) break;
+                CRC32C crc = new CRC32C();
+                crc.update(contenido);
+                if ((int) crc.getValue() != crcEsperado) break;
+
+                aplicar.accept(new DataInputStream(new ByteArrayInputStream(contenido)));
+                leidos++;
+                finSano += largo + 8;
+            }
+        }
+        return new Lectura(leidos, finSano, tamano);
+    }
+
+    // Descarta la cola que leer() no pudo usar (caída a mitad de una escritura): el archivo queda
+    // hasta el último registro sano y se puede seguir anotando detrás.
+    public static void recortar(Path archivo, Lectura lectura) throws IOException {
+        if (!lectura.cortada()) return;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(lectura.finSano);
+        }
+    }
+}
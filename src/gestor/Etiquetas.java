@@ -0,0 +1,98 @@
+package gestor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// --- DICCIONARIO DE ETIQUETAS ---
+// Los intereses de los alumnos y las áreas de los cursos salen de unas pocas decenas de temas
+// ("IA", "redes"...) que se repiten en miles de fichas. En lugar de guardar en cada ficha un
+// HashSet con sus propios textos, cada tema recibe una vez un número (0, 1, 2...) y la ficha guarda
+// un conjunto de bits: el bit N encendido = tiene el tema N.
+//
+// Con 64 temas o menos el conjunto entero cabe en un solo long; si aparecen más, el arreglo
+// crece de a una palabra (64 temas más por palabra). La afinidad entre un alumno y un curso
+// queda en un AND y un Long.bitCount por palabra.
+//
+// El diccionario es global y solo crece (los números nunca se reutilizan). No se guarda en disco:
+// el diario y las imágenes siguen escribiendo los temas como texto.
+final class Etiquetas {
+
+    static final long[] VACIO = new long[0];
+
+    private static final Map<String, Integer> numeros = new ConcurrentHashMap<>();
+    private static volatile String[] nombres = new String[64];
+    private static volatile int cantidad = 0;
+
+    private Etiquetas() { }
+
+    // Número del tema (lo da de alta si es nuevo)
+    static int numero(String tema) {
+        Integer numero = numeros.get(tema);
+        return numero != null ? numero : registrar(tema);
+    }
+
+    private static synchronized int registrar(String tema) {
+        Integer numero = numeros.get(tema);
+        if (numero != null) return numero;
+        int nuevo = cantidad;
+        if (nuevo == nombres.length) nombres = Arrays.copyOf(nombres, nuevo * 2);
+        nombres[nuevo] = tema;
+        cantidad = nuevo + 1;
+        numeros.put(tema, nuevo); // Se publica después de guardar el nombre
+        return nuevo;
+    }
+
+    static String nombre(int numero) {
+        return nombres[numero];
+    }
+
+    // --- Conversión Texto <-> Bits ---
+
+    // {"IA", "redes"} -> bits. Los temas vacíos o en blanco se ignoran (ej: el "" de un split sin datos).
+    static long[] codificar(Set<String> temas) {
+        if (temas == null || temas.isEmpty()) return VACIO;
+        long[] bits = VACIO;
+        for (String tema : temas) {
+            if (tema == null || tema.isBlank()) continue;
+            int numero = numero(tema.strip());
+            int palabra = numero >>> 6;
+            if (palabra >= bits.length) bits = Arrays.copyOf(bits, palabra + 1);
+            bits[palabra] |= 1L << numero;
+        }
+        return bits;
+    }
+
+    // Bits -> temas, en el orden del diccionario. Los textos son los del diccionario (no copias).
+    static Set<String> decodificar(long[] bits) {
+        Set<String> temas = new LinkedHashSet<>();
+        for (int palabra = 0; palabra < bits.length; palabra++) {
+            long resto = bits[palabra];
+            while (resto != 0) {
+                temas.add(nombre((palabra << 6) + Long.numberOfTrailingZeros(resto)));
+                resto &= resto - 1; // Apaga el bit más bajo
+            }
+        }
+        return Collections.unmodifiableSet(temas);
+    }
+
+    // --- Operaciones ---
+
+    // Cantidad de temas en común
+    static int comunes(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            total += Long.bitCount(a[i] & b[i]);
+        }
+        return total;
+    }
+
+    // Los primeros 64 temas (la palabra que usa el recorrido rápido de las recomendaciones)
+    static long primeraPalabra(long[] bits) {
+        return bits.length == 0 ? 0L : bits[0];
+    }
+}
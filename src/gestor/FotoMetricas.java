@@ -0,0 +1,209 @@
+package gestor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Foto de las métricas del gestor en un instante (ver GestorUniversidad.obtenerMetricas()).
+// Es de solo lectura: se puede consultar por código o volcar en el formato de texto de Prometheus
+// (el mismo que contesta la ruta GET /metricas del ServidorHttp).
+public class FotoMetricas {
+
+    // --- Latencia de una operación ---
+    public static class Latencia {
+        private final OperacionMedida operacion;
+        private final long cantidad;
+        private final long sumaNanos;
+        private final long maximoNanos;
+        private final double[] percentiles;
+        private final long[] valoresNanos;
+
+        Latencia(OperacionMedida operacion, long cantidad, long sumaNanos, long maximoNanos,
+                 double[] percentiles, long[] valoresNanos) {
+            this.operacion = operacion;
+            this.cantidad = cantidad;
+            this.sumaNanos = sumaNanos;
+            this.maximoNanos = maximoNanos;
+            this.percentiles = percentiles;
+            this.valoresNanos = valoresNanos;
+        }
+
+        public OperacionMedida getOperacion() { return operacion; }
+        public long getCantidad() { return cantidad; }
+        public long getSumaNanos() { return sumaNanos; }
+        public long getMaximoNanos() { return maximoNanos; }
+
+        // Percentil en nanosegundos (solo los de Metricas.PERCENTILES: 50, 90, 99, 99.9). -1 si no se calculó.
+        public long getPercentilNanos(double percentil) {
+            for (int i = 0; i < percentiles.length; i++) {
+                if (percentiles[i] == percentil) return valoresNanos[i];
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            return operacion + ": " + cantidad + " | p50 " + microsegundos(getPercentilNanos(50))
+                    + " | p99 " + microsegundos(getPercentilNanos(99))
+                    + " | p99.9 " + microsegundos(getPercentilNanos(99.9))
+                    + " | máx " + microsegundos(maximoNanos);
+        }
+
+        private static String microsegundos(long nanos) {
+            return String.format("%.1f µs", nanos / 1000.0);
+        }
+    }
+
+    // --- Ocupación de un curso ---
+    public static class Ocupacion {
+        private final String idCurso;
+        private final int inscritos;
+        private final int cupoMaximo;
+        private final int enEspera;
+
+        Ocupacion(String idCurso, int inscritos, int cupoMaximo, int enEspera) {
+            this.idCurso = idCurso;
+            this.inscritos = inscritos;
+            this.cupoMaximo = cupoMaximo;
+            this.enEspera = enEspera;
+        }
+
+        public String getIdCurso() { return idCurso; }
+        public int getInscritos() { return inscritos; }
+        public int getCupoMaximo() { return cupoMaximo; }
+        public int getEnEspera() { return enEspera; }
+
+        // Fracción de asientos ocupados (0 a 1); un curso sin cupo cuenta como vacío
+        public double getUtilizacion() { return cupoMaximo == 0 ? 0 : (double) inscritos / cupoMaximo; }
+    }
+
+    private final long instante; // Milisegundos desde 1970, como System.currentTimeMillis()
+    private final Map<TipoEvento, Long> eventos;
+    private final List<Latencia> latencias;
+    private final int alumnos;
+    private final List<Ocupacion> cursos;
+    private final long totalEnEspera;
+
+    FotoMetricas(long instante, EnumMap<TipoEvento, Long> eventos, List<Latencia> latencias,
+                 int alumnos, List<Ocupacion> cursos) {
+        this.instante = instante;
+        this.eventos = Collections.unmodifiableMap(eventos);
+        this.latencias = Collections.unmodifiableList(latencias);
+        this.alumnos = alumnos;
+        this.cursos = Collections.unmodifiableList(cursos);
+        long espera = 0;
+        for (Ocupacion ocupacion : cursos) espera += ocupacion.getEnEspera();
+        this.totalEnEspera = espera;
+    }
+
+    public long getInstante() { return instante; }
+    public Map<TipoEvento, Long> getEventos() { return eventos; }
+    public long getEventos(TipoEvento tipo) { return eventos.getOrDefault(tipo, 0L); }
+    public List<Latencia> getLatencias() { return latencias; }
+    public int getAlumnos() { return alumnos; }
+    public List<Ocupacion> getCursos() { return cursos; }
+    public long getTotalEnEspera() { return totalEnEspera; }
+
+    public Latencia getLatencia(OperacionMedida operacion) {
+        for (Latencia latencia : latencias) {
+            if (latencia.getOperacion() == operacion) return latencia;
+        }
+        return null;
+    }
+
+    // --- Formato Prometheus ---
+    // Formato de texto 0.0.4: "# HELP", "# TYPE" y una línea por serie. Las latencias van como
+    // 'summary' en segundos (cuantiles ya calculados + _sum + _count), que es lo que se puede
+    // informar sin mandar los miles de casilleros del histograma.
+
+    public String aPrometheus() {
+        StringBuilder texto = new StringBuilder(4096 + cursos.size() * 160);
+
+        encabezado(texto, "gestor_eventos_total", "counter", "Avisos publicados por el gestor, por tipo");
+        for (Map.Entry<TipoEvento, Long> evento : eventos.entrySet()) {
+            texto.append("gestor_eventos_total{tipo=\"").append(evento.getKey().name().toLowerCase())
+                    .append("\"} ").append(evento.getValue()).append('\n');
+        }
+
+        encabezado(texto, "gestor_latencia_segundos", "summary", "Latencia de las operaciones del gestor");
+        for (Latencia latencia : latencias) {
+            String operacion = latencia.getOperacion().name().toLowerCase();
+            for (int i = 0; i < latencia.percentiles.length; i++) {
+                texto.append("gestor_latencia_segundos{operacion=\"").append(operacion)
+                        .append("\",quantile=\"").append(cuantil(latencia.percentiles[i])).append("\"} ")
+                        .append(segundos(latencia.valoresNanos[i])).append('\n');
+            }
+            texto.append("gestor_latencia_segundos_sum{operacion=\"").append(operacion).append("\"} ")
+                    .append(segundos(latencia.getSumaNanos())).append('\n');
+            texto.append("gestor_latencia_segundos_count{operacion=\"").append(operacion).append("\"} ")
+                    .append(latencia.getCantidad()).append('\n');
+        }
+        encabezado(texto, "gestor_latencia_maxima_segundos", "gauge", "Latencia más alta vista desde el arranque");
+        for (Latencia latencia : latencias) {
+            texto.append("gestor_latencia_maxima_segundos{operacion=\"").append(latencia.getOperacion().name().toLowerCase())
+                    .append("\"} ").append(segundos(latencia.getMaximoNanos())).append('\n');
+        }
+
+        encabezado(texto, "gestor_alumnos", "gauge", "Alumnos registrados");
+        texto.append("gestor_alumnos ").append(alumnos).append('\n');
+        encabezado(texto, "gestor_cursos", "gauge", "Cursos registrados");
+        texto.append("gestor_cursos ").append(cursos.size()).append('\n');
+        encabezado(texto, "gestor_lista_espera_total", "gauge", "Alumnos esperando, sumando todos los cursos");
+        texto.append("gestor_lista_espera_total ").append(totalEnEspera).append('\n');
+
+        encabezado(texto, "gestor_curso_utilizacion", "gauge", "Fracción de asientos ocupados de cada curso");
+        for (Ocupacion ocupacion : cursos) {
+            serieDeCurso(texto, "gestor_curso_utilizacion", ocupacion).append(ocupacion.getUtilizacion()).append('\n');
+        }
+        encabezado(texto, "gestor_curso_inscritos", "gauge", "Alumnos inscritos en cada curso");
+        for (Ocupacion ocupacion : cursos) {
+            serieDeCurso(texto, "gestor_curso_inscritos", ocupacion).append(ocupacion.getInscritos()).append('\n');
+        }
+        encabezado(texto, "gestor_curso_lista_espera", "gauge", "Alumnos en la lista de espera de cada curso");
+        for (Ocupacion ocupacion : cursos) {
+            serieDeCurso(texto, "gestor_curso_lista_espera", ocupacion).append(ocupacion.getEnEspera()).append('\n');
+        }
+        return texto.toString();
+    }
+
+    // Escribe el volcado en un archivo temporal y lo renombra: quien lo lea (ej: el colector de
+    // archivos de node_exporter) nunca ve uno a medio escribir.
+    public void escribirPrometheus(Path archivo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        Files.write(temporal, aPrometheus().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void encabezado(StringBuilder texto, String nombre, String tipo, String ayuda) {
+        texto.append("# HELP ").append(nombre).append(' ').append(ayuda).append('\n');
+        texto.append("# TYPE ").append(nombre).append(' ').append(tipo).append('\n');
+    }
+
+    private static StringBuilder serieDeCurso(StringBuilder texto, String nombre, Ocupacion ocupacion) {
+        texto.append(nombre).append("{curso=\"");
+        String id = ocupacion.getIdCurso();
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c == '\\' || c == '"') texto.append('\\').append(c);
+            else if (c == '\n') texto.append("\\n");
+            else texto.append(c);
+        }
+        return texto.append("\"} ");
+    }
+
+    // 99.9 -> "0.999" (dividir el double por 100 dejaría "0.9990000000000001")
+    private static String cuantil(double percentil) {
+        return BigDecimal.valueOf(percentil).movePointLeft(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static String segundos(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
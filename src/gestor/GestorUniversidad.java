@@ -0,0 +1,1680 @@
+package gestor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// --- GESTOR UNIVERSITARIO ---
+// Este es el "cerebro" del sistema. Aquí ocurre toda la lógica:
+// inscripciones, manejo de bases de datos en memoria, reglas de negocio
+// y cálculos estadísticos.
+//
+// Concurrencia: cada Curso trae su propio candado. Todo lo que toca los cupos, la lista de inscritos
+// o la lista de espera de un curso ocurre con ese candado tomado, así que las inscripciones a cursos
+// distintos corren en paralelo y las de un mismo curso se atienden una tras otra (sin sobreventa).
+// En modo concurrente (ver OpcionesGestor) además las tablas principales usan ConcurrentHashMap.
+//
+// Cada curso y cada alumno recibe un índice entero al registrarse (ver TablaIds); las listas de
+// inscritos, las listas de espera y el ranking se guardan en arreglos por ese índice, y los textos
+// de los códigos solo se usan en la frontera (menú, diario, reportes).
+//
+// Persistencia (opcional): cada cambio se anota en un diario en disco (ver Persistencia) y al arrancar
+// se recupera el estado. Las operaciones toman la parte "lectura" de un candado global compartido;
+// solo la compactación toma la parte "escritura" para congelar el registro un instante.
+//
+// Avisos: las operaciones (altas, inscripciones, bajas, promociones) no imprimen; publican un
+// TipoEvento en el SumideroEventos configurado (la consola de Main usa ConsolaEventos).
+// Los reportes (mostrar..., listar..., recomendarCursos...) siguen siendo vistas de consola.
+//
+// Fragmentos (opcional): con OpcionesGestor.fragmentos(N) los cursos se reparten entre N hilos y cada
+// curso lo modifica SOLO su hilo dueño (ver MotorFragmentos): todo cambio de un curso, síncrono o
+// ...Asincrono, viaja a su buzón, y ese camino ya no usa el candado del curso. Lo que cruza cursos
+// (lotes, retirar a un alumno de todo, reacomodar sus filas) se parte en un pedido por curso.
+//
+// Lecturas sin candado: al soltar el candado de un curso que cambió se publica su VersionCurso
+// (cupos + inscritos + fila del mismo instante, armada con estructuras inmutables que comparten
+// casi todo con la versión anterior). Los reportes leen esa versión y nunca esperan ni frenan
+// a una inscripción; el ranking de demanda se lee con lectura optimista (ver RankingDemanda).
+//
+// Créditos: cada alumno lleva la suma de sus créditos al día (ver Alumno.getCreditosInscritos) y un
+// índice por carga (ver IndiceCarga) contesta quiénes llevan entre X e Y créditos. Con
+// OpcionesGestor.maximoCreditos(N) ninguna inscripción ni promoción deja a un alumno por encima de N.
+// Horarios: tampoco se inscribe (ni se promueve) a nadie en un curso que se pisa con sus otras clases;
+// el alumno guarda sus horas ocupadas como mapa de bits y la revisión es un AND (ver Horario).
+// Búsqueda por nombre: alumnos y cursos también se encuentran por parte del nombre o por un nombre
+// parecido (con errores de tipeo), sin recorrer el registro (ver IndiceNombres).
+//
+// Métricas: cada aviso suma en un contador y las operaciones principales miden su latencia
+// (ver Metricas). obtenerMetricas() entrega una foto, que también se puede volcar para Prometheus.
+public final class GestorUniversidad implements AutoCloseable {
+
+    private final boolean concurrente;
+    private final int maximoCreditos; // 0 = sin límite
+
+    // --- Bases de Datos en Memoria ---
+
+    // Almacenes principales: Guardan los objetos Curso y Alumno para consultarlos rápido por su ID.
+    // Cada uno recibe además un índice denso (0, 1, 2...) con el que se ubica en los arreglos de abajo.
+    private TablaIds<Curso> cursos;
+    private TablaIds<Alumno> alumnos;
+
+    // Gestor de Colas: Guarda la fila de espera de cada curso (posición = índice del curso).
+    // Aquí es donde vive la lógica de prioridad (quién entra primero si se libera un lugar).
+    // Cada fila es una ListaEsperaVersionada, que además publica sus versiones para los reportes.
+    private volatile ListaEsperaVersionada[] listasEspera = new ListaEsperaVersionada[16];
+
+    // Registro de Matrículas: Relaciona qué alumnos (por índice) están oficialmente dentro de cada curso,
+    // en orden de inscripción y con búsqueda/baja en O(1) (ver ConjuntoEnteros).
+    // Cada lista se modifica solo con el candado de su curso tomado.
+    private volatile ConjuntoEnteros[] inscripcionesCurso = new ConjuntoEnteros[16];
+
+    // Índice invertido de temas: cursosPorTema[t] = índices de los cursos que tienen el tema t (ver
+    // Etiquetas), en orden de alta. Las recomendaciones solo recorren las listas de los temas del alumno,
+    // no el catálogo entero. Se agrega con 'candadoRegistro' tomado; se lee sin candado (ver ConjuntoEnteros.foto).
+    private volatile ConjuntoEnteros[] cursosPorTema = new ConjuntoEnteros[64];
+
+    // Ranking de demanda (inscritos + en espera) que se actualiza en cada movimiento,
+    // para que el reporte de cursos más pedidos no tenga que recorrer el catálogo.
+    private RankingDemanda rankingDemanda;
+
+    // Alumnos agrupados por créditos inscritos (cada Alumno avisa sus propios cambios).
+    private final IndiceCarga indiceCarga = new IndiceCarga();
+
+    // Nombres ordenados para buscar por prefijo o por parecido (se alimentan en cada alta).
+    private final IndiceNombres nombresAlumnos = new IndiceNombres();
+    private final IndiceNombres nombresCursos = new IndiceNombres();
+
+    // --- Persistencia ---
+    private Persistencia persistencia; // null = el registro vive solo en memoria
+    private final ReentrantReadWriteLock candadoPersistencia = new ReentrantReadWriteLock();
+    private final Object candadoRegistro = new Object(); // Ordena las altas de cursos y alumnos en el diario
+    private final Object candadoCompactacion = new Object(); // Una compactación a la vez
+    private ScheduledExecutorService compactador;
+    private ImagenRegistro imagen; // Imagen mapeada de la que salen los alumnos aún no armados (null = ninguna)
+
+    // --- Fragmentos (opcional) ---
+    private MotorFragmentos fragmentos; // null = las operaciones asíncronas se ejecutan en el mismo hilo
+
+    // --- Avisos y Métricas ---
+    // El gestor no imprime: cada resultado se publica en este sumidero (ver SumideroEventos).
+    private volatile SumideroEventos sumidero;
+    private final Metricas metricas;
+    private ScheduledExecutorService volcadorMetricas; // null = sin volcado periódico a archivo
+    private Path archivoMetricas;
+
+    public GestorUniversidad() {
+        this(new OpcionesGestor());
+    }
+
+    public GestorUniversidad(OpcionesGestor opciones) {
+        this.concurrente = opciones.isConcurrente();
+        this.maximoCreditos = opciones.getMaximoCreditos();
+        this.cursos = new TablaIds<>(concurrente);
+        this.alumnos = new TablaIds<>(concurrente);
+        this.rankingDemanda = new RankingDemanda();
+        this.sumidero = opciones.getSumideroEventos();
+        this.metricas = new Metricas(opciones.isMetricas());
+
+        boolean recuperado = false;
+        if (opciones.getDirectorioDatos() != null) {
+            recuperado = abrirPersistencia(opciones);
+        }
+        // Los datos de ejemplo solo se cargan si no había nada guardado en disco
+        if (opciones.isCargarDatosDemo() && !recuperado) {
+            cargarDatosIniciales(); // Pre-carga datos de ejemplo para no empezar en blanco.
+        }
+        if (opciones.getFragmentos() > 0) {
+            fragmentos = new MotorFragmentos(this, opciones.getFragmentos(), opciones.getCapacidadColaFragmento());
+        }
+        if (opciones.getArchivoMetricas() != null) {
+            programarVolcadoMetricas(opciones.getArchivoMetricas(), opciones.getIntervaloMetricasSegundos());
+        }
+    }
+
+    // Recupera el estado guardado (foto + diario) y programa la compactación periódica.
+    private boolean abrirPersistencia(OpcionesGestor opciones) {
+        boolean recuperado;
+        try {
+            Persistencia nueva = new Persistencia(opciones.getDirectorioDatos(),
+                    opciones.getPoliticaSincronizacion(), opciones.getIntervaloSincronizacionMs());
+            // Durante la recuperación 'persistencia' sigue en null: lo que se reaplica no se vuelve a anotar
+            recuperado = nueva.recuperar(this);
+            for (Curso curso : cursos.valores()) {
+                publicarVersion(curso); // Lo reaplicado no pasó por ningún candado
+            }
+            this.persistencia = nueva;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el directorio de datos " + opciones.getDirectorioDatos(), e);
+        }
+
+        long intervalo = opciones.getIntervaloSnapshotSegundos();
+        if (intervalo > 0) {
+            compactador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "compactador-snapshots");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            compactador.scheduleWithFixedDelay(this::compactarSilencioso, intervalo, intervalo, TimeUnit.SECONDS);
+        }
+        return recuperado;
+    }
+
+    public boolean isConcurrente() {
+        return concurrente;
+    }
+
+    public int getMaximoCreditos() {
+        return maximoCreditos;
+    }
+
+    // Cambia a quién se le avisan los eventos (null = a nadie).
+    public void setSumideroEventos(SumideroEventos sumidero) {
+        this.sumidero = sumidero == null ? SumideroEventos.NINGUNO : sumidero;
+    }
+
+    // Solo llama al sumidero si alguien escucha: sin oyentes no se hace ningún trabajo extra.
+    private void avisar(TipoEvento tipo, Alumno alumno, Curso curso) {
+        metricas.contar(tipo);
+        SumideroEventos destino = sumidero;
+        if (destino != SumideroEventos.NINGUNO) {
+            destino.publicar(tipo, alumno, curso);
+        }
+    }
+
+    // --- Candados de las Operaciones ---
+
+    // Toma lo necesario para modificar un curso: la parte compartida del candado de persistencia
+    // (si está activa) y luego el candado propio del curso. Siempre en ese orden.
+    private void bloquear(Curso curso) {
+        entrarMutacion();
+        curso.getCandado().lock();
+    }
+
+    private void desbloquear(Curso curso) {
+        soltar(curso);
+        salirMutacion();
+    }
+
+    // Suelta el candado del curso. Al salir de la toma más externa publica antes la versión nueva
+    // (si algo cambió), así los lectores solo ven estados completos.
+    private void soltar(Curso curso) {
+        ReentrantLock candado = curso.getCandado();
+        if (candado.getHoldCount() == 1) publicarVersion(curso);
+        candado.unlock();
+    }
+
+    // Con el curso para uno solo: su candado tomado, su hilo dueño (ver MotorFragmentos) o la recuperación.
+    void publicarVersion(Curso curso) {
+        VersionCurso anterior = curso.getVersion();
+        int cupoMaximo = curso.getCupoMaximo();
+        int libres = curso.getCuposDisponibles();
+        Object inscritos = inscritos(curso).foto();
+        ListaEsperaVersionada.Nodo fila = espera(curso).foto();
+        if (anterior != null && anterior.igualA(cupoMaximo, libres, inscritos, fila)) return;
+        long numero = anterior == null ? 0 : anterior.getNumero() + 1;
+        curso.setVersion(new VersionCurso(numero, cupoMaximo, libres, inscritos, fila));
+    }
+
+    private void entrarMutacion() {
+        if (persistencia != null) candadoPersistencia.readLock().lock();
+    }
+
+    // Al salir de la operación más externa, espera (si la política lo pide) a que el diario
+    // sea durable. Se espera SIN candados tomados para que el fsync no frene a los demás.
+    private void salirMutacion() {
+        if (persistencia == null) return;
+        candadoPersistencia.readLock().unlock();
+        if (candadoPersistencia.getReadHoldCount() == 0) {
+            persistencia.esperarDurabilidad();
+        }
+    }
+
+    // Espera (si la política lo pide) a que lo anotado hasta ahora sea durable. Los hilos de
+    // MotorFragmentos la llaman al cerrar cada lote, sin candados tomados.
+    void esperarDurabilidad() {
+        if (persistencia != null) persistencia.esperarDurabilidad();
+    }
+
+    // --- Acceso a un Curso ---
+
+    // Corre 'cuerpo' con el curso para él solo y retorna lo que dé. Sin fragmentos: con el candado del
+    // curso (ver bloquear). Con fragmentos: en el hilo dueño del curso, esperando su respuesta (que llega
+    // ya durable); si este hilo ES el dueño, directamente.
+    private <T> T enCurso(Curso curso, Supplier<T> cuerpo) {
+        if (fragmentos == null) {
+            bloquear(curso);
+            try {
+                return cuerpo.get();
+            } finally {
+                desbloquear(curso);
+            }
+        }
+        if (fragmentos.esDueno(curso)) return cuerpo.get();
+        return esperar(fragmentos.enviar(curso, cuerpo));
+    }
+
+    // Igual, sin esperar: con fragmentos el pedido queda en el buzón del curso y el futuro se completa
+    // cuando el cambio ya es durable. Sin fragmentos se ejecuta aquí mismo y el futuro llega ya completo.
+    private <T> CompletableFuture<T> enCursoAsincrono(Curso curso, Supplier<T> cuerpo) {
+        if (fragmentos == null || fragmentos.esDueno(curso)) {
+            return CompletableFuture.completedFuture(enCurso(curso, cuerpo));
+        }
+        return fragmentos.enviar(curso, cuerpo);
+    }
+
+    // Corre 'trabajo' en cada curso, cada uno para él solo, y retorna los resultados en el mismo orden.
+    // Sin fragmentos van uno tras otro en este hilo dentro de una sola mutación (un único fsync al final);
+    // con fragmentos cada pedido va a su hilo dueño, todos avanzan a la vez y se espera a que terminen.
+    private <T> List<T> enCadaCurso(Collection<Curso> lista, Function<Curso, T> trabajo) {
+        return enCadaCurso(lista, curso -> curso, trabajo);
+    }
+
+    // Igual, para pedidos que no son el curso mismo ('cursoDe' dice a qué curso va cada uno).
+    // Dos pedidos al mismo curso se atienden en el orden de la lista.
+    private <E, T> List<T> enCadaCurso(Collection<E> lista, Function<E, Curso> cursoDe, Function<E, T> trabajo) {
+        List<T> resultados = new ArrayList<>(lista.size());
+        if (fragmentos == null) {
+            entrarMutacion();
+            try {
+                for (E pedido : lista) {
+                    resultados.add(enCurso(cursoDe.apply(pedido), () -> trabajo.apply(pedido)));
+                }
+            } finally {
+                salirMutacion();
+            }
+            return resultados;
+        }
+        List<CompletableFuture<T>> pendientes = new ArrayList<>(lista.size());
+        for (E pedido : lista) {
+            pendientes.add(enCursoAsincrono(cursoDe.apply(pedido), () -> trabajo.apply(pedido)));
+        }
+        for (CompletableFuture<T> pendiente : pendientes) {
+            resultados.add(esperar(pendiente));
+        }
+        return resultados;
+    }
+
+    // Resultado de un pedido a un fragmento; si el trabajo falló, se relanza su error tal cual.
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    // --- Reglas de Prioridad (El "Juez" de la Lista de Espera) ---
+
+    // Este método define las "Reglas del Juego" para ver quién merece entrar antes a un curso lleno.
+    // Criterio 1: Meritocracia (Mejor promedio entra primero).
+    // Criterio 2: Antigüedad (Si empatan en promedio, pasa el de semestre más avanzado).
+    // Es público y estático para que otras piezas (ej: los benchmarks) ordenen con las mismas reglas.
+    // Es una sola instancia compartida por todas las listas (no hace falta una por curso).
+    // ListaEsperaVersionada aplica estas mismas reglas, pero ya "empaquetadas" en un número.
+    public static Comparator<Alumno> obtenerComparadorListaEspera() {
+        return COMPARADOR_LISTA_ESPERA;
+    }
+
+    private static final Comparator<Alumno> COMPARADOR_LISTA_ESPERA = (a1, a2) -> {
+        Alumno.DatosAcademicos d1 = a1.datosAcademicos(), d2 = a2.datosAcademicos();
+        // 1. Comparar Promedio (De mayor a menor)
+        if (d1.promedio != d2.promedio) {
+            return Double.compare(d2.promedio, d1.promedio);
+        }
+        // 2. Comparar Semestre (Desempate: el mayor semestre gana)
+        return Integer.compare(d2.semestre, d1.semestre);
+    };
+
+    // Prepara la "sala de espera" y la lista de inscritos del curso con el índice dado.
+    // Los arreglos crecen aquí (solo durante un alta) y se vuelven a publicar completos.
+    private void inicializarListaEspera(int indiceCurso) {
+        if (indiceCurso >= listasEspera.length) {
+            int nueva = Math.max(indiceCurso + 1, listasEspera.length * 2);
+            ListaEsperaVersionada[] esperas = Arrays.copyOf(listasEspera, nueva);
+            ConjuntoEnteros[] inscritos = Arrays.copyOf(inscripcionesCurso, nueva);
+            listasEspera = esperas;
+            inscripcionesCurso = inscritos;
+        }
+        // Asigna las reglas de prioridad definidas arriba a esta lista específica
+        listasEspera[indiceCurso] = new ListaEsperaVersionada();
+        inscripcionesCurso[indiceCurso] = new ConjuntoEnteros();
+    }
+
+    private ListaEsperaVersionada espera(Curso curso) {
+        return listasEspera[curso.getIndice()];
+    }
+
+    private ConjuntoEnteros inscritos(Curso curso) {
+        return inscripcionesCurso[curso.getIndice()];
+    }
+
+    // --- Administración Básica (Altas y Consultas) ---
+
+    public Collection<Curso> obtenerTodosLosCursos() {
+        return cursos.valores();
+    }
+
+    public Collection<Alumno> obtenerTodosLosAlumnos() {
+        return alumnos.valores();
+    }
+
+    // Las altas se anotan en el diario ANTES de publicarse en el mapa: así ninguna inscripción
+    // de ese alumno/curso puede quedar en el diario antes que su propia alta.
+    public void registrarAlumno(Alumno alumno) {
+        entrarMutacion();
+        try {
+            synchronized (candadoRegistro) {
+                // Validación: No permitir duplicados
+                if (alumnos.contiene(alumno.getIdAlumno())) {
+                    avisar(TipoEvento.ALUMNO_DUPLICADO, alumno, null);
+                    return;
+                }
+                if (persistencia != null) persistencia.anotarAlumno(alumno);
+                agregarAlumno(alumno);
+            }
+        } finally {
+            salirMutacion();
+        }
+        avisar(TipoEvento.ALUMNO_REGISTRADO, alumno, null);
+    }
+
+    public void registrarCurso(Curso curso) {
+        entrarMutacion();
+        try {
+            synchronized (candadoRegistro) {
+                if (cursos.contiene(curso.getIdCurso())) {
+                    avisar(TipoEvento.CURSO_DUPLICADO, null, curso);
+                    return;
+                }
+                if (persistencia != null) persistencia.anotarCurso(curso);
+                agregarCurso(curso);
+            }
+        } finally {
+            salirMutacion();
+        }
+        avisar(TipoEvento.CURSO_REGISTRADO, null, curso);
+    }
+
+    // Altas en lote (ej: la importación de un CSV): una sola toma del candado de registro y una sola
+    // espera de durabilidad para todo el lote. La posición i dice si el elemento i quedó registrado
+    // ('falso' = su ID ya existía, incluso repetido dentro del mismo lote). Cada alta se avisa al sumidero.
+    public boolean[] registrarAlumnosEnLote(List<Alumno> lote) {
+        boolean[] registrados = new boolean[lote.size()];
+        entrarMutacion();
+        try {
+            synchronized (candadoRegistro) {
+                for (int i = 0; i < lote.size(); i++) {
+                    Alumno alumno = lote.get(i);
+                    if (alumnos.contiene(alumno.getIdAlumno())) continue;
+                    if (persistencia != null) persistencia.anotarAlumno(alumno);
+                    agregarAlumno(alumno);
+                    registrados[i] = true;
+                }
+            }
+        } finally {
+            salirMutacion();
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            avisar(registrados[i] ? TipoEvento.ALUMNO_REGISTRADO : TipoEvento.ALUMNO_DUPLICADO, lote.get(i), null);
+        }
+        return registrados;
+    }
+
+    public boolean[] registrarCursosEnLote(List<Curso> lote) {
+        boolean[] registrados = new boolean[lote.size()];
+        entrarMutacion();
+        try {
+            synchronized (candadoRegistro) {
+                for (int i = 0; i < lote.size(); i++) {
+                    Curso curso = lote.get(i);
+                    if (cursos.contiene(curso.getIdCurso())) continue;
+                    if (persistencia != null) persistencia.anotarCurso(curso);
+                    agregarCurso(curso);
+                    registrados[i] = true;
+                }
+            }
+        } finally {
+            salirMutacion();
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            avisar(registrados[i] ? TipoEvento.CURSO_REGISTRADO : TipoEvento.CURSO_DUPLICADO, null, lote.get(i));
+        }
+        return registrados;
+    }
+
+    // Las dos altas internas asumen 'candadoRegistro' tomado (o la recuperación, que es de un solo hilo).
+    private void agregarCurso(Curso curso) {
+        // Preparamos sus listas vacías ANTES de publicarlo, para que ningún hilo
+        // vea el curso sin ellas.
+        int indice = cursos.siguienteIndice();
+        curso.setIndice(indice);
+        inicializarListaEspera(indice);
+        indexarTemas(indice, curso.bitsAreas());
+        publicarVersion(curso);
+        rankingDemanda.agregar(curso);
+        nombresCursos.agregar(indice, curso.getNombre());
+        cursos.registrar(curso.getIdCurso(), curso);
+    }
+
+    // Suma el curso a la lista de cada uno de sus temas. Una lista nueva se publica con una copia del
+    // arreglo (así nadie la ve a medio crear); sumar a una lista que ya existe no copia nada.
+    private void indexarTemas(int indiceCurso, long[] bits) {
+        ConjuntoEnteros[] listas = cursosPorTema;
+        for (int palabra = 0; palabra < bits.length; palabra++) {
+            for (long resto = bits[palabra]; resto != 0; resto &= resto - 1) {
+                int tema = (palabra << 6) + Long.numberOfTrailingZeros(resto);
+                if (tema >= listas.length || listas[tema] == null) {
+                    listas = Arrays.copyOf(listas, Math.max(listas.length, tema + 1));
+                    listas[tema] = new ConjuntoEnteros();
+                    cursosPorTema = listas;
+                }
+                listas[tema].add(indiceCurso);
+            }
+        }
+    }
+
+    private void agregarAlumno(Alumno alumno) {
+        int indice = alumnos.siguienteIndice();
+        alumno.vincular(indice, cursos, indiceCarga);
+        indiceCarga.agregar(indice, alumno.getCreditosInscritos());
+        nombresAlumnos.agregar(indice, alumno.getNombre());
+        alumnos.registrar(alumno.getIdAlumno(), alumno);
+    }
+
+    // Búsquedas rápidas en la "base de datos"
+    public Curso consultarCurso(String idCurso) {
+        return cursos.get(idCurso);
+    }
+
+    public Alumno consultarAlumno(String idAlumno) {
+        return alumnos.get(idAlumno);
+    }
+
+    // --- Búsqueda por Nombre ---
+    // Para cuando no se sabe el ID (ej: la mesa de ayuda con "María Díaz" al teléfono). Ver IndiceNombres.
+
+    // Alumnos con alguna palabra del nombre que empieza con 'texto', sin importar tildes ni mayúsculas
+    // ("diaz" y "maria d" encuentran a "María Díaz"). A lo sumo 'maximo', en orden alfabético.
+    public List<Alumno> buscarAlumnosPorNombre(String texto, int maximo) {
+        long inicio = metricas.inicio();
+        try {
+            return alumnosEn(nombresAlumnos.buscar(texto, maximo));
+        } finally {
+            metricas.medir(OperacionMedida.BUSCAR, inicio);
+        }
+    }
+
+    // Igual, pero admite hasta 'distancia' errores de tipeo (a lo sumo IndiceNombres.DISTANCIA_MAXIMA):
+    // "dias" encuentra a "Díaz". Primero los más parecidos.
+    public List<Alumno> buscarAlumnosParecidos(String texto, int distancia, int maximo) {
+        long inicio = metricas.inicio();
+        try {
+            return alumnosEn(nombresAlumnos.buscarParecidos(texto, distancia, maximo));
+        } finally {
+            metricas.medir(OperacionMedida.BUSCAR, inicio);
+        }
+    }
+
+    public List<Curso> buscarCursosPorNombre(String texto, int maximo) {
+        long inicio = metricas.inicio();
+        try {
+            return cursosEn(nombresCursos.buscar(texto, maximo));
+        } finally {
+            metricas.medir(OperacionMedida.BUSCAR, inicio);
+        }
+    }
+
+    public List<Curso> buscarCursosParecidos(String texto, int distancia, int maximo) {
+        long inicio = metricas.inicio();
+        try {
+            return cursosEn(nombresCursos.buscarParecidos(texto, distancia, maximo));
+        } finally {
+            metricas.medir(OperacionMedida.BUSCAR, inicio);
+        }
+    }
+
+    private List<Alumno> alumnosEn(int[] indices) {
+        List<Alumno> lista = new ArrayList<>(indices.length);
+        for (int indiceAlumno : indices) {
+            lista.add(alumnos.get(indiceAlumno));
+        }
+        return lista;
+    }
+
+    private List<Curso> cursosEn(int[] indices) {
+        List<Curso> lista = new ArrayList<>(indices.length);
+        for (int indiceCurso : indices) {
+            lista.add(cursos.get(indiceCurso));
+        }
+        return lista;
+    }
+
+    // Versión para consola: cursos y alumnos cuyo nombre empieza con el texto. Si no aparece nadie,
+    // sugiere los nombres parecidos (1 error de tipeo en textos cortos, 2 desde 6 letras).
+    public void buscarPorNombre(String texto) {
+        int distancia = texto.trim().length() >= 6 ? 2 : 1;
+        List<Curso> listaCursos = buscarCursosPorNombre(texto, 20);
+        boolean cursosParecidos = listaCursos.isEmpty();
+        if (cursosParecidos) listaCursos = buscarCursosParecidos(texto, distancia, 20);
+        List<Alumno> listaAlumnos = buscarAlumnosPorNombre(texto, 20);
+        boolean alumnosParecidos = listaAlumnos.isEmpty();
+        if (alumnosParecidos) listaAlumnos = buscarAlumnosParecidos(texto, distancia, 20);
+
+        System.out.println("\n--- Resultados para \"" + texto.trim() + "\" ---");
+        if (listaCursos.isEmpty() && listaAlumnos.isEmpty()) {
+            System.out.println("Ningún curso ni alumno tiene un nombre parecido.");
+            return;
+        }
+        if (!listaCursos.isEmpty()) {
+            System.out.println(cursosParecidos ? "Cursos con nombre parecido:" : "Cursos:");
+            for (Curso curso : listaCursos) {
+                System.out.println(" - " + curso.getNombre() + " (ID: " + curso.getIdCurso() + ") - Docente: " + curso.getDocente());
+            }
+        }
+        if (!listaAlumnos.isEmpty()) {
+            System.out.println(alumnosParecidos ? "Alumnos con nombre parecido:" : "Alumnos:");
+            for (Alumno alumno : listaAlumnos) {
+                System.out.println(" - " + alumno.getNombre() + " (ID: " + alumno.getIdAlumno() + ") - Semestre " + alumno.getSemestre());
+            }
+        }
+    }
+
+    // --- LÓGICA CENTRAL: Inscripciones ---
+
+    // Intenta matricular a un alumno. Maneja tres escenarios:
+    // 1. Hay cupo -> Entra directo.
+    // 2. No hay cupo -> Se va a la lista de espera (ordenado por promedio).
+    // 3. Ya está inscrito -> Error.
+    // 4. Con el curso se pasaría del máximo de créditos o chocaría con su horario -> Rechazado (ni asiento ni fila).
+    // Retorna qué pasó (además de avisarlo al sumidero de eventos).
+    public ResultadoInscripcion inscribirAlumnoEnCurso(String idAlumno, String idCurso) {
+        long inicio = metricas.inicio();
+        try {
+            return inscribir(idAlumno, idCurso);
+        } finally {
+            metricas.medir(OperacionMedida.INSCRIBIR, inicio);
+        }
+    }
+
+    private ResultadoInscripcion inscribir(String idAlumno, String idCurso) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        Curso curso = consultarCurso(idCurso);
+
+        // Validaciones de existencia
+        if (alumno == null || curso == null) {
+            avisar(TipoEvento.ALUMNO_O_CURSO_NO_ENCONTRADO, alumno, curso);
+            return ResultadoInscripcion.NO_ENCONTRADO;
+        }
+
+        // A partir de aquí trabajamos con el curso "cerrado" para los demás hilos (o en su hilo dueño)
+        return enCurso(curso, () -> inscribirCon(alumno, curso));
+    }
+
+    private ResultadoInscripcion inscribirCon(Alumno alumno, Curso curso) {
+        // Validación de duplicidad
+        if (alumno.tieneCurso(curso.getIndice())) {
+            avisar(TipoEvento.YA_INSCRITO, alumno, curso);
+            return ResultadoInscripcion.YA_INSCRITO;
+        }
+
+        // Reglas del alumno: créditos y horario ya están sumados, revisarlos cuesta O(1)
+        ResultadoInscripcion impedimento = alumno.impedimentoPara(curso, maximoCreditos);
+        if (impedimento != null) {
+            return rechazar(impedimento, alumno, curso);
+        }
+
+        // Escenario 1: Hay asientos libres (revisar y restar la silla es un solo paso)
+        ResultadoInscripcion resultado = efectoInscribir(alumno, curso, true);
+        if (resultado == ResultadoInscripcion.INSCRITO) {
+            anotar(Persistencia.INSCRIPCION, alumno, curso);
+            avisar(TipoEvento.INSCRITO, alumno, curso);
+            return ResultadoInscripcion.INSCRITO;
+        }
+        // Había asiento, pero otra inscripción del mismo alumno (en otro curso) ganó esos créditos o esa hora
+        else if (resultado != ResultadoInscripcion.EN_ESPERA) {
+            return rechazar(resultado, alumno, curso);
+        }
+        // Escenario 2: Clase llena (Manejo de Lista de Espera)
+        else if (!espera(curso).contains(alumno)) {
+            // Aquí ocurre la magia: Se inserta en la fila y queda ordenado automáticamente según su promedio
+            efectoEncolar(alumno, curso);
+            anotar(Persistencia.ESPERA_ALTA, alumno, curso);
+            avisar(TipoEvento.EN_ESPERA, alumno, curso);
+            return ResultadoInscripcion.EN_ESPERA;
+        } else {
+            avisar(TipoEvento.YA_EN_ESPERA, alumno, curso);
+            return ResultadoInscripcion.YA_EN_ESPERA;
+        }
+    }
+
+    // Avisa y devuelve el motivo (LIMITE_CREDITOS o CHOQUE_HORARIO).
+    private ResultadoInscripcion rechazar(ResultadoInscripcion motivo, Alumno alumno, Curso curso) {
+        avisar(motivo == ResultadoInscripcion.LIMITE_CREDITOS ? TipoEvento.LIMITE_CREDITOS : TipoEvento.CHOQUE_HORARIO,
+                alumno, curso);
+        return motivo;
+    }
+
+    // Inscripción por lotes (ej: una generación completa pidiendo los cursos troncales).
+    // Agrupa los pedidos por curso y atiende cada grupo con UNA sola toma del candado del curso:
+    // primero se reparten los asientos libres en el orden de llegada y los que no alcanzan
+    // entran juntos a la lista de espera (ver ListaEspera.offerTodos).
+    // Sin fragmentos, el resultado final es el mismo que llamar a inscribirAlumnoEnCurso pedido por pedido
+    // (ver agruparPorCurso); la posición i del arreglo dice qué pasó con el pedido i (y cada pedido
+    // también se avisa al sumidero).
+    public ResultadoInscripcion[] inscribirEnLote(List<SolicitudInscripcion> solicitudes) {
+        long inicio = metricas.inicio();
+        try {
+            return inscribirLote(solicitudes);
+        } finally {
+            metricas.medir(OperacionMedida.INSCRIBIR_EN_LOTE, inicio);
+        }
+    }
+
+    private ResultadoInscripcion[] inscribirLote(List<SolicitudInscripcion> solicitudes) {
+        ResultadoInscripcion[] resultados = new ResultadoInscripcion[solicitudes.size()];
+        Alumno[] alumnosPedidos = new Alumno[solicitudes.size()];
+        List<GrupoLote> grupos = agruparPorCurso(solicitudes, alumnosPedidos, resultados);
+
+        // Paso 2: una pasada por grupo, cada una con el curso para ella sola. Sin fragmentos el candado
+        // de persistencia se toma una sola vez para todo el lote, así que (con CADA_COMMIT) se espera un
+        // único fsync al final; con fragmentos cada grupo va a su hilo dueño y los cursos avanzan a la vez.
+        enCadaCurso(grupos, grupo -> grupo.curso, grupo -> {
+            inscribirGrupo(grupo.curso, grupo.pedidos, alumnosPedidos, resultados);
+            return null;
+        });
+        return resultados;
+    }
+
+    // Los pedidos de un lote que se atienden juntos en un curso (posiciones en el lote, en orden de llegada)
+    private static final class GrupoLote {
+        final Curso curso;
+        final ListaEnteros pedidos = new ListaEnteros();
+
+        GrupoLote(Curso curso) {
+            this.curso = curso;
+        }
+    }
+
+    // Paso 1: agrupar las posiciones de los pedidos por curso (respetando el orden de llegada).
+    // Los pedidos con alumno o curso inexistente ya quedan contestados.
+    // Atender un grupo entero antes que el siguiente equivale a atender los pedidos en orden mientras
+    // ningún alumno quede con un pedido atendido antes que otro suyo anterior: sus créditos y su horario
+    // dependen del orden. Por eso un pedido solo se suma al último grupo de su curso si ese grupo no va
+    // antes que el último donde quedó otro pedido del mismo alumno; si no, abre un grupo nuevo al final.
+    // En el caso común (todos piden los cursos en el mismo orden) queda un solo grupo por curso.
+    private List<GrupoLote> agruparPorCurso(List<SolicitudInscripcion> solicitudes, Alumno[] alumnosPedidos,
+                                           ResultadoInscripcion[] resultados) {
+        List<GrupoLote> grupos = new ArrayList<>();
+        Map<Curso, Integer> ultimoDelCurso = new HashMap<>();
+        Map<Alumno, Integer> ultimoDelAlumno = new HashMap<>();
+        for (int i = 0; i < solicitudes.size(); i++) {
+            SolicitudInscripcion solicitud = solicitudes.get(i);
+            Alumno alumno = consultarAlumno(solicitud.getIdAlumno());
+            Curso curso = consultarCurso(solicitud.getIdCurso());
+            if (alumno == null || curso == null) {
+                resultados[i] = ResultadoInscripcion.NO_ENCONTRADO;
+                avisar(TipoEvento.ALUMNO_O_CURSO_NO_ENCONTRADO, alumno, curso);
+                continue;
+            }
+            alumnosPedidos[i] = alumno;
+            Integer grupo = ultimoDelCurso.get(curso);
+            if (grupo == null || grupo < ultimoDelAlumno.getOrDefault(alumno, -1)) {
+                grupo = grupos.size();
+                grupos.add(new GrupoLote(curso));
+                ultimoDelCurso.put(curso, grupo);
+            }
+            grupos.get(grupo).pedidos.add(i);
+            ultimoDelAlumno.put(alumno, grupo);
+        }
+        return grupos;
+    }
+
+    // Con el curso para uno solo (ver enCurso).
+    private void inscribirGrupo(Curso curso, ListaEnteros pedidos, Alumno[] alumnosPedidos,
+                                ResultadoInscripcion[] resultados) {
+        ListaEspera espera = espera(curso);
+        List<Alumno> nuevosEnEspera = new ArrayList<>();
+        Set<String> pendientes = new HashSet<>(); // Van a la espera pero todavía no están en la fila
+
+        for (int p = 0; p < pedidos.size(); p++) {
+            int i = pedidos.get(p);
+            Alumno alumno = alumnosPedidos[i];
+
+            if (alumno.tieneCurso(curso.getIndice())) {
+                resultados[i] = ResultadoInscripcion.YA_INSCRITO;
+                avisar(TipoEvento.YA_INSCRITO, alumno, curso);
+                continue;
+            }
+            // Mismo orden de revisiones que inscribirCon: las reglas del alumno van antes que la fila
+            ResultadoInscripcion impedimento = alumno.impedimentoPara(curso, maximoCreditos);
+            ResultadoInscripcion resultado = impedimento != null ? impedimento : efectoInscribir(alumno, curso, true);
+            if (resultado == ResultadoInscripcion.INSCRITO) {
+                anotar(Persistencia.INSCRIPCION, alumno, curso);
+                resultados[i] = ResultadoInscripcion.INSCRITO;
+                avisar(TipoEvento.INSCRITO, alumno, curso);
+            } else if (resultado != ResultadoInscripcion.EN_ESPERA) {
+                resultados[i] = rechazar(resultado, alumno, curso);
+            } else if (espera.contains(alumno) || pendientes.contains(alumno.getIdAlumno())) {
+                resultados[i] = ResultadoInscripcion.YA_EN_ESPERA;
+                avisar(TipoEvento.YA_EN_ESPERA, alumno, curso);
+            } else {
+                pendientes.add(alumno.getIdAlumno());
+                nuevosEnEspera.add(alumno);
+                anotar(Persistencia.ESPERA_ALTA, alumno, curso);
+                resultados[i] = ResultadoInscripcion.EN_ESPERA;
+                avisar(TipoEvento.EN_ESPERA, alumno, curso);
+            }
+        }
+
+        // Todos los que no alcanzaron asiento entran de golpe a la fila
+        if (!nuevosEnEspera.isEmpty()) {
+            for (Alumno nuevo : nuevosEnEspera) nuevo.entrarAEspera(curso.getIndice());
+            espera.offerTodos(nuevosEnEspera);
+            for (int k = 0; k < nuevosEnEspera.size(); k++) {
+                rankingDemanda.incrementar(curso.getIndice());
+            }
+        }
+    }
+
+    // Maneja la salida de un alumno.
+    // Importante: Si alguien se va, se dispara automáticamente el proceso de "llenar el hueco" con la lista de espera.
+    // Retorna 'verdadero' si el alumno dejó su asiento o su lugar en la fila.
+    public boolean darDeBajaAlumnoDelCurso(String idAlumno, String idCurso) {
+        long inicio = metricas.inicio();
+        try {
+            return darDeBaja(idAlumno, idCurso);
+        } finally {
+            metricas.medir(OperacionMedida.DAR_DE_BAJA, inicio);
+        }
+    }
+
+    private boolean darDeBaja(String idAlumno, String idCurso) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        Curso curso = consultarCurso(idCurso);
+
+        if (alumno == null || curso == null) return false;
+
+        // La baja y la promoción del siguiente de la fila ocurren sin soltar el curso:
+        // nadie puede "colarse" en la silla liberada entre ambos pasos.
+        return enCurso(curso, () -> darDeBajaCon(alumno, curso));
+    }
+
+    private boolean darDeBajaCon(Alumno alumno, Curso curso) {
+        // Intenta quitarlo de la lista oficial de inscritos (y se libera una silla)
+        if (efectoBaja(alumno, curso)) {
+            anotar(Persistencia.BAJA, alumno, curso);
+            avisar(TipoEvento.BAJA, alumno, curso);
+
+            // EFECTO DOMINÓ: Al liberarse un cupo, llamamos al siguiente de la fila
+            llenarCuposDesdeEspera(curso);
+            return true;
+        }
+        // Si no estaba inscrito, tal vez solo quería salir de la lista de espera
+        else if (efectoSalirDeEspera(alumno, curso)) {
+            anotar(Persistencia.ESPERA_BAJA, alumno, curso);
+            avisar(TipoEvento.BAJA_DE_ESPERA, alumno, curso);
+            return true;
+        } else {
+            avisar(TipoEvento.BAJA_SIN_REGISTRO, alumno, curso);
+            return false;
+        }
+    }
+
+    // --- Operaciones Asíncronas (Fragmentos) ---
+    // Con fragmentos activos, el pedido viaja al buzón del curso en su hilo dueño y el futuro se completa
+    // cuando el cambio ya es durable. Sin fragmentos se ejecuta aquí mismo y el futuro llega ya completo.
+    // Las versiones síncronas hacen lo mismo, pero esperan la respuesta.
+
+    public CompletableFuture<ResultadoInscripcion> inscribirAsincrono(String idAlumno, String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        if (fragmentos == null || curso == null || fragmentos.esDueno(curso)) {
+            return CompletableFuture.completedFuture(inscribirAlumnoEnCurso(idAlumno, idCurso));
+        }
+        return fragmentos.enviar(curso, () -> inscribirAlumnoEnCurso(idAlumno, idCurso));
+    }
+
+    public CompletableFuture<Boolean> darDeBajaAsincrono(String idAlumno, String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        if (fragmentos == null || curso == null || fragmentos.esDueno(curso)) {
+            return CompletableFuture.completedFuture(darDeBajaAlumnoDelCurso(idAlumno, idCurso));
+        }
+        return fragmentos.enviar(curso, () -> darDeBajaAlumnoDelCurso(idAlumno, idCurso));
+    }
+
+    // El lote se parte por curso; cada grupo va al buzón de su curso (ver inscribirGrupo) y cada uno
+    // escribe sus propias posiciones del arreglo de resultados, que se entrega cuando terminaron todos.
+    public CompletableFuture<ResultadoInscripcion[]> inscribirEnLoteAsincrono(List<SolicitudInscripcion> solicitudes) {
+        if (fragmentos == null) {
+            return CompletableFuture.completedFuture(inscribirEnLote(solicitudes));
+        }
+        ResultadoInscripcion[] resultados = new ResultadoInscripcion[solicitudes.size()];
+        Alumno[] alumnosPedidos = new Alumno[solicitudes.size()];
+        List<GrupoLote> grupos = agruparPorCurso(solicitudes, alumnosPedidos, resultados);
+
+        List<CompletableFuture<Void>> pendientes = new ArrayList<>();
+        for (GrupoLote grupo : grupos) {
+            pendientes.add(enCursoAsincrono(grupo.curso, () -> {
+                inscribirGrupo(grupo.curso, grupo.pedidos, alumnosPedidos, resultados);
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(pendientes.toArray(new CompletableFuture<?>[0])).thenApply(nada -> resultados);
+    }
+
+    // Registra un cambio de promedio/semestre (ej: cierre de periodo) y reacomoda al alumno
+    // en cada lista de espera donde esté formado, sin reconstruir las filas ni recorrer el catálogo.
+    public void actualizarDatosAcademicos(String idAlumno, int semestre, double promedio) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) {
+            avisar(TipoEvento.ALUMNO_NO_ENCONTRADO, null, null);
+            return;
+        }
+        entrarMutacion();
+        try {
+            int[] filas;
+            // Cambiar y anotar bajo el mismo candado: dos cambios simultáneos quedan en el diario
+            // en el mismo orden en que se aplicaron
+            synchronized (alumno) {
+                filas = alumno.cambiarDatosAcademicos(semestre, promedio);
+                if (persistencia != null) persistencia.anotarDatosAcademicos(alumno);
+            }
+            reacomodarEnEspera(alumno, filas);
+        } finally {
+            salirMutacion();
+        }
+        avisar(TipoEvento.DATOS_ACADEMICOS_ACTUALIZADOS, alumno, null);
+    }
+
+    // Igual, al recuperar el diario (un solo hilo, sin volver a anotarlo)
+    void aplicarDatosAcademicos(String idAlumno, int semestre, double promedio) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) return;
+        reacomodarEnEspera(alumno, alumno.cambiarDatosAcademicos(semestre, promedio));
+    }
+
+    // Solo las filas donde el alumno está formado, cada una con su curso para ella sola (ver enCadaCurso).
+    // Si entre tanto ya salió de alguna, update no hace nada ahí.
+    private void reacomodarEnEspera(Alumno alumno, int[] filas) {
+        enCadaCurso(cursosEn(filas), curso -> espera(curso).update(alumno));
+    }
+
+    // --- Gestión de Listas de Espera ---
+
+    // Versión publicada de un curso (null si no existe): cupos, inscritos y fila de un mismo instante,
+    // para leer sin candado. Ver VersionCurso.
+    public VersionCurso obtenerVersionCurso(String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        return curso == null ? null : curso.getVersion();
+    }
+
+    // Solo muestra quiénes están esperando, ordenados visualmente por prioridad.
+    public void mostrarListaDeEspera(String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        if (curso == null) {
+            System.out.println("⚠️ Error: Curso no encontrado.");
+            return;
+        }
+        // La fila y los cupos salen de la misma versión del curso (sin cerrarlo), ya en orden de prioridad
+        VersionCurso version = curso.getVersion();
+        List<Alumno> listaOrdenada = version.listaEspera(0, Integer.MAX_VALUE);
+        System.out.println("\n--- Lista de Espera para " + curso.getNombre() + " (Cupos disponibles: " + version.getCuposDisponibles() + ") ---");
+        if (listaOrdenada.isEmpty()) {
+            System.out.println("La lista de espera está vacía.");
+            return;
+        }
+        int i = 1;
+        for (Alumno a : listaOrdenada) {
+            System.out.println(i++ + ". " + a.toString());
+        }
+    }
+
+    // Lugar de un alumno en la fila de un curso (1 = el siguiente en entrar).
+    // Retorna 0 si no está esperando ahí (o si el alumno o el curso no existen).
+    // Con listas ordenadas cuesta O(log n), así que aguanta consultas muy seguidas (ej: página de estado).
+    public int posicionEnListaEspera(String idAlumno, String idCurso) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        Curso curso = consultarCurso(idCurso);
+        if (alumno == null || curso == null) return 0;
+        if (fragmentos != null) {
+            // La fila viva solo la toca su hilo dueño: se le pregunta a él (la respuesta no espera ningún fsync)
+            if (fragmentos.esDueno(curso)) return espera(curso).posicionDe(alumno);
+            return esperar(fragmentos.consultar(curso, () -> espera(curso).posicionDe(alumno)));
+        }
+        curso.getCandado().lock();
+        try {
+            return espera(curso).posicionDe(alumno);
+        } finally {
+            curso.getCandado().unlock();
+        }
+    }
+
+    // Cuántos alumnos esperan en la fila de un curso (0 si el curso no existe).
+    public int tamanoListaEspera(String idCurso) {
+        VersionCurso version = obtenerVersionCurso(idCurso);
+        return version == null ? 0 : version.getTamanoListaEspera();
+    }
+
+    // Una "página" de la fila en orden de prioridad, sin copiar ni ordenar la fila entera.
+    // 'numeroPagina' empieza en 0; una página fuera de rango viene vacía.
+    public List<Alumno> paginaListaEspera(String idCurso, int numeroPagina, int tamanoPagina) {
+        VersionCurso version = obtenerVersionCurso(idCurso);
+        if (version == null) return new ArrayList<>();
+        return paginaListaEspera(version, numeroPagina, tamanoPagina);
+    }
+
+    // Igual, pero sobre una versión ya tomada (ej: para contestar tamaño y página del mismo instante).
+    public static List<Alumno> paginaListaEspera(VersionCurso version, int numeroPagina, int tamanoPagina) {
+        if (numeroPagina < 0 || tamanoPagina <= 0) return new ArrayList<>();
+        long inicio = (long) numeroPagina * tamanoPagina;
+        if (inicio > Integer.MAX_VALUE) return new ArrayList<>();
+        return version.listaEspera((int) inicio, tamanoPagina);
+    }
+
+    // Automatización: Mueve a los primeros de la fila (los de mejor promedio) hacia adentro del curso,
+    // tantos como asientos libres haya. Retorna cuántos alumnos entraron.
+    public int procesarListaDeEspera(String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        if (curso == null) return 0;
+
+        return enCurso(curso, () -> {
+            // Verificamos que realmente haya lugar para la gente que espera
+            if (curso.getCuposDisponibles() <= 0 && !espera(curso).isEmpty()) {
+                avisar(TipoEvento.SIN_CUPO_PARA_PROMOVER, null, curso);
+                return 0;
+            }
+            return llenarCuposDesdeEspera(curso);
+        });
+    }
+
+    // Vacía la fila hacia los asientos libres en una sola pasada, sin soltar el curso
+    // (que ya debe tenerse para uno solo, ver enCurso): se detiene cuando se acaban los cupos o la gente esperando.
+    // Quien mientras esperaba sumó otras materias y con esta se pasaría del máximo de créditos
+    // (o tendría dos clases a la misma hora) sale de la fila sin asiento, y el lugar pasa al siguiente.
+    private int llenarCuposDesdeEspera(Curso curso) {
+        int promovidos = 0;
+        Alumno siguiente;
+        // Extraer al "ganador" (el alumno con mayor prioridad en la fila) y formalizar su inscripción
+        while (curso.getCuposDisponibles() > 0 && (siguiente = espera(curso).peek()) != null) {
+            efectoSalirDeEspera(siguiente, curso);
+            ResultadoInscripcion resultado = efectoInscribir(siguiente, curso, true);
+            if (resultado == ResultadoInscripcion.INSCRITO) {
+                anotar(Persistencia.PROMOCION, siguiente, curso);
+                avisar(TipoEvento.PROMOVIDO_DESDE_ESPERA, siguiente, curso);
+                promovidos++;
+            } else {
+                anotar(Persistencia.ESPERA_BAJA, siguiente, curso);
+                avisar(resultado == ResultadoInscripcion.CHOQUE_HORARIO ? TipoEvento.RETIRADO_DE_ESPERA_POR_HORARIO
+                        : TipoEvento.RETIRADO_DE_ESPERA_POR_CREDITOS, siguiente, curso);
+            }
+        }
+        return promovidos;
+    }
+
+    // --- Capacidad y Retiros Masivos ---
+
+    // Cambia el cupo máximo de un curso (ej: se abrió un salón más grande).
+    // Si quedan asientos libres, la lista de espera los ocupa de inmediato.
+    // Retorna 'falso' si el curso no existe o el nuevo cupo es menor que los ya inscritos.
+    public boolean cambiarCupoMaximo(String idCurso, int nuevoCupo) {
+        Curso curso = consultarCurso(idCurso);
+        if (curso == null) {
+            avisar(TipoEvento.CURSO_NO_ENCONTRADO, null, null);
+            return false;
+        }
+
+        return enCurso(curso, () -> {
+            if (!curso.fijarCupoMaximo(nuevoCupo)) {
+                avisar(TipoEvento.CUPO_INSUFICIENTE, null, curso);
+                return false;
+            }
+            if (persistencia != null) persistencia.anotarCupoMaximo(curso);
+            avisar(TipoEvento.CUPO_ACTUALIZADO, null, curso);
+            llenarCuposDesdeEspera(curso);
+            return true;
+        });
+    }
+
+    // Reaplica un cambio de cupo leído del diario (las promociones que siguieron ya vienen anotadas aparte).
+    void aplicarCupoMaximo(String idCurso, int nuevoCupo) {
+        Curso curso = consultarCurso(idCurso);
+        if (curso != null) curso.cambiarCupoMaximo(nuevoCupo);
+    }
+
+    // Retira a un alumno de TODOS sus cursos y de todas las listas de espera donde esté formado.
+    // Es un solo barrido: cada curso se toma una vez (ver enCadaCurso), libera el asiento y lo rellena desde
+    // su fila en el mismo paso; y con persistencia se espera un único fsync al final, no uno por curso.
+    // Retorna en cuántos cursos estaba inscrito.
+    public int retirarAlumnoDeTodosLosCursos(String idAlumno) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) {
+            avisar(TipoEvento.ALUMNO_NO_ENCONTRADO, null, null);
+            return 0;
+        }
+
+        int retirados = 0;
+        entrarMutacion();
+        try {
+            // Paso 1: salir de las filas donde esperaba (solo esas, ver Alumno.filasEnEspera). Va primero:
+            // si se soltaran antes los asientos, la fila de OTRO curso podría ascenderlo mientras se retira.
+            enCadaCurso(cursosEn(alumno.indicesCursosEnEspera()), curso -> {
+                if (efectoSalirDeEspera(alumno, curso)) {
+                    anotar(Persistencia.ESPERA_BAJA, alumno, curso);
+                    avisar(TipoEvento.BAJA_DE_ESPERA, alumno, curso);
+                }
+                return null;
+            });
+
+            // Paso 2: soltar los asientos (y que los ocupe el siguiente de cada fila)
+            List<Boolean> bajas = enCadaCurso(cursosEn(alumno.indicesCursosInscritos()), curso -> {
+                if (!efectoBaja(alumno, curso)) return false;
+                anotar(Persistencia.BAJA, alumno, curso);
+                avisar(TipoEvento.BAJA, alumno, curso);
+                llenarCuposDesdeEspera(curso);
+                return true;
+            });
+            for (boolean baja : bajas) {
+                if (baja) retirados++;
+            }
+        } finally {
+            salirMutacion();
+        }
+        return retirados;
+    }
+
+    // --- Efectos sobre el Estado ---
+    // Son los cambios "atómicos" del registro. Suponen que ya se tiene el curso para uno solo (su candado
+    // o su hilo dueño),
+    // no imprimen nada y no validan reglas de negocio (salvo las del alumno en efectoInscribir, si se piden): los usan tanto las operaciones públicas
+    // como la recuperación desde disco, así ambas dejan exactamente el mismo estado.
+
+    // Ocupa un asiento y anota al alumno en ambas listas. Retorna INSCRITO, o por qué no:
+    // EN_ESPERA si ya no había cupo (formarlo o no lo decide quien llama) o, con 'conReglas',
+    // LIMITE_CREDITOS / CHOQUE_HORARIO. Al reaplicar el diario va sin reglas: eso ya se decidió.
+    private ResultadoInscripcion efectoInscribir(Alumno alumno, Curso curso, boolean conReglas) {
+        if (curso.getCuposDisponibles() <= 0) return ResultadoInscripcion.EN_ESPERA;
+        // Anotamos en el historial del alumno (que suma créditos y horas y revisa las reglas en el mismo paso)
+        ResultadoInscripcion resultado = alumno.agregarCurso(curso.getIndice(), conReglas ? maximoCreditos : 0, conReglas);
+        if (resultado != ResultadoInscripcion.INSCRITO) return resultado;
+        curso.ocuparAsiento();
+        inscritos(curso).add(alumno.getIndice()); // Y en la lista del profesor
+        rankingDemanda.incrementar(curso.getIndice());
+        return resultado;
+    }
+
+    // El alumno anota la fila ANTES de entrar: así un cambio de promedio simultáneo la ve (ver Alumno.cambiarDatosAcademicos)
+    private void efectoEncolar(Alumno alumno, Curso curso) {
+        alumno.entrarAEspera(curso.getIndice());
+        espera(curso).offer(alumno);
+        rankingDemanda.incrementar(curso.getIndice());
+    }
+
+    // Libera el asiento del alumno. 'falso' si no estaba inscrito.
+    private boolean efectoBaja(Alumno alumno, Curso curso) {
+        if (!alumno.quitarCurso(curso.getIndice())) return false;
+        curso.liberarAsiento(); // Se libera una silla
+        inscritos(curso).remove(alumno.getIndice());
+        rankingDemanda.decrementar(curso.getIndice());
+        return true;
+    }
+
+    private boolean efectoSalirDeEspera(Alumno alumno, Curso curso) {
+        if (!espera(curso).remove(alumno)) return false;
+        alumno.salirDeEspera(curso.getIndice());
+        rankingDemanda.decrementar(curso.getIndice());
+        return true;
+    }
+
+    // Anota un movimiento en el diario (si la persistencia está activa).
+    private void anotar(byte tipo, Alumno alumno, Curso curso) {
+        if (persistencia != null) {
+            persistencia.anotarMovimiento(tipo, alumno.getIdAlumno(), curso.getIdCurso());
+        }
+    }
+
+    // --- Recuperación (usado por Persistencia al arrancar, con un solo hilo) ---
+
+    void restaurarCurso(Curso curso) {
+        if (!cursos.contiene(curso.getIdCurso())) agregarCurso(curso);
+    }
+
+    void restaurarAlumno(Alumno alumno) {
+        if (!alumnos.contiene(alumno.getIdAlumno())) agregarAlumno(alumno);
+    }
+
+    // Arranque desde una imagen mapeada (ver ImagenRegistro). Los cursos se arman enseguida (son pocos)
+    // y sus inscritos se copian como enteros, sin tocar a ningún alumno. Los alumnos quedan perezosos:
+    // cada uno se arma (con sus cursos) la primera vez que se consulta, se inscribe, se mueve...
+    // Solo se arman desde ya los que están en alguna lista de espera, porque la fila los necesita.
+    void cargarImagen(ImagenRegistro imagen) {
+        this.imagen = imagen;
+        for (int c = 0; c < imagen.cantidadCursos(); c++) {
+            agregarCurso(imagen.curso(c));
+        }
+        alumnos.cargarPerezoso(new TablaIds.Origen<Alumno>() {
+            public int buscar(String id) { return imagen.buscarAlumno(id); }
+            public String id(int indice) { return imagen.idAlumno(indice); }
+            public Alumno crear(int indice) {
+                Alumno alumno = imagen.alumno(indice);
+                alumno.vincular(indice, cursos, indiceCarga);
+                alumno.restaurarCursos(imagen.cursosDeAlumno(indice)); // Su carga ya está en el índice
+                return alumno;
+            }
+        }, imagen.cantidadAlumnos());
+        nombresAlumnos.cargarPerezoso(imagen.cantidadAlumnos(), imagen::nombreAlumno); // Se leen en la primera búsqueda
+
+        // Los créditos de cada alumno vienen guardados en la imagen y la demanda de cada curso sale del
+        // largo de su lista de inscritos: nada se suma inscripción por inscripción ni arma a nadie.
+        int[] demandas = new int[imagen.cantidadCursos()];
+        for (int c = 0; c < imagen.cantidadCursos(); c++) {
+            int[] inscritos = imagen.inscritos(c);
+            inscripcionesCurso[c] = ConjuntoEnteros.envolver(inscritos);
+            cursos.get(c).restaurarOcupados(inscritos.length);
+            demandas[c] = inscritos.length;
+        }
+        rankingDemanda.cargarDemandas(demandas);
+        for (int c = 0; c < imagen.cantidadCursos(); c++) {
+            for (int indiceAlumno : imagen.espera(c)) {
+                efectoEncolar(alumnos.get(indiceAlumno), cursos.get(c)); // Suma también su demanda
+            }
+        }
+        indiceCarga.cargarTodos(imagen.creditosAlumnos());
+    }
+
+    // Foto del registro en formato de imagen mapeada, armada con lo copiado en el corte de compactar()
+    // (la versión publicada de cada curso y cuántos alumnos había) y sin ningún candado tomado.
+    // Los cursos salen de sus versiones, que no cambian. Los cursos de cada alumno se arman al revés,
+    // desde los inscritos de esas versiones (no desde el alumno vivo, que pudo moverse después del corte),
+    // respetando el orden en que el alumno los tiene. Los alumnos que siguen sin armar no cambiaron
+    // desde la imagen anterior: se copian tal cual. Si un alumno cambió su promedio después del corte,
+    // la foto ya lo trae, y el mismo cambio vuelve a aplicarse (sin efecto) al reaplicar el diario nuevo.
+    byte[] fotoMapeable(VersionCurso[] versiones, int cantidadAlumnos) throws IOException {
+        ImagenRegistro.Escritor escritor = new ImagenRegistro.Escritor(versiones.length, cantidadAlumnos);
+        int[][] inscritosPorCurso = new int[versiones.length][];
+        int[] cantidadPorAlumno = new int[cantidadAlumnos];
+        for (int c = 0; c < versiones.length; c++) {
+            VersionCurso version = versiones[c];
+            inscritosPorCurso[c] = version.indicesInscritos();
+            for (int indiceAlumno : inscritosPorCurso[c]) {
+                cantidadPorAlumno[indiceAlumno]++;
+            }
+            List<Alumno> fila = version.listaEspera(0, version.getTamanoListaEspera());
+            int[] enEspera = new int[fila.size()];
+            for (int k = 0; k < enEspera.length; k++) {
+                enEspera[k] = fila.get(k).getIndice();
+            }
+            escritor.curso(cursos.get(c), version.getCupoMaximo(), inscritosPorCurso[c], enEspera);
+        }
+
+        // Índices de curso de cada alumno según las versiones del corte
+        int[][] cursosPorAlumno = new int[cantidadAlumnos][];
+        for (int a = 0; a < cantidadAlumnos; a++) {
+            cursosPorAlumno[a] = new int[cantidadPorAlumno[a]];
+            cantidadPorAlumno[a] = 0;
+        }
+        for (int c = 0; c < versiones.length; c++) {
+            for (int indiceAlumno : inscritosPorCurso[c]) {
+                cursosPorAlumno[indiceAlumno][cantidadPorAlumno[indiceAlumno]++] = c;
+            }
+        }
+
+        for (int a = 0; a < cantidadAlumnos; a++) {
+            if (imagen != null && !alumnos.estaArmado(a)) {
+                escritor.alumnoSinCambios(imagen, a);
+            } else {
+                Alumno alumno = alumnos.get(a);
+                escritor.alumno(alumno, enOrdenDelAlumno(cursosPorAlumno[a], alumno.indicesCursosInscritos()));
+            }
+        }
+        return escritor.terminar();
+    }
+
+    // Los cursos del corte en el orden que el alumno tiene hoy; los que ya dejó van al final.
+    private static int[] enOrdenDelAlumno(int[] delCorte, int[] actuales) {
+        int[] ordenados = new int[delCorte.length];
+        boolean[] puestos = new boolean[delCorte.length];
+        int cantidad = 0;
+        for (int indiceCurso : actuales) {
+            for (int k = 0; k < delCorte.length; k++) {
+                if (delCorte[k] == indiceCurso && !puestos[k]) {
+                    puestos[k] = true;
+                    ordenados[cantidad++] = indiceCurso;
+                    break;
+                }
+            }
+        }
+        for (int k = 0; k < delCorte.length; k++) {
+            if (!puestos[k]) ordenados[cantidad++] = delCorte[k];
+        }
+        return ordenados;
+    }
+
+    // Reaplica un movimiento del diario tal como ocurrió (sin volver a decidir nada).
+    void aplicarMovimiento(byte tipo, String idAlumno, String idCurso) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        Curso curso = consultarCurso(idCurso);
+        if (alumno == null || curso == null) return;
+        switch (tipo) {
+            case Persistencia.INSCRIPCION: efectoInscribir(alumno, curso, false); break;
+            case Persistencia.ESPERA_ALTA: efectoEncolar(alumno, curso); break;
+            case Persistencia.BAJA: efectoBaja(alumno, curso); break;
+            case Persistencia.ESPERA_BAJA: efectoSalirDeEspera(alumno, curso); break;
+            case Persistencia.PROMOCION:
+                efectoSalirDeEspera(alumno, curso);
+                efectoInscribir(alumno, curso, false);
+                break;
+            default:
+                throw new IllegalStateException("Tipo de registro desconocido en el diario: " + tipo);
+        }
+    }
+
+    // Códigos de los inscritos de un curso, en orden de inscripción.
+    List<String> inscritosDe(String idCurso) {
+        int[] lista = inscritos(consultarCurso(idCurso)).toArray();
+        List<String> codigos = new ArrayList<>(lista.length);
+        for (int indiceAlumno : lista) {
+            codigos.add(alumnos.idDe(indiceAlumno));
+        }
+        return codigos;
+    }
+
+    ListaEspera listaEsperaDe(String idCurso) {
+        return espera(consultarCurso(idCurso));
+    }
+
+    // --- Compactación y Cierre ---
+
+    // Toma una foto completa del registro y descarta los diarios que ya no hacen falta.
+    // El registro se congela solo para rotar el diario y copiar las referencias a la versión publicada
+    // de cada curso (un arreglo de punteros). La foto se arma desde esas versiones y se escribe a disco
+    // con las inscripciones ya liberadas: lo que pase mientras tanto va al diario nuevo.
+    public void compactar() throws IOException {
+        if (persistencia == null) return;
+        synchronized (candadoCompactacion) {
+            long segmento;
+            VersionCurso[] versiones;
+            int cantidadAlumnos;
+            candadoPersistencia.writeLock().lock();
+            if (fragmentos != null) fragmentos.pausar(); // Sus hilos no usan el candado: se los deja quietos entre dos lotes
+            try {
+                segmento = persistencia.rotarDiario();
+                versiones = new VersionCurso[cursos.size()];
+                for (int c = 0; c < versiones.length; c++) {
+                    versiones[c] = cursos.get(c).getVersion(); // Al día: cada cambio publica la suya al terminar
+                }
+                cantidadAlumnos = alumnos.size();
+            } finally {
+                if (fragmentos != null) fragmentos.reanudar();
+                candadoPersistencia.writeLock().unlock();
+            }
+            persistencia.terminarCompactacion(fotoMapeable(versiones, cantidadAlumnos), segmento);
+        }
+    }
+
+    private void compactarSilencioso() {
+        try {
+            compactar();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Error al compactar el registro: " + e.getMessage());
+        }
+    }
+
+    // Detiene la compactación periódica y deja el diario completo en disco.
+    @Override
+    public void close() {
+        if (fragmentos != null) {
+            fragmentos.close(); // Primero se atiende lo que ya estaba en las colas
+        }
+        if (compactador != null) {
+            compactador.shutdownNow();
+        }
+        if (volcadorMetricas != null) {
+            volcadorMetricas.shutdownNow();
+        }
+        if (archivoMetricas != null) {
+            volcarMetricasSilencioso(); // El último volcado queda con los números finales
+        }
+        if (persistencia != null) {
+            try {
+                persistencia.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar el diario", e);
+            }
+        }
+    }
+
+    // --- Métricas ---
+
+    // Foto de contadores, latencias y ocupación. Cada curso se lee de su versión publicada (sin candado):
+    // sus números son de un mismo instante, pero dos cursos pueden estar tomados con instantes de diferencia.
+    public FotoMetricas obtenerMetricas() {
+        EnumMap<TipoEvento, Long> eventos = new EnumMap<>(TipoEvento.class);
+        for (TipoEvento tipo : TipoEvento.values()) {
+            eventos.put(tipo, metricas.eventos(tipo));
+        }
+        List<FotoMetricas.Latencia> latencias = new ArrayList<>();
+        for (OperacionMedida operacion : OperacionMedida.values()) {
+            latencias.add(metricas.latencia(operacion));
+        }
+        int cantidadCursos = cursos.size();
+        List<FotoMetricas.Ocupacion> ocupacion = new ArrayList<>(cantidadCursos);
+        for (int c = 0; c < cantidadCursos; c++) {
+            Curso curso = cursos.get(c);
+            VersionCurso version = curso.getVersion();
+            int cupo = version.getCupoMaximo();
+            ocupacion.add(new FotoMetricas.Ocupacion(curso.getIdCurso(), cupo - version.getCuposDisponibles(),
+                    cupo, version.getTamanoListaEspera()));
+        }
+        return new FotoMetricas(System.currentTimeMillis(), eventos, latencias, alumnos.size(), ocupacion);
+    }
+
+    // Con intervalo 0 solo se vuelca al cerrar el gestor.
+    private void programarVolcadoMetricas(Path archivo, long intervaloSegundos) {
+        archivoMetricas = archivo;
+        if (intervaloSegundos <= 0) return;
+        volcadorMetricas = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "volcado-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcadorMetricas.scheduleWithFixedDelay(this::volcarMetricasSilencioso, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    private void volcarMetricasSilencioso() {
+        try {
+            obtenerMetricas().escribirPrometheus(archivoMetricas);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Error al escribir las métricas: " + e.getMessage());
+        }
+    }
+
+    // --- Motor de Recomendaciones ---
+
+    // Orden de las recomendaciones: mayor afinidad primero; si empatan, por código de curso.
+    private static final Comparator<Recomendacion> ORDEN_RECOMENDACIONES =
+            Comparator.comparingInt(Recomendacion::getAfinidad).reversed()
+                    .thenComparing(r -> r.getCurso().getIdCurso());
+
+    // Busca coincidencias ("Matches") entre lo que le gusta al alumno y los temas de los cursos,
+    // y devuelve como máximo los 'k' cursos más afines, ya ordenados.
+    // La afinidad es la cantidad de temas en común. Solo se visitan los cursos que comparten al menos
+    // un tema con el alumno, a través del índice invertido 'cursosPorTema'.
+    public List<Recomendacion> obtenerRecomendaciones(String idAlumno, int k) {
+        long inicio = metricas.inicio();
+        try {
+            return recomendar(idAlumno, k);
+        } finally {
+            metricas.medir(OperacionMedida.RECOMENDAR, inicio);
+        }
+    }
+
+    private List<Recomendacion> recomendar(String idAlumno, int k) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null || k <= 0) return new ArrayList<>();
+        long[] intereses = alumno.bitsIntereses();
+        if (intereses.length == 0) return new ArrayList<>();
+
+        // Paso 1: se juntan las listas de los temas del alumno. Cada curso aparece una vez por tema en
+        // común, así que después de ordenar, el largo de cada tramo repetido es su afinidad. La cantidad
+        // de cursos se lee antes que las listas: un curso dado de alta a la mitad se deja para otra vez.
+        int cantidadCursos = cursos.size();
+        int[] visitados = cursosConTemas(intereses);
+        Arrays.sort(visitados);
+        int[] candidatos = new int[visitados.length];
+        int[] afinidades = new int[visitados.length];
+        int distintos = 0;
+        int[] porAfinidad = new int[Etiquetas.comunes(intereses, intereses) + 1];
+        for (int i = 0; i < visitados.length; ) {
+            int indiceCurso = visitados[i];
+            int fin = i;
+            while (fin < visitados.length && visitados[fin] == indiceCurso) fin++;
+            if (indiceCurso < cantidadCursos) {
+                candidatos[distintos] = indiceCurso;
+                afinidades[distintos++] = fin - i;
+                porAfinidad[fin - i]++;
+            }
+            i = fin;
+        }
+
+        // Paso 2: la afinidad mínima que hace falta para llenar los K lugares (con sus empates).
+        // Solo los cursos que la alcanzan se convierten en Recomendacion.
+        int minima = porAfinidad.length - 1;
+        int alcanzados = porAfinidad[minima];
+        while (minima > 1 && alcanzados < k) {
+            alcanzados += porAfinidad[--minima];
+        }
+        List<Recomendacion> candidatas = new ArrayList<>(alcanzados);
+        for (int i = 0; i < distintos; i++) {
+            if (afinidades[i] >= minima) candidatas.add(new Recomendacion(cursos.get(candidatos[i]), afinidades[i]));
+        }
+
+        // Paso 3a: si caben todos, basta con ordenar los que coincidieron
+        if (candidatas.size() <= k) {
+            candidatas.sort(ORDEN_RECOMENDACIONES);
+            return candidatas;
+        }
+
+        // Paso 3b: sobran candidatas (empatadas en la afinidad mínima): Top-K sin ordenar todo.
+        // Un heap pequeño guarda los K mejores vistos hasta ahora con el "peor de los mejores"
+        // en la cima, listo para ser reemplazado.
+        PriorityQueue<Recomendacion> mejores = new PriorityQueue<>(k + 1, ORDEN_RECOMENDACIONES.reversed());
+        for (Recomendacion candidata : candidatas) {
+            if (mejores.size() < k) {
+                mejores.offer(candidata);
+            } else if (ORDEN_RECOMENDACIONES.compare(candidata, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.offer(candidata);
+            }
+        }
+        Recomendacion[] ordenadas = new Recomendacion[mejores.size()];
+        for (int i = ordenadas.length - 1; i >= 0; i--) {
+            ordenadas[i] = mejores.poll(); // Sale el peor primero, así que llenamos de atrás hacia adelante
+        }
+        return Arrays.asList(ordenadas);
+    }
+
+    // Índices de los cursos de cada tema encendido en 'temas', todos seguidos (con repetidos).
+    private int[] cursosConTemas(long[] temas) {
+        ConjuntoEnteros[] listas = cursosPorTema;
+        List<int[]> partes = new ArrayList<>();
+        int total = 0;
+        for (int palabra = 0; palabra < temas.length; palabra++) {
+            for (long resto = temas[palabra]; resto != 0; resto &= resto - 1) {
+                int tema = (palabra << 6) + Long.numberOfTrailingZeros(resto);
+                if (tema >= listas.length || listas[tema] == null) continue;
+                int[] lista = ConjuntoEnteros.valores(listas[tema].foto());
+                partes.add(lista);
+                total += lista.length;
+            }
+        }
+        int[] juntos = new int[total];
+        int lleno = 0;
+        for (int[] lista : partes) {
+            System.arraycopy(lista, 0, juntos, lleno, lista.length);
+            lleno += lista.length;
+        }
+        return juntos;
+    }
+
+    // Versión para consola: muestra todas las recomendaciones del alumno.
+    public void recomendarCursos(String idAlumno) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) {
+            System.out.println("⚠️ Error: Alumno no encontrado.");
+            return;
+        }
+
+        List<Recomendacion> listaAfinidad = obtenerRecomendaciones(idAlumno, Integer.MAX_VALUE);
+
+        System.out.println("\n--- Recomendaciones para " + alumno.getNombre() + " (Intereses: " + alumno.getIntereses() + ") ---");
+        if (listaAfinidad.isEmpty()) {
+            System.out.println("No se encontraron cursos con afinidad a sus intereses.");
+            return;
+        }
+
+        for (Recomendacion recomendacion : listaAfinidad) {
+            Curso curso = recomendacion.getCurso();
+            System.out.println("⭐ " + curso.getNombre() + " (Afinidad: " + recomendacion.getAfinidad() + " coincidencias) | Áreas: " + curso.getAreas());
+        }
+    }
+
+    // --- Reportes y Estadísticas ---
+
+    // Los cursos en los que está inscrito el alumno (vacía si no existe), en orden de inscripción.
+    public List<Curso> obtenerCursosInscritos(String idAlumno) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) return new ArrayList<>();
+        int[] cursosInscritos = alumno.indicesCursosInscritos(); // Copia estable
+        List<Curso> resultado = new ArrayList<>(cursosInscritos.length);
+        for (int indiceCurso : cursosInscritos) {
+            Curso curso = cursos.get(indiceCurso);
+            if (curso != null) resultado.add(curso);
+        }
+        return resultado;
+    }
+
+    // Muestra cuánto trabajo tiene el alumno (suma de créditos).
+    // El total no se recalcula: el alumno lo lleva al día con cada alta, baja y promoción.
+    public void cargaAcademica(String idAlumno) {
+        Alumno alumno = consultarAlumno(idAlumno);
+        if (alumno == null) {
+            System.out.println("⚠️ Error: Alumno no encontrado.");
+            return;
+        }
+
+        System.out.println("\n--- Carga Académica de " + alumno.getNombre() + " ---");
+        List<Curso> cursosInscritos = obtenerCursosInscritos(idAlumno);
+        if (cursosInscritos.isEmpty()) {
+            System.out.println("El alumno no está inscrito en ningún curso.");
+            return;
+        }
+
+        for (Curso curso : cursosInscritos) {
+            System.out.println(" - " + curso.getNombre() + " (" + curso.getIdCurso() + ") - " + curso.getCreditos() + " créditos.");
+        }
+        System.out.println("Total de créditos inscritos: " + alumno.getCreditosInscritos()
+                + (maximoCreditos > 0 ? " (máximo permitido: " + maximoCreditos + ")" : ""));
+    }
+
+    // Alumnos que llevan entre 'minimo' y 'maximo' créditos (ambos incluidos), de menor a mayor carga.
+    // Sale del índice de carga: cuesta lo que mide el resultado, no el tamaño del registro (ver IndiceCarga).
+    public List<Alumno> obtenerAlumnosPorCarga(int minimo, int maximo) {
+        int[] indices = indiceCarga.alumnosEntre(minimo, maximo);
+        List<Alumno> resultado = new ArrayList<>(indices.length);
+        for (int indiceAlumno : indices) {
+            resultado.add(alumnos.get(indiceAlumno));
+        }
+        return resultado;
+    }
+
+    // Solo cuántos son (ej: "¿cuántos alumnos van por debajo de 12 créditos?"), sin armar ninguna lista.
+    public int contarAlumnosPorCarga(int minimo, int maximo) {
+        return indiceCarga.contarEntre(minimo, maximo);
+    }
+
+    // Versión para consola del reporte anterior.
+    public void alumnosPorCarga(int minimo, int maximo) {
+        List<Alumno> lista = obtenerAlumnosPorCarga(minimo, maximo);
+        System.out.println("\n--- Alumnos con " + minimo + " a " + maximo + " créditos (" + lista.size() + " alumnos) ---");
+        if (lista.isEmpty()) {
+            System.out.println("Ningún alumno tiene una carga en ese rango.");
+            return;
+        }
+        for (Alumno alumno : lista) {
+            System.out.println(" - " + alumno.getNombre() + " (ID: " + alumno.getIdAlumno() + ") - " + alumno.getCreditosInscritos() + " créditos.");
+        }
+    }
+
+    // Genera la lista de asistencia de un curso.
+    public void listarAlumnosInscritosEnCurso(String idCurso) {
+        Curso curso = consultarCurso(idCurso);
+        if (curso == null) {
+            System.out.println("⚠️ Error: Curso no encontrado.");
+            return;
+        }
+
+        // Copia de la versión publicada: nunca está a medio modificar y no hace falta cerrar el curso
+        int[] alumnosInscritos = curso.getVersion().indicesInscritos();
+        System.out.println("\n--- Alumnos Inscritos en " + curso.getNombre() + " (" + alumnosInscritos.length + " inscritos) ---");
+        if (alumnosInscritos.length == 0) {
+            System.out.println("No hay alumnos inscritos en este curso.");
+            return;
+        }
+
+        for (int indiceAlumno : alumnosInscritos) {
+            Alumno alumno = alumnos.get(indiceAlumno);
+            if (alumno != null) {
+                System.out.println(" - " + alumno.getNombre() + " (ID: " + alumno.getIdAlumno() + ", Promedio: " + alumno.getPromedio() + ")");
+            }
+        }
+    }
+
+    // Devuelve los 'k' cursos con más demanda (inscritos + en espera), de mayor a menor.
+    // Se lee directo del ranking en vivo: cuesta O(K), sin importar el tamaño del catálogo.
+    public List<RankingDemanda.Entrada> obtenerCursosConMasDemanda(int k) {
+        return rankingDemanda.top(k);
+    }
+
+    // Identifica los cursos "Hot": Suma los inscritos + la gente esperando entrar (Top 5).
+    // El ranking elige los cursos; los números de cada uno salen de su versión publicada,
+    // así "Demanda Total" siempre es Inscritos + Espera aunque haya inscripciones en curso.
+    public void cursosConMasDemanda() {
+        cursosConMasDemanda(5);
+    }
+
+    public void cursosConMasDemanda(int k) {
+        List<RankingDemanda.Entrada> listaDemanda = obtenerCursosConMasDemanda(k);
+
+        System.out.println("\n--- Top Cursos con Más Demanda (Inscritos + Espera) ---");
+        if (listaDemanda.isEmpty() || listaDemanda.get(0).getDemanda() == 0) {
+            System.out.println("No hay demanda registrada.");
+            return;
+        }
+
+        for (int i = 0; i < listaDemanda.size(); i++) {
+            RankingDemanda.Entrada entry = listaDemanda.get(i);
+            Curso curso = entry.getCurso();
+            VersionCurso version = curso.getVersion();
+            int inscritos = version.getCantidadInscritos();
+            int espera = version.getTamanoListaEspera();
+            System.out.println((i + 1) + ". " + curso.getNombre() +
+                    " | Demanda Total: " + (inscritos + espera) +
+                    " (Inscritos: " + inscritos + ", Espera: " + espera + ") | Cupo Máximo: " + version.getCupoMaximo());
+        }
+    }
+
+    // --- Inicialización de Datos (Demo) ---
+    // Crea cursos y alumnos falsos para probar el sistema sin tener que teclear todo manual al inicio.
+    private void cargarDatosIniciales() {
+        // Creación de Cursos
+        registrarCurso(new Curso("C101", "Introduccion a IA", "Dr. Lopez", 1, 5, new HashSet<>(Arrays.asList("IA", "algoritmos"))));
+        registrarCurso(new Curso("C102", "Redes Avanzadas", "Ing. Perez", 5, 4, new HashSet<>(Arrays.asList("redes", "seguridad"))));
+        registrarCurso(new Curso("C103", "Etica y Sociedad", "Dra. Mora", 10, 3, new HashSet<>(Arrays.asList("etica", "filosofia"))));
+        registrarCurso(new Curso("C104", "Teoria de Juegos", "Mtro. Sanchez", 3, 4, new HashSet<>(Arrays.asList("matematicas", "algoritmos"))));
+
+        // Creación de Alumnos con diferentes promedios para probar la prioridad
+        registrarAlumno(new Alumno("A001", "Ana Gomez", 8, 9.5, new HashSet<>(Arrays.asList("IA", "redes"))));
+        registrarAlumno(new Alumno("A002", "Juan Perez", 4, 8.2, new HashSet<>(Arrays.asList("matematicas", "etica"))));
+        registrarAlumno(new Alumno("A003", "Carlos Lopez", 8, 9.0, new HashSet<>(Arrays.asList("IA", "algoritmos"))));
+        registrarAlumno(new Alumno("A004", "Maria Díaz", 6, 9.8, new HashSet<>(Arrays.asList("seguridad", "redes"))));
+
+        // Simulacro de Inscripciones para llenar el curso C101 (Cupo: 1)
+        inscribirAlumnoEnCurso("A001", "C101"); // Entra directo
+        inscribirAlumnoEnCurso("A003", "C101"); // Se va a espera (Promedio 9.0)
+        inscribirAlumnoEnCurso("A004", "C101"); // Se va a espera, pero salta al primer lugar por tener promedio 9.8
+
+        inscribirAlumnoEnCurso("A002", "C103");
+        inscribirAlumnoEnCurso("A001", "C102");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package gestor;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// --- HORARIO SEMANAL ---
+// Cuándo se dicta un curso, como un mapa de bits de la semana: cada bit es un bloque de 15 minutos
+// (7 días x 96 bloques = 672 bits = 11 long). El bit 'dia * 96 + bloque' encendido = hay clase.
+//
+// Así "¿choca con lo que ya tiene el alumno?" es un AND por palabra (11 a lo sumo) en vez de comparar
+// cada par de clases: el Alumno guarda el OR de los horarios de sus materias (ver Alumno.horarioOcupado)
+// y cada inscripción nueva solo se cruza contra ese único mapa.
+//
+// Texto (para el menú, el CSV y los reportes): tramos separados por ';', cada uno con uno o más días
+// y una franja, por ejemplo "LUN MIE 08:00-10:00; VIE 12:00-13:30". Los días son LUN MAR MIE JUE VIE
+// SAB DOM (con o sin tilde, en mayúsculas o minúsculas). Una hora que no cae justo en un bloque se
+// redondea hacia afuera (08:10-09:50 ocupa 08:00-10:00): el salón queda tomado todo el bloque.
+// Es inmutable.
+public final class Horario {
+
+    public static final int MINUTOS_POR_BLOQUE = 15;
+    public static final int BLOQUES_POR_DIA = 24 * 60 / MINUTOS_POR_BLOQUE;
+    public static final int DIAS = 7;
+    static final int PALABRAS = (DIAS * BLOQUES_POR_DIA + 63) / 64;
+
+    private static final String[] NOMBRES_DIAS = {"LUN", "MAR", "MIE", "JUE", "VIE", "SAB", "DOM"};
+
+    public static final Horario VACIO = new Horario(new long[PALABRAS]);
+
+    private final long[] bloques; // Siempre PALABRAS palabras
+    private final boolean vacio;
+
+    private Horario(long[] bloques) {
+        this.bloques = bloques;
+        boolean algo = false;
+        for (long palabra : bloques) algo |= palabra != 0;
+        this.vacio = !algo;
+    }
+
+    // --- Construcción ---
+
+    // Lee el texto descrito arriba. Un texto vacío (o null) es un curso sin horario.
+    // Lanza IllegalArgumentException (con el tramo culpable) si algo no se entiende.
+    public static Horario desdeTexto(String texto) {
+        if (texto == null || texto.isBlank()) return VACIO;
+        long[] bloques = new long[PALABRAS];
+        for (String tramo : texto.split(";")) {
+            if (tramo.isBlank()) continue;
+            String[] partes = tramo.trim().split("[\\s,]+");
+            if (partes.length < 2) throw new IllegalArgumentException("Falta el día o la franja en \"" + tramo.trim() + "\"");
+            int[] franja = franja(partes[partes.length - 1], tramo);
+            for (int i = 0; i < partes.length - 1; i++) {
+                int dia = dia(partes[i], tramo);
+                for (int b = franja[0]; b < franja[1]; b++) {
+                    int bit = dia * BLOQUES_POR_DIA + b;
+                    bloques[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return new Horario(bloques);
+    }
+
+    // Desde los bits guardados en disco (ver Persistencia e ImagenRegistro). Sobran o faltan palabras: se ajusta.
+    static Horario desdeBits(long[] bits) {
+        return new Horario(Arrays.copyOf(bits, PALABRAS));
+    }
+
+    private static int dia(String texto, String tramo) {
+        String limpio = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toUpperCase();
+        for (int d = 0; d < NOMBRES_DIAS.length; d++) {
+            if (limpio.startsWith(NOMBRES_DIAS[d])) return d;
+        }
+        throw new IllegalArgumentException("Día desconocido \"" + texto + "\" en \"" + tramo.trim() + "\"");
+    }
+
+    // "08:00-10:30" -> [primer bloque, bloque siguiente al último]
+    private static int[] franja(String texto, String tramo) {
+        int guion = texto.indexOf('-');
+        if (guion < 0) throw new IllegalArgumentException("La franja debe ser HH:MM-HH:MM en \"" + tramo.trim() + "\"");
+        int inicio = minutos(texto.substring(0, guion), tramo);
+        int fin = minutos(texto.substring(guion + 1), tramo);
+        if (fin <= inicio) throw new IllegalArgumentException("La franja termina antes de empezar en \"" + tramo.trim() + "\"");
+        return new int[]{inicio / MINUTOS_POR_BLOQUE, (fin + MINUTOS_POR_BLOQUE - 1) / MINUTOS_POR_BLOQUE};
+    }
+
+    private static int minutos(String hora, String tramo) {
+        int dosPuntos = hora.indexOf(':');
+        try {
+            int h = Integer.parseInt(dosPuntos < 0 ? hora : hora.substring(0, dosPuntos));
+            int m = dosPuntos < 0 ? 0 : Integer.parseInt(hora.substring(dosPuntos + 1));
+            if (h >= 0 && m >= 0 && m < 60 && h * 60 + m <= 24 * 60) return h * 60 + m;
+        } catch (NumberFormatException e) {
+            // Se informa abajo, con el tramo completo
+        }
+        throw new IllegalArgumentException("Hora inválida \"" + hora + "\" en \"" + tramo.trim() + "\"");
+    }
+
+    // --- Consultas ---
+
+    public boolean estaVacio() { return vacio; }
+
+    public boolean chocaCon(Horario otro) {
+        return chocan(otro.bloques, this);
+    }
+
+    // Bits para guardar o para combinar (no modificar: es el arreglo interno).
+    long[] bits() { return bloques; }
+
+    // ¿Se pisa este horario con lo ya ocupado? 'ocupado' puede ser null (nada ocupado).
+    static boolean chocan(long[] ocupado, Horario horario) {
+        if (ocupado == null || horario.vacio) return false;
+        for (int i = 0; i < PALABRAS; i++) {
+            if ((ocupado[i] & horario.bloques[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    // Copia de 'ocupado' con el horario agregado (los mapas publicados nunca se modifican).
+    static long[] sumar(long[] ocupado, Horario horario) {
+        long[] nuevo = ocupado == null ? new long[PALABRAS] : ocupado.clone();
+        for (int i = 0; i < PALABRAS; i++) nuevo[i] |= horario.bloques[i];
+        return nuevo;
+    }
+
+    // --- Visualización ---
+
+    // Una franja por día y tramo continuo, ej: "LUN 08:00-10:00; MIE 08:00-10:00" ("" si está vacío).
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        for (int d = 0; d < DIAS; d++) {
+            int b = 0;
+            while (b < BLOQUES_POR_DIA) {
+                if (!ocupado(d, b)) {
+                    b++;
+                    continue;
+                }
+                int inicio = b;
+                while (b < BLOQUES_POR_DIA && ocupado(d, b)) b++;
+                if (texto.length() > 0) texto.append("; ");
+                texto.append(NOMBRES_DIAS[d]).append(' ').append(hora(inicio)).append('-').append(hora(b));
+            }
+        }
+        return texto.toString();
+    }
+
+    private boolean ocupado(int dia, int bloque) {
+        int bit = dia * BLOQUES_POR_DIA + bloque;
+        return (bloques[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static String hora(int bloque) {
+        int minutos = bloque * MINUTOS_POR_BLOQUE;
+        return String.format("%02d:%02d", minutos / 60, minutos % 60);
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof Horario && Arrays.equals(bloques, ((Horario) otro).bloques);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bloques);
+    }
+}
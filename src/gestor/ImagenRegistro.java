@@ -0,0 +1,433 @@
+package gestor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+// --- IMAGEN MAPEADA DEL REGISTRO ---
+// Es la foto del registro (cursos, alumnos, inscritos y listas de espera) en un formato binario
+// pensado para leerse DIRECTO desde disco con FileChannel.map, sin recorrerla entera al arrancar.
+// Abrir una imagen no arma a nadie: cada alumno se arma recién cuando alguien lo consulta
+// (ver TablaIds.cargarPerezoso). Así el arranque casi no depende de cuántos alumnos haya.
+//
+// Formato (enteros big-endian; posiciones absolutas dentro del archivo):
+//   [encabezado] marca, versión, cantidad de cursos, cantidad de alumnos, crc del índice, crc de los cursos
+//   [tabla de cursos]    posición del registro de cada curso (por índice)
+//   [tabla de alumnos]   posición del registro de cada alumno (por índice)
+//   [orden de alumnos]   índices de alumno ordenados por ID (para buscar un ID con búsqueda binaria)
+//   [créditos]           créditos inscritos de cada alumno (por índice), para no sumarlos al arrancar
+//   [crc de alumnos]     crc del registro de cada alumno (por índice)
+//   [registros] primero todos los cursos, después todos los alumnos, cada grupo en orden de índice
+//     curso:  id, nombre, docente, cupoMaximo, creditos, áreas, horario, inscritos (índices), espera (índices en orden)
+//     alumno: id, nombre, semestre, promedio, intereses, cursos inscritos (índices)
+// Los textos van como [largo][bytes UTF-8] y el horario como [cantidad][long...] (ver Horario).
+//
+// Crc por partes: el del índice cubre el encabezado y todas las tablas; el de los cursos, sus registros
+// juntos. Las dos se revisan al abrir (verificar()), porque los cursos se arman todos al arrancar.
+// Cada alumno trae su propio crc y se revisa recién cuando se arma o se copia a la imagen siguiente,
+// así el arranque no lee el archivo entero. Un alumno dañado se descubre al usarlo: esa operación
+// falla y la compactación tampoco lo copia (la imagen vieja y sus diarios siguen en disco).
+//
+// Versiones anteriores (se siguen pudiendo abrir): la 2 no tenía créditos ni crc por partes (un solo
+// crc de todo el archivo, de 24 bytes de encabezado en adelante); la 1, además, no tenía horario.
+// El archivo completo debe caber en 2 GB (un solo mapeo).
+final class ImagenRegistro {
+
+    static final int MARCA = 0x47494D31; // "GIM1"
+    static final int VERSION = 3;
+    private static final int VERSION_CRC_UNICO = 2;
+    private static final int VERSION_SIN_HORARIO = 1;
+    private static final int ENCABEZADO = 4 + 4 + 4 + 4 + 8 + 8;
+    private static final int ENCABEZADO_ANTERIOR = 4 + 4 + 4 + 4 + 8; // Versiones 1 y 2
+
+    private final MappedByteBuffer datos;
+    private final int version;
+    private final int cantidadCursos;
+    private final int cantidadAlumnos;
+    private final int tablaCursos;
+    private final int tablaAlumnos;
+    private final int ordenAlumnos;
+    private final int tablaCreditos;   // Solo versión 3
+    private final int tablaCrcAlumnos; // Solo versión 3
+    private final int inicioRegistros;
+    private final boolean conHorario;
+
+    private ImagenRegistro(MappedByteBuffer datos) throws IOException {
+        this.datos = datos;
+        if (datos.capacity() < ENCABEZADO_ANTERIOR || datos.getInt(0) != MARCA) {
+            throw new IOException("No es una imagen del registro");
+        }
+        this.version = datos.getInt(4);
+        if (version != VERSION && version != VERSION_CRC_UNICO && version != VERSION_SIN_HORARIO) {
+            throw new IOException("Versión de imagen desconocida: " + version);
+        }
+        this.conHorario = version != VERSION_SIN_HORARIO;
+        this.cantidadCursos = datos.getInt(8);
+        this.cantidadAlumnos = datos.getInt(12);
+        long tablas = (version == VERSION ? ENCABEZADO : ENCABEZADO_ANTERIOR)
+                + 4L * cantidadCursos + (version == VERSION ? 16L : 8L) * cantidadAlumnos;
+        if (cantidadCursos < 0 || cantidadAlumnos < 0 || tablas > datos.capacity()) {
+            throw new IOException("Imagen cortada o con cantidades imposibles");
+        }
+        this.tablaCursos = version == VERSION ? ENCABEZADO : ENCABEZADO_ANTERIOR;
+        this.tablaAlumnos = tablaCursos + 4 * cantidadCursos;
+        this.ordenAlumnos = tablaAlumnos + 4 * cantidadAlumnos;
+        this.tablaCreditos = ordenAlumnos + 4 * cantidadAlumnos;
+        this.tablaCrcAlumnos = tablaCreditos + 4 * cantidadAlumnos;
+        this.inicioRegistros = (int) tablas;
+    }
+
+    // Mapea el archivo (solo lectura). El mapeo sigue vivo aunque se cierre el canal o se borre el archivo.
+    static ImagenRegistro abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) throw new IOException("Imagen mayor a 2 GB: " + archivo);
+            return new ImagenRegistro(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    int cantidadCursos() { return cantidadCursos; }
+    int cantidadAlumnos() { return cantidadAlumnos; }
+
+    // Revisa el crc del índice y el de los cursos (los alumnos se revisan de a uno, ver revisarAlumno).
+    // Persistencia lo llama al recuperar, antes de usar la imagen: el renombre atómico evita una imagen
+    // a medio escribir, pero no un archivo dañado después en el disco.
+    // En las versiones 1 y 2 hay un solo crc y se recorre el archivo entero, como antes.
+    boolean verificar() {
+        if (version != VERSION) {
+            return crc(ENCABEZADO_ANTERIOR, datos.capacity()) == datos.getLong(16);
+        }
+        CRC32C indice = new CRC32C();
+        indice.update(datos.slice(0, 16));
+        indice.update(datos.slice(ENCABEZADO, inicioRegistros - ENCABEZADO));
+        if (indice.getValue() != datos.getLong(16)) return false;
+        // Con el índice sano, las posiciones son confiables: los cursos van juntos antes de los alumnos
+        int finCursos = cantidadAlumnos > 0 ? datos.getInt(tablaAlumnos) : datos.capacity();
+        if (finCursos < inicioRegistros || finCursos > datos.capacity()) return false;
+        return crc(inicioRegistros, finCursos) == datos.getLong(24);
+    }
+
+    private long crc(int desde, int hasta) {
+        CRC32C crc = new CRC32C();
+        crc.update(datos.slice(desde, hasta - desde));
+        return crc.getValue();
+    }
+
+    // Créditos inscritos de cada alumno (por índice). Desde la versión 3 vienen guardados; en las
+    // anteriores se suman recorriendo los inscritos de cada curso.
+    int[] creditosAlumnos() {
+        int[] creditos = new int[cantidadAlumnos];
+        if (version == VERSION) {
+            datos.slice(tablaCreditos, 4 * cantidadAlumnos).asIntBuffer().get(creditos);
+            return creditos;
+        }
+        for (int c = 0; c < cantidadCursos; c++) {
+            int creditosCurso = datos.getInt(saltarTexto(saltarTexto(saltarTexto(datos.getInt(tablaCursos + 4 * c)))) + 4);
+            for (int indiceAlumno : inscritos(c)) {
+                creditos[indiceAlumno] += creditosCurso;
+            }
+        }
+        return creditos;
+    }
+
+
+    // --- Lectura de Cursos ---
+
+    Curso curso(int indice) {
+        int p = datos.getInt(tablaCursos + 4 * indice);
+        String id = texto(p);
+        p = saltarTexto(p);
+        String nombre = texto(p);
+        p = saltarTexto(p);
+        String docente = texto(p);
+        p = saltarTexto(p);
+        int cupoMaximo = datos.getInt(p);
+        int creditos = datos.getInt(p + 4);
+        Set<String> areas = new HashSet<>();
+        p = leerTextos(p + 8, areas);
+        Horario horario = Horario.VACIO;
+        if (conHorario) {
+            long[] bits = new long[datos.getInt(p)];
+            for (int i = 0; i < bits.length; i++) bits[i] = datos.getLong(p + 4 + 8 * i);
+            horario = Horario.desdeBits(bits);
+        }
+        return new Curso(id, nombre, docente, cupoMaximo, creditos, areas, horario);
+    }
+
+    // Índices de los alumnos inscritos, en orden de inscripción
+    int[] inscritos(int indiceCurso) {
+        return enteros(inscritosEn(indiceCurso));
+    }
+
+    // Índices de los alumnos en espera, en el orden en que la lista los entregó (toList)
+    int[] espera(int indiceCurso) {
+        int p = inscritosEn(indiceCurso);
+        return enteros(p + 4 + 4 * datos.getInt(p));
+    }
+
+    private int inscritosEn(int indiceCurso) {
+        int p = datos.getInt(tablaCursos + 4 * indiceCurso);
+        p = saltarTexto(saltarTexto(saltarTexto(p)));
+        p = saltarTextos(p + 8);
+        return conHorario ? p + 4 + 8 * datos.getInt(p) : p;
+    }
+
+    // --- Lectura de Alumnos ---
+
+    // El alumno con sus datos (sin sus cursos: ver cursosDeAlumno). Revisa antes el crc de su registro.
+    Alumno alumno(int indice) {
+        revisarAlumno(indice);
+        int p = datos.getInt(tablaAlumnos + 4 * indice);
+        String id = texto(p);
+        p = saltarTexto(p);
+        String nombre = texto(p);
+        p = saltarTexto(p);
+        int semestre = datos.getInt(p);
+        double promedio = datos.getDouble(p + 4);
+        Set<String> intereses = new HashSet<>();
+        leerTextos(p + 12, intereses);
+        return new Alumno(id, nombre, semestre, promedio, intereses);
+    }
+
+    // Se llama después de alumno(indice), que ya revisó el registro
+    int[] cursosDeAlumno(int indice) {
+        int p = datos.getInt(tablaAlumnos + 4 * indice);
+        p = saltarTexto(saltarTexto(p));
+        return enteros(saltarTextos(p + 12));
+    }
+
+    String idAlumno(int indice) {
+        return texto(datos.getInt(tablaAlumnos + 4 * indice));
+    }
+
+    // Solo el nombre, sin armar al alumno (para el índice de nombres, ver IndiceNombres)
+    String nombreAlumno(int indice) {
+        return texto(saltarTexto(datos.getInt(tablaAlumnos + 4 * indice)));
+    }
+
+    // Búsqueda binaria sobre el orden por ID, comparando los bytes directamente en el mapeo.
+    // Retorna el índice del alumno o -1 si no está en la imagen.
+    int buscarAlumno(String id) {
+        byte[] buscado = id.getBytes(StandardCharsets.UTF_8);
+        int bajo = 0;
+        int alto = cantidadAlumnos - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int indice = datos.getInt(ordenAlumnos + 4 * medio);
+            int c = compararTexto(datos.getInt(tablaAlumnos + 4 * indice), buscado);
+            if (c < 0) bajo = medio + 1;
+            else if (c > 0) alto = medio - 1;
+            else return indice;
+        }
+        return -1;
+    }
+
+    // Los bytes tal cual del registro de un alumno (para copiarlo a la próxima imagen sin armarlo)
+    private ByteBuffer registroAlumno(int indice) {
+        revisarAlumno(indice);
+        int inicio = datos.getInt(tablaAlumnos + 4 * indice);
+        return datos.slice(inicio, finAlumno(indice) - inicio);
+    }
+
+    // Los alumnos van seguidos y en orden de índice: cada registro termina donde empieza el siguiente
+    private int finAlumno(int indice) {
+        return indice + 1 < cantidadAlumnos ? datos.getInt(tablaAlumnos + 4 * (indice + 1)) : datos.capacity();
+    }
+
+    // Revisión perezosa del crc de un alumno (versión 3; en las anteriores ya se revisó todo al abrir).
+    private void revisarAlumno(int indice) {
+        if (version != VERSION) return;
+        int inicio = datos.getInt(tablaAlumnos + 4 * indice);
+        if ((int) crc(inicio, finAlumno(indice)) != datos.getInt(tablaCrcAlumnos + 4 * indice)) {
+            throw new UncheckedIOException(new IOException(
+                    "Imagen dañada: el registro del alumno " + idAlumno(indice) + " no coincide con su crc"));
+        }
+    }
+
+    // --- Herramientas de Lectura ---
+
+    private String texto(int p) {
+        byte[] bytes = new byte[datos.getInt(p)];
+        datos.get(p + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int saltarTexto(int p) {
+        return p + 4 + datos.getInt(p);
+    }
+
+    private int saltarTextos(int p) {
+        int cantidad = datos.getInt(p);
+        p += 4;
+        for (int i = 0; i < cantidad; i++) p = saltarTexto(p);
+        return p;
+    }
+
+    // Retorna la posición que sigue a la lista
+    private int leerTextos(int p, Set<String> destino) {
+        int cantidad = datos.getInt(p);
+        p += 4;
+        for (int i = 0; i < cantidad; i++) {
+            destino.add(texto(p));
+            p = saltarTexto(p);
+        }
+        return p;
+    }
+
+    private int[] enteros(int p) {
+        int[] valores = new int[datos.getInt(p)];
+        datos.slice(p + 4, 4 * valores.length).asIntBuffer().get(valores);
+        return valores;
+    }
+
+    // Orden de bytes sin signo (en UTF-8 coincide con el orden de los caracteres)
+    private int compararTexto(int p, byte[] otro) {
+        int largo = datos.getInt(p);
+        int comunes = Math.min(largo, otro.length);
+        for (int i = 0; i < comunes; i++) {
+            int c = Integer.compare(datos.get(p + 4 + i) & 0xFF, otro[i] & 0xFF);
+            if (c != 0) return c;
+        }
+        return Integer.compare(largo, otro.length);
+    }
+
+    // --- Escritura ---
+
+    // Arma una imagen nueva. Se llenan primero todos los cursos y después todos los alumnos,
+    // cada grupo en orden de índice; terminar() devuelve el archivo completo en memoria.
+    static final class Escritor {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        private final DataOutputStream registros = new DataOutputStream(bytes);
+        private final int[] posicionesCursos;
+        private final int[] posicionesAlumnos;
+        private final byte[][] idsAlumnos;
+        private final int[] creditosCursos;
+        private final int[] creditosAlumnos;
+        private int cursosEscritos = 0;
+        private int alumnosEscritos = 0;
+
+        Escritor(int cantidadCursos, int cantidadAlumnos) {
+            posicionesCursos = new int[cantidadCursos];
+            posicionesAlumnos = new int[cantidadAlumnos];
+            idsAlumnos = new byte[cantidadAlumnos][];
+            creditosCursos = new int[cantidadCursos];
+            creditosAlumnos = new int[cantidadAlumnos];
+        }
+
+        // El cupo va aparte porque puede haber cambiado desde la versión que se está guardando
+        void curso(Curso curso, int cupoMaximo, int[] inscritos, int[] espera) throws IOException {
+            creditosCursos[cursosEscritos] = curso.getCreditos();
+            posicionesCursos[cursosEscritos++] = registros.size();
+            escribirTexto(curso.getIdCurso());
+            escribirTexto(curso.getNombre());
+            escribirTexto(curso.getDocente());
+            registros.writeInt(cupoMaximo);
+            registros.writeInt(curso.getCreditos());
+            escribirTextos(curso.getAreas());
+            long[] horario = curso.getHorario().bits();
+            registros.writeInt(horario.length);
+            for (long palabra : horario) registros.writeLong(palabra);
+            escribirEnteros(inscritos);
+            escribirEnteros(espera);
+        }
+
+        void alumno(Alumno alumno, int[] cursos) throws IOException {
+            creditosAlumnos[alumnosEscritos] = sumarCreditos(cursos);
+            posicionesAlumnos[alumnosEscritos] = registros.size();
+            idsAlumnos[alumnosEscritos++] = escribirTexto(alumno.getIdAlumno());
+            escribirTexto(alumno.getNombre());
+            Alumno.DatosAcademicos datos = alumno.datosAcademicos();
+            registros.writeInt(datos.semestre);
+            registros.writeDouble(datos.promedio);
+            escribirTextos(alumno.getIntereses());
+            escribirEnteros(cursos);
+        }
+
+        // Un alumno que nadie tocó desde la imagen anterior se copia byte por byte (sin armar el objeto)
+        void alumnoSinCambios(ImagenRegistro anterior, int indice) throws IOException {
+            ByteBuffer registro = anterior.registroAlumno(indice);
+            byte[] copia = new byte[registro.remaining()];
+            registro.get(copia);
+            creditosAlumnos[alumnosEscritos] = sumarCreditos(anterior.cursosDeAlumno(indice));
+            posicionesAlumnos[alumnosEscritos] = registros.size();
+            idsAlumnos[alumnosEscritos++] = Arrays.copyOfRange(copia, 4, 4 + ByteBuffer.wrap(copia).getInt(0));
+            registros.write(copia, 0, copia.length);
+        }
+
+        byte[] terminar() throws IOException {
+            registros.flush();
+            int cursos = posicionesCursos.length;
+            int alumnos = posicionesAlumnos.length;
+            long base = (long) ENCABEZADO + 4L * cursos + 16L * alumnos;
+            if (base + bytes.size() > Integer.MAX_VALUE) {
+                throw new IOException("El registro no cabe en una imagen de 2 GB");
+            }
+
+            // Orden por ID (bytes sin signo), el mismo que usa buscarAlumno
+            List<Integer> orden = new ArrayList<>(alumnos);
+            for (int i = 0; i < alumnos; i++) orden.add(i);
+            orden.sort((a, b) -> Arrays.compareUnsigned(idsAlumnos[a], idsAlumnos[b]));
+
+            byte[] contenido = bytes.toByteArray();
+            ByteBuffer archivo = ByteBuffer.allocate((int) base + contenido.length);
+            archivo.putInt(MARCA).putInt(VERSION).putInt(cursos).putInt(alumnos).putLong(0).putLong(0);
+            for (int p : posicionesCursos) archivo.putInt((int) base + p);
+            for (int p : posicionesAlumnos) archivo.putInt((int) base + p);
+            for (int indice : orden) archivo.putInt(indice);
+            for (int creditos : creditosAlumnos) archivo.putInt(creditos);
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < alumnos; i++) {
+                int fin = i + 1 < alumnos ? posicionesAlumnos[i + 1] : contenido.length;
+                crc.reset();
+                crc.update(contenido, posicionesAlumnos[i], fin - posicionesAlumnos[i]);
+                archivo.putInt((int) crc.getValue());
+            }
+            archivo.put(contenido);
+
+            crc.reset();
+            crc.update(archivo.array(), 0, 16);
+            crc.update(archivo.array(), ENCABEZADO, (int) base - ENCABEZADO);
+            archivo.putLong(16, crc.getValue());
+            crc.reset();
+            crc.update(contenido, 0, alumnos > 0 ? posicionesAlumnos[0] : contenido.length);
+            archivo.putLong(24, crc.getValue());
+            return archivo.array();
+        }
+
+        private int sumarCreditos(int[] cursos) {
+            int total = 0;
+            for (int indiceCurso : cursos) total += creditosCursos[indiceCurso];
+            return total;
+        }
+
+        private byte[] escribirTexto(String texto) throws IOException {
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            registros.writeInt(utf8.length);
+            registros.write(utf8);
+            return utf8;
+        }
+
+        private void escribirTextos(Set<String> textos) throws IOException {
+            registros.writeInt(textos.size());
+            for (String texto : textos) escribirTexto(texto);
+        }
+
+        private void escribirEnteros(int[] valores) throws IOException {
+            registros.writeInt(valores.length);
+            for (int v : valores) registros.writeInt(v);
+        }
+    }
+}
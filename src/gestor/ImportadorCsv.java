@@ -0,0 +1,216 @@
+package gestor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// --- IMPORTACIÓN MASIVA DESDE CSV ---
+// Carga alumnos, cursos e inscripciones desde archivos CSV grandes (ej: un periodo completo).
+// Lee por partes con LectorCsv y entrega las filas al gestor en lotes de LOTE filas usando las
+// operaciones en lote (registrarAlumnosEnLote, registrarCursosEnLote, inscribirEnLote): así la memoria
+// que usa la importación no crece con el tamaño del archivo y el candado/diario se toma una vez por lote.
+//
+// Formatos (la primera línea es el encabezado y se salta):
+//   alumnos.csv        idAlumno,nombre,semestre,promedio,intereses
+//   cursos.csv         idCurso,nombre,docente,cupoMaximo,creditos,areas[,horario]
+//   inscripciones.csv  idAlumno,idCurso
+// 'intereses' y 'areas' van separados por punto y coma (ej: IA;redes) y pueden quedar vacíos.
+// 'horario' es opcional, en el formato de Horario (ej: LUN MIE 08:00-10:00; VIE 12:00-13:30).
+//
+// El importador no imprime nada: las filas mal formadas se informan en el ResultadoImportacion
+// con su número de línea. Los eventos de cada alta siguen yendo al sumidero del gestor
+// (para una carga silenciosa, quitarlo antes con setSumideroEventos(null)).
+public class ImportadorCsv {
+
+    static final int LOTE = 8192;
+
+    private final GestorUniversidad gestor;
+
+    public ImportadorCsv(GestorUniversidad gestor) {
+        this.gestor = gestor;
+    }
+
+    // --- Alumnos ---
+
+    public ResultadoImportacion importarAlumnos(Path archivo) throws IOException {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        List<Alumno> lote = new ArrayList<>(LOTE);
+        try (LectorCsv lector = new LectorCsv(archivo)) {
+            lector.siguiente(); // Encabezado
+            while (lector.siguiente()) {
+                resultado.contarFila();
+                Alumno alumno = leerAlumno(lector, 0, resultado);
+                if (alumno == null) continue;
+                lote.add(alumno);
+                if (lote.size() == LOTE) registrarAlumnos(lote, resultado);
+            }
+        }
+        registrarAlumnos(lote, resultado);
+        return resultado;
+    }
+
+    // 'desde' = columna donde empiezan los datos: 0 en un archivo, 1 en ModoGuion (la 0 es el comando).
+    // Retorna null (y anota el error en 'resultado') si la fila está mal formada.
+    static Alumno leerAlumno(LectorCsv lector, int desde, ResultadoImportacion resultado) {
+        if (!formaValida(lector, desde, 4, 5, resultado)) return null;
+        String id = lector.campo(desde);
+        if (id.isEmpty()) {
+            resultado.error(lector.linea(), "el ID del alumno está vacío");
+            return null;
+        }
+        Integer semestre = entero(lector, desde + 2, "semestre", resultado);
+        if (semestre == null) return null;
+        Double promedio = decimal(lector, desde + 3, "promedio", resultado);
+        if (promedio == null) return null;
+        Set<String> intereses = lista(lector.cantidad() > desde + 4 ? lector.campo(desde + 4) : "");
+        return new Alumno(id, lector.campo(desde + 1), semestre, promedio, intereses);
+    }
+
+    private void registrarAlumnos(List<Alumno> lote, ResultadoImportacion resultado) {
+        if (lote.isEmpty()) return;
+        for (boolean registrado : gestor.registrarAlumnosEnLote(lote)) {
+            if (registrado) resultado.contarAgregado();
+            else resultado.contarRechazado();
+        }
+        lote.clear();
+    }
+
+    // --- Cursos ---
+
+    public ResultadoImportacion importarCursos(Path archivo) throws IOException {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        List<Curso> lote = new ArrayList<>(LOTE);
+        try (LectorCsv lector = new LectorCsv(archivo)) {
+            lector.siguiente(); // Encabezado
+            while (lector.siguiente()) {
+                resultado.contarFila();
+                Curso curso = leerCurso(lector, 0, resultado);
+                if (curso == null) continue;
+                lote.add(curso);
+                if (lote.size() == LOTE) registrarCursos(lote, resultado);
+            }
+        }
+        registrarCursos(lote, resultado);
+        return resultado;
+    }
+
+    // Igual que leerAlumno ('desde' = primera columna de datos)
+    static Curso leerCurso(LectorCsv lector, int desde, ResultadoImportacion resultado) {
+        if (!formaValida(lector, desde, 5, 7, resultado)) return null;
+        String id = lector.campo(desde);
+        if (id.isEmpty()) {
+            resultado.error(lector.linea(), "el ID del curso está vacío");
+            return null;
+        }
+        Integer cupo = entero(lector, desde + 3, "cupoMaximo", resultado);
+        if (cupo == null) return null;
+        Integer creditos = entero(lector, desde + 4, "creditos", resultado);
+        if (creditos == null) return null;
+        if (cupo < 0 || creditos < 0) {
+            resultado.error(lector.linea(), "cupoMaximo y creditos no pueden ser negativos");
+            return null;
+        }
+        Set<String> areas = lista(lector.cantidad() > desde + 5 ? lector.campo(desde + 5) : "");
+        Horario horario;
+        try {
+            horario = Horario.desdeTexto(lector.cantidad() > desde + 6 ? lector.campo(desde + 6) : "");
+        } catch (IllegalArgumentException e) {
+            resultado.error(lector.linea(), "horario: " + e.getMessage());
+            return null;
+        }
+        return new Curso(id, lector.campo(desde + 1), lector.campo(desde + 2), cupo, creditos, areas, horario);
+    }
+
+    private void registrarCursos(List<Curso> lote, ResultadoImportacion resultado) {
+        if (lote.isEmpty()) return;
+        for (boolean registrado : gestor.registrarCursosEnLote(lote)) {
+            if (registrado) resultado.contarAgregado();
+            else resultado.contarRechazado();
+        }
+        lote.clear();
+    }
+
+    // --- Inscripciones ---
+
+    // Cada lote pasa por inscribirEnLote: mismo resultado que inscribir fila por fila, en orden.
+    // Cuentan como agregadas las que quedaron inscritas o en lista de espera.
+    public ResultadoImportacion importarInscripciones(Path archivo) throws IOException {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        List<SolicitudInscripcion> lote = new ArrayList<>(LOTE);
+        try (LectorCsv lector = new LectorCsv(archivo)) {
+            lector.siguiente(); // Encabezado
+            while (lector.siguiente()) {
+                resultado.contarFila();
+                if (!formaValida(lector, 0, 2, 2, resultado)) continue;
+                lote.add(new SolicitudInscripcion(lector.campo(0), lector.campo(1)));
+                if (lote.size() == LOTE) inscribir(lote, resultado);
+            }
+        }
+        inscribir(lote, resultado);
+        return resultado;
+    }
+
+    private void inscribir(List<SolicitudInscripcion> lote, ResultadoImportacion resultado) {
+        if (lote.isEmpty()) return;
+        for (ResultadoInscripcion r : gestor.inscribirEnLote(lote)) {
+            if (r == ResultadoInscripcion.INSCRITO || r == ResultadoInscripcion.EN_ESPERA) resultado.contarAgregado();
+            else resultado.contarRechazado();
+        }
+        lote.clear();
+    }
+
+    // --- Validación de Campos ---
+
+    // Cuenta solo los campos de datos (desde la columna 'desde')
+    private static boolean formaValida(LectorCsv lector, int desde, int minimo, int maximo,
+                                       ResultadoImportacion resultado) {
+        if (lector.error() != null) {
+            resultado.error(lector.linea(), lector.error());
+            return false;
+        }
+        int cantidad = lector.cantidad() - desde;
+        if (cantidad < minimo || cantidad > maximo) {
+            String esperado = minimo == maximo ? String.valueOf(minimo) : minimo + " a " + maximo;
+            resultado.error(lector.linea(), "se esperaban " + esperado + " campos y hay " + cantidad);
+            return false;
+        }
+        return true;
+    }
+
+    private static Integer entero(LectorCsv lector, int i, String nombre, ResultadoImportacion resultado) {
+        try {
+            return Integer.parseInt(lector.campo(i));
+        } catch (NumberFormatException e) {
+            resultado.error(lector.linea(), nombre + " no es un número entero: '" + lector.campo(i) + "'");
+            return null;
+        }
+    }
+
+    private static Double decimal(LectorCsv lector, int i, String nombre, ResultadoImportacion resultado) {
+        try {
+            double valor = Double.parseDouble(lector.campo(i));
+            if (Double.isNaN(valor) || Double.isInfinite(valor)) throw new NumberFormatException();
+            return valor;
+        } catch (NumberFormatException e) {
+            resultado.error(lector.linea(), nombre + " no es un número: '" + lector.campo(i) + "'");
+            return null;
+        }
+    }
+
+    // "IA; redes;;web" -> {IA, redes, web}
+    private static Set<String> lista(String texto) {
+        Set<String> valores = new HashSet<>();
+        int desde = 0;
+        while (desde <= texto.length()) {
+            int hasta = texto.indexOf(';', desde);
+            if (hasta < 0) hasta = texto.length();
+            String valor = texto.substring(desde, hasta).strip();
+            if (!valor.isEmpty()) valores.add(valor);
+            desde = hasta + 1;
+        }
+        return valores;
+    }
+}
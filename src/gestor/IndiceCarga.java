@@ -0,0 +1,194 @@
+package gestor;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+// --- ÍNDICE DE CARGA ACADÉMICA ---
+// Agrupa a TODOS los alumnos registrados según cuántos créditos llevan inscritos, para contestar
+// "¿quiénes llevan entre X e Y créditos?" sin recorrer el registro completo.
+//
+// Es una "cubeta" por cantidad de créditos (0, 1, 2...): la cubeta c es un ConjuntoEnteros con los
+// índices de los alumnos que llevan exactamente c créditos. Como la carga de un alumno es chica
+// (unas decenas de créditos) hay pocas cubetas, y una consulta por rango solo visita las cubetas
+// del rango y copia a los alumnos que encuentra: cuesta lo que mide el resultado, no el registro.
+// Mover a un alumno (se inscribió o se dio de baja) es quitarlo de una cubeta y ponerlo en otra: O(1).
+//
+// Concurrencia: igual que RankingDemanda. Un movimiento NO toma candado: anota la carga nueva del
+// alumno y lo marca como cambiado (ver ValoresPendientes). La consulta siguiente toma la parte de
+// escritura de un StampedLock y pasa a cada alumno marcado de su cubeta vieja a la de su carga actual.
+// Después lee con sello optimista solo las versiones publicadas de las cubetas del rango
+// (ver ConjuntoEnteros.foto) y, si el sello sigue valiendo, copia los alumnos ya sin candado:
+// todas las cubetas son del mismo instante, así nadie aparece dos veces ni falta a mitad de un cambio.
+public class IndiceCarga {
+
+    private static final int INTENTOS_OPTIMISTAS = 8;
+    private final StampedLock candado = new StampedLock();
+
+    // cubetas[c] = alumnos con c créditos (null = nunca hubo nadie con esa carga)
+    private ConjuntoEnteros[] cubetas = new ConjuntoEnteros[64];
+
+    // La carga viva de cada alumno, y la cubeta donde está hoy (-1 = todavía no está en ninguna).
+    // 'cubetaDeAlumno' solo se toca con el candado de escritura tomado.
+    private final ValoresPendientes cargas = new ValoresPendientes();
+    private int[] cubetaDeAlumno = new int[0];
+
+    // --- Cambios (cualquier hilo) ---
+    // Los cambios de un mismo alumno deben llegar en orden: los hace Alumno con su propio candado tomado.
+
+    // Un alumno recién registrado entra en la cubeta de su carga actual.
+    public void agregar(int indiceAlumno, int creditos) {
+        long sello = candado.writeLock();
+        try {
+            conocer(indiceAlumno + 1);
+            cargas.fijar(indiceAlumno, creditos);
+            cubeta(creditos).add(indiceAlumno);
+            cubetaDeAlumno[indiceAlumno] = cubetaDe(creditos);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    public void mover(int indiceAlumno, int creditosAntes, int creditosDespues) {
+        if (cubetaDe(creditosAntes) == cubetaDe(creditosDespues)) return;
+        cargas.fijar(indiceAlumno, creditosDespues);
+    }
+
+    // Con el candado de escritura tomado: cada alumno marcado pasa a la cubeta de su carga actual.
+    private void ponerAlDia() {
+        cargas.recoger(indiceAlumno -> {
+            if (indiceAlumno >= cubetaDeAlumno.length || cubetaDeAlumno[indiceAlumno] < 0) return;
+            int actual = cubetaDeAlumno[indiceAlumno];
+            int nueva = cubetaDe(cargas.valor(indiceAlumno));
+            if (actual == nueva) return;
+            cubetas[actual].remove(indiceAlumno);
+            cubeta(nueva).add(indiceAlumno);
+            cubetaDeAlumno[indiceAlumno] = nueva;
+        });
+    }
+
+    private void ponerAlDiaSiHaceFalta() {
+        if (!cargas.hayPendientes()) return;
+        long sello = candado.writeLock();
+        try {
+            ponerAlDia();
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    // Con el candado de escritura tomado: deja lugar para los alumnos 0..cantidad-1.
+    private void conocer(int cantidad) {
+        cargas.asegurar(cantidad);
+        if (cantidad <= cubetaDeAlumno.length) return;
+        int anterior = cubetaDeAlumno.length;
+        cubetaDeAlumno = Arrays.copyOf(cubetaDeAlumno, Math.max(cantidad, anterior * 2));
+        Arrays.fill(cubetaDeAlumno, anterior, cubetaDeAlumno.length, -1);
+    }
+
+    // Carga de golpe a los alumnos 0..cargas.length-1 (el alumno i lleva cargas[i] créditos), p. ej.
+    // al arrancar desde una imagen: se reparten con un conteo por cubeta y cada cubeta se arma entera
+    // de una vez (ver ConjuntoEnteros.envolver), sin ir alumno por alumno.
+    void cargarTodos(int[] cargas) {
+        int mayor = 0;
+        for (int carga : cargas) mayor = Math.max(mayor, cubetaDe(carga));
+        int[] cantidad = new int[mayor + 1];
+        for (int carga : cargas) cantidad[cubetaDe(carga)]++;
+        int[][] porCubeta = new int[mayor + 1][];
+        for (int c = 0; c <= mayor; c++) porCubeta[c] = new int[cantidad[c]];
+        int[] llenos = new int[mayor + 1];
+        for (int i = 0; i < cargas.length; i++) {
+            int c = cubetaDe(cargas[i]);
+            porCubeta[c][llenos[c]++] = i;
+        }
+
+        long sello = candado.writeLock();
+        try {
+            conocer(cargas.length);
+            if (mayor >= cubetas.length) cubetas = Arrays.copyOf(cubetas, mayor + 1);
+            for (int c = 0; c <= mayor; c++) {
+                if (porCubeta[c].length > 0) cubetas[c] = ConjuntoEnteros.envolver(porCubeta[c]);
+            }
+            for (int i = 0; i < cargas.length; i++) {
+                this.cargas.fijar(i, cargas[i]);
+                cubetaDeAlumno[i] = cubetaDe(cargas[i]);
+            }
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    // --- Consultas (sin candado) ---
+
+    // Índices de los alumnos con entre 'minimo' y 'maximo' créditos (ambos incluidos),
+    // de menor a mayor carga; dentro de una misma carga, en el orden en que llegaron a ella.
+    public int[] alumnosEntre(int minimo, int maximo) {
+        Object[] fotos = fotos(minimo, maximo);
+        int total = 0;
+        for (Object foto : fotos) {
+            if (foto != null) total += ConjuntoEnteros.tamano(foto);
+        }
+        int[] resultado = new int[total];
+        int lleno = 0;
+        for (Object foto : fotos) {
+            if (foto == null) continue;
+            int[] valores = ConjuntoEnteros.valores(foto);
+            System.arraycopy(valores, 0, resultado, lleno, valores.length);
+            lleno += valores.length;
+        }
+        return resultado;
+    }
+
+    // Cuántos alumnos llevan entre 'minimo' y 'maximo' créditos: solo suma los tamaños de las cubetas.
+    public int contarEntre(int minimo, int maximo) {
+        int total = 0;
+        for (Object foto : fotos(minimo, maximo)) {
+            if (foto != null) total += ConjuntoEnteros.tamano(foto);
+        }
+        return total;
+    }
+
+    // Versiones publicadas de las cubetas del rango, todas del mismo instante.
+    private Object[] fotos(int minimo, int maximo) {
+        ponerAlDiaSiHaceFalta();
+        int desde = Math.max(0, minimo);
+        for (int intento = 0; intento < INTENTOS_OPTIMISTAS; intento++) {
+            long sello = candado.tryOptimisticRead();
+            if (sello == 0) continue; // Hay alguien escribiendo justo ahora
+            Object[] fotos = copiarFotos(desde, maximo);
+            if (candado.validate(sello)) return fotos;
+        }
+        long sello = candado.readLock();
+        try {
+            return copiarFotos(desde, maximo);
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    private Object[] copiarFotos(int desde, int maximo) {
+        ConjuntoEnteros[] actuales = cubetas;
+        int hasta = Math.min(maximo, actuales.length - 1);
+        if (hasta < desde) return new Object[0];
+        Object[] fotos = new Object[hasta - desde + 1];
+        for (int c = desde; c <= hasta; c++) {
+            ConjuntoEnteros cubeta = actuales[c];
+            fotos[c - desde] = cubeta == null ? null : cubeta.foto();
+        }
+        return fotos;
+    }
+
+    // --- Cubetas ---
+
+    // Con el candado de escritura tomado: la cubeta de esa carga, creándola (y agrandando el arreglo) si falta.
+    private ConjuntoEnteros cubeta(int creditos) {
+        int c = cubetaDe(creditos);
+        if (c >= cubetas.length) cubetas = Arrays.copyOf(cubetas, Math.max(c + 1, cubetas.length * 2));
+        if (cubetas[c] == null) cubetas[c] = new ConjuntoEnteros();
+        return cubetas[c];
+    }
+
+    // Un curso con créditos negativos (nada lo impide al darlo de alta) no puede bajar de la cubeta 0
+    private static int cubetaDe(int creditos) {
+        return Math.max(0, creditos);
+    }
+}
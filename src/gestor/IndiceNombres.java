@@ -0,0 +1,533 @@
+package gestor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+// --- ÍNDICE DE NOMBRES ---
+// Búsqueda por nombre (no por ID): "mar" encuentra a "María Díaz" y a "Marcos Ruiz", "diaz" también
+// encuentra a María (se busca desde el comienzo de CUALQUIER palabra del nombre) y "dias" la encuentra
+// como parecido (a 1 letra de distancia). Sin tildes ni mayúsculas: "MARIA DIAZ" = "maría díaz".
+//
+// Cómo se guarda: cada nombre se normaliza (ver normalizar) y se copia UNA vez a un gran arreglo de
+// char, terminado en FIN. Una "clave" es una posición dentro de ese arreglo donde empieza una palabra;
+// la clave llega hasta el FIN de su nombre ("maria diaz" da dos claves: "maria diaz" y "diaz").
+// Cada clave es un long (índice del alumno o curso arriba, posición abajo), y las claves se guardan
+// en TRAMOS: arreglos de long ordenados por el texto al que apuntan. Un tramo ordenado es un trie
+// "aplanado": todas las claves que empiezan igual quedan juntas, así
+//   - prefijo: dos búsquedas binarias por tramo dan el rango exacto de claves que empiezan con el texto;
+//   - parecidos: se recorre el trie implícito (cada hijo de un nodo es un sub-rango del tramo, que se
+//     ubica con búsqueda binaria) calculando la distancia de edición fila por fila, y se poda cualquier
+//     rama cuya fila ya pasó la distancia pedida. Solo se visitan las ramas que todavía pueden servir.
+//
+// Junto a las claves, cada tramo guarda sus primeras 4 letras empaquetadas en un int ("cabezas"): cerca
+// de la raíz, donde los rangos son enormes, el recorrido y el orden comparan ahí sin saltar al texto.
+//
+// Altas: un nombre nuevo entra como un tramo chico; mientras el tramo anterior no sea más del doble de
+// grande, se funden los dos (como los "niveles" de un árbol LSM). Quedan a lo sumo ~log2(n) tramos y
+// cada clave se copia O(log n) veces en total: registrar sigue siendo barato con un millón de nombres.
+//
+// Concurrencia: una sola escritura a la vez (synchronized). Las consultas no llevan candado: leen la
+// Version publicada (texto + tramos, que nunca se modifican después de publicarse).
+//
+// Carga perezosa: al arrancar desde una imagen (ver ImagenRegistro) los nombres de esos alumnos no se
+// leen enseguida; la primera búsqueda los lee todos, los ordena de una vez y los suma como un tramo más.
+public class IndiceNombres {
+
+    public static final int DISTANCIA_MAXIMA = 2;
+    private static final char FIN = '\0'; // Va antes que cualquier letra: la clave más corta ordena primero
+
+    private static final int LETRAS_CABEZA = 4;   // Letras por cabeza (8 bits cada una)
+    private static final int LETRA_LARGA = 0xFF;  // En la cabeza: "esta letra no cabe en 8 bits, ver el texto"
+
+    // Claves ordenadas y la cabeza de cada una (misma posición). Nunca se modifica.
+    private static final class Tramo {
+        final long[] claves;
+        final int[] cabezas;
+
+        Tramo(long[] claves, int[] cabezas) {
+            this.claves = claves;
+            this.cabezas = cabezas;
+        }
+
+        int size() { return claves.length; }
+    }
+
+    // Lo que leen las consultas. 'texto' puede seguir creciendo más allá de lo que apuntan los tramos.
+    private static final class Version {
+        final char[] texto;
+        final Tramo[] tramos;
+
+        Version(char[] texto, Tramo[] tramos) {
+            this.texto = texto;
+            this.tramos = tramos;
+        }
+    }
+
+    private volatile Version version = new Version(new char[1024], new Tramo[0]);
+    private int usado; // Caracteres ocupados de version.texto (solo lo toca quien escribe)
+
+    // Nombres todavía sin leer (índices 0..cantidadOrigen-1). null = no hay nada pendiente.
+    private volatile IntFunction<String> origen;
+    private int cantidadOrigen;
+
+    // --- Altas (una a la vez) ---
+
+    public synchronized void agregar(int indice, String nombre) {
+        String normalizado = normalizar(nombre);
+        if (normalizado.isEmpty()) return;
+        int inicio = copiarTexto(normalizado);
+        long[] claves = new long[palabras(normalizado)];
+        int lleno = 0;
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (i == 0 || normalizado.charAt(i - 1) == ' ') claves[lleno++] = clave(indice, inicio + i);
+        }
+        publicarTramo(ordenado(claves, version.texto));
+    }
+
+    // Los nombres de los índices 0..cantidad-1 se leerán de 'nombres' recién en la primera búsqueda.
+    synchronized void cargarPerezoso(int cantidad, IntFunction<String> nombres) {
+        this.cantidadOrigen = cantidad;
+        this.origen = nombres;
+    }
+
+    private void leerOrigen() {
+        if (origen == null) return;
+        synchronized (this) {
+            if (origen == null) return;
+            ListaEnteros inicios = new ListaEnteros(cantidadOrigen * 4);
+            for (int i = 0; i < cantidadOrigen; i++) {
+                String normalizado = normalizar(origen.apply(i));
+                if (normalizado.isEmpty()) continue;
+                int inicio = copiarTexto(normalizado);
+                for (int k = 0; k < normalizado.length(); k++) {
+                    if (k == 0 || normalizado.charAt(k - 1) == ' ') {
+                        inicios.add(i);
+                        inicios.add(inicio + k);
+                    }
+                }
+            }
+            long[] claves = new long[inicios.size() / 2];
+            for (int k = 0; k < claves.length; k++) {
+                claves[k] = clave(inicios.get(2 * k), inicios.get(2 * k + 1));
+            }
+            publicarTramo(ordenado(claves, version.texto));
+            origen = null;
+        }
+    }
+
+    // Copia el nombre (y su FIN) al final del texto; si no cabe, el texto crece a una copia nueva
+    // (las versiones ya publicadas siguen apuntando al arreglo viejo, que no cambia en lo que usan).
+    private int copiarTexto(String normalizado) {
+        char[] texto = version.texto;
+        int necesario = usado + normalizado.length() + 1;
+        if (necesario > texto.length) {
+            texto = Arrays.copyOf(texto, Math.max(necesario, texto.length * 2));
+            version = new Version(texto, version.tramos);
+        }
+        int inicio = usado;
+        normalizado.getChars(0, normalizado.length(), texto, inicio);
+        texto[inicio + normalizado.length()] = FIN;
+        usado = necesario;
+        return inicio;
+    }
+
+    // Agrega el tramo nuevo y funde desde el final mientras el anterior no lo doble en tamaño.
+    private void publicarTramo(Tramo nuevo) {
+        char[] texto = version.texto;
+        List<Tramo> tramos = new ArrayList<>(Arrays.asList(version.tramos));
+        tramos.add(nuevo);
+        while (tramos.size() > 1) {
+            Tramo ultimo = tramos.get(tramos.size() - 1);
+            Tramo anterior = tramos.get(tramos.size() - 2);
+            if (anterior.size() > 2 * ultimo.size()) break;
+            tramos.remove(tramos.size() - 1);
+            tramos.set(tramos.size() - 1, fundir(anterior, ultimo, texto));
+        }
+        version = new Version(texto, tramos.toArray(new Tramo[0]));
+    }
+
+    // --- Consultas (sin candado) ---
+
+    // Índices cuyo nombre tiene una palabra que empieza con 'texto' (ver normalizar), en orden alfabético
+    // de esa palabra en adelante. A lo sumo 'maximo', sin repetir (un nombre puede calzar en dos palabras).
+    public int[] buscar(String texto, int maximo) {
+        String consulta = normalizar(texto);
+        if (consulta.isEmpty() || maximo <= 0) return new int[0];
+        leerOrigen();
+        Version v = version;
+        int n = v.tramos.length;
+        int[] desde = new int[n];
+        int[] hasta = new int[n];
+        for (int t = 0; t < n; t++) {
+            desde[t] = limite(v.tramos[t].claves, v.texto, consulta, false);
+            hasta[t] = limite(v.tramos[t].claves, v.texto, consulta, true);
+        }
+        // Mezcla los rangos de todos los tramos, tomando siempre la clave menor
+        ListaEnteros resultado = new ListaEnteros();
+        Set<Integer> vistos = new HashSet<>();
+        while (resultado.size() < maximo) {
+            int mejor = -1;
+            for (int t = 0; t < n; t++) {
+                if (desde[t] < hasta[t] && (mejor < 0
+                        || comparar(v.texto, posicion(v.tramos[t].claves[desde[t]]), posicion(v.tramos[mejor].claves[desde[mejor]])) < 0)) {
+                    mejor = t;
+                }
+            }
+            if (mejor < 0) break;
+            int indice = indice(v.tramos[mejor].claves[desde[mejor]++]);
+            if (vistos.add(indice)) resultado.add(indice);
+        }
+        return resultado.toArray();
+    }
+
+    // Como buscar, pero admite hasta 'distancia' errores de tipeo (letra de más, de menos, cambiada o dos
+    // letras vecinas al revés) en la parte escrita. Primero los más parecidos: distancia 0, luego 1, luego 2.
+    // La distancia se recorta a DISTANCIA_MAXIMA y a una menos que el largo del texto ("a" con 1 error
+    // sería cualquier nombre).
+    public int[] buscarParecidos(String texto, int distancia, int maximo) {
+        String consulta = normalizar(texto);
+        if (consulta.isEmpty() || maximo <= 0) return new int[0];
+        distancia = Math.max(0, Math.min(Math.min(distancia, DISTANCIA_MAXIMA), consulta.length() - 1));
+        leerOrigen();
+        Version v = version;
+
+        List<long[]> rangos = new ArrayList<>(); // {tramo, desde, hasta, distancia}
+        int[] raiz = new int[consulta.length() + 1];
+        for (int j = 0; j < raiz.length; j++) raiz[j] = j;
+        for (int t = 0; t < v.tramos.length; t++) {
+            new Recorrido(v.texto, v.tramos[t], t, consulta.toCharArray(), rangos)
+                    .visitar(0, v.tramos[t].size(), 0, raiz, null, FIN, distancia);
+        }
+        rangos.sort((a, b) -> a[3] != b[3] ? Long.compare(a[3], b[3])
+                : comparar(v.texto, posicion(v.tramos[(int) a[0]].claves[(int) a[1]]), posicion(v.tramos[(int) b[0]].claves[(int) b[1]])));
+
+        ListaEnteros resultado = new ListaEnteros();
+        Set<Integer> vistos = new HashSet<>();
+        for (long[] rango : rangos) {
+            long[] claves = v.tramos[(int) rango[0]].claves;
+            for (int k = (int) rango[1]; k < rango[2] && resultado.size() < maximo; k++) {
+                int indice = indice(claves[k]);
+                if (vistos.add(indice)) resultado.add(indice);
+            }
+            if (resultado.size() >= maximo) break;
+        }
+        return resultado.toArray();
+    }
+
+    // Recorrido del trie implícito de UN tramo. Cada nodo es un rango [desde, hasta) de claves que
+    // comparten sus primeros 'nivel' caracteres; 'fila[j]' es la distancia entre esos caracteres y los
+    // primeros j de la consulta (Levenshtein con transposición de vecinas, una fila por nivel).
+    private static final class Recorrido {
+        final char[] texto;
+        final long[] claves;
+        final int[] cabezas;
+        final int numeroTramo;
+        final char[] consulta;
+        final List<long[]> rangos;
+
+        Recorrido(char[] texto, Tramo tramo, int numeroTramo, char[] consulta, List<long[]> rangos) {
+            this.texto = texto;
+            this.claves = tramo.claves;
+            this.cabezas = tramo.cabezas;
+            this.numeroTramo = numeroTramo;
+            this.consulta = consulta;
+            this.rangos = rangos;
+        }
+
+        // 'tope': distancia que todavía interesa en esta rama. Empieza en la pedida y baja cuando un
+        // ancestro ya calzó: debajo de él solo vale la pena buscar claves MÁS parecidas.
+        void visitar(int desde, int hasta, int nivel, int[] fila, int[] filaAbuelo, char letraPadre, int tope) {
+            int m = consulta.length;
+            int menor = Integer.MAX_VALUE;
+            for (int valor : fila) menor = Math.min(menor, valor);
+            if (menor > tope) return; // Nada de aquí para abajo puede quedar a 'tope' o menos
+            if (fila[m] <= tope) {
+                // La consulta completa calza con este prefijo: toda la rama sirve
+                rangos.add(new long[]{numeroTramo, desde, hasta, fila[m]});
+                tope = fila[m] - 1;
+                if (menor > tope) return; // Más abajo no se puede mejorar
+            }
+            if (menor == tope) {
+                // Nodo "justo": una letra que no está en la consulta ya pasa el tope en toda la fila.
+                // Solo se buscan (directo, con búsqueda binaria) los hijos de las letras que pueden servir.
+                int k = desde;
+                for (char letra : letrasUtiles(fila, filaAbuelo, letraPadre, tope)) {
+                    k = primeraConLetra(k, hasta, nivel, letra);
+                    if (k == hasta) break;
+                    if (letra(k, nivel) != letra) continue;
+                    int fin = finDeLetra(k, hasta, nivel, letra);
+                    visitar(k, fin, nivel + 1, siguienteFila(fila, filaAbuelo, letraPadre, letra, nivel), fila, letra, tope);
+                    k = fin;
+                }
+                return;
+            }
+            int k = desde;
+            while (k < hasta && letra(k, nivel) == FIN) k++; // Claves que terminan aquí
+            while (k < hasta) {
+                char letra = letra(k, nivel);
+                int fin = finDeLetra(k, hasta, nivel, letra);
+                visitar(k, fin, nivel + 1, siguienteFila(fila, filaAbuelo, letraPadre, letra, nivel), fila, letra, tope);
+                k = fin;
+            }
+        }
+
+        private char letra(int k, int nivel) {
+            return IndiceNombres.letra(texto, claves, cabezas, k, nivel);
+        }
+
+        // Con la fila en 'tope' como mínimo, solo una letra igual a la de la consulta en alguna casilla
+        // que todavía no pasó (o la que completa dos vecinas al revés) puede dejar la fila siguiente en
+        // 'tope'. Ordenadas y sin repetir, para recorrer los hijos de izquierda a derecha.
+        private char[] letrasUtiles(int[] fila, int[] filaAbuelo, char letraPadre, int tope) {
+            char[] letras = new char[2 * consulta.length];
+            int cantidad = 0;
+            for (int j = 1; j <= consulta.length; j++) {
+                if (fila[j - 1] <= tope) letras[cantidad++] = consulta[j - 1];
+                if (filaAbuelo != null && j > 1 && consulta[j - 1] == letraPadre && filaAbuelo[j - 2] + 1 <= tope) {
+                    letras[cantidad++] = consulta[j - 2];
+                }
+            }
+            Arrays.sort(letras, 0, cantidad);
+            int distintas = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (distintas == 0 || letras[distintas - 1] != letras[i]) letras[distintas++] = letras[i];
+            }
+            return Arrays.copyOf(letras, distintas);
+        }
+
+        // Primera clave de [desde, hasta) cuyo carácter en 'nivel' es 'letra' o mayor
+        private int primeraConLetra(int desde, int hasta, int nivel, char letra) {
+            int bajo = desde;
+            int alto = hasta;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (letra(medio, nivel) < letra) bajo = medio + 1;
+                else alto = medio;
+            }
+            return bajo;
+        }
+
+        // Primera clave de [desde, hasta) cuyo carácter en 'nivel' ya no es 'letra' (están ordenadas).
+        // Avanza a saltos que se duplican antes de la búsqueda binaria: los hijos chicos (la mayoría,
+        // lejos de la raíz) se resuelven en pocos pasos sin partir el rango entero.
+        private int finDeLetra(int desde, int hasta, int nivel, char letra) {
+            int bajo = desde + 1;
+            int salto = 1;
+            while (bajo + salto < hasta && letra(bajo + salto, nivel) == letra) {
+                bajo += salto + 1;
+                salto *= 2;
+            }
+            int alto = Math.min(hasta, bajo + salto);
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (letra(medio, nivel) == letra) bajo = medio + 1;
+                else alto = medio;
+            }
+            return bajo;
+        }
+
+        private int[] siguienteFila(int[] fila, int[] filaAbuelo, char letraPadre, char letra, int nivel) {
+            int[] nueva = new int[fila.length];
+            nueva[0] = nivel + 1;
+            for (int j = 1; j < nueva.length; j++) {
+                int costo = consulta[j - 1] == letra ? 0 : 1;
+                int valor = Math.min(Math.min(fila[j] + 1, nueva[j - 1] + 1), fila[j - 1] + costo);
+                if (filaAbuelo != null && j > 1 && consulta[j - 1] == letraPadre && consulta[j - 2] == letra) {
+                    valor = Math.min(valor, filaAbuelo[j - 2] + 1); // Dos letras vecinas al revés
+                }
+                nueva[j] = valor;
+            }
+            return nueva;
+        }
+    }
+
+    // Primera clave del tramo que empieza con 'consulta' (o la que iría en su lugar), o con 'despues'
+    // la primera que ya va más allá de todas las que empiezan con ella.
+    private static int limite(long[] tramo, char[] texto, String consulta, boolean despues) {
+        int bajo = 0;
+        int alto = tramo.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            int c = compararPrefijo(texto, posicion(tramo[medio]), consulta);
+            if (c < 0 || (despues && c == 0)) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    // <0 si la clave va antes que todo lo que empieza con 'consulta', 0 si empieza con ella, >0 si va después
+    private static int compararPrefijo(char[] texto, int p, String consulta) {
+        for (int i = 0; i < consulta.length(); i++) {
+            char c = texto[p + i];
+            if (c != consulta.charAt(i)) return c - consulta.charAt(i); // FIN también cae aquí (clave más corta)
+        }
+        return 0;
+    }
+
+    // --- Orden de las Claves ---
+
+    private static long clave(int indice, int posicion) {
+        return ((long) indice << 32) | (posicion & 0xFFFFFFFFL);
+    }
+
+    private static int indice(long clave) {
+        return (int) (clave >>> 32);
+    }
+
+    private static int posicion(long clave) {
+        return (int) clave;
+    }
+
+    private static int comparar(char[] texto, int p, int q) {
+        while (true) {
+            char a = texto[p++];
+            char b = texto[q++];
+            if (a != b) return a - b;
+            if (a == FIN) return 0;
+        }
+    }
+
+    // Igual que comparar, pero decide con las cabezas mientras alcanzan (casi siempre ya difieren en
+    // las primeras letras) y solo va al texto si coinciden enteras o aparece una letra larga.
+    private static int comparar(char[] texto, long a, int cabezaA, long b, int cabezaB) {
+        for (int i = 0; i < LETRAS_CABEZA; i++) {
+            int corrimiento = 8 * (LETRAS_CABEZA - 1 - i);
+            int letraA = (cabezaA >>> corrimiento) & 0xFF;
+            int letraB = (cabezaB >>> corrimiento) & 0xFF;
+            if (letraA == LETRA_LARGA || letraB == LETRA_LARGA) return comparar(texto, posicion(a) + i, posicion(b) + i);
+            if (letraA != letraB) return letraA - letraB;
+            if (letraA == FIN) return 0;
+        }
+        return comparar(texto, posicion(a) + LETRAS_CABEZA, posicion(b) + LETRAS_CABEZA);
+    }
+
+    // Primeras LETRAS_CABEZA letras de la clave, 8 bits cada una (rellena con FIN si la clave es más corta)
+    private static int cabeza(char[] texto, int p) {
+        int cabeza = 0;
+        boolean terminada = false;
+        for (int i = 0; i < LETRAS_CABEZA; i++) {
+            char c = terminada ? FIN : texto[p + i];
+            terminada |= c == FIN;
+            cabeza = (cabeza << 8) | Math.min(c, LETRA_LARGA);
+        }
+        return cabeza;
+    }
+
+    private static Tramo fundir(Tramo a, Tramo b, char[] texto) {
+        int n = a.size() + b.size();
+        long[] claves = new long[n];
+        int[] cabezas = new int[n];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n; k++) {
+            if (i < a.size() && (j >= b.size()
+                    || comparar(texto, b.claves[j], b.cabezas[j], a.claves[i], a.cabezas[i]) >= 0)) {
+                claves[k] = a.claves[i];
+                cabezas[k] = a.cabezas[i++];
+            } else {
+                claves[k] = b.claves[j];
+                cabezas[k] = b.cabezas[j++];
+            }
+        }
+        return new Tramo(claves, cabezas);
+    }
+
+    // Carácter 'nivel' de la clave k (FIN si ahí termina): de la cabeza si está, si no del texto
+    private static char letra(char[] texto, long[] claves, int[] cabezas, int k, int nivel) {
+        if (nivel < LETRAS_CABEZA) {
+            int letra = (cabezas[k] >>> (8 * (LETRAS_CABEZA - 1 - nivel))) & 0xFF;
+            if (letra != LETRA_LARGA) return (char) letra;
+        }
+        return texto[posicion(claves[k]) + nivel];
+    }
+
+    // Arma un tramo con claves sueltas, ordenándolas con un quicksort de tres vías letra por letra
+    // (Bentley-Sedgewick): las claves que comparten el comienzo no se vuelven a comparar desde cero,
+    // que es justo lo que pasa con miles de "maria ..." o "jose ...".
+    private static Tramo ordenado(long[] claves, char[] texto) {
+        int[] cabezas = new int[claves.length];
+        for (int k = 0; k < claves.length; k++) cabezas[k] = cabeza(texto, posicion(claves[k]));
+        Tramo tramo = new Tramo(claves, cabezas);
+        ordenar(tramo, 0, claves.length, 0, texto);
+        return tramo;
+    }
+
+    // Ordena [desde, hasta), donde todas las claves comparten sus primeros 'nivel' caracteres.
+    private static void ordenar(Tramo tramo, int desde, int hasta, int nivel, char[] texto) {
+        long[] claves = tramo.claves;
+        int[] cabezas = tramo.cabezas;
+        while (hasta - desde > 1) {
+            if (hasta - desde < 12) { // Pocos: inserción comparando desde 'nivel'
+                for (int i = desde + 1; i < hasta; i++) {
+                    for (int j = i; j > desde && comparar(texto, posicion(claves[j - 1]) + nivel, posicion(claves[j]) + nivel) > 0; j--) {
+                        intercambiar(tramo, j, j - 1);
+                    }
+                }
+                return;
+            }
+            char pivote = letra(texto, claves, cabezas, (desde + hasta) >>> 1, nivel);
+            int menores = desde;  // [desde, menores) < pivote
+            int mayores = hasta;  // [mayores, hasta) > pivote
+            int k = desde;
+            while (k < mayores) {
+                char c = letra(texto, claves, cabezas, k, nivel);
+                if (c < pivote) intercambiar(tramo, menores++, k++);
+                else if (c > pivote) intercambiar(tramo, k, --mayores);
+                else k++;
+            }
+            ordenar(tramo, desde, menores, nivel, texto);
+            if (pivote != FIN) ordenar(tramo, menores, mayores, nivel + 1, texto); // Iguales: se sigue con la letra siguiente
+            desde = mayores; // Los mayores, en el mismo nivel, sin recursión
+        }
+    }
+
+    private static void intercambiar(Tramo tramo, int i, int j) {
+        long clave = tramo.claves[i];
+        tramo.claves[i] = tramo.claves[j];
+        tramo.claves[j] = clave;
+        int cabeza = tramo.cabezas[i];
+        tramo.cabezas[i] = tramo.cabezas[j];
+        tramo.cabezas[j] = cabeza;
+    }
+
+    // --- Normalización ---
+
+    // Minúsculas, sin tildes ni diéresis ("Ñ" queda "n"), y cualquier cosa que no sea letra o dígito
+    // (espacios, guiones, puntos...) cuenta como un solo espacio entre palabras: "  José-Luis PÉREZ." -> "jose luis perez".
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) { // Solo se descompone si hay algo fuera de ASCII
+                texto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        StringBuilder limpio = new StringBuilder(texto.length());
+        boolean separar = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue; // La tilde suelta tras la NFD
+            if (Character.isLetterOrDigit(c)) {
+                if (separar && limpio.length() > 0) limpio.append(' ');
+                limpio.append(Character.toLowerCase(c));
+                separar = false;
+            } else {
+                separar = true;
+            }
+        }
+        return limpio.toString();
+    }
+
+    private static int palabras(String normalizado) {
+        int cantidad = 1;
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (normalizado.charAt(i) == ' ') cantidad++;
+        }
+        return cantidad;
+    }
+}
@@ -0,0 +1,197 @@
+package gestor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// --- LECTOR DE CSV POR PARTES ---
+// Lee un archivo CSV (UTF-8) fila por fila sin cargarlo entero en memoria: un canal (el FileChannel
+// del archivo, o cualquier otro, ej: la entrada estándar para ModoGuion) llena un buffer de 64 KB
+// y las filas se cortan directo sobre los bytes (sin split ni expresiones regulares).
+// Cortar sobre bytes es seguro en UTF-8: las comas, comillas y saltos de línea nunca aparecen
+// dentro de una letra de varios bytes (ej: "ñ").
+//
+// Formato: campos separados por coma; un campo entre comillas puede llevar comas y "" para una comilla.
+// Los espacios alrededor de un campo sin comillas se ignoran. Las líneas vacías se saltan.
+// Una fila no puede ocupar más de una línea (así cada error se reporta con su número de línea exacto).
+final class LectorCsv implements Closeable {
+
+    private static final int TAMANO_BUFFER = 1 << 16;
+    private static final int LINEA_MAXIMA = 1 << 20; // Una línea más larga que 1 MB se rechaza
+
+    private final ReadableByteChannel canal;
+    private ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+    private boolean finArchivo = false;
+    private boolean lineaLarga = false; // La línea actual se descartó por superar LINEA_MAXIMA
+
+    // Fila actual
+    private int linea = 0;
+    private String[] campos = new String[8];
+    private int cantidad = 0;
+    private String error;
+
+    private byte[] auxiliar = new byte[256]; // Para armar campos con comillas dobles escapadas
+
+    LectorCsv(Path archivo) throws IOException {
+        this(FileChannel.open(archivo, StandardOpenOption.READ));
+    }
+
+    // Lee de un canal ya abierto; close() lo cierra.
+    LectorCsv(ReadableByteChannel canal) {
+        this.canal = canal;
+        buffer.flip(); // Arranca vacío, en modo lectura
+    }
+
+    // Avanza a la siguiente fila no vacía. Retorna 'falso' al llegar al final del archivo.
+    // Si la fila está mal formada, error() dice por qué (y los campos no deben usarse).
+    boolean siguiente() throws IOException {
+        while (true) {
+            int fin = buscarFinDeLinea();
+            if (fin < 0) return false;
+            linea++;
+            error = null;
+            cantidad = 0;
+
+            int inicio = buffer.position();
+            int corte = fin;
+            if (corte > inicio && buffer.get(corte - 1) == '\r') corte--;
+            boolean vacia = corte == inicio;
+            if (lineaLarga) {
+                lineaLarga = false;
+                error = "la línea supera " + (LINEA_MAXIMA / 1024) + " KB";
+            } else if (!vacia) {
+                cortarCampos(inicio, corte);
+            }
+            buffer.position(Math.min(fin + 1, buffer.limit()));
+            if (!vacia || error != null) return true;
+        }
+    }
+
+    int linea() { return linea; }
+    int cantidad() { return cantidad; }
+    String campo(int i) { return campos[i]; }
+    String error() { return error; }
+
+    // --- Lectura del Canal ---
+
+    // Devuelve la posición del '\n' que cierra la línea actual (o el final si el archivo no termina
+    // con salto de línea), trayendo más bytes del canal cuando hace falta. -1 = no quedan líneas.
+    private int buscarFinDeLinea() throws IOException {
+        int revisado = buffer.position();
+        while (true) {
+            for (int i = revisado; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') return i;
+            }
+            if (finArchivo) {
+                return buffer.hasRemaining() || lineaLarga ? buffer.limit() : -1;
+            }
+            revisado = buffer.remaining(); // Lo ya revisado queda al principio tras compactar
+            if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+                if (buffer.capacity() >= LINEA_MAXIMA) {
+                    saltarLineaLarga();
+                    revisado = buffer.position();
+                    continue;
+                }
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer).flip();
+            }
+            buffer.compact();
+            if (canal.read(buffer) < 0) finArchivo = true;
+            buffer.flip();
+        }
+    }
+
+    // La línea no entra ni en el buffer más grande: se descarta hasta su '\n' y se reporta como error.
+    private void saltarLineaLarga() throws IOException {
+        while (true) {
+            buffer.clear();
+            if (canal.read(buffer) < 0) {
+                finArchivo = true;
+                buffer.flip();
+                break;
+            }
+            buffer.flip();
+            int i = buffer.position();
+            while (i < buffer.limit() && buffer.get(i) != '\n') i++;
+            if (i < buffer.limit()) {
+                buffer.position(i); // Queda parado en el '\n': cierra una "línea" vacía
+                break;
+            }
+        }
+        lineaLarga = true; // Se reporta como una fila mal formada, con su número de línea
+    }
+
+    // --- Corte en Campos ---
+
+    private void cortarCampos(int inicio, int fin) {
+        int i = inicio;
+        while (true) {
+            // Saltamos espacios iniciales
+            while (i < fin && buffer.get(i) == ' ') i++;
+            if (i < fin && buffer.get(i) == '"') {
+                i = campoEntreComillas(i + 1, fin);
+                if (i < 0) return;
+            } else {
+                int desde = i;
+                while (i < fin && buffer.get(i) != ',') i++;
+                int hasta = i;
+                while (hasta > desde && buffer.get(hasta - 1) == ' ') hasta--;
+                agregar(texto(desde, hasta));
+            }
+            if (i >= fin) return;
+            i++; // Saltamos la coma
+        }
+    }
+
+    // Lee un campo con comillas desde 'i' (ya pasada la comilla de apertura). Retorna dónde sigue, o -1 si hay error.
+    private int campoEntreComillas(int i, int fin) {
+        int largo = 0;
+        while (true) {
+            if (i >= fin) {
+                error = "comillas sin cerrar";
+                return -1;
+            }
+            byte b = buffer.get(i++);
+            if (b == '"') {
+                if (i < fin && buffer.get(i) == '"') {
+                    i++; // "" dentro de comillas = una comilla
+                } else {
+                    break;
+                }
+            }
+            if (largo == auxiliar.length) auxiliar = Arrays.copyOf(auxiliar, largo * 2);
+            auxiliar[largo++] = b;
+        }
+        agregar(new String(auxiliar, 0, largo, StandardCharsets.UTF_8));
+        while (i < fin && buffer.get(i) == ' ') i++;
+        if (i < fin && buffer.get(i) != ',') {
+            error = "texto después de cerrar comillas";
+            return -1;
+        }
+        return i;
+    }
+
+    private String texto(int desde, int hasta) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + desde, hasta - desde, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[hasta - desde];
+        buffer.get(desde, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void agregar(String campo) {
+        if (cantidad == campos.length) campos = Arrays.copyOf(campos, cantidad * 2);
+        campos[cantidad++] = campo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,64 @@
+package gestor;
+
+import java.util.Arrays;
+
+// Lista de enteros sobre un arreglo primitivo que crece solo.
+// 4 bytes por elemento en lugar de un puntero a un Integer, y los recorridos van por memoria contigua.
+// (Las listas de inscritos y las materias de cada alumno usan ConjuntoEnteros, que además busca en O(1).)
+// No es segura entre hilos por sí misma: la protege quien la usa (candado del curso o del alumno).
+public class ListaEnteros {
+
+    private int[] datos;
+    private int tam;
+
+    public ListaEnteros() {
+        this(4);
+    }
+
+    public ListaEnteros(int capacidadInicial) {
+        this.datos = new int[Math.max(1, capacidadInicial)];
+    }
+
+    public void add(int valor) {
+        if (tam == datos.length) {
+            datos = Arrays.copyOf(datos, tam * 2);
+        }
+        datos[tam++] = valor;
+    }
+
+    public int get(int posicion) {
+        return datos[posicion];
+    }
+
+    public int size() {
+        return tam;
+    }
+
+    public boolean isEmpty() {
+        return tam == 0;
+    }
+
+    public int indexOf(int valor) {
+        for (int i = 0; i < tam; i++) {
+            if (datos[i] == valor) return i;
+        }
+        return -1;
+    }
+
+    public boolean contains(int valor) {
+        return indexOf(valor) >= 0;
+    }
+
+    // Quita la primera aparición del valor conservando el orden de los demás.
+    public boolean removeValor(int valor) {
+        int posicion = indexOf(valor);
+        if (posicion < 0) return false;
+        System.arraycopy(datos, posicion + 1, datos, posicion, tam - posicion - 1);
+        tam--;
+        return true;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(datos, tam);
+    }
+}
@@ -0,0 +1,45 @@
+package gestor;
+
+import java.util.Collection;
+import java.util.List;
+
+// --- CONTRATO DE UNA LISTA DE ESPERA ---
+// Lo que se necesita de la fila de un curso, sin importar cómo esté armada por dentro.
+// La implementación es ListaEsperaVersionada: treap inmutable con tamaños de subárbol y claves 'long'
+// empaquetadas, que publica versiones para leer sin candado y responde "¿en qué lugar voy?" en O(log n).
+// Ninguna implementación es segura entre hilos: el gestor las usa siempre con el candado del curso tomado.
+public interface ListaEspera {
+
+    // Entra a la fila (si ya estaba, no se duplica)
+    void offer(Alumno alumno);
+
+    // Entran varios de una vez; retorna cuántos entraron de verdad
+    int offerTodos(Collection<Alumno> alumnos);
+
+    // Sale el de mayor prioridad (null si no hay nadie)
+    Alumno poll();
+
+    // Quién sería el siguiente, sin sacarlo
+    Alumno peek();
+
+    // Renuncia a la fila; 'falso' si no estaba
+    boolean remove(Alumno alumno);
+
+    // Reacomoda a un alumno cuyo promedio/semestre cambió; 'falso' si no estaba
+    boolean update(Alumno alumno);
+
+    boolean contains(Alumno alumno);
+
+    int size();
+
+    boolean isEmpty();
+
+    // Todos los que esperan, en el orden interno de la estructura (no necesariamente por prioridad)
+    List<Alumno> toList();
+
+    // Lugar en la fila contando desde 1 (1 = el siguiente en entrar); 0 si no está esperando
+    int posicionDe(Alumno alumno);
+
+    // Hasta 'cantidad' alumnos en orden de prioridad, saltándose los primeros 'inicio'
+    List<Alumno> pagina(int inicio, int cantidad);
+}
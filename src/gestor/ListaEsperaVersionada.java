@@ -0,0 +1,370 @@
+package gestor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// --- LISTA DE ESPERA CON VERSIONES ---
+// La fila de cada curso en el gestor, guardada en un treap INMUTABLE (árbol binario de búsqueda con
+// prioridades al azar y el tamaño de cada subárbol, sin modificar nunca un nodo): cada cambio arma los
+// O(log n) nodos del camino afectado y comparte todo lo demás. Así cada raíz es una versión completa
+// de la fila, en orden de prioridad, que un reporte puede recorrer sin candado aunque el curso siga
+// recibiendo inscripciones (ver VersionCurso). Y como el treap ES la fila, el que sale, "¿en qué lugar
+// voy?" y las páginas salen del mismo árbol que se publica: O(log n), y nunca dos órdenes distintos.
+//
+// El orden es promedio, semestre y, si empatan, llegada (el que sigue esperando desde antes va primero).
+// Cada nodo guarda esos datos ya "empaquetados" en UN número 'long' calculado al entrar (un número
+// MENOR = va ANTES), así cada paso de la bajada es una sola comparación de números, sin ir al Alumno,
+// y las versiones viejas no se desordenan cuando alguien cambia su promedio:
+//   [1 bit en 0][23 bits: promedio invertido][8 bits: semestre invertido][32 bits: número de llegada]
+//  - promedio: en milésimas (0.000 a 8388.607); "invertido" para que el mayor quede primero.
+//  - semestre: de 0 a 255, también invertido (desempate: el mayor semestre gana).
+//  - llegada: contador propio de la fila; si se agota, se renumera a los que esperan (ver renumerar).
+// Dos promedios que difieren en menos de media milésima cuentan como empate.
+//
+// Como las demás listas, las operaciones de escritura van con el candado del curso tomado.
+public class ListaEsperaVersionada implements ListaEspera {
+
+    private static final int BITS_LLEGADA = 32;
+    private static final int BITS_SEMESTRE = 8;
+    private static final int BITS_PROMEDIO = 23;
+    private static final long MAX_LLEGADA = (1L << BITS_LLEGADA) - 1;
+    private static final int MAX_SEMESTRE = (1 << BITS_SEMESTRE) - 1;
+    private static final long MAX_PROMEDIO = (1L << BITS_PROMEDIO) - 1;
+
+    // Nodo inmutable del treap. 'tam' = nodos en el subárbol (él incluido), para paginar.
+    static final class Nodo {
+        final Alumno alumno;
+        final long clave; // Promedio, semestre y llegada empaquetados (ver arriba)
+        final int prioridad; // Al azar, solo para mantener el árbol balanceado
+        final Nodo izq, der;
+        final int tam;
+
+        Nodo(Alumno alumno, long clave, int prioridad, Nodo izq, Nodo der) {
+            this.alumno = alumno;
+            this.clave = clave;
+            this.prioridad = prioridad;
+            this.izq = izq;
+            this.der = der;
+            this.tam = 1 + tam(izq) + tam(der);
+        }
+
+        // El mismo nodo con otros hijos (así se "modifica" sin tocar la versión anterior)
+        Nodo con(Nodo nuevaIzq, Nodo nuevaDer) {
+            return new Nodo(alumno, clave, prioridad, nuevaIzq, nuevaDer);
+        }
+    }
+
+    private Nodo raiz;
+    // ID del alumno -> un nodo con sus datos de orden (las copias del camino conservan esos datos)
+    private final Map<String, Nodo> nodos = new HashMap<>();
+    private final SplittableRandom azar = new SplittableRandom(0x5EED);
+    private long llegadas = 0;
+
+    private final Nodo[] partes = new Nodo[2]; // Resultado de partir(), reutilizado
+
+    // La versión actual de la fila (null = vacía). Nunca cambia: se puede leer desde cualquier hilo.
+    Nodo foto() {
+        return raiz;
+    }
+
+    // --- Claves ---
+
+    // Convierte los datos académicos en la clave empaquetada (ver el esquema arriba)
+    static long clave(double promedio, int semestre, long llegada) {
+        long milesimas = promedio > 0 ? Math.min(MAX_PROMEDIO, Math.round(promedio * 1000)) : 0; // También descarta NaN
+        long sem = Math.max(0, Math.min(MAX_SEMESTRE, semestre));
+        return ((MAX_PROMEDIO - milesimas) << (BITS_SEMESTRE + BITS_LLEGADA))
+                | ((MAX_SEMESTRE - sem) << BITS_LLEGADA)
+                | (llegada & MAX_LLEGADA);
+    }
+
+    // El contador de llegadas tiene 32 bits: si algún día se agota, se renumera a los que están
+    // esperando según su orden de llegada (0, 1, 2...) y se sigue contando desde ahí.
+    private long siguienteLlegada() {
+        if (llegadas > MAX_LLEGADA) renumerar();
+        return llegadas++;
+    }
+
+    // Entre empatados el orden del árbol ya es el de llegada, así que basta recorrerlo en orden
+    // cambiando solo los bits de la llegada: el orden relativo no cambia y el árbol se rearma en O(n).
+    private void renumerar() {
+        List<Nodo> actuales = new ArrayList<>(size());
+        enOrden(raiz, actuales);
+        Nodo[] porLlegada = actuales.toArray(new Nodo[0]);
+        Arrays.sort(porLlegada, (a, b) -> Long.compare(a.clave & MAX_LLEGADA, b.clave & MAX_LLEGADA));
+        Map<Nodo, Long> nuevas = new HashMap<>();
+        for (int k = 0; k < porLlegada.length; k++) {
+            nuevas.put(porLlegada[k], (porLlegada[k].clave & ~MAX_LLEGADA) | k);
+        }
+        Nodo[] todos = new Nodo[actuales.size()];
+        for (int i = 0; i < todos.length; i++) {
+            Nodo n = actuales.get(i);
+            todos[i] = new Nodo(n.alumno, nuevas.get(n), n.prioridad, null, null);
+            nodos.put(n.alumno.getIdAlumno(), todos[i]);
+        }
+        raiz = construir(todos);
+        llegadas = todos.length;
+    }
+
+    // --- Operaciones de la Fila ---
+
+    public void offer(Alumno alumno) {
+        if (contains(alumno)) return;
+        entrar(alumno, siguienteLlegada());
+    }
+
+    public int offerTodos(Collection<Alumno> alumnos) {
+        List<Alumno> nuevos = new ArrayList<>(alumnos.size());
+        Set<String> delLote = new HashSet<>();
+        for (Alumno alumno : alumnos) {
+            if (contains(alumno) || !delLote.add(alumno.getIdAlumno())) continue; // También repetidos del lote
+            nuevos.add(alumno);
+        }
+        if (nuevos.size() > size()) {
+            entrarTodos(nuevos);
+        } else {
+            for (Alumno alumno : nuevos) {
+                entrar(alumno, siguienteLlegada()); // En el orden del lote
+            }
+        }
+        return nuevos.size();
+    }
+
+    public Alumno poll() {
+        Alumno primero = peek();
+        if (primero != null) salir(primero);
+        return primero;
+    }
+
+    public Alumno peek() {
+        Nodo n = raiz;
+        if (n == null) return null;
+        while (n.izq != null) n = n.izq;
+        return n.alumno;
+    }
+
+    public boolean remove(Alumno alumno) {
+        if (!contains(alumno)) return false;
+        salir(alumno);
+        return true;
+    }
+
+    // Sale con sus datos viejos (los del nodo, así se encuentra aunque el promedio ya haya cambiado)
+    // y vuelve a entrar con los nuevos, conservando su número de llegada.
+    public boolean update(Alumno alumno) {
+        Nodo viejo = nodos.get(alumno.getIdAlumno());
+        if (viejo == null) return false;
+        raiz = quitar(raiz, viejo);
+        entrar(alumno, viejo.clave & MAX_LLEGADA);
+        return true;
+    }
+
+    public boolean contains(Alumno alumno) {
+        return nodos.containsKey(alumno.getIdAlumno());
+    }
+
+    public int size() {
+        return tam(raiz);
+    }
+
+    public boolean isEmpty() {
+        return raiz == null;
+    }
+
+    // En el treap el orden interno YA es el de prioridad
+    public List<Alumno> toList() {
+        return pagina(raiz, 0, size());
+    }
+
+    // Lugar = los que quedan a la izquierda en la bajada desde la raíz + 1 (O(log n)).
+    public int posicionDe(Alumno alumno) {
+        Nodo buscado = nodos.get(alumno.getIdAlumno());
+        if (buscado == null) return 0;
+        int antes = 0;
+        Nodo n = raiz;
+        while (n != null) {
+            int c = comparar(buscado, n);
+            if (c == 0) return antes + tam(n.izq) + 1;
+            if (c < 0) {
+                n = n.izq;
+            } else {
+                antes += tam(n.izq) + 1;
+                n = n.der;
+            }
+        }
+        return 0;
+    }
+
+    public List<Alumno> pagina(int inicio, int cantidad) {
+        return pagina(raiz, inicio, cantidad);
+    }
+
+    private void entrar(Alumno alumno, long llegada) {
+        Nodo nuevo = nodo(alumno, llegada);
+        nodos.put(alumno.getIdAlumno(), nuevo);
+        raiz = insertar(raiz, nuevo);
+    }
+
+    // Promedio y semestre de un mismo instante (ver Alumno.DatosAcademicos)
+    private Nodo nodo(Alumno alumno, long llegada) {
+        Alumno.DatosAcademicos datos = alumno.datosAcademicos();
+        return new Nodo(alumno, clave(datos.promedio, datos.semestre, llegada), azar.nextInt(), null, null);
+    }
+
+    private void salir(Alumno alumno) {
+        Nodo n = nodos.remove(alumno.getIdAlumno());
+        if (n != null) raiz = quitar(raiz, n);
+    }
+
+    // Si llegan más de los que ya había, se arma el treap de nuevo en O(n) en vez de n inserciones:
+    // los nuevos se ordenan, se mezclan con la fila actual y se construye de izquierda a derecha.
+    private void entrarTodos(List<Alumno> alumnos) {
+        List<Nodo> nuevos = new ArrayList<>(alumnos.size());
+        for (Alumno alumno : alumnos) {
+            Nodo nuevo = nodo(alumno, siguienteLlegada());
+            nodos.put(alumno.getIdAlumno(), nuevo);
+            nuevos.add(nuevo);
+        }
+        nuevos.sort(ListaEsperaVersionada::comparar);
+        List<Nodo> actuales = new ArrayList<>(size());
+        enOrden(raiz, actuales);
+        Nodo[] todos = new Nodo[actuales.size() + nuevos.size()];
+        int i = 0, j = 0, k = 0;
+        while (i < actuales.size() || j < nuevos.size()) {
+            if (j == nuevos.size() || (i < actuales.size() && comparar(actuales.get(i), nuevos.get(j)) <= 0)) {
+                todos[k++] = actuales.get(i++);
+            } else {
+                todos[k++] = nuevos.get(j++);
+            }
+        }
+        raiz = construir(todos);
+    }
+
+    private static void enOrden(Nodo n, List<Nodo> salida) {
+        for (; n != null; n = n.der) {
+            enOrden(n.izq, salida);
+            salida.add(n);
+        }
+    }
+
+    // Árbol cartesiano por prioridad con una pila por el borde derecho (los hijos se anotan por
+    // posición) y después los nodos inmutables, de las hojas hacia arriba.
+    private static Nodo construir(Nodo[] ordenados) {
+        int n = ordenados.length;
+        int[] izq = new int[n], der = new int[n], pila = new int[n];
+        Arrays.fill(izq, -1);
+        Arrays.fill(der, -1);
+        int tope = 0;
+        for (int i = 0; i < n; i++) {
+            int ultimoSacado = -1;
+            while (tope > 0 && ordenados[pila[tope - 1]].prioridad < ordenados[i].prioridad) {
+                ultimoSacado = pila[--tope];
+            }
+            izq[i] = ultimoSacado;
+            if (tope > 0) der[pila[tope - 1]] = i;
+            pila[tope++] = i;
+        }
+        return tope == 0 ? null : armar(ordenados, izq, der, pila[0]);
+    }
+
+    private static Nodo armar(Nodo[] ordenados, int[] izq, int[] der, int i) {
+        Nodo hijoIzq = izq[i] < 0 ? null : armar(ordenados, izq, der, izq[i]);
+        Nodo hijoDer = der[i] < 0 ? null : armar(ordenados, izq, der, der[i]);
+        return ordenados[i].con(hijoIzq, hijoDer);
+    }
+
+    // --- Treap Inmutable ---
+
+    // Las claves son únicas (llevan la llegada): 0 solo cuando es el mismo alumno
+    private static int comparar(Nodo a, Nodo b) {
+        return Long.compare(a.clave, b.clave);
+    }
+
+    private Nodo insertar(Nodo t, Nodo nuevo) {
+        if (t == null) return nuevo;
+        if (nuevo.prioridad > t.prioridad) {
+            partir(t, nuevo);
+            return nuevo.con(partes[0], partes[1]);
+        }
+        if (comparar(nuevo, t) < 0) return t.con(insertar(t.izq, nuevo), t.der);
+        return t.con(t.izq, insertar(t.der, nuevo));
+    }
+
+    // Separa 't' en los que van antes (partes[0]) y los que van después (partes[1]) de 'clave'
+    private void partir(Nodo t, Nodo clave) {
+        if (t == null) {
+            partes[0] = null;
+            partes[1] = null;
+        } else if (comparar(t, clave) < 0) {
+            partir(t.der, clave);
+            partes[0] = t.con(t.izq, partes[0]);
+        } else {
+            partir(t.izq, clave);
+            partes[1] = t.con(partes[1], t.der);
+        }
+    }
+
+    private Nodo quitar(Nodo t, Nodo clave) {
+        if (t == null) return null;
+        int c = comparar(clave, t);
+        if (c == 0) return unir(t.izq, t.der);
+        if (c < 0) return t.con(quitar(t.izq, clave), t.der);
+        return t.con(t.izq, quitar(t.der, clave));
+    }
+
+    // Junta dos treaps donde todo 'a' va antes que todo 'b'
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.prioridad > b.prioridad) return a.con(a.izq, unir(a.der, b));
+        return b.con(unir(a, b.izq), b.der);
+    }
+
+    // --- Lectura de una Versión (cualquier hilo) ---
+
+    static int tam(Nodo n) {
+        return n == null ? 0 : n.tam;
+    }
+
+    // Hasta 'cantidad' alumnos en orden de prioridad desde el lugar 'inicio' (contando desde 0):
+    // baja hasta 'inicio' guardando en una pila los nodos que quedan pendientes a la derecha.
+    static List<Alumno> pagina(Nodo raiz, int inicio, int cantidad) {
+        List<Alumno> resultado = new ArrayList<>(Math.max(0, Math.min(cantidad, tam(raiz) - inicio)));
+        if (inicio < 0 || cantidad <= 0) return resultado;
+        Nodo[] pila = new Nodo[64];
+        int tope = 0;
+        Nodo n = raiz;
+        int saltar = inicio;
+        while (n != null) { // Bajada hasta el nodo del lugar 'inicio'
+            int izquierda = tam(n.izq);
+            if (saltar < izquierda) {
+                if (tope == pila.length) pila = Arrays.copyOf(pila, tope * 2);
+                pila[tope++] = n;
+                n = n.izq;
+            } else if (saltar == izquierda) {
+                if (tope == pila.length) pila = Arrays.copyOf(pila, tope * 2);
+                pila[tope++] = n;
+                break;
+            } else {
+                saltar -= izquierda + 1;
+                n = n.der;
+            }
+        }
+        while (tope > 0 && resultado.size() < cantidad) { // Recorrido en orden desde ahí
+            Nodo actual = pila[--tope];
+            resultado.add(actual.alumno);
+            for (Nodo m = actual.der; m != null; m = m.izq) {
+                if (tope == pila.length) pila = Arrays.copyOf(pila, tope * 2);
+                pila[tope++] = m;
+            }
+        }
+        return resultado;
+    }
+}
@@ -1,9 +1,20 @@
+package gestor;
+
 import java.util.InputMismatchException;
 import java.util.Scanner;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Collection;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
 
 public class Main {
 
@@ -11,11 +22,50 @@ public class Main {
     // Preparamos las herramientas principales:
     // 1. El 'gestor' que contiene toda la lógica de la universidad.
     // 2. El 'scanner' para poder leer lo que escribe el usuario.
-    private static GestorUniversidad gestor = new GestorUniversidad();
+    private static GestorUniversidad gestor;
     private static Scanner scanner = new Scanner(System.in);
+    private static final ConsolaEventos consola = new ConsolaEventos();
 
     // --- Punto de Inicio del Programa ---
-    public static void main(String[] args) {
+    // Uso: java gestor.Main [--datos <carpeta>] [--servidor <puerto>] [--fragmentos <n>] [--metricas <archivo>]
+    //                       [--max-creditos <n>] [--guion <archivo|->]
+    // Con --datos el registro se guarda en disco y se recupera en el siguiente arranque.
+    // Con --servidor no hay menú: el gestor se atiende por HTTP (ver ServidorHttp).
+    // Con --metricas las métricas se vuelcan cada 15 segundos en ese archivo (texto para Prometheus).
+    // Con --max-creditos ningún alumno puede inscribir más de esos créditos sumando sus cursos.
+    // Con --guion no hay menú: se ejecutan los comandos del archivo ("-" = entrada estándar) y se sale (ver ModoGuion).
+    public static void main(String[] args) throws Exception {
+        OpcionesGestor opciones = new OpcionesGestor();
+        int puertoServidor = -1;
+        String guion = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--datos")) {
+                opciones.directorioDatos(Paths.get(args[i + 1]));
+            } else if (args[i].equals("--servidor")) {
+                puertoServidor = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--fragmentos")) {
+                opciones.fragmentos(Integer.parseInt(args[i + 1]));
+            } else if (args[i].equals("--metricas")) {
+                opciones.archivoMetricas(Paths.get(args[i + 1]));
+            } else if (args[i].equals("--max-creditos")) {
+                opciones.maximoCreditos(Integer.parseInt(args[i + 1]));
+            } else if (args[i].equals("--guion")) {
+                guion = args[i + 1];
+            }
+        }
+        if (puertoServidor >= 0) {
+            iniciarServidor(opciones, puertoServidor);
+            return;
+        }
+        if (guion != null) {
+            ejecutarGuion(opciones, guion);
+            return;
+        }
+
+        // El gestor no imprime por su cuenta: la consola se suscribe a sus avisos
+        opciones.sumideroEventos(consola);
+        gestor = new GestorUniversidad(opciones);
+
         System.out.println("--- Gestor Universitario: Cursos, Inscripciones y Listas de Espera ---");
         int opcion;
 
@@ -38,8 +88,54 @@ public class Main {
 
         } while (opcion != 6);
 
-        // Cerramos la lectura de datos antes de terminar.
+        // Cerramos la lectura de datos y el diario antes de terminar.
         scanner.close();
+        gestor.close();
+    }
+
+    // --- Modo Servidor ---
+    // Sin menú ni avisos por consola (con miles de pedidos por segundo la pantalla sería el cuello de botella).
+    // Queda atendiendo hasta que se detenga el proceso (Ctrl+C), y al salir cierra el servidor y el diario.
+    private static void iniciarServidor(OpcionesGestor opciones, int puerto) throws Exception {
+        // El servidor del JDK cierra las conexiones inactivas que pasen de 200 (valor por defecto).
+        // Con miles de clientes que mantienen su conexión abierta entre pedidos eso obligaría a
+        // reconectar todo el tiempo, así que se sube el límite (salvo que ya venga en -D...).
+        // Es una propiedad de toda la JVM y se lee al crear el primer servidor: por eso va aquí, en el arranque.
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+        }
+        gestor = new GestorUniversidad(opciones.concurrente(true));
+        ServidorHttp servidor = new ServidorHttp(gestor, puerto);
+        CountDownLatch apagado = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.close();
+            gestor.close();
+            apagado.countDown();
+        }));
+        servidor.iniciar();
+        System.out.println("🌐 Servidor escuchando en http://localhost:" + servidor.getPuerto() + " (Ctrl+C para salir)");
+        apagado.await();
+    }
+
+    // --- Modo Guion ---
+    // Sin menú: corre los comandos de un archivo o de la entrada estándar (ver ModoGuion) y termina.
+    // Toda la salida, avisos incluidos, pasa por un único PrintStream con un buffer de 1 MB que solo se
+    // vacía al llenarse y al final: imprimir línea por línea en la consola sería más lento que el propio gestor.
+    // Sin los datos de demostración: la traza trae sus propios cursos y alumnos (o vienen de --datos).
+    private static void ejecutarGuion(OpcionesGestor opciones, String origen) throws IOException {
+        PrintStream salida = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 20), false, StandardCharsets.UTF_8);
+        System.setOut(salida); // Los reportes del gestor escriben en System.out
+        ConsolaEventos avisos = new ConsolaEventos(salida);
+        gestor = new GestorUniversidad(opciones.cargarDatosDemo(false).sumideroEventos(avisos));
+        try (LectorCsv lector = origen.equals("-")
+                ? new LectorCsv(Channels.newChannel(System.in))
+                : new LectorCsv(Paths.get(origen))) {
+            new ModoGuion(gestor, salida, avisos).ejecutar(lector);
+        } finally {
+            gestor.close();
+            salida.flush();
+        }
     }
 
     // --- Herramientas de Ayuda ---
@@ -67,7 +163,7 @@ public class Main {
         System.out.println("=============================================");
         System.out.println("1️⃣. 📚 Gestión de Alumnos y Cursos");
         System.out.println("2️⃣. ✍️ Inscripciones (Matrícula y Bajas)");
-        System.out.println("3️⃣. ⏳ Listas de Espera (Prioridad: Heap Manual)");
+        System.out.println("3️⃣. ⏳ Listas de Espera (Prioridad: Promedio y Semestre)");
         System.out.println("4️⃣. ⭐ Recomendaciones (Afinidad de Intereses)");
         System.out.println("5️⃣. 📊 Reportes y Estadísticas");
         System.out.println("6️⃣. 🚪 Salir del Sistema");
@@ -87,6 +183,9 @@ public class Main {
             System.out.println("1.3. 🧑‍🎓 Consultar alumno por ID");
             System.out.println("1.4. ➕ Registrar nuevo curso");
             System.out.println("1.5. 👤 Registrar nuevo alumno");
+            System.out.println("1.6. 🏫 Cambiar cupo máximo de un curso");
+            System.out.println("1.7. 📥 Importar alumnos, cursos e inscripciones desde CSV");
+            System.out.println("1.8. 🔎 Buscar alumno o curso por nombre");
             System.out.println("0. 🔙 Volver al Menú Principal");
             System.out.println("------------------------------------");
             System.out.print("Elige una opción: ");
@@ -116,6 +215,22 @@ public class Main {
                 case "1.5":
                     registrarNuevoAlumno(); // Formulario de alta de alumno
                     break;
+                case "1.6":
+                    cambiarCupoDeCurso(); // Si crece, entra gente de la lista de espera
+                    break;
+                case "1.7":
+                    importarDesdeCsv(); // Carga masiva (ej: un periodo completo)
+                    break;
+                case "1.8":
+                    // Parte del nombre, sin tildes si se quiere; si no hay nadie, sugiere nombres parecidos
+                    System.out.print("Nombre (o parte): ");
+                    String texto = scanner.nextLine();
+                    if (texto.isBlank()) {
+                        System.out.println("⚠️ Escribe al menos una letra.");
+                    } else {
+                        gestor.buscarPorNombre(texto);
+                    }
+                    break;
                 case "0":
                     System.out.println("🔙 Saliendo de Gestión...");
                     break;
@@ -146,6 +261,7 @@ public class Main {
             // Muestra cuántos espacios quedan y avisa si está lleno
             System.out.println("➡️ Cupos: " + curso.getCuposDisponibles() + "/" + curso.getCupoMaximo() + (curso.getCuposDisponibles() == 0 ? " (LLENO!)" : ""));
             System.out.println("🏷️  Áreas: " + curso.getAreas());
+            if (!curso.getHorario().estaVacio()) System.out.println("🕒 Horario: " + curso.getHorario());
         }
         System.out.println("------------------------------------------");
     }
@@ -172,13 +288,19 @@ public class Main {
 
             Set<String> areas = new HashSet<>(Arrays.asList(areasStr.split("\\s*,\\s*")));
 
+            // El horario evita que un alumno quede inscrito en dos clases a la misma hora
+            System.out.print("Horario (ej: LUN MIE 08:00-10:00; VIE 12:00-13:30, Enter = sin horario): ");
+            Horario horario = Horario.desdeTexto(scanner.nextLine());
+
             // Envía la información al gestor para guardarla
-            Curso nuevoCurso = new Curso(idCurso, nombre, docente, cupoMaximo, creditos, areas);
+            Curso nuevoCurso = new Curso(idCurso, nombre, docente, cupoMaximo, creditos, areas, horario);
             gestor.registrarCurso(nuevoCurso);
 
         } catch (InputMismatchException e) {
             System.out.println("⚠️ Error. Asegúrese de ingresar números para Cupo O Créditos.");
             scanner.nextLine();
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠️ Error en el horario: " + e.getMessage());
         }
     }
 
@@ -222,6 +344,54 @@ public class Main {
         }
     }
 
+    // Formulario para ampliar (o reducir) el cupo de un curso existente.
+    private static void cambiarCupoDeCurso() {
+        System.out.print("ID del Curso: ");
+        String idC = scanner.nextLine();
+        try {
+            System.out.print("Nuevo cupo máximo: ");
+            int nuevoCupo = Integer.parseInt(scanner.nextLine());
+            gestor.cambiarCupoMaximo(idC, nuevoCupo);
+        } catch (NumberFormatException e) {
+            System.out.println("⚠️ Error: El cupo debe ser un número entero.");
+        }
+    }
+
+    // Pide las rutas de los tres archivos (vacío = saltar ese archivo) y los importa en orden:
+    // primero cursos y alumnos, después las inscripciones que los usan.
+    // Mientras dura la importación la consola deja de anunciar cada alta: solo se muestra el resumen.
+    private static void importarDesdeCsv() {
+        System.out.println("\n--- IMPORTACIÓN DESDE CSV (deje vacío para saltar) ---");
+        System.out.print("Archivo de cursos: ");
+        String cursosCsv = scanner.nextLine().trim();
+        System.out.print("Archivo de alumnos: ");
+        String alumnosCsv = scanner.nextLine().trim();
+        System.out.print("Archivo de inscripciones: ");
+        String inscripcionesCsv = scanner.nextLine().trim();
+
+        ImportadorCsv importador = new ImportadorCsv(gestor);
+        gestor.setSumideroEventos(null);
+        try {
+            if (!cursosCsv.isEmpty()) mostrarImportacion("Cursos", importador.importarCursos(Paths.get(cursosCsv)));
+            if (!alumnosCsv.isEmpty()) mostrarImportacion("Alumnos", importador.importarAlumnos(Paths.get(alumnosCsv)));
+            if (!inscripcionesCsv.isEmpty()) mostrarImportacion("Inscripciones", importador.importarInscripciones(Paths.get(inscripcionesCsv)));
+        } catch (IOException e) {
+            System.out.println("⚠️ Error al leer el archivo: " + e.getMessage());
+        } finally {
+            gestor.setSumideroEventos(consola);
+        }
+    }
+
+    private static void mostrarImportacion(String titulo, ResultadoImportacion resultado) {
+        System.out.println("📥 " + titulo + " -> " + resultado);
+        for (String mensaje : resultado.getMensajes()) {
+            System.out.println("   ⚠️ " + mensaje);
+        }
+        if (resultado.getErrores() > resultado.getMensajes().size()) {
+            System.out.println("   ... y " + (resultado.getErrores() - resultado.getMensajes().size()) + " errores más.");
+        }
+    }
+
     // --- SECCIÓN 2: Control de Inscripciones ---
 
     // Submenú para operaciones diarias: meter o sacar alumnos de clases.
@@ -232,6 +402,7 @@ public class Main {
             System.out.println("-------------------------");
             System.out.println("1. 📝 Inscribir alumno en curso");
             System.out.println("2. ❌ Dar de baja alumno del curso");
+            System.out.println("3. 🚪 Retirar alumno de todos sus cursos");
             System.out.println("0. 🔙 Volver al Menú Principal");
             System.out.println("-------------------------");
             System.out.print("Elige una opción: ");
@@ -254,6 +425,13 @@ public class Main {
                     String idC_baja = scanner.nextLine();
                     gestor.darDeBajaAlumnoDelCurso(idA_baja, idC_baja);
                     break;
+                case "3":
+                    // Retiro completo: libera todos sus asientos (y las filas los ocupan) de una vez
+                    System.out.print("ID del Alumno a retirar: ");
+                    String idA_retiro = scanner.nextLine();
+                    int retirados = gestor.retirarAlumnoDeTodosLosCursos(idA_retiro);
+                    System.out.println("Cursos liberados: " + retirados);
+                    break;
                 case "0":
                     System.out.println("🔙 Saliendo de Inscripciones...");
                     break;
@@ -274,6 +452,14 @@ public class Main {
         // Muestra quiénes están esperando y en qué orden (según prioridad)
         gestor.mostrarListaDeEspera(idC);
 
+        // Consulta rápida del lugar de un alumno en esta fila
+        System.out.print("\nID de un Alumno para ver su lugar en la fila (Enter para omitir): ");
+        String idA = scanner.nextLine();
+        if (!idA.isEmpty()) {
+            int lugar = gestor.posicionEnListaEspera(idA, idC);
+            System.out.println(lugar > 0 ? "📍 Lugar en la fila: " + lugar : "ℹ️ El alumno no está en esta lista de espera.");
+        }
+
         // Si el curso está lleno, permite al usuario simular manualmente
         // que se libera un espacio para ver cómo entra automáticamente el siguiente alumno.
         Curso curso = gestor.consultarCurso(idC);
@@ -307,6 +493,9 @@ public class Main {
             System.out.println("1. 🎓 Carga académica de un alumno (Créditos)");
             System.out.println("2. 📋 Lista de alumnos inscritos en un curso");
             System.out.println("3. 🔥 Cursos con más demanda (Inscritos + Espera)");
+            System.out.println("4. 📤 Exportar recomendaciones de todos los alumnos (CSV)");
+            System.out.println("5. 📈 Métricas de operación (contadores y latencias)");
+            System.out.println("6. 👥 Alumnos por rango de créditos");
             System.out.println("0. 🔙 Volver al Menú Principal");
             System.out.println("---------------------------------");
             System.out.print("Elige una opción: ");
@@ -337,6 +526,15 @@ public class Main {
                     // Muestra qué cursos son los más populares
                     gestor.cursosConMasDemanda();
                     break;
+                case 4:
+                    exportarRecomendaciones(); // Para consejería, antes de la matrícula
+                    break;
+                case 5:
+                    mostrarMetricas();
+                    break;
+                case 6:
+                    pedirRangoDeCarga();
+                    break;
                 case 0:
                     System.out.println("🔙 Saliendo de Reportes...");
                     break;
@@ -345,4 +543,67 @@ public class Main {
             }
         } while (!op.equals("0"));
     }
-}
\ No newline at end of file
+
+    // Pide el archivo y las opciones, y corre la tarea en todos los núcleos (ver RecomendacionesMasivas).
+    private static void exportarRecomendaciones() {
+        try {
+            System.out.print("Archivo de salida (ej: recomendaciones.csv): ");
+            String archivo = scanner.nextLine().trim();
+            System.out.print("Recomendaciones por alumno: ");
+            int k = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("¿Omitir cursos llenos? (s/n): ");
+            boolean omitirLlenos = scanner.nextLine().equalsIgnoreCase("s");
+            System.out.print("¿Omitir cursos en los que ya está inscrito? (s/n): ");
+            boolean omitirInscritos = scanner.nextLine().equalsIgnoreCase("s");
+
+            long inicio = System.nanoTime();
+            long filas = new RecomendacionesMasivas(gestor).k(k)
+                    .omitirLlenos(omitirLlenos).omitirInscritos(omitirInscritos)
+                    .exportar(Paths.get(archivo));
+            System.out.printf("📤 %d recomendaciones escritas en %s (%.1f s)%n", filas, archivo, (System.nanoTime() - inicio) / 1e9);
+        } catch (NumberFormatException e) {
+            System.out.println("⚠️ Error: La cantidad debe ser un número entero.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠️ Error: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("⚠️ Error al escribir el archivo: " + e.getMessage());
+        }
+    }
+
+    // Ej: de 0 a 11 para ver quiénes van por debajo de la carga mínima de un periodo.
+    private static void pedirRangoDeCarga() {
+        try {
+            System.out.print("Créditos mínimos: ");
+            int minimo = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("Créditos máximos: ");
+            int maximo = Integer.parseInt(scanner.nextLine().trim());
+            gestor.alumnosPorCarga(minimo, maximo);
+        } catch (NumberFormatException e) {
+            System.out.println("⚠️ Error: Los créditos deben ser números enteros.");
+        }
+    }
+
+    // Resumen en pantalla; opcionalmente guarda el volcado completo (con la ocupación de cada curso).
+    private static void mostrarMetricas() {
+        FotoMetricas foto = gestor.obtenerMetricas();
+        System.out.println("\n--- 📈 MÉTRICAS DE OPERACIÓN ---");
+        for (TipoEvento tipo : TipoEvento.values()) {
+            long cantidad = foto.getEventos(tipo);
+            if (cantidad > 0) System.out.println("🔢 " + tipo + ": " + cantidad);
+        }
+        for (FotoMetricas.Latencia latencia : foto.getLatencias()) {
+            if (latencia.getCantidad() > 0) System.out.println("⏱️ " + latencia);
+        }
+        System.out.println("⏳ Total en listas de espera: " + foto.getTotalEnEspera());
+
+        System.out.print("Archivo para guardar el volcado Prometheus (deje vacío para omitir): ");
+        String archivo = scanner.nextLine().trim();
+        if (archivo.isEmpty()) return;
+        try {
+            foto.escribirPrometheus(Paths.get(archivo));
+            System.out.println("✅ Métricas guardadas en " + archivo);
+        } catch (IOException e) {
+            System.out.println("⚠️ Error al escribir el archivo: " + e.getMessage());
+        }
+    }
+}
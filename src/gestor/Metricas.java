@@ -0,0 +1,56 @@
+package gestor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// --- MÉTRICAS DE OPERACIÓN ---
+// Contadores y latencias que el gestor va juntando mientras trabaja, para saber cómo se comporta
+// bajo carga (cuántas inscripciones, cuántos duplicados rechazados, cuánto tarda una baja...).
+//
+// - Un contador por TipoEvento: cada aviso del gestor suma uno (aunque no haya sumidero).
+//   Son LongAdder: cada hilo suma en su propia celda, así miles de inscripciones por segundo
+//   no se pelean por la misma variable.
+// - Un HistogramaLatencia por OperacionMedida.
+//
+// Lo que se puede calcular en el momento (largo total de las listas de espera, ocupación de cada
+// curso) no se cuenta acá: lo arma GestorUniversidad.obtenerMetricas() al sacar la foto.
+// Con las métricas apagadas (OpcionesGestor.metricas(false)) ni siquiera se lee el reloj.
+final class Metricas {
+
+    // Percentiles que se informan de cada latencia
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final boolean activas;
+    private final LongAdder[] eventos = new LongAdder[TipoEvento.values().length];
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[OperacionMedida.values().length];
+
+    Metricas(boolean activas) {
+        this.activas = activas;
+        for (int i = 0; i < eventos.length; i++) eventos[i] = new LongAdder();
+        for (int i = 0; i < latencias.length; i++) latencias[i] = new HistogramaLatencia();
+    }
+
+    boolean isActivas() {
+        return activas;
+    }
+
+    void contar(TipoEvento tipo) {
+        if (activas) eventos[tipo.ordinal()].increment();
+    }
+
+    // Uso: long inicio = metricas.inicio(); ... metricas.medir(OPERACION, inicio);
+    long inicio() {
+        return activas ? System.nanoTime() : 0L;
+    }
+
+    void medir(OperacionMedida operacion, long inicio) {
+        if (activas) latencias[operacion.ordinal()].registrar(System.nanoTime() - inicio);
+    }
+
+    long eventos(TipoEvento tipo) {
+        return eventos[tipo.ordinal()].sum();
+    }
+
+    FotoMetricas.Latencia latencia(OperacionMedida operacion) {
+        return latencias[operacion.ordinal()].foto(operacion, PERCENTILES);
+    }
+}
@@ -0,0 +1,198 @@
+package gestor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// --- MODO GUION (SIN MENÚ) ---
+// Ejecuta contra el gestor una lista de comandos leída de un archivo o de la entrada estándar, uno por
+// línea y sin preguntar nada: sirve para repetir a toda velocidad una traza de lo que pasó en producción
+// (pruebas, planificación de capacidad). Las líneas se leen con LectorCsv, así que los campos van
+// separados por coma y un nombre con comas va entre comillas. Una línea que empieza con '#' es un comentario.
+//
+// Comandos (los mismos nombres del menú):
+//   curso,idCurso,nombre,docente,cupoMaximo,creditos[,areas[,horario]]   (se validan como en ImportadorCsv)
+//   alumno,idAlumno,nombre,semestre,promedio[,intereses]
+//   inscribir,idAlumno,idCurso          baja,idAlumno,idCurso          retirar,idAlumno
+//   cupo,idCurso,nuevoCupo              espera,idCurso                  procesar,idCurso
+//   recomendar,idAlumno                 carga,idAlumno                  inscritos,idCurso
+//   demanda[,k]                         rango,minimo,maximo             buscar,texto
+//   ver-curso,idCurso                   ver-alumno,idAlumno             cursos
+//   metricas[,archivo]                  compactar                       avisos,si|no
+//
+// Todo lo que se imprime (reportes del gestor, avisos de cada evento, errores del guion) va a 'salida',
+// que Main arma como un único buffer grande: con miles de comandos por segundo la consola no frena la
+// traza y el texto se vuelca al final (o cuando se llena el buffer). Un comando mal escrito se informa
+// con su número de línea y el guion sigue con el siguiente.
+public class ModoGuion {
+
+    private final GestorUniversidad gestor;
+    private final PrintStream salida;
+    private final SumideroEventos avisos;
+
+    // Resumen del último guion
+    private int comandos = 0;
+    private int errores = 0;
+
+    // Las altas se validan con las mismas reglas (y mensajes) que ImportadorCsv: ID vacío, números que
+    // no son números (ni NaN ni infinitos), campos de más o de menos... Cada problema es un error del guion.
+    private final ResultadoImportacion validacion = new ResultadoImportacion() {
+        @Override
+        void error(int linea, String motivo) {
+            ModoGuion.this.error(linea, motivo);
+        }
+    };
+
+    // 'avisos' es el sumidero que se usa mientras el guion no los apague (null = sin avisos)
+    public ModoGuion(GestorUniversidad gestor, PrintStream salida, SumideroEventos avisos) {
+        this.gestor = gestor;
+        this.salida = salida;
+        this.avisos = avisos;
+    }
+
+    public int getComandos() { return comandos; }
+    public int getErrores() { return errores; }
+
+    // Corre todas las líneas del lector y termina con una línea de resumen. No vacía 'salida': eso le toca a quien la creó.
+    void ejecutar(LectorCsv lector) throws IOException {
+        long inicio = System.nanoTime();
+        while (lector.siguiente()) {
+            if (lector.error() != null) {
+                error(lector.linea(), lector.error());
+                continue;
+            }
+            String comando = lector.campo(0);
+            if (comando.startsWith("#")) continue;
+            comandos++;
+            try {
+                ejecutar(comando.toLowerCase(Locale.ROOT), lector);
+            } catch (NumberFormatException e) {
+                error(lector.linea(), "se esperaba un número (" + e.getMessage() + ")");
+            } catch (IllegalArgumentException e) {
+                error(lector.linea(), e.getMessage());
+            } catch (IOException e) {
+                error(lector.linea(), "no se pudo escribir: " + e.getMessage()); // metricas a archivo, compactar
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        salida.printf("📜 Guion terminado: %d comandos (%d con error) en %.2f s, %.0f comandos/s%n",
+                comandos, errores, segundos, segundos > 0 ? comandos / segundos : 0.0);
+    }
+
+    // --- Comandos ---
+
+    private void ejecutar(String comando, LectorCsv lector) throws IOException {
+        switch (comando) {
+            case "curso":
+                Curso nuevoCurso = ImportadorCsv.leerCurso(lector, 1, validacion);
+                if (nuevoCurso != null) gestor.registrarCurso(nuevoCurso);
+                break;
+            case "alumno":
+                Alumno nuevoAlumno = ImportadorCsv.leerAlumno(lector, 1, validacion);
+                if (nuevoAlumno != null) gestor.registrarAlumno(nuevoAlumno);
+                break;
+            case "inscribir":
+                campos(lector, 3, 3);
+                gestor.inscribirAlumnoEnCurso(lector.campo(1), lector.campo(2));
+                break;
+            case "baja":
+                campos(lector, 3, 3);
+                gestor.darDeBajaAlumnoDelCurso(lector.campo(1), lector.campo(2));
+                break;
+            case "retirar":
+                campos(lector, 2, 2);
+                salida.println("Cursos liberados: " + gestor.retirarAlumnoDeTodosLosCursos(lector.campo(1)));
+                break;
+            case "cupo":
+                campos(lector, 3, 3);
+                gestor.cambiarCupoMaximo(lector.campo(1), Integer.parseInt(lector.campo(2)));
+                break;
+            case "espera":
+                campos(lector, 2, 2);
+                gestor.mostrarListaDeEspera(lector.campo(1));
+                break;
+            case "procesar":
+                campos(lector, 2, 2);
+                gestor.procesarListaDeEspera(lector.campo(1));
+                break;
+            case "recomendar":
+                campos(lector, 2, 2);
+                gestor.recomendarCursos(lector.campo(1));
+                break;
+            case "carga":
+                campos(lector, 2, 2);
+                gestor.cargaAcademica(lector.campo(1));
+                break;
+            case "inscritos":
+                campos(lector, 2, 2);
+                gestor.listarAlumnosInscritosEnCurso(lector.campo(1));
+                break;
+            case "demanda":
+                campos(lector, 1, 2);
+                if (lector.cantidad() > 1) gestor.cursosConMasDemanda(Integer.parseInt(lector.campo(1)));
+                else gestor.cursosConMasDemanda();
+                break;
+            case "rango":
+                campos(lector, 3, 3);
+                gestor.alumnosPorCarga(Integer.parseInt(lector.campo(1)), Integer.parseInt(lector.campo(2)));
+                break;
+            case "buscar":
+                campos(lector, 2, 2);
+                if (lector.campo(1).isBlank()) throw new IllegalArgumentException("el texto a buscar está vacío");
+                gestor.buscarPorNombre(lector.campo(1));
+                break;
+            case "ver-curso":
+                campos(lector, 2, 2);
+                Curso curso = gestor.consultarCurso(lector.campo(1));
+                salida.println(curso != null ? "✅ " + curso : "❌ Curso no encontrado.");
+                break;
+            case "ver-alumno":
+                campos(lector, 2, 2);
+                Alumno alumno = gestor.consultarAlumno(lector.campo(1));
+                salida.println(alumno != null ? "✅ " + alumno : "❌ Alumno no encontrado.");
+                break;
+            case "cursos":
+                campos(lector, 1, 1);
+                for (Curso c : gestor.obtenerTodosLosCursos()) salida.println(c);
+                break;
+            case "metricas":
+                campos(lector, 1, 2);
+                FotoMetricas foto = gestor.obtenerMetricas();
+                if (lector.cantidad() > 1) {
+                    foto.escribirPrometheus(Paths.get(lector.campo(1)));
+                    salida.println("✅ Métricas guardadas en " + lector.campo(1));
+                } else {
+                    salida.print(foto.aPrometheus());
+                }
+                break;
+            case "compactar":
+                campos(lector, 1, 1);
+                gestor.compactar();
+                break;
+            case "avisos":
+                campos(lector, 2, 2);
+                // Para una traza larga donde solo interesan los reportes y el tiempo total
+                gestor.setSumideroEventos(lector.campo(1).equalsIgnoreCase("no") ? null : avisos);
+                break;
+            default:
+                throw new IllegalArgumentException("comando desconocido '" + lector.campo(0) + "'");
+        }
+    }
+
+    // --- Herramientas ---
+
+    // El comando cuenta como campo 0: 'inscribir,A1,C1' tiene 3 campos
+    private static void campos(LectorCsv lector, int minimo, int maximo) {
+        if (lector.cantidad() < minimo || lector.cantidad() > maximo) {
+            throw new IllegalArgumentException("'" + lector.campo(0) + "' espera "
+                    + (minimo == maximo ? minimo - 1 : (minimo - 1) + " a " + (maximo - 1))
+                    + " datos y tiene " + (lector.cantidad() - 1));
+        }
+    }
+
+    private void error(int linea, String mensaje) {
+        errores++;
+        salida.println("⚠️ Línea " + linea + ": " + mensaje);
+    }
+}
@@ -0,0 +1,309 @@
+package gestor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// --- MOTOR DE FRAGMENTOS (CADA CURSO TIENE UN SOLO HILO QUE LO MODIFICA) ---
+// Reparte los cursos en N "fragmentos" (curso -> índice % N), cada uno con su hilo. Con el motor
+// activo, TODO lo que modifica un curso (inscribir, dar de baja, lotes, promover, cambiar el cupo,
+// retirar a un alumno de todo, reacomodar una fila) se ejecuta en el hilo dueño de ese curso: es el
+// único escritor de sus cupos, sus inscritos y su fila, así que ese camino no toma el candado del
+// curso ni el de persistencia. Lo que cruza cursos se parte en un pedido por curso (ver GestorUniversidad).
+// Lo único compartido entre fragmentos es el estado del alumno (créditos, horario, filas), que se
+// cambia con los métodos sincronizados de Alumno.
+//
+// Buzones: cada curso tiene su propia cola acotada (muchos productores, un consumidor). Si se llena,
+// solo espera quien le envía a ESE curso. El hilo atiende por turnos los buzones que tienen algo,
+// a lo sumo TURNO pedidos de cada uno, así un curso muy pedido no deja esperando a los demás cursos
+// de su fragmento (no hay bloqueo de cabeza de fila). Al terminar el turno de un curso se publica
+// su versión nueva (ver VersionCurso).
+//
+// Durabilidad: lo atendido en una vuelta (hasta LOTE_MAXIMO pedidos, de varios cursos) es un lote;
+// al cerrarlo se espera el fsync una sola vez y recién entonces se completan los futuros. Nadie
+// recibe un "listo" antes de que su cambio esté en disco. Las consultas no esperan ese fsync.
+//
+// Compactación: pausar() deja a cada hilo quieto entre dos lotes (sin nada a medio anotar) hasta
+// reanudar(); así la rotación del diario y las versiones que copia la compactación ven un corte limpio
+// sin que los hilos tomen candados.
+final class MotorFragmentos implements AutoCloseable {
+
+    private static final int LOTE_MAXIMO = 256;
+    private static final int TURNO = 32;
+
+    // Un pedido en un buzón: el trabajo y el futuro que hay que completar al final del lote
+    private static final class Tarea<T> {
+        final Supplier<T> trabajo;
+        final boolean consulta; // Solo lee: se contesta apenas se ejecuta, sin esperar el fsync
+        final CompletableFuture<T> futuro = new CompletableFuture<>();
+        T resultado;
+        Throwable error;
+
+        Tarea(Supplier<T> trabajo, boolean consulta) {
+            this.trabajo = trabajo;
+            this.consulta = consulta;
+        }
+
+        void ejecutar() {
+            try {
+                resultado = trabajo.get();
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+
+        void completar() {
+            if (error != null) futuro.completeExceptionally(error);
+            else futuro.complete(resultado);
+        }
+    }
+
+    // Los pedidos pendientes de un curso. 'agendado' = ya está en la fila de su fragmento (una sola vez).
+    private static final class Buzon {
+        final Curso curso;
+        final BlockingQueue<Tarea<?>> cola;
+        final AtomicBoolean agendado = new AtomicBoolean();
+
+        Buzon(Curso curso, int capacidad) {
+            this.curso = curso;
+            this.cola = new LinkedBlockingQueue<>(capacidad);
+        }
+    }
+
+    // Aviso de compactación: cada hilo cuenta que llegó y espera a que lo dejen seguir
+    private static final class Pausa {
+        final CountDownLatch llegaron;
+        final CountDownLatch seguir = new CountDownLatch(1);
+
+        Pausa(int hilos) {
+            this.llegaron = new CountDownLatch(hilos);
+        }
+    }
+
+    private static final Object FIN = new Object(); // "Píldora" para apagar un fragmento
+
+    private final GestorUniversidad gestor;
+    private final int capacidadBuzon;
+    // Por fragmento: los buzones con pedidos (y los avisos de pausa o fin), en orden de llegada
+    private final List<BlockingQueue<Object>> listos = new ArrayList<>();
+    private final List<Thread> hilos = new ArrayList<>();
+    private volatile Buzon[] buzones = new Buzon[16]; // Posición = índice del curso (se crean al primer pedido)
+    private final Object candadoBuzones = new Object();
+    private volatile boolean cerrado = false;
+    private Pausa pausa; // La compactación en curso (con 'this' tomado)
+
+    MotorFragmentos(GestorUniversidad gestor, int fragmentos, int capacidadBuzon) {
+        this.gestor = gestor;
+        this.capacidadBuzon = capacidadBuzon;
+        for (int i = 0; i < fragmentos; i++) {
+            BlockingQueue<Object> cola = new LinkedBlockingQueue<>();
+            Thread hilo = new Thread(() -> atender(cola), "fragmento-" + i);
+            hilo.setDaemon(true);
+            listos.add(cola);
+            hilos.add(hilo);
+        }
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+    }
+
+    int cantidad() {
+        return hilos.size();
+    }
+
+    int fragmentoDe(Curso curso) {
+        return curso.getIndice() % hilos.size();
+    }
+
+    // ¿El hilo actual es el dueño del curso? (entonces puede modificarlo directamente)
+    boolean esDueno(Curso curso) {
+        return Thread.currentThread() == hilos.get(fragmentoDe(curso));
+    }
+
+    // Encola un cambio en el buzón del curso. Si el buzón está lleno, espera a que haya lugar.
+    <T> CompletableFuture<T> enviar(Curso curso, Supplier<T> trabajo) {
+        return encolar(curso, new Tarea<>(trabajo, false));
+    }
+
+    // Igual, para algo que solo lee el estado vivo del curso (ej: el lugar en la fila).
+    <T> CompletableFuture<T> consultar(Curso curso, Supplier<T> trabajo) {
+        return encolar(curso, new Tarea<>(trabajo, true));
+    }
+
+    private <T> CompletableFuture<T> encolar(Curso curso, Tarea<T> tarea) {
+        if (cerrado) {
+            tarea.futuro.completeExceptionally(new IllegalStateException("El motor de fragmentos está cerrado"));
+            return tarea.futuro;
+        }
+        Buzon buzon = buzonDe(curso);
+        try {
+            buzon.cola.put(tarea);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tarea.futuro.completeExceptionally(e);
+            return tarea.futuro;
+        }
+        agendar(buzon);
+        return tarea.futuro;
+    }
+
+    private void agendar(Buzon buzon) {
+        if (buzon.agendado.compareAndSet(false, true)) {
+            listos.get(fragmentoDe(buzon.curso)).add(buzon);
+        }
+    }
+
+    // El buzón se crea una sola vez por curso; sus campos son final, así que se puede leer sin candado.
+    private Buzon buzonDe(Curso curso) {
+        int indice = curso.getIndice();
+        Buzon[] actuales = buzones;
+        if (indice < actuales.length && actuales[indice] != null) return actuales[indice];
+        synchronized (candadoBuzones) {
+            actuales = buzones;
+            if (indice >= actuales.length) {
+                actuales = Arrays.copyOf(actuales, Math.max(indice + 1, actuales.length * 2));
+            }
+            if (actuales[indice] == null) {
+                actuales[indice] = new Buzon(curso, capacidadBuzon);
+            }
+            buzones = actuales;
+            return actuales[indice];
+        }
+    }
+
+    // --- Bucle de cada Fragmento ---
+
+    // Toma los buzones listos por turnos hasta juntar un lote, espera el fsync una vez y completa
+    // los futuros. Las pausas y el fin se atienden entre dos lotes.
+    private void atender(BlockingQueue<Object> cola) {
+        List<Tarea<?>> lote = new ArrayList<>(LOTE_MAXIMO);
+        List<Tarea<?>> turno = new ArrayList<>(TURNO);
+        boolean terminando = false;
+        while (true) {
+            Object siguiente;
+            if (terminando) {
+                siguiente = cola.poll(); // Ya no llega nada nuevo: se vacía lo que quedó
+                if (siguiente == null) return;
+            } else {
+                try {
+                    siguiente = cola.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            while (siguiente instanceof Buzon) {
+                Buzon buzon = (Buzon) siguiente;
+                buzon.cola.drainTo(turno, TURNO);
+                for (Tarea<?> tarea : turno) {
+                    tarea.ejecutar();
+                    if (tarea.consulta) tarea.completar();
+                    else lote.add(tarea);
+                }
+                turno.clear();
+                gestor.publicarVersion(buzon.curso);
+                // Si le quedan pedidos vuelve al final de la fila: los demás cursos no lo esperan
+                buzon.agendado.set(false);
+                if (!buzon.cola.isEmpty()) agendar(buzon);
+                siguiente = lote.size() < LOTE_MAXIMO ? cola.poll() : null;
+            }
+
+            if (!lote.isEmpty()) {
+                gestor.esperarDurabilidad();
+                for (Tarea<?> tarea : lote) {
+                    tarea.completar();
+                }
+                lote.clear();
+            }
+            if (siguiente == FIN) {
+                terminando = true;
+            } else if (siguiente instanceof Pausa) {
+                esperarPausa((Pausa) siguiente);
+            }
+        }
+    }
+
+    private static void esperarPausa(Pausa pausa) {
+        pausa.llegaron.countDown();
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                pausa.seguir.await();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+    }
+
+    // --- Compactación ---
+
+    // Retorna cuando todos los hilos quedaron quietos entre dos lotes. Hay que llamar a reanudar() después.
+    synchronized void pausar() {
+        if (cerrado) {
+            esperarHilos(); // Terminan lo que tenían y ya no tocan nada
+            return;
+        }
+        pausa = new Pausa(hilos.size());
+        for (BlockingQueue<Object> cola : listos) {
+            cola.add(pausa);
+        }
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                pausa.llegaron.await();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+    }
+
+    synchronized void reanudar() {
+        if (pausa != null) {
+            pausa.seguir.countDown();
+            pausa = null;
+        }
+    }
+
+    // --- Cierre ---
+
+    // Deja terminar lo que ya estaba encolado y apaga los hilos.
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (cerrado) return;
+            cerrado = true;
+            for (BlockingQueue<Object> cola : listos) {
+                cola.add(FIN);
+            }
+        }
+        esperarHilos();
+        // Lo que alcanzó a entrar después de la píldora ya no tiene quién lo atienda
+        for (Buzon buzon : buzones) {
+            if (buzon == null) continue;
+            Tarea<?> tarea;
+            while ((tarea = buzon.cola.poll()) != null) {
+                tarea.futuro.completeExceptionally(new IllegalStateException("El motor de fragmentos está cerrado"));
+            }
+        }
+    }
+
+    private void esperarHilos() {
+        for (Thread hilo : hilos) {
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package gestor;
+
+import java.nio.file.Path;
+
+// --- OPCIONES DEL GESTOR ---
+// Agrupa las "perillas" con las que se arranca un GestorUniversidad.
+// Se usa encadenando llamadas, por ejemplo:
+//     new GestorUniversidad(new OpcionesGestor().concurrente(true).cargarDatosDemo(false));
+public class OpcionesGestor {
+
+    // Modo concurrente: las bases de datos en memoria usan mapas concurrentes para que
+    // muchos hilos puedan inscribir a la vez (cada curso se protege con su propio candado).
+    private boolean concurrente = false;
+
+    // Si es verdadero, se cargan los cursos y alumnos de ejemplo al arrancar.
+    private boolean cargarDatosDemo = true;
+
+    // Fragmentos: cantidad de hilos dueños de los cursos (0 = sin fragmentos, cada curso con su candado).
+    // Con fragmentos el gestor funciona siempre en modo concurrente. Ver MotorFragmentos.
+    private int fragmentos = 0;
+    // Cuántos pedidos puede tener esperando cada curso en su buzón antes de frenar a quien le envía.
+    private int capacidadColaFragmento = 1024;
+
+    // Máximo de créditos que puede llevar un alumno sumando sus cursos (0 = sin límite).
+    // Se revisa al inscribir y al promover desde la lista de espera.
+    private int maximoCreditos = 0;
+
+    // --- Persistencia (ver Persistencia y Diario) ---
+    // Carpeta donde se guardan el diario y las fotos del registro; null = solo memoria.
+    private Path directorioDatos = null;
+    // Cuándo forzar el fsync del diario. Por defecto cada confirmación espera a su fsync (compartido en grupo).
+    private PoliticaSincronizacion politicaSincronizacion = PoliticaSincronizacion.CADA_COMMIT;
+    // Para la política PERIODICA: cada cuánto se fuerza el fsync.
+    private long intervaloSincronizacionMs = 50;
+    // Cada cuánto se toma una foto compacta y se recortan los diarios (0 = solo a mano con compactar()).
+    private long intervaloSnapshotSegundos = 300;
+
+    // A dónde van los avisos del gestor (ver SumideroEventos). Por defecto a ninguna parte.
+    private SumideroEventos sumideroEventos = SumideroEventos.NINGUNO;
+
+    // --- Métricas (ver Metricas y FotoMetricas) ---
+    // Contadores y latencias de las operaciones. Apagadas, el gestor ni siquiera lee el reloj.
+    private boolean metricas = true;
+    // Archivo donde se vuelca cada tanto el texto para Prometheus; null = no se vuelca.
+    private Path archivoMetricas = null;
+    private long intervaloMetricasSegundos = 15;
+
+    public OpcionesGestor concurrente(boolean valor) {
+        this.concurrente = valor;
+        return this;
+    }
+
+    public OpcionesGestor cargarDatosDemo(boolean valor) {
+        this.cargarDatosDemo = valor;
+        return this;
+    }
+
+    public OpcionesGestor fragmentos(int cantidad) {
+        this.fragmentos = cantidad;
+        return this;
+    }
+
+    public OpcionesGestor capacidadColaFragmento(int capacidad) {
+        this.capacidadColaFragmento = capacidad;
+        return this;
+    }
+
+    public OpcionesGestor maximoCreditos(int creditos) {
+        this.maximoCreditos = creditos;
+        return this;
+    }
+
+    public OpcionesGestor directorioDatos(Path directorio) {
+        this.directorioDatos = directorio;
+        return this;
+    }
+
+    public OpcionesGestor politicaSincronizacion(PoliticaSincronizacion politica) {
+        this.politicaSincronizacion = politica;
+        return this;
+    }
+
+    public OpcionesGestor intervaloSincronizacionMs(long milisegundos) {
+        this.intervaloSincronizacionMs = milisegundos;
+        return this;
+    }
+
+    public OpcionesGestor intervaloSnapshotSegundos(long segundos) {
+        this.intervaloSnapshotSegundos = segundos;
+        return this;
+    }
+
+    public OpcionesGestor sumideroEventos(SumideroEventos sumidero) {
+        this.sumideroEventos = sumidero;
+        return this;
+    }
+
+    public OpcionesGestor metricas(boolean valor) {
+        this.metricas = valor;
+        return this;
+    }
+
+    public OpcionesGestor archivoMetricas(Path archivo) {
+        this.archivoMetricas = archivo;
+        return this;
+    }
+
+    public OpcionesGestor intervaloMetricasSegundos(long segundos) {
+        this.intervaloMetricasSegundos = segundos;
+        return this;
+    }
+
+    public boolean isConcurrente() { return concurrente || fragmentos > 0; }
+    public boolean isCargarDatosDemo() { return cargarDatosDemo; }
+    public int getFragmentos() { return fragmentos; }
+    public int getCapacidadColaFragmento() { return capacidadColaFragmento; }
+    public int getMaximoCreditos() { return maximoCreditos; }
+    public Path getDirectorioDatos() { return directorioDatos; }
+    public PoliticaSincronizacion getPoliticaSincronizacion() { return politicaSincronizacion; }
+    public long getIntervaloSincronizacionMs() { return intervaloSincronizacionMs; }
+    public long getIntervaloSnapshotSegundos() { return intervaloSnapshotSegundos; }
+    public SumideroEventos getSumideroEventos() { return sumideroEventos; }
+    public boolean isMetricas() { return metricas; }
+    public Path getArchivoMetricas() { return archivoMetricas; }
+    public long getIntervaloMetricasSegundos() { return intervaloMetricasSegundos; }
+}
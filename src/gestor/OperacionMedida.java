@@ -0,0 +1,10 @@
+package gestor;
+
+// Operaciones del gestor a las que se les mide la latencia (ver Metricas).
+public enum OperacionMedida {
+    INSCRIBIR,          // inscribirAlumnoEnCurso
+    DAR_DE_BAJA,        // darDeBajaAlumnoDelCurso
+    INSCRIBIR_EN_LOTE,  // inscribirEnLote (el lote completo)
+    RECOMENDAR,         // obtenerRecomendaciones (también la usa recomendarCursos)
+    BUSCAR              // buscarAlumnos.../buscarCursos... (por nombre, exacto o parecido)
+}
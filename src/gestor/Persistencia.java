@@ -0,0 +1,349 @@
+package gestor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+// --- PERSISTENCIA DEL REGISTRO ---
+// Guarda en disco todo lo que pasa en el GestorUniversidad para sobrevivir a una caída:
+//  - "diario-N.log": diario (Diario) con cada registro, inscripción, baja y promoción, en orden.
+//  - "imagen-N.map": foto de TODO el estado justo antes de empezar el diario N, en el formato
+//    mapeable de ImagenRegistro (se abre sin leerla entera: los alumnos se arman a medida que se usan).
+// Al arrancar se carga la foto más reciente y se reaplican los diarios desde ese número en adelante.
+// La imagen se revisa con su crc antes de usarla: si está dañada se arranca desde la anterior (o desde
+// cero) siempre que sigan todos los diarios necesarios; si no, el arranque falla en vez de perder datos.
+// Compactar = tomar una foto nueva y borrar los diarios y fotos que ya no hacen falta.
+public class Persistencia implements Closeable {
+
+    // --- Tipos de Registro del Diario ---
+    static final byte CURSO_REGISTRADO = 1;
+    static final byte ALUMNO_REGISTRADO = 2;
+    static final byte INSCRIPCION = 3;       // Entró directo a un asiento libre
+    static final byte ESPERA_ALTA = 4;       // Pasó a la lista de espera
+    static final byte BAJA = 5;              // Dejó su asiento
+    static final byte ESPERA_BAJA = 6;       // Salió de la lista de espera
+    static final byte PROMOCION = 7;         // Pasó de la lista de espera a un asiento
+    static final byte DATOS_ACADEMICOS = 8;  // Cambió su promedio/semestre (afecta la prioridad)
+    static final byte CUPO_MAXIMO = 9;       // Cambió el límite de alumnos de un curso
+    static final byte CURSO_CON_HORARIO = 10; // Como CURSO_REGISTRADO, seguido de su horario (ver Horario)
+
+    private final Path directorio;
+    private final PoliticaSincronizacion politica;
+    private final long intervaloSincronizacionMs;
+    private Diario diario;
+    private long segmentoActual;
+
+    public Persistencia(Path directorio, PoliticaSincronizacion politica, long intervaloSincronizacionMs) throws IOException {
+        this.directorio = directorio;
+        this.politica = politica;
+        this.intervaloSincronizacionMs = intervaloSincronizacionMs;
+        Files.createDirectories(directorio);
+    }
+
+    // --- Recuperación al Arrancar ---
+
+    // Carga la foto más reciente y reaplica los diarios posteriores sobre el gestor.
+    // Luego abre un diario nuevo para lo que venga. Retorna 'falso' si el directorio estaba vacío.
+    boolean recuperar(GestorUniversidad gestor) throws IOException {
+        TreeSet<Long> imagenes = numerosDeArchivos("imagen-", ".map");
+        TreeSet<Long> diarios = numerosDeArchivos("diario-", ".log");
+
+        long desde = 0;
+        ImagenRegistro imagen = null;
+        for (long numero : imagenes.descendingSet()) {
+            imagen = abrirImagenSana(archivoImagen(numero));
+            if (imagen != null) {
+                desde = numero;
+                break;
+            }
+        }
+        // Si la más reciente estaba dañada se usa una anterior (o ninguna), pero solo si todavía están
+        // todos los diarios desde ahí; si no, faltaría historia y es mejor no arrancar.
+        if (!imagenes.isEmpty() && desde != imagenes.last() && !diariosCompletos(diarios, desde)) {
+            throw new IOException("La imagen " + archivoImagen(imagenes.last()) + " está dañada (crc no coincide)"
+                    + " y ya no están los diarios para reconstruir el registro sin ella");
+        }
+        if (imagen != null) {
+            gestor.cargarImagen(imagen);
+        }
+        // Solo el último diario puede terminar a medias (la caída lo agarró escribiendo): los anteriores
+        // se cerraron con fsync al rotar. Un corte en uno de ellos dejaría un hueco en la historia y lo
+        // que sigue se aplicaría sobre un estado que nunca existió, así que ahí el arranque falla.
+        for (long segmento : diarios.tailSet(desde, true)) {
+            Path archivo = archivoDiario(segmento);
+            Diario.Lectura lectura = Diario.leer(archivo, entrada -> aplicar(entrada, gestor));
+            if (lectura.cortada() && segmento != diarios.last()) {
+                throw new IOException("El diario " + archivo + " está dañado desde el byte " + lectura.finSano
+                        + " (de " + lectura.tamano + ") y no es el último: faltaría historia");
+            }
+            Diario.recortar(archivo, lectura);
+        }
+
+        boolean habiaDatos = !imagenes.isEmpty() || !diarios.isEmpty();
+        segmentoActual = Math.max(desde, diarios.isEmpty() ? 0 : diarios.last()) + 1;
+        diario = new Diario(archivoDiario(segmentoActual), politica, intervaloSincronizacionMs);
+        return habiaDatos;
+    }
+
+    // Abre la imagen y revisa su crc (una lectura secuencial del archivo, sin armar nada).
+    // Retorna null si está dañada: a medio escribir, con otro formato o con el crc que no coincide.
+    private static ImagenRegistro abrirImagenSana(Path archivo) {
+        try {
+            ImagenRegistro imagen = ImagenRegistro.abrir(archivo);
+            return imagen.verificar() ? imagen : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ¿Están los diarios desde el segmento 'desde' hasta el último, sin huecos? (el primer diario es el 1)
+    private static boolean diariosCompletos(TreeSet<Long> diarios, long desde) {
+        if (diarios.isEmpty()) return false;
+        long esperado = Math.max(desde, 1);
+        for (long segmento : diarios.tailSet(esperado, true)) {
+            if (segmento != esperado) return false;
+            esperado++;
+        }
+        return esperado > Math.max(desde, 1);
+    }
+
+    private void aplicar(DataInputStream entrada, GestorUniversidad gestor) {
+        try {
+            byte tipo = entrada.readByte();
+            switch (tipo) {
+                case CURSO_REGISTRADO:
+                    gestor.restaurarCurso(leerCurso(entrada));
+                    break;
+                case CURSO_CON_HORARIO:
+                    gestor.restaurarCurso(leerCurso(entrada, true));
+                    break;
+                case ALUMNO_REGISTRADO:
+                    gestor.restaurarAlumno(leerAlumno(entrada));
+                    break;
+                case DATOS_ACADEMICOS:
+                    gestor.aplicarDatosAcademicos(entrada.readUTF(), entrada.readInt(), entrada.readDouble());
+                    break;
+                case CUPO_MAXIMO:
+                    gestor.aplicarCupoMaximo(entrada.readUTF(), entrada.readInt());
+                    break;
+                default:
+                    gestor.aplicarMovimiento(tipo, entrada.readUTF(), entrada.readUTF());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro de diario ilegible", e);
+        }
+    }
+
+    // --- Escritura del Diario ---
+
+    // Un curso sin horario se sigue anotando igual que antes (así un diario sin horarios no cambia).
+    void anotarCurso(Curso curso) {
+        anotar(salida -> {
+            boolean conHorario = !curso.getHorario().estaVacio();
+            salida.writeByte(conHorario ? CURSO_CON_HORARIO : CURSO_REGISTRADO);
+            escribirCurso(salida, curso);
+            if (conHorario) escribirHorario(salida, curso.getHorario());
+        });
+    }
+
+    void anotarAlumno(Alumno alumno) {
+        anotar(salida -> {
+            salida.writeByte(ALUMNO_REGISTRADO);
+            escribirAlumno(salida, alumno);
+        });
+    }
+
+    void anotarMovimiento(byte tipo, String idAlumno, String idCurso) {
+        anotar(salida -> {
+            salida.writeByte(tipo);
+            salida.writeUTF(idAlumno);
+            salida.writeUTF(idCurso);
+        });
+    }
+
+    void anotarDatosAcademicos(Alumno alumno) {
+        Alumno.DatosAcademicos datos = alumno.datosAcademicos();
+        anotar(salida -> {
+            salida.writeByte(DATOS_ACADEMICOS);
+            salida.writeUTF(alumno.getIdAlumno());
+            salida.writeInt(datos.semestre);
+            salida.writeDouble(datos.promedio);
+        });
+    }
+
+    void anotarCupoMaximo(Curso curso) {
+        anotar(salida -> {
+            salida.writeByte(CUPO_MAXIMO);
+            salida.writeUTF(curso.getIdCurso());
+            salida.writeInt(curso.getCupoMaximo());
+        });
+    }
+
+    // Espera a que lo anotado sea durable según la política (con CADA_COMMIT, hasta el fsync).
+    void esperarDurabilidad() {
+        diario.esperarTodo();
+    }
+
+    private interface Escritura {
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    private void anotar(Escritura escritura) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            escritura.escribir(salida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        diario.anotar(bytes.toByteArray());
+    }
+
+    // --- Compactación (Snapshots) ---
+
+    // Paso 1 (con el registro congelado): cierra el diario actual y empieza uno nuevo.
+    // Retorna el número del diario nuevo, que es también el de la imagen que le corresponde.
+    long rotarDiario() throws IOException {
+        segmentoActual++;
+        diario.rotar(archivoDiario(segmentoActual));
+        return segmentoActual;
+    }
+
+    // Paso 2 (ya sin congelar, con la foto armada por el gestor): escribe la imagen con fsync y renombre atómico,
+    // y luego borra los diarios y fotos viejos que esta foto ya cubre.
+    // (Borrar una imagen vieja que el gestor todavía tiene mapeada es seguro: el mapeo sigue válido.)
+    void terminarCompactacion(byte[] foto, long segmento) throws IOException {
+        Path temporal = directorio.resolve("imagen-" + segmento + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer contenido = ByteBuffer.wrap(foto);
+            while (contenido.hasRemaining()) {
+                canal.write(contenido);
+            }
+            canal.force(true);
+        }
+        Files.move(temporal, archivoImagen(segmento), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long viejo : numerosDeArchivos("imagen-", ".map").headSet(segmento, false)) {
+            Files.deleteIfExists(archivoImagen(viejo));
+        }
+        for (long viejo : numerosDeArchivos("diario-", ".log").headSet(segmento, false)) {
+            Files.deleteIfExists(archivoDiario(viejo));
+        }
+    }
+
+    // --- Codificación de Registros ---
+
+    private static void escribirCurso(DataOutputStream salida, Curso curso) throws IOException {
+        salida.writeUTF(curso.getIdCurso());
+        salida.writeUTF(curso.getNombre());
+        salida.writeUTF(curso.getDocente());
+        salida.writeInt(curso.getCupoMaximo());
+        salida.writeInt(curso.getCreditos());
+        escribirTextos(salida, curso.getAreas());
+    }
+
+    private static Curso leerCurso(DataInputStream entrada) throws IOException {
+        return leerCurso(entrada, false);
+    }
+
+    private static Curso leerCurso(DataInputStream entrada, boolean conHorario) throws IOException {
+        String id = entrada.readUTF();
+        String nombre = entrada.readUTF();
+        String docente = entrada.readUTF();
+        int cupoMaximo = entrada.readInt();
+        int creditos = entrada.readInt();
+        HashSet<String> areas = new HashSet<>(leerTextos(entrada));
+        Horario horario = conHorario ? leerHorario(entrada) : Horario.VACIO;
+        return new Curso(id, nombre, docente, cupoMaximo, creditos, areas, horario);
+    }
+
+    // El horario va como sus palabras de bits: [cantidad][long...]
+    private static void escribirHorario(DataOutputStream salida, Horario horario) throws IOException {
+        long[] bits = horario.bits();
+        salida.writeInt(bits.length);
+        for (long palabra : bits) salida.writeLong(palabra);
+    }
+
+    private static Horario leerHorario(DataInputStream entrada) throws IOException {
+        long[] bits = new long[entrada.readInt()];
+        for (int i = 0; i < bits.length; i++) bits[i] = entrada.readLong();
+        return Horario.desdeBits(bits);
+    }
+
+    private static void escribirAlumno(DataOutputStream salida, Alumno alumno) throws IOException {
+        salida.writeUTF(alumno.getIdAlumno());
+        salida.writeUTF(alumno.getNombre());
+        Alumno.DatosAcademicos datos = alumno.datosAcademicos();
+        salida.writeInt(datos.semestre);
+        salida.writeDouble(datos.promedio);
+        escribirTextos(salida, alumno.getIntereses());
+    }
+
+    private static Alumno leerAlumno(DataInputStream entrada) throws IOException {
+        return new Alumno(entrada.readUTF(), entrada.readUTF(), entrada.readInt(), entrada.readDouble(),
+                new HashSet<>(leerTextos(entrada)));
+    }
+
+    private static void escribirTextos(DataOutputStream salida, Collection<String> textos) throws IOException {
+        salida.writeInt(textos.size());
+        for (String texto : textos) {
+            salida.writeUTF(texto);
+        }
+    }
+
+    private static List<String> leerTextos(DataInputStream entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        List<String> textos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            textos.add(entrada.readUTF());
+        }
+        return textos;
+    }
+
+    // --- Archivos ---
+
+    private Path archivoDiario(long segmento) {
+        return directorio.resolve("diario-" + segmento + ".log");
+    }
+
+    private Path archivoImagen(long segmento) {
+        return directorio.resolve("imagen-" + segmento + ".map");
+    }
+
+    private TreeSet<Long> numerosDeArchivos(String prefijo, String sufijo) throws IOException {
+        TreeSet<Long> numeros = new TreeSet<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, prefijo + "*" + sufijo)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(nombre.substring(prefijo.length(), nombre.length() - sufijo.length())));
+                } catch (NumberFormatException e) {
+                    // Archivo ajeno con nombre parecido: se ignora
+                }
+            }
+        }
+        return numeros;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+    }
+}
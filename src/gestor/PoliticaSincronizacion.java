@@ -0,0 +1,15 @@
+package gestor;
+
+// Cuándo se obliga al disco a guardar físicamente (fsync) lo que se escribió en el diario.
+public enum PoliticaSincronizacion {
+
+    // Cada operación espera a que su registro esté en disco antes de confirmarse.
+    // Los registros que llegan juntos comparten el mismo fsync ("group commit").
+    CADA_COMMIT,
+
+    // Se hace fsync cada cierto intervalo; una caída puede perder los últimos milisegundos.
+    PERIODICA,
+
+    // Nunca se fuerza el fsync: el sistema operativo decide cuándo bajar los datos.
+    NUNCA
+}
@@ -0,0 +1,299 @@
+package gestor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+// --- RANKING DE DEMANDA EN VIVO ---
+// Mantiene a todos los cursos ordenados de mayor a menor demanda (inscritos + en espera)
+// mientras ocurren las inscripciones, en lugar de recalcular y ordenar el catálogo en cada consulta.
+//
+// Truco: la demanda siempre cambia de uno en uno. Los cursos con la misma demanda forman un
+// "bloque" contiguo dentro del arreglo ordenado; para subir un curso basta con intercambiarlo
+// con el primero de su bloque (y para bajarlo, con el último). Cada cambio cuesta O(1)
+// y pedir el Top-K es leer las primeras K casillas.
+//
+// Concurrencia: inscribir y dar de baja NO toman candado. Solo suman en el contador de su curso y lo
+// marcan como cambiado (ver ValoresPendientes), así dos inscripciones en cursos distintos no se cruzan
+// en ningún candado compartido. El orden se pone al día cuando alguien lo consulta: el que pide el
+// Top-K (o el tamaño) toma la parte de escritura de un StampedLock y aplica de una vez los cursos
+// marcados, cada uno subiendo o bajando de a uno hasta su contador. Después lee con un "sello optimista"
+// y al final confirma que nadie escribió mientras tanto; si alguien escribió, repite. Solo si la
+// lectura choca INTENTOS_OPTIMISTAS veces seguidas se toma la parte de lectura.
+// La demanda de un solo curso se lee directo de su contador, sin candado.
+public class RankingDemanda {
+
+    private static final int INTENTOS_OPTIMISTAS = 8;
+    private final StampedLock candado = new StampedLock();
+
+    // Cada curso usa su índice denso (Curso.getIndice) como "casilla fija" (slot); todo lo demás son
+    // arreglos de enteros indexados por slot o por posición, así los movimientos no crean objetos.
+    private Curso[] cursoDeSlot = new Curso[16];
+    private int[] demandaDeSlot = new int[16];
+    private int[] posicionDeSlot = new int[16];
+    private int[] slotEnPosicion = new int[16];
+    private int cantidad = 0;
+
+    // Límites de cada bloque: inicioBloque[d] y finBloque[d] son la primera y la última posición
+    // con demanda 'd' (-1 si no hay ningún curso con esa demanda).
+    private int[] inicioBloque = nuevoArregloBloques(16);
+    private int[] finBloque = nuevoArregloBloques(16);
+
+    // La demanda viva de cada slot; demandaDeSlot la alcanza en ponerAlDia()
+    private final ValoresPendientes demandas = new ValoresPendientes();
+
+    // Una fila del ranking tal como estaba al momento de consultarlo.
+    public static class Entrada {
+        private final Curso curso;
+        private final int demanda;
+
+        Entrada(Curso curso, int demanda) {
+            this.curso = curso;
+            this.demanda = demanda;
+        }
+
+        public Curso getCurso() { return curso; }
+        public int getDemanda() { return demanda; }
+    }
+
+    // Un curso nuevo entra al final del ranking con demanda 0.
+    public void agregar(Curso curso) {
+        long sello = candado.writeLock();
+        try {
+            agregarSinCandado(curso);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    private void agregarSinCandado(Curso curso) {
+        int slot = curso.getIndice();
+        asegurarCapacidad(Math.max(slot, cantidad) + 1);
+        demandas.asegurar(slot + 1);
+        if (cursoDeSlot[slot] != null) return;
+
+        int posicion = cantidad;
+        cantidad++;
+        cursoDeSlot[slot] = curso;
+        demandaDeSlot[slot] = 0;
+        posicionDeSlot[slot] = posicion;
+        slotEnPosicion[posicion] = slot;
+
+        // La demanda 0 es siempre el último bloque
+        if (inicioBloque[0] == -1) inicioBloque[0] = posicion;
+        finBloque[0] = posicion;
+    }
+
+    // +1 / -1 de demanda: solo el contador del curso (el orden lo acomoda la próxima consulta).
+    public void incrementar(int slot) {
+        demandas.sumar(slot, 1);
+    }
+
+    public void decrementar(int slot) {
+        demandas.sumar(slot, -1);
+    }
+
+    // Con el candado de escritura tomado: lleva cada curso marcado hasta su demanda viva.
+    private void ponerAlDia() {
+        demandas.recoger(slot -> {
+            if (!existe(slot)) return;
+            int objetivo = Math.max(0, demandas.valor(slot));
+            while (demandaDeSlot[slot] < objetivo) subir(slot);
+            while (demandaDeSlot[slot] > objetivo) bajar(slot);
+        });
+    }
+
+    // Si hay cursos marcados, los acomoda antes de que la consulta lea el orden
+    private void ponerAlDiaSiHaceFalta() {
+        if (!demandas.hayPendientes()) return;
+        long sello = candado.writeLock();
+        try {
+            ponerAlDia();
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    // +1: el curso se intercambia con el primero de su bloque y pasa al bloque de arriba.
+    private void subir(int slot) {
+        if (!existe(slot)) return;
+        int d = demandaDeSlot[slot];
+        asegurarBloques(d + 1);
+
+        int primero = inicioBloque[d];
+        intercambiar(posicionDeSlot[slot], primero);
+        demandaDeSlot[slot] = d + 1;
+
+        // La casilla 'primero' ahora pertenece al bloque d+1 (que, si existe, termina justo antes)
+        if (inicioBloque[d + 1] == -1) inicioBloque[d + 1] = primero;
+        finBloque[d + 1] = primero;
+        // Y el bloque d pierde su primera casilla
+        quitarExtremo(d, true);
+    }
+
+    // -1: el curso se intercambia con el último de su bloque y pasa al bloque de abajo.
+    private void bajar(int slot) {
+        if (!existe(slot) || demandaDeSlot[slot] == 0) return;
+        int d = demandaDeSlot[slot];
+
+        int ultimo = finBloque[d];
+        intercambiar(posicionDeSlot[slot], ultimo);
+        demandaDeSlot[slot] = d - 1;
+
+        // La casilla 'ultimo' ahora es la primera del bloque d-1 (que, si existe, empieza justo después)
+        if (finBloque[d - 1] == -1) finBloque[d - 1] = ultimo;
+        inicioBloque[d - 1] = ultimo;
+        quitarExtremo(d, false);
+    }
+
+    // Fija de golpe la demanda de los cursos ya agregados (demandasIniciales[slot]), p. ej. al arrancar
+    // desde una imagen: en vez de subir cada curso de a uno por cada inscrito, se reacomoda todo con un
+    // conteo por demanda (O(cursos + mayor demanda)).
+    void cargarDemandas(int[] demandasIniciales) {
+        long sello = candado.writeLock();
+        try {
+            ponerAlDia(); // Lo anterior queda aplicado; lo que se fija ahora lo pisa
+            int mayor = 0;
+            for (int posicion = 0; posicion < cantidad; posicion++) {
+                int slot = slotEnPosicion[posicion];
+                if (slot < demandasIniciales.length) {
+                    demandaDeSlot[slot] = demandasIniciales[slot];
+                    this.demandas.fijar(slot, demandasIniciales[slot]);
+                }
+                mayor = Math.max(mayor, demandaDeSlot[slot]);
+            }
+            asegurarBloques(mayor);
+            Arrays.fill(inicioBloque, -1);
+            Arrays.fill(finBloque, -1);
+            int[] cuantos = new int[mayor + 1];
+            for (int posicion = 0; posicion < cantidad; posicion++) {
+                cuantos[demandaDeSlot[slotEnPosicion[posicion]]]++;
+            }
+            // Los bloques van de mayor a menor demanda; 'siguiente' es la próxima casilla libre de cada uno
+            int[] siguiente = new int[mayor + 1];
+            int inicio = 0;
+            for (int d = mayor; d >= 0; d--) {
+                if (cuantos[d] == 0) continue;
+                inicioBloque[d] = inicio;
+                finBloque[d] = inicio + cuantos[d] - 1;
+                siguiente[d] = inicio;
+                inicio += cuantos[d];
+            }
+            int[] slots = Arrays.copyOf(slotEnPosicion, cantidad);
+            for (int slot : slots) {
+                int posicion = siguiente[demandaDeSlot[slot]]++;
+                slotEnPosicion[posicion] = slot;
+                posicionDeSlot[slot] = posicion;
+            }
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    public int demanda(int slot) {
+        return Math.max(0, demandas.valor(slot));
+    }
+
+    // Top-K: después de acomodar lo marcado, las primeras K casillas ya están en orden y solo se copian.
+    public List<Entrada> top(int k) {
+        ponerAlDiaSiHaceFalta();
+        for (int intento = 0; intento < INTENTOS_OPTIMISTAS; intento++) {
+            long sello = candado.tryOptimisticRead();
+            List<Entrada> resultado = sello == 0 ? null : copiarTop(k);
+            if (resultado != null && candado.validate(sello)) return resultado;
+            Thread.onSpinWait();
+        }
+        long sello = candado.readLock();
+        try {
+            return copiarTop(k);
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    public int size() {
+        for (int intento = 0; intento < INTENTOS_OPTIMISTAS; intento++) {
+            long sello = candado.tryOptimisticRead();
+            int valor = cantidad;
+            if (sello != 0 && candado.validate(sello)) return valor;
+            Thread.onSpinWait();
+        }
+        long sello = candado.readLock();
+        try {
+            return cantidad;
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+
+    // En una lectura optimista los arreglos pueden estar a medio cambiar (o recién agrandados):
+    // se leen una sola vez y se revisa cada índice antes de usarlo. Si algo no cuadra retorna null
+    // y la lectura se repite; si cuadra pero hubo una escritura, validate() la descarta igual.
+    private List<Entrada> copiarTop(int k) {
+        Curso[] cursosPorSlot = cursoDeSlot;
+        int[] demandas = demandaDeSlot;
+        int[] slots = slotEnPosicion;
+        int limite = Math.min(Math.max(k, 0), Math.min(cantidad, slots.length));
+        List<Entrada> resultado = new ArrayList<>(limite);
+        for (int posicion = 0; posicion < limite; posicion++) {
+            int slot = slots[posicion];
+            if (slot < 0 || slot >= cursosPorSlot.length || slot >= demandas.length) return null;
+            resultado.add(new Entrada(cursosPorSlot[slot], demandas[slot]));
+        }
+        return resultado;
+    }
+
+    // --- Herramientas Internas ---
+
+    private boolean existe(int slot) {
+        return slot >= 0 && slot < cursoDeSlot.length && cursoDeSlot[slot] != null;
+    }
+
+    // Achica el bloque 'd' por su inicio o por su final; si se queda vacío, se marca con -1.
+    private void quitarExtremo(int d, boolean porInicio) {
+        if (inicioBloque[d] == finBloque[d]) {
+            inicioBloque[d] = -1;
+            finBloque[d] = -1;
+        } else if (porInicio) {
+            inicioBloque[d]++;
+        } else {
+            finBloque[d]--;
+        }
+    }
+
+    private void intercambiar(int posicionA, int posicionB) {
+        if (posicionA == posicionB) return;
+        int slotA = slotEnPosicion[posicionA];
+        int slotB = slotEnPosicion[posicionB];
+        slotEnPosicion[posicionA] = slotB;
+        slotEnPosicion[posicionB] = slotA;
+        posicionDeSlot[slotA] = posicionB;
+        posicionDeSlot[slotB] = posicionA;
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo <= cursoDeSlot.length) return;
+        int nueva = Math.max(minimo, cursoDeSlot.length * 2);
+        cursoDeSlot = Arrays.copyOf(cursoDeSlot, nueva);
+        demandaDeSlot = Arrays.copyOf(demandaDeSlot, nueva);
+        posicionDeSlot = Arrays.copyOf(posicionDeSlot, nueva);
+        slotEnPosicion = Arrays.copyOf(slotEnPosicion, nueva);
+    }
+
+    private void asegurarBloques(int demanda) {
+        if (demanda < inicioBloque.length) return;
+        int nueva = Math.max(demanda + 1, inicioBloque.length * 2);
+        int anterior = inicioBloque.length;
+        inicioBloque = Arrays.copyOf(inicioBloque, nueva);
+        finBloque = Arrays.copyOf(finBloque, nueva);
+        Arrays.fill(inicioBloque, anterior, nueva, -1);
+        Arrays.fill(finBloque, anterior, nueva, -1);
+    }
+
+    private static int[] nuevoArregloBloques(int tam) {
+        int[] arreglo = new int[tam];
+        Arrays.fill(arreglo, -1);
+        return arreglo;
+    }
+}
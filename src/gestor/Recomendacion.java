@@ -0,0 +1,23 @@
+package gestor;
+
+// Resultado de una recomendación: un curso y cuántos temas comparte con los intereses del alumno.
+// Es un dato "de solo lectura" para que otras partes del sistema (pantallas, reportes, servicios)
+// decidan cómo mostrarlo.
+public class Recomendacion {
+
+    private final Curso curso;
+    private final int afinidad; // Cantidad de intereses del alumno que aparecen en las áreas del curso
+
+    public Recomendacion(Curso curso, int afinidad) {
+        this.curso = curso;
+        this.afinidad = afinidad;
+    }
+
+    public Curso getCurso() { return curso; }
+    public int getAfinidad() { return afinidad; }
+
+    @Override
+    public String toString() {
+        return curso.getIdCurso() + " (Afinidad: " + afinidad + ")";
+    }
+}
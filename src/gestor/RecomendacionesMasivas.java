@@ -0,0 +1,293 @@
+package gestor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+// --- RECOMENDACIONES PARA TODOS LOS ALUMNOS ---
+// Antes de la matrícula, consejería necesita las recomendaciones de todo el alumnado de una vez.
+// Esta tarea cruza cada alumno con cada curso (afinidad = bits en común, ver Etiquetas), se queda
+// con los K mejores de cada alumno y escribe el resultado en un CSV:
+//
+//   idAlumno,idCurso,afinidad      (K filas por alumno como máximo, de la más afín a la menos)
+//
+// Mismo orden que obtenerRecomendaciones: mayor afinidad primero y, si empatan, por código de curso.
+//
+// Cómo se reparte el trabajo: los alumnos se cortan en bloques de BLOQUE; cada bloque se calcula
+// en un ForkJoinPool (un hilo por núcleo) y produce su pedazo de texto ya armado. Los bloques se
+// procesan por tandas: mientras se escribe una tanda en el archivo, la siguiente ya se está calculando.
+// Así la memoria no depende de la cantidad de alumnos y el disco no frena a los núcleos.
+//
+// Los cursos (sus temas y si están llenos) se copian una vez al empezar: la tarea puede correr con
+// el gestor en uso, y lo que cambie durante la corrida no se ve (es una consulta, no una reserva).
+public class RecomendacionesMasivas {
+
+    static final int BLOQUE = 2048;       // Alumnos por bloque
+    static final int BLOQUES_POR_TANDA = 64;
+
+    private final GestorUniversidad gestor;
+    private int k = 5;
+    private boolean omitirLlenos = false;
+    private boolean omitirInscritos = false;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+
+    public RecomendacionesMasivas(GestorUniversidad gestor) {
+        this.gestor = gestor;
+    }
+
+    // --- Opciones ---
+
+    // Cuántas recomendaciones por alumno (como máximo)
+    public RecomendacionesMasivas k(int k) {
+        if (k <= 0) throw new IllegalArgumentException("k debe ser mayor que cero");
+        this.k = k;
+        return this;
+    }
+
+    // No recomendar cursos sin cupos disponibles (según cómo estaban al empezar)
+    public RecomendacionesMasivas omitirLlenos(boolean omitir) {
+        this.omitirLlenos = omitir;
+        return this;
+    }
+
+    // No recomendar cursos en los que el alumno ya está inscrito
+    public RecomendacionesMasivas omitirInscritos(boolean omitir) {
+        this.omitirInscritos = omitir;
+        return this;
+    }
+
+    public RecomendacionesMasivas hilos(int hilos) {
+        if (hilos <= 0) throw new IllegalArgumentException("Se necesita al menos un hilo");
+        this.hilos = hilos;
+        return this;
+    }
+
+    // --- Ejecución ---
+
+    // Escribe el CSV (reemplazando el archivo si existía). Retorna cuántas filas escribió.
+    public long exportar(Path archivo) throws IOException {
+        Catalogo catalogo = new Catalogo(new ArrayList<>(gestor.obtenerTodosLosCursos()), omitirLlenos);
+        List<Alumno> alumnos = new ArrayList<>(gestor.obtenerTodosLosAlumnos());
+        int bloques = (alumnos.size() + BLOQUE - 1) / BLOQUE;
+        long filas = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try (OutputStream salida = Files.newOutputStream(archivo)) {
+            salida.write("idAlumno,idCurso,afinidad\n".getBytes(StandardCharsets.UTF_8));
+            ForkJoinTask<List<Parte>> tanda = calcularTanda(pool, catalogo, alumnos, 0, bloques);
+            for (int desde = 0; desde < bloques; desde += BLOQUES_POR_TANDA) {
+                List<Parte> partes = esperar(tanda);
+                // La siguiente tanda se calcula mientras se escribe esta
+                int siguiente = desde + BLOQUES_POR_TANDA;
+                tanda = siguiente < bloques ? calcularTanda(pool, catalogo, alumnos, siguiente, bloques) : null;
+                for (Parte parte : partes) {
+                    salida.write(parte.bytes);
+                    filas += parte.filas;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return filas;
+    }
+
+    private ForkJoinTask<List<Parte>> calcularTanda(ForkJoinPool pool, Catalogo catalogo, List<Alumno> alumnos,
+                                                    int desde, int bloques) {
+        int hasta = Math.min(bloques, desde + BLOQUES_POR_TANDA);
+        return pool.submit(() -> IntStream.range(desde, hasta).parallel()
+                .mapToObj(b -> calcularBloque(catalogo, alumnos, b * BLOQUE, Math.min(alumnos.size(), (b + 1) * BLOQUE)))
+                .toList()); // toList respeta el orden de los bloques
+    }
+
+    private static List<Parte> esperar(ForkJoinTask<List<Parte>> tanda) throws IOException {
+        try {
+            return tanda.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Exportación interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException u) throw u.getCause();
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // --- Cálculo de un Bloque ---
+
+    private Parte calcularBloque(Catalogo catalogo, List<Alumno> alumnos, int desde, int hasta) {
+        MejoresK mejores = new MejoresK(k);
+        long[] excluidos = new long[catalogo.llenos.length];
+        StringBuilder texto = new StringBuilder((hasta - desde) * k * 24);
+        int filas = 0;
+
+        for (int a = desde; a < hasta; a++) {
+            Alumno alumno = alumnos.get(a);
+            long[] intereses = alumno.bitsIntereses();
+            if (intereses.length == 0) continue;
+
+            // Cursos que no se pueden recomendar: los llenos (copia) + los que ya cursa
+            System.arraycopy(catalogo.llenos, 0, excluidos, 0, excluidos.length);
+            if (omitirInscritos) {
+                for (int curso : alumno.indicesCursosInscritos()) {
+                    if (curso < catalogo.cantidad) excluidos[curso >>> 6] |= 1L << curso;
+                }
+            }
+
+            mejores.vaciar();
+            if (intereses.length == 1) {
+                puntuarPrimeraPalabra(catalogo, intereses[0], excluidos, mejores);
+            } else {
+                puntuarCompleto(catalogo, intereses, excluidos, mejores);
+            }
+
+            String idAlumno = campo(alumno.getIdAlumno());
+            int cantidad = mejores.ordenarDeMayorAMenor();
+            for (int i = 0; i < cantidad; i++) {
+                long clave = mejores.clave(i);
+                int rango = catalogo.cantidad - 1 - (int) clave;
+                texto.append(idAlumno).append(',')
+                        .append(catalogo.idsPorRango[rango]).append(',')
+                        .append((int) (clave >>> 32)).append('\n');
+            }
+            filas += cantidad;
+        }
+        return new Parte(texto.toString().getBytes(StandardCharsets.UTF_8), filas);
+    }
+
+    // Caso común (64 temas o menos): un AND y un bitCount por curso sobre un arreglo de long contiguo
+    private static void puntuarPrimeraPalabra(Catalogo catalogo, long intereses, long[] excluidos, MejoresK mejores) {
+        long[] areas = catalogo.primeraPalabra;
+        int[] rangos = catalogo.rango;
+        for (int c = 0; c < catalogo.cantidad; c++) {
+            int afinidad = Long.bitCount(intereses & areas[c]);
+            if (afinidad == 0 || (excluidos[c >>> 6] & (1L << c)) != 0) continue;
+            mejores.ofrecer(clave(afinidad, catalogo.cantidad - 1 - rangos[c]));
+        }
+    }
+
+    private static void puntuarCompleto(Catalogo catalogo, long[] intereses, long[] excluidos, MejoresK mejores) {
+        for (int c = 0; c < catalogo.cantidad; c++) {
+            int afinidad = Etiquetas.comunes(intereses, catalogo.areas[c]);
+            if (afinidad == 0 || (excluidos[c >>> 6] & (1L << c)) != 0) continue;
+            mejores.ofrecer(clave(afinidad, catalogo.cantidad - 1 - catalogo.rango[c]));
+        }
+    }
+
+    // Afinidad en los 32 bits altos; en los bajos, el rango del código al revés (el código menor gana
+    // los empates). Así "mejor recomendación" = clave más grande, y se compara un solo long.
+    private static long clave(int afinidad, int rangoInvertido) {
+        return ((long) afinidad << 32) | rangoInvertido;
+    }
+
+    // Los códigos se escriben como en los CSV de importación: entre comillas si traen coma o comillas
+    private static String campo(String texto) {
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0) return texto;
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+
+    // --- Estructuras Auxiliares ---
+
+    private record Parte(byte[] bytes, int filas) { }
+
+    // Copia de los cursos al momento de empezar, en arreglos planos por índice de curso.
+    private static final class Catalogo {
+        final int cantidad;
+        final long[] primeraPalabra; // Primeros 64 temas de cada curso
+        final long[][] areas;        // Todos los temas (solo para alumnos con más de 64)
+        final long[] llenos;         // Bit encendido = no se recomienda (lleno, si así se pidió)
+        final int[] rango;           // Posición del código del curso en orden alfabético
+        final String[] idsPorRango;  // Código (ya listo para el CSV) según esa posición
+
+        Catalogo(List<Curso> cursos, boolean omitirLlenos) {
+            cantidad = cursos.size();
+            primeraPalabra = new long[cantidad];
+            areas = new long[cantidad][];
+            llenos = new long[(cantidad + 63) >>> 6];
+            Integer[] orden = new Integer[cantidad];
+            for (int c = 0; c < cantidad; c++) {
+                Curso curso = cursos.get(c);
+                areas[c] = curso.bitsAreas();
+                primeraPalabra[c] = Etiquetas.primeraPalabra(areas[c]);
+                if (omitirLlenos && curso.getCuposDisponibles() == 0) llenos[c >>> 6] |= 1L << c;
+                orden[c] = c;
+            }
+            Arrays.sort(orden, Comparator.comparing(c -> cursos.get(c).getIdCurso()));
+            rango = new int[cantidad];
+            idsPorRango = new String[cantidad];
+            for (int r = 0; r < cantidad; r++) {
+                rango[orden[r]] = r;
+                idsPorRango[r] = campo(cursos.get(orden[r]).getIdCurso());
+            }
+        }
+    }
+
+    // Los K mejores de un alumno: un heap de long con la clave más chica (el "peor de los mejores")
+    // en la cima. Casi todos los cursos se descartan con una sola comparación contra esa cima.
+    private static final class MejoresK {
+        private final long[] heap;
+        private int tamano;
+
+        MejoresK(int k) {
+            heap = new long[k];
+        }
+
+        void vaciar() {
+            tamano = 0;
+        }
+
+        void ofrecer(long clave) {
+            if (tamano < heap.length) {
+                int i = tamano++;
+                while (i > 0) {
+                    int padre = (i - 1) >>> 1;
+                    if (heap[padre] <= clave) break;
+                    heap[i] = heap[padre];
+                    i = padre;
+                }
+                heap[i] = clave;
+            } else if (clave > heap[0]) {
+                hundir(clave, tamano);
+            }
+        }
+
+        // Pone 'clave' en la cima y la baja hasta su lugar dentro de los primeros 'hasta' elementos
+        private void hundir(long clave, int hasta) {
+            int i = 0;
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= hasta) break;
+                if (hijo + 1 < hasta && heap[hijo + 1] < heap[hijo]) hijo++;
+                if (heap[hijo] >= clave) break;
+                heap[i] = heap[hijo];
+                i = hijo;
+            }
+            heap[i] = clave;
+        }
+
+        // Heapsort en el lugar: al sacar el mínimo repetidas veces y dejarlo al final,
+        // el arreglo queda de mayor a menor. Retorna cuántas claves hay.
+        int ordenarDeMayorAMenor() {
+            for (int fin = tamano - 1; fin > 0; fin--) {
+                long minimo = heap[0];
+                hundir(heap[fin], fin);
+                heap[fin] = minimo;
+            }
+            return tamano;
+        }
+
+        long clave(int i) {
+            return heap[i];
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package gestor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Resumen de una importación desde CSV (ver ImportadorCsv).
+// Los mensajes de error se guardan hasta un tope: un archivo con millones de filas malas
+// no debe llenar la memoria solo con quejas. El conteo de errores sí es exacto.
+public class ResultadoImportacion {
+
+    static final int MAXIMO_MENSAJES = 100;
+
+    private long filas = 0;       // Filas leídas (sin contar encabezado ni líneas vacías)
+    private long agregados = 0;   // Altas o inscripciones que sí se hicieron
+    private long rechazados = 0;  // Filas bien escritas que el gestor no aceptó (duplicados, IDs que no existen...)
+    private long errores = 0;     // Filas mal formadas
+    private final List<String> mensajes = new ArrayList<>();
+
+    void contarFila() { filas++; }
+    void contarAgregado() { agregados++; }
+    void contarRechazado() { rechazados++; }
+
+    void error(int linea, String motivo) {
+        errores++;
+        if (mensajes.size() < MAXIMO_MENSAJES) {
+            mensajes.add("línea " + linea + ": " + motivo);
+        }
+    }
+
+    public long getFilas() { return filas; }
+    public long getAgregados() { return agregados; }
+    public long getRechazados() { return rechazados; }
+    public long getErrores() { return errores; }
+
+    // Los primeros MAXIMO_MENSAJES errores, con su número de línea
+    public List<String> getMensajes() { return Collections.unmodifiableList(mensajes); }
+
+    @Override
+    public String toString() {
+        return "Filas: " + filas + " | Agregados: " + agregados + " | Rechazados: " + rechazados + " | Errores: " + errores;
+    }
+}
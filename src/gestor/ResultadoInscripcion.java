@@ -0,0 +1,12 @@
+package gestor;
+
+// Qué pasó con un pedido de inscripción (ver GestorUniversidad.inscribirEnLote).
+public enum ResultadoInscripcion {
+    INSCRITO,       // Había cupo y quedó dentro
+    EN_ESPERA,      // Curso lleno: pasó a la lista de espera
+    YA_INSCRITO,    // Ya estaba inscrito en ese curso, no se hizo nada
+    YA_EN_ESPERA,   // Ya estaba esperando en ese curso, no se hizo nada
+    LIMITE_CREDITOS, // Con ese curso pasaría del máximo de créditos: ni asiento ni fila
+    CHOQUE_HORARIO,  // El curso se pisa con el horario de otra de sus materias: ni asiento ni fila
+    NO_ENCONTRADO   // El alumno o el curso no existen
+}
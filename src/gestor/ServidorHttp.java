@@ -0,0 +1,333 @@
+package gestor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// --- SERVIDOR HTTP (MODO SIN PANTALLA) ---
+// Expone el gestor por HTTP con respuestas JSON, usando el servidor que ya trae el JDK
+// (com.sun.net.httpserver): no hace falta ninguna librería extra.
+//
+// Cada pedido se atiende en su propio HILO VIRTUAL. Un hilo virtual cuesta unos pocos KB, así que
+// miles de conexiones esperando (por ejemplo, todos entrando a la vez cuando abre la matrícula)
+// no agotan la memoria ni el sistema operativo como pasaría con un hilo normal por conexión.
+//
+// Rutas (los datos van como parámetros en la URL, ej: /inscripciones?alumno=A001&curso=C101):
+//   POST   /inscripciones      alumno, curso           -> inscribe (o deja en espera)
+//   DELETE /inscripciones      alumno, curso           -> da de baja (o saca de la espera)
+//   GET    /espera             curso [, pagina, tamano, alumno] -> página de la fila y lugar del alumno
+//   GET    /recomendaciones    alumno [, k]            -> cursos más afines
+//   GET    /carga              alumno                  -> cursos inscritos y total de créditos
+//   GET    /demanda            [k]                     -> cursos con más demanda
+//   GET    /buscar             texto [, k, distancia]  -> alumnos y cursos por nombre (distancia > 0: parecidos)
+//   GET    /metricas                                   -> métricas en texto para Prometheus (ver FotoMetricas)
+//
+// Las inscripciones y bajas pasan por las versiones ...Asincrono del gestor: si hay fragmentos
+// activos viajan a su hilo escritor; si no, se ejecutan en el mismo hilo virtual.
+public class ServidorHttp implements AutoCloseable {
+
+    // Cola de conexiones que el sistema operativo guarda mientras el servidor las acepta:
+    // alta, para aguantar ráfagas de miles de conexiones nuevas al mismo tiempo.
+    private static final int COLA_CONEXIONES = 8192;
+
+    private static final int TAMANO_PAGINA_POR_DEFECTO = 20;
+    private static final int K_POR_DEFECTO = 5;
+    private static final int LIMITE_POR_PEDIDO = 1000; // Tope de 'tamano' y 'k': nadie pide la fila entera de una vez
+
+    private final GestorUniversidad gestor;
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+
+    public ServidorHttp(GestorUniversidad gestor, int puerto) throws IOException {
+        if (!gestor.isConcurrente()) {
+            throw new IllegalArgumentException("El servidor necesita un gestor en modo concurrente");
+        }
+        this.gestor = gestor;
+        this.servidor = HttpServer.create(new InetSocketAddress(puerto), COLA_CONEXIONES);
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(hilos);
+
+        servidor.createContext("/inscripciones", ruta(this::inscripciones));
+        servidor.createContext("/espera", ruta(this::espera));
+        servidor.createContext("/recomendaciones", ruta(this::recomendaciones));
+        servidor.createContext("/carga", ruta(this::carga));
+        servidor.createContext("/demanda", ruta(this::demanda));
+        servidor.createContext("/buscar", ruta(this::buscar));
+        servidor.createContext("/metricas", ruta(this::metricas));
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    // Puerto real (útil si se pidió el 0 para que el sistema elija uno libre)
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    // Deja de aceptar conexiones, espera hasta un segundo a los pedidos en curso y apaga los hilos.
+    @Override
+    public void close() {
+        servidor.stop(1);
+        hilos.shutdown();
+    }
+
+    // --- Rutas ---
+
+    // Una respuesta ya armada: código HTTP, cuerpo y tipo de contenido (JSON salvo que se diga otro)
+    private record Respuesta(int codigo, String cuerpo, String tipo) {
+        Respuesta(int codigo, String json) {
+            this(codigo, json, "application/json; charset=utf-8");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Atencion {
+        Respuesta atender(String metodo, Map<String, String> parametros);
+    }
+
+    private static Respuesta error(int codigo, String mensaje) {
+        return new Respuesta(codigo, "{\"error\":" + texto(mensaje) + "}");
+    }
+
+    private Respuesta inscripciones(String metodo, Map<String, String> parametros) {
+        String idAlumno = parametros.get("alumno");
+        String idCurso = parametros.get("curso");
+        if (idAlumno == null || idCurso == null) return error(400, "Faltan los parámetros 'alumno' y 'curso'");
+
+        if (metodo.equals("POST")) {
+            ResultadoInscripcion resultado = gestor.inscribirAsincrono(idAlumno, idCurso).join();
+            int codigo = resultado == ResultadoInscripcion.NO_ENCONTRADO ? 404 : 200;
+            return new Respuesta(codigo, "{\"alumno\":" + texto(idAlumno) + ",\"curso\":" + texto(idCurso)
+                    + ",\"resultado\":" + texto(resultado.name()) + "}");
+        }
+        if (metodo.equals("DELETE")) {
+            if (gestor.consultarAlumno(idAlumno) == null || gestor.consultarCurso(idCurso) == null) {
+                return error(404, "Alumno o curso no encontrado");
+            }
+            boolean baja = gestor.darDeBajaAsincrono(idAlumno, idCurso).join();
+            return new Respuesta(200, "{\"alumno\":" + texto(idAlumno) + ",\"curso\":" + texto(idCurso)
+                    + ",\"baja\":" + baja + "}");
+        }
+        return error(405, "Use POST para inscribir o DELETE para dar de baja");
+    }
+
+    private Respuesta espera(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        String idCurso = parametros.get("curso");
+        if (idCurso == null) return error(400, "Falta el parámetro 'curso'");
+        VersionCurso version = gestor.obtenerVersionCurso(idCurso); // Cupos, tamaño y página del mismo instante
+        if (version == null) return error(404, "Curso no encontrado");
+
+        int pagina = entero(parametros.get("pagina"), 0);
+        int tamano = entero(parametros.get("tamano"), TAMANO_PAGINA_POR_DEFECTO);
+        if (pagina < 0 || tamano <= 0) return error(400, "'pagina' y 'tamano' deben ser positivos");
+        tamano = Math.min(tamano, LIMITE_POR_PEDIDO);
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"curso\":").append(texto(idCurso))
+                .append(",\"cuposDisponibles\":").append(version.getCuposDisponibles())
+                .append(",\"enEspera\":").append(version.getTamanoListaEspera())
+                .append(",\"pagina\":").append(pagina)
+                .append(",\"alumnos\":[");
+        List<Alumno> fila = GestorUniversidad.paginaListaEspera(version, pagina, tamano);
+        for (int i = 0; i < fila.size(); i++) {
+            if (i > 0) json.append(',');
+            alumno(json, fila.get(i));
+        }
+        json.append(']');
+        String idAlumno = parametros.get("alumno");
+        if (idAlumno != null) {
+            json.append(",\"posicion\":").append(gestor.posicionEnListaEspera(idAlumno, idCurso));
+        }
+        return new Respuesta(200, json.append('}').toString());
+    }
+
+    private Respuesta recomendaciones(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        String idAlumno = parametros.get("alumno");
+        if (idAlumno == null) return error(400, "Falta el parámetro 'alumno'");
+        if (gestor.consultarAlumno(idAlumno) == null) return error(404, "Alumno no encontrado");
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"alumno\":").append(texto(idAlumno)).append(",\"recomendaciones\":[");
+        List<Recomendacion> lista = gestor.obtenerRecomendaciones(idAlumno, limite(parametros.get("k")));
+        for (int i = 0; i < lista.size(); i++) {
+            if (i > 0) json.append(',');
+            Curso curso = lista.get(i).getCurso();
+            json.append("{\"curso\":").append(texto(curso.getIdCurso()))
+                    .append(",\"nombre\":").append(texto(curso.getNombre()))
+                    .append(",\"afinidad\":").append(lista.get(i).getAfinidad()).append('}');
+        }
+        return new Respuesta(200, json.append("]}").toString());
+    }
+
+    private Respuesta carga(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        String idAlumno = parametros.get("alumno");
+        if (idAlumno == null) return error(400, "Falta el parámetro 'alumno'");
+        Alumno alumno = gestor.consultarAlumno(idAlumno);
+        if (alumno == null) return error(404, "Alumno no encontrado");
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"alumno\":").append(texto(idAlumno)).append(",\"cursos\":[");
+        List<Curso> inscritos = gestor.obtenerCursosInscritos(idAlumno);
+        for (int i = 0; i < inscritos.size(); i++) {
+            if (i > 0) json.append(',');
+            Curso curso = inscritos.get(i);
+            json.append("{\"curso\":").append(texto(curso.getIdCurso()))
+                    .append(",\"nombre\":").append(texto(curso.getNombre()))
+                    .append(",\"creditos\":").append(curso.getCreditos()).append('}');
+        }
+        // El total lo lleva el alumno al día (ver Alumno.getCreditosInscritos): no hace falta sumarlo
+        json.append("],\"totalCreditos\":").append(alumno.getCreditosInscritos()).append('}');
+        return new Respuesta(200, json.toString());
+    }
+
+    private Respuesta demanda(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"cursos\":[");
+        List<RankingDemanda.Entrada> lista = gestor.obtenerCursosConMasDemanda(limite(parametros.get("k")));
+        for (int i = 0; i < lista.size(); i++) {
+            if (i > 0) json.append(',');
+            Curso curso = lista.get(i).getCurso();
+            VersionCurso version = curso.getVersion(); // Cupo y disponibles del mismo instante, como en /curso
+            json.append("{\"curso\":").append(texto(curso.getIdCurso()))
+                    .append(",\"nombre\":").append(texto(curso.getNombre()))
+                    .append(",\"demanda\":").append(lista.get(i).getDemanda())
+                    .append(",\"cupoMaximo\":").append(version.getCupoMaximo())
+                    .append(",\"cuposDisponibles\":").append(version.getCuposDisponibles()).append('}');
+        }
+        return new Respuesta(200, json.append("]}").toString());
+    }
+
+    private Respuesta buscar(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        String texto = parametros.get("texto");
+        if (texto == null || texto.isBlank()) return error(400, "Falta el parámetro 'texto'");
+        int k = limite(parametros.get("k"));
+        int distancia = entero(parametros.get("distancia"), 0);
+        if (distancia < 0) return error(400, "'distancia' debe ser positiva");
+
+        List<Alumno> alumnos = distancia == 0 ? gestor.buscarAlumnosPorNombre(texto, k)
+                : gestor.buscarAlumnosParecidos(texto, distancia, k);
+        List<Curso> cursos = distancia == 0 ? gestor.buscarCursosPorNombre(texto, k)
+                : gestor.buscarCursosParecidos(texto, distancia, k);
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"texto\":").append(texto(texto)).append(",\"alumnos\":[");
+        for (int i = 0; i < alumnos.size(); i++) {
+            if (i > 0) json.append(',');
+            alumno(json, alumnos.get(i));
+        }
+        json.append("],\"cursos\":[");
+        for (int i = 0; i < cursos.size(); i++) {
+            if (i > 0) json.append(',');
+            Curso curso = cursos.get(i);
+            json.append("{\"curso\":").append(texto(curso.getIdCurso()))
+                    .append(",\"nombre\":").append(texto(curso.getNombre()))
+                    .append(",\"docente\":").append(texto(curso.getDocente())).append('}');
+        }
+        return new Respuesta(200, json.append("]}").toString());
+    }
+
+    private Respuesta metricas(String metodo, Map<String, String> parametros) {
+        if (!metodo.equals("GET")) return error(405, "Use GET");
+        return new Respuesta(200, gestor.obtenerMetricas().aPrometheus(), "text/plain; version=0.0.4; charset=utf-8");
+    }
+
+    // --- Herramientas ---
+
+    // Envuelve una ruta: lee los parámetros, la atiende y escribe la respuesta.
+    // Cualquier error inesperado se contesta como 500 en vez de cortar la conexión.
+    private static HttpHandler ruta(Atencion atencion) {
+        return intercambio -> {
+            Respuesta respuesta;
+            try {
+                respuesta = atencion.atender(intercambio.getRequestMethod(), parametros(intercambio));
+            } catch (RuntimeException e) {
+                respuesta = error(500, String.valueOf(e.getMessage()));
+            }
+            responder(intercambio, respuesta);
+        };
+    }
+
+    private static void responder(HttpExchange intercambio, Respuesta respuesta) throws IOException {
+        byte[] cuerpo = respuesta.cuerpo().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", respuesta.tipo());
+        intercambio.sendResponseHeaders(respuesta.codigo(), cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    // Parámetros de la URL (?a=1&b=2). Si uno se repite, gana el último.
+    private static Map<String, String> parametros(HttpExchange intercambio) {
+        Map<String, String> parametros = new HashMap<>();
+        String consulta = intercambio.getRequestURI().getRawQuery();
+        if (consulta == null || consulta.isEmpty()) return parametros;
+        int desde = 0;
+        while (desde <= consulta.length()) {
+            int hasta = consulta.indexOf('&', desde);
+            if (hasta < 0) hasta = consulta.length();
+            int igual = consulta.indexOf('=', desde);
+            if (igual > desde && igual < hasta) {
+                parametros.put(URLDecoder.decode(consulta.substring(desde, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(consulta.substring(igual + 1, hasta), StandardCharsets.UTF_8));
+            }
+            desde = hasta + 1;
+        }
+        return parametros;
+    }
+
+    private static int entero(String valor, int porDefecto) {
+        if (valor == null) return porDefecto;
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            return porDefecto;
+        }
+    }
+
+    private static int limite(String k) {
+        return Math.max(0, Math.min(entero(k, K_POR_DEFECTO), LIMITE_POR_PEDIDO));
+    }
+
+    private static void alumno(StringBuilder json, Alumno alumno) {
+        Alumno.DatosAcademicos datos = alumno.datosAcademicos();
+        json.append("{\"alumno\":").append(texto(alumno.getIdAlumno()))
+                .append(",\"nombre\":").append(texto(alumno.getNombre()))
+                .append(",\"semestre\":").append(datos.semestre)
+                .append(",\"promedio\":").append(datos.promedio).append('}');
+    }
+
+    // Texto JSON entre comillas, escapando lo que haga falta
+    static String texto(String valor) {
+        StringBuilder sb = new StringBuilder(valor.length() + 2).append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,22 @@
+package gestor;
+
+// Un pedido de inscripción dentro de un lote: qué alumno quiere entrar a qué curso.
+// Se usa con GestorUniversidad.inscribirEnLote, que responde un ResultadoInscripcion por cada pedido.
+public class SolicitudInscripcion {
+
+    private final String idAlumno;
+    private final String idCurso;
+
+    public SolicitudInscripcion(String idAlumno, String idCurso) {
+        this.idAlumno = idAlumno;
+        this.idCurso = idCurso;
+    }
+
+    public String getIdAlumno() { return idAlumno; }
+    public String getIdCurso() { return idCurso; }
+
+    @Override
+    public String toString() {
+        return idAlumno + " -> " + idCurso;
+    }
+}
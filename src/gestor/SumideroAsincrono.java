@@ -0,0 +1,130 @@
+package gestor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// --- SUMIDERO ASÍNCRONO (BUFFER CIRCULAR) ---
+// Recibe los eventos de muchos hilos y los entrega a otro sumidero (el "destino") desde un
+// único hilo de fondo. Así quien inscribe no espera a la consola, al disco ni a nadie.
+//
+// Por dentro es un anillo de tamaño fijo (potencia de 2) con un número de turno por casilla:
+//  - cada productor reserva una casilla con un CAS sobre 'cola', escribe el evento y la marca como lista;
+//  - el hilo de fondo lee en orden desde 'cabeza', entrega el evento y devuelve la casilla al anillo.
+// Si el anillo está lleno el evento se DESCARTA (y se cuenta en getDescartados) en vez de frenar
+// al que inscribe: es para escenarios sin pantalla donde importa más el rendimiento que cada aviso.
+public final class SumideroAsincrono implements SumideroEventos, AutoCloseable {
+
+    private final SumideroEventos destino;
+    private final int mascara;
+
+    // Datos de cada casilla (arreglos paralelos para no crear objetos por evento)
+    private final TipoEvento[] tipos;
+    private final Alumno[] alumnos;
+    private final Curso[] cursos;
+
+    // Turno de cada casilla: == posición -> libre para escribir; == posición + 1 -> lista para leer
+    private final AtomicLongArray turnos;
+
+    private final AtomicLong cola = new AtomicLong(); // Próxima posición a reservar (productores)
+    private long cabeza = 0;                            // Próxima posición a leer (solo el hilo de fondo)
+
+    private final LongAdder descartados = new LongAdder();
+    private volatile boolean cerrado = false;
+    private volatile boolean dormido = false;           // El hilo de fondo se estacionó sin fecha: hay que despertarlo
+    private final Thread entregador;
+
+    public SumideroAsincrono(SumideroEventos destino, int capacidad) {
+        if (capacidad < 2 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de 2: " + capacidad);
+        }
+        this.destino = destino;
+        this.mascara = capacidad - 1;
+        this.tipos = new TipoEvento[capacidad];
+        this.alumnos = new Alumno[capacidad];
+        this.cursos = new Curso[capacidad];
+        this.turnos = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            turnos.set(i, i);
+        }
+        this.entregador = new Thread(this::entregar, "sumidero-eventos");
+        this.entregador.setDaemon(true);
+        this.entregador.start();
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Alumno alumno, Curso curso) {
+        while (true) {
+            long posicion = cola.get();
+            int casilla = (int) (posicion & mascara);
+            long turno = turnos.get(casilla);
+            if (turno == posicion) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    tipos[casilla] = tipo;
+                    alumnos[casilla] = alumno;
+                    cursos[casilla] = curso;
+                    turnos.set(casilla, posicion + 1); // Publica la casilla al hilo de fondo
+                    if (dormido) { // El anillo estaba vacío: solo entonces cuesta un unpark
+                        dormido = false;
+                        LockSupport.unpark(entregador);
+                    }
+                    return;
+                }
+            } else if (turno < posicion) {
+                // La casilla todavía no fue leída: el anillo dio la vuelta completa
+                descartados.increment();
+                return;
+            }
+            // Otro productor ganó esta posición; se reintenta con la siguiente
+        }
+    }
+
+    // Bucle del hilo de fondo
+    private void entregar() {
+        while (true) {
+            int casilla = (int) (cabeza & mascara);
+            if (turnos.get(casilla) == cabeza + 1) {
+                TipoEvento tipo = tipos[casilla];
+                Alumno alumno = alumnos[casilla];
+                Curso curso = cursos[casilla];
+                alumnos[casilla] = null; // No retener objetos que ya salieron
+                cursos[casilla] = null;
+                turnos.set(casilla, cabeza + mascara + 1); // Libre para la próxima vuelta
+                cabeza++;
+                try {
+                    destino.publicar(tipo, alumno, curso);
+                } catch (RuntimeException e) {
+                    // Un destino que falla no debe matar al hilo de entrega
+                }
+            } else if (cerrado) {
+                return; // Vacío y cerrado
+            } else {
+                // Nada pendiente: se avisa que se va a dormir y se revisa una última vez. Si un productor
+                // publicó justo en medio, o él ve 'dormido' y despierta al hilo, o aquí se ve su casilla.
+                dormido = true;
+                if (turnos.get(casilla) != cabeza + 1 && !cerrado) {
+                    LockSupport.park(this);
+                }
+                dormido = false;
+            }
+        }
+    }
+
+    // Eventos perdidos porque el anillo estaba lleno.
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    // Entrega lo pendiente y detiene el hilo de fondo. Lo publicado después de cerrar puede perderse.
+    @Override
+    public void close() {
+        cerrado = true;
+        LockSupport.unpark(entregador);
+        try {
+            entregador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
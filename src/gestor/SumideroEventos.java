@@ -0,0 +1,19 @@
+package gestor;
+
+// --- SUMIDERO DE EVENTOS ---
+// Es "a dónde van a parar" los avisos del GestorUniversidad (inscripciones, bajas, errores...).
+// El gestor no imprime nada por su cuenta: solo avisa aquí, y quien esté escuchando decide
+// qué hacer (la consola los muestra con ConsolaEventos, un servicio podría contarlos, etc.).
+//
+// Se pasan los datos sueltos en vez de un objeto "Evento" para que avisar no cree basura:
+// si el sumidero es NINGUNO, el gestor ni siquiera hace la llamada.
+// Puede llamarse desde varios hilos a la vez y con el candado de un curso tomado,
+// así que las implementaciones deben ser rápidas (o pasar el trabajo a otro hilo, ver SumideroAsincrono).
+@FunctionalInterface
+public interface SumideroEventos {
+
+    // Descarta todo. Es el sumidero por defecto (modo sin consola / alto rendimiento).
+    SumideroEventos NINGUNO = (tipo, alumno, curso) -> { };
+
+    void publicar(TipoEvento tipo, Alumno alumno, Curso curso);
+}
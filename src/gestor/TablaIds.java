@@ -0,0 +1,145 @@
+package gestor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// --- TABLA DE IDENTIFICADORES ---
+// Traduce los códigos externos ("A001", "C101") a números consecutivos 0, 1, 2... ("índices densos")
+// y guarda el objeto de cada uno en un arreglo. Por dentro el sistema trabaja con esos números:
+// las listas de inscritos y las materias de cada alumno son arreglos de int, no listas de String.
+// El texto solo se usa en la frontera (consultas por ID y pantallas).
+//
+// Las altas se hacen de a una (synchronized). Las lecturas no llevan candado: el índice se publica
+// en el mapa DESPUÉS de guardar el objeto en el arreglo, así quien encuentra el índice ya ve el objeto.
+//
+// Carga perezosa (ver ImagenRegistro): la tabla puede arrancar con los primeros N índices "reservados"
+// para un origen externo. Esos códigos no entran al mapa y sus objetos se arman recién la primera vez
+// que alguien los pide; hasta entonces su casilla está en null.
+public class TablaIds<T> {
+
+    // De dónde salen los elementos que todavía no se armaron
+    interface Origen<T> {
+        int buscar(String id);  // Índice del código, o -1 si no está
+        String id(int indice);
+        T crear(int indice);
+    }
+
+    // Acceso con barreras a las casillas del arreglo: una casilla armada de forma perezosa
+    // se publica con setRelease y se lee con getAcquire (así nadie ve un objeto a medio armar).
+    private static final VarHandle CASILLA = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Map<String, Integer> indices;
+    private volatile String[] ids = new String[16];
+    private volatile Object[] valores = new Object[16];
+    private volatile int cantidad = 0;
+
+    private Origen<T> origen;        // null = todo está en memoria
+    private int cantidadOrigen = 0;  // Los índices 0..cantidadOrigen-1 vienen del origen
+
+    public TablaIds(boolean concurrente) {
+        this.indices = concurrente ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    // Da de alta un código nuevo con su objeto. Retorna su índice, o -1 si el código ya existía.
+    public synchronized int registrar(String id, T valor) {
+        if (contiene(id)) return -1;
+        int indice = cantidad;
+        if (indice == ids.length) {
+            int nueva = ids.length * 2;
+            ids = Arrays.copyOf(ids, nueva);
+            valores = Arrays.copyOf(valores, nueva);
+        }
+        ids[indice] = id;
+        valores[indice] = valor;
+        cantidad = indice + 1;
+        indices.put(id, indice); // Publicación: desde aquí otros hilos pueden encontrarlo
+        return indice;
+    }
+
+    // Reserva los primeros 'cantidad' índices para el origen. Solo con la tabla vacía.
+    synchronized void cargarPerezoso(Origen<T> origen, int cantidad) {
+        if (this.cantidad != 0) throw new IllegalStateException("La tabla ya tiene elementos");
+        int capacidad = Math.max(16, cantidad + cantidad / 8);
+        ids = new String[capacidad];
+        valores = new Object[capacidad];
+        this.origen = origen;
+        this.cantidadOrigen = cantidad;
+        this.cantidad = cantidad;
+    }
+
+    // 'falso' si el elemento viene del origen y nadie lo pidió todavía (sigue igual que en el origen)
+    boolean estaArmado(int indice) {
+        return indice >= cantidadOrigen || CASILLA.getAcquire(valores, indice) != null;
+    }
+
+    private synchronized Object armar(int indice) {
+        Object valor = CASILLA.getAcquire(valores, indice);
+        if (valor == null) {
+            valor = origen.crear(indice);
+            CASILLA.setRelease(valores, indice, valor);
+        }
+        return valor;
+    }
+
+    // Índice que le toca al próximo registro (útil para preparar estructuras antes de publicarlo).
+    public synchronized int siguienteIndice() {
+        return cantidad;
+    }
+
+    public int indiceDe(String id) {
+        Integer indice = indices.get(id);
+        if (indice != null) return indice;
+        return origen == null ? -1 : origen.buscar(id);
+    }
+
+    public String idDe(int indice) {
+        String id = ids[indice];
+        return id != null || indice >= cantidadOrigen ? id : origen.id(indice);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        if (indice < cantidadOrigen) {
+            Object valor = CASILLA.getAcquire(valores, indice);
+            return (T) (valor != null ? valor : armar(indice));
+        }
+        return (T) valores[indice];
+    }
+
+    public T get(String id) {
+        int indice = indiceDe(id);
+        return indice < 0 ? null : get(indice);
+    }
+
+    public boolean contiene(String id) {
+        return indiceDe(id) >= 0;
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    // Vista de solo lectura de todos los objetos, en orden de alta (sin copiar el arreglo).
+    // Recorrerla arma los elementos perezosos que falten.
+    public List<T> valores() {
+        final int tam = cantidad;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int i) {
+                if (i >= tam) throw new IndexOutOfBoundsException(i);
+                return TablaIds.this.get(i);
+            }
+
+            @Override
+            public int size() {
+                return tam;
+            }
+        };
+    }
+}
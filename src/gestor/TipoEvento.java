@@ -0,0 +1,40 @@
+package gestor;
+
+// Todo lo que puede "pasar" en el GestorUniversidad y que alguien podría querer mostrar o registrar.
+// Cada evento viaja con el alumno y/o el curso involucrados (null cuando no aplica o no existe).
+public enum TipoEvento {
+    // Altas
+    ALUMNO_REGISTRADO,
+    ALUMNO_DUPLICADO,
+    CURSO_REGISTRADO,
+    CURSO_DUPLICADO,
+
+    // Búsquedas fallidas
+    ALUMNO_NO_ENCONTRADO,
+    CURSO_NO_ENCONTRADO,
+    ALUMNO_O_CURSO_NO_ENCONTRADO,
+
+    // Inscripciones
+    INSCRITO,
+    YA_INSCRITO,
+    EN_ESPERA,
+    YA_EN_ESPERA,
+    LIMITE_CREDITOS,
+    CHOQUE_HORARIO,
+
+    // Bajas
+    BAJA,
+    BAJA_DE_ESPERA,
+    BAJA_SIN_REGISTRO,
+
+    // Capacidad de los cursos
+    CUPO_ACTUALIZADO,
+    CUPO_INSUFICIENTE,
+
+    // Lista de espera y datos académicos
+    PROMOVIDO_DESDE_ESPERA,
+    SIN_CUPO_PARA_PROMOVER,
+    RETIRADO_DE_ESPERA_POR_CREDITOS,
+    RETIRADO_DE_ESPERA_POR_HORARIO,
+    DATOS_ACADEMICOS_ACTUALIZADOS
+}
@@ -0,0 +1,113 @@
+package gestor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+// --- VALORES CON AVISO DE CAMBIO ---
+// Un entero por índice (la demanda de cada curso, los créditos de cada alumno) que muchos hilos cambian
+// SIN candado, más una marca de "este cambió" que recoge después un solo lector con su candado tomado.
+// Lo usan RankingDemanda e IndiceCarga: inscribir o dar de baja solo toca el entero y la marca del
+// propio curso o alumno (operaciones atómicas sobre su casilla), y el orden compartido se pone al día
+// recién cuando alguien lo consulta, aplicando de una vez todo lo marcado desde la consulta anterior.
+//
+// Las marcas son bits en dos niveles: un bit por índice y, encima, un bit por cada palabra de 64 que
+// tiene algo marcado. Recoger cuando no cambió nada lee solo el nivel de arriba (un long cada 4096).
+// Quien marca pone primero su bit y después el de su palabra; quien recoge limpia primero el de arriba
+// y después la palabra. Así un cambio terminado antes de recoger nunca se pierde (a lo sumo queda una
+// marca de más, que la próxima vez no encuentra nada).
+//
+// Los índices se guardan en trozos fijos de TROZO casillas: crecer solo copia el arreglo de trozos
+// (con los mismos objetos adentro), así un cambio que llega mientras se crece no cae en una copia vieja.
+final class ValoresPendientes {
+
+    private static final int BITS_TROZO = 12;
+    private static final int TROZO = 1 << BITS_TROZO; // 4096 índices: 64 palabras de marcas, 1 long de resumen
+
+    private static final class Trozo {
+        final AtomicIntegerArray valores = new AtomicIntegerArray(TROZO);
+        final AtomicLongArray marcas = new AtomicLongArray(TROZO / 64);
+        final AtomicLong resumen = new AtomicLong(); // Bit p = la palabra p de 'marcas' tiene algo
+    }
+
+    private volatile Trozo[] trozos = new Trozo[0];
+
+    // Deja lugar para los índices 0..cantidad-1. Hay que llamarlo antes de usar un índice nuevo.
+    synchronized void asegurar(int cantidad) {
+        Trozo[] actuales = trozos;
+        int necesarios = (cantidad + TROZO - 1) >>> BITS_TROZO;
+        if (necesarios <= actuales.length) return;
+        Trozo[] nuevos = Arrays.copyOf(actuales, Math.max(necesarios, actuales.length * 2));
+        for (int t = actuales.length; t < nuevos.length; t++) nuevos[t] = new Trozo();
+        trozos = nuevos;
+    }
+
+    // --- Cambios (cualquier hilo, sin candado) ---
+
+    void sumar(int indice, int delta) {
+        Trozo trozo = trozos[indice >>> BITS_TROZO];
+        trozo.valores.addAndGet(indice & (TROZO - 1), delta);
+        marcar(trozo, indice & (TROZO - 1));
+    }
+
+    void fijar(int indice, int valor) {
+        Trozo trozo = trozos[indice >>> BITS_TROZO];
+        trozo.valores.set(indice & (TROZO - 1), valor);
+        marcar(trozo, indice & (TROZO - 1));
+    }
+
+    private static void marcar(Trozo trozo, int casilla) {
+        int palabra = casilla >>> 6;
+        long bit = 1L << casilla;
+        if ((trozo.marcas.get(palabra) & bit) == 0) {
+            trozo.marcas.getAndAccumulate(palabra, bit, ValoresPendientes::unir);
+        }
+        long arriba = 1L << palabra;
+        if ((trozo.resumen.get() & arriba) == 0) {
+            trozo.resumen.getAndAccumulate(arriba, ValoresPendientes::unir);
+        }
+    }
+
+    private static long unir(long bits, long otros) {
+        return bits | otros;
+    }
+
+    // --- Lecturas ---
+
+    // El valor actual (0 si el índice nunca se usó)
+    int valor(int indice) {
+        Trozo[] actuales = trozos;
+        int t = indice >>> BITS_TROZO;
+        return indice >= 0 && t < actuales.length ? actuales[t].valores.get(indice & (TROZO - 1)) : 0;
+    }
+
+    // ¿Hay algo marcado? Solo lee los resúmenes (no limpia nada).
+    boolean hayPendientes() {
+        for (Trozo trozo : trozos) {
+            if (trozo.resumen.get() != 0) return true;
+        }
+        return false;
+    }
+
+    // Entrega cada índice marcado (una vez) y borra su marca. Para un solo lector a la vez.
+    void recoger(IntConsumer cambiado) {
+        Trozo[] actuales = trozos;
+        for (int t = 0; t < actuales.length; t++) {
+            Trozo trozo = actuales[t];
+            if (trozo.resumen.get() == 0) continue;
+            long palabras = trozo.resumen.getAndSet(0);
+            while (palabras != 0) {
+                int palabra = Long.numberOfTrailingZeros(palabras);
+                palabras &= palabras - 1;
+                long bits = trozo.marcas.getAndSet(palabra, 0);
+                while (bits != 0) {
+                    int casilla = (palabra << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    cambiado.accept((t << BITS_TROZO) | casilla);
+                }
+            }
+        }
+    }
+}
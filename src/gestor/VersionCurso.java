@@ -0,0 +1,51 @@
+package gestor;
+
+import java.util.List;
+
+// Foto de un curso en un instante: cupos, lista de inscritos y fila de espera, todos del mismo momento.
+// El gestor publica una nueva cada vez que suelta el candado del curso después de cambiarlo
+// (ver GestorUniversidad.publicarVersion), así nunca se ve una promoción a medias (un alumno que ya
+// salió de la fila pero todavía no aparece inscrito).
+//
+// Es inmutable y no guarda copias: apunta a las versiones de ConjuntoEnteros y de
+// ListaEsperaVersionada, que tampoco cambian. Los reportes la leen sin candado, sin frenar a
+// nadie que esté inscribiendo, y el costo de copiar lo paga solo el reporte que la recorre.
+public class VersionCurso {
+
+    private final long numero;
+    private final int cupoMaximo;
+    private final int cuposDisponibles;
+    private final Object inscritos;                  // Versión de ConjuntoEnteros
+    private final ListaEsperaVersionada.Nodo espera; // Raíz del treap inmutable (null = fila vacía)
+
+    VersionCurso(long numero, int cupoMaximo, int cuposDisponibles, Object inscritos, ListaEsperaVersionada.Nodo espera) {
+        this.numero = numero;
+        this.cupoMaximo = cupoMaximo;
+        this.cuposDisponibles = cuposDisponibles;
+        this.inscritos = inscritos;
+        this.espera = espera;
+    }
+
+    // Crece en uno con cada versión publicada del curso: dos fotos con el mismo número son iguales.
+    public long getNumero() { return numero; }
+    public int getCupoMaximo() { return cupoMaximo; }
+    public int getCuposDisponibles() { return cuposDisponibles; }
+    public int getCantidadInscritos() { return ConjuntoEnteros.tamano(inscritos); }
+    public int getTamanoListaEspera() { return ListaEsperaVersionada.tam(espera); }
+
+    // Inscritos como índices de alumno, en orden de inscripción (copia nueva en cada llamada).
+    int[] indicesInscritos() {
+        return ConjuntoEnteros.valores(inscritos);
+    }
+
+    // La fila en orden de prioridad, desde el lugar 'inicio' (contando desde 0).
+    public List<Alumno> listaEspera(int inicio, int cantidad) {
+        return ListaEsperaVersionada.pagina(espera, inicio, cantidad);
+    }
+
+    // ¿Cambió algo respecto de esta foto? (compara referencias: las versiones nunca se modifican)
+    boolean igualA(int cupoMaximo, int cuposDisponibles, Object inscritos, ListaEsperaVersionada.Nodo espera) {
+        return this.cupoMaximo == cupoMaximo && this.cuposDisponibles == cuposDisponibles
+                && this.inscritos == inscritos && this.espera == espera;
+    }
+}
@@ -0,0 +1,190 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static gestor.ResultadoInscripcion.EN_ESPERA;
+import static gestor.ResultadoInscripcion.INSCRITO;
+import static gestor.ResultadoInscripcion.LIMITE_CREDITOS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas del total de créditos que lleva cada alumno y del índice de carga (IndiceCarga): tienen que
+// seguir cuadrando con la suma curso por curso al inscribir, dar de baja, ascender desde la fila y
+// retirarse de todo; y la regla del máximo de créditos rechaza (o saca de la fila) a quien se pasaría.
+class CargaCreditosTest {
+
+    private static final int MAXIMO = 10;
+
+    // --- Inscribir y Dar de Baja ---
+
+    @Test
+    void inscribirYDarDeBajaMuevenElTotal() {
+        GestorUniversidad gestor = nuevoGestor();
+        curso(gestor, "C4", 10, 4);
+        curso(gestor, "C3", 10, 3);
+        curso(gestor, "C1", 10, 1);
+        alumno(gestor, "A", 8.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C4"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C3"));
+        revisar(gestor, "A", 7);
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C1"));
+        revisar(gestor, "A", 8);
+
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "C3"));
+        revisar(gestor, "A", 5);
+        assertFalse(gestor.darDeBajaAlumnoDelCurso("A", "C3")); // Ya no estaba: no resta de nuevo
+        revisar(gestor, "A", 5);
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C3"));
+        revisar(gestor, "A", 8);
+    }
+
+    // Justo en el máximo se acepta; un crédito más se rechaza y no cambia nada.
+    @Test
+    void elMaximoDeCreditosRechaza() {
+        GestorUniversidad gestor = nuevoGestor();
+        curso(gestor, "C6", 10, 6);
+        curso(gestor, "C4", 10, 4);
+        curso(gestor, "C1", 10, 1);
+        curso(gestor, "C11", 10, 11);
+        alumno(gestor, "A", 8.0);
+        alumno(gestor, "B", 8.0);
+
+        assertEquals(LIMITE_CREDITOS, gestor.inscribirAlumnoEnCurso("B", "C11")); // Solo ya se pasa
+        revisar(gestor, "B", 0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C6"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C4"));
+        revisar(gestor, "A", MAXIMO);
+        assertEquals(LIMITE_CREDITOS, gestor.inscribirAlumnoEnCurso("A", "C1"));
+        revisar(gestor, "A", MAXIMO);
+        assertEquals(List.of(), gestor.inscritosDe("C1"));
+        assertEquals(10, gestor.consultarCurso("C1").getCuposDisponibles());
+    }
+
+    // --- Fila de Espera ---
+
+    // Al liberarse un asiento el primero de la fila asciende y suma los créditos; el que deja el
+    // asiento los resta. Estar en la fila no cuenta créditos.
+    @Test
+    void ascenderDesdeLaFilaSumaCreditos() {
+        GestorUniversidad gestor = nuevoGestor();
+        curso(gestor, "C3", 1, 3);
+        alumno(gestor, "A", 7.0);
+        alumno(gestor, "B", 9.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C3"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "C3"));
+        revisar(gestor, "B", 0);
+
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "C3"));
+        revisar(gestor, "A", 0);
+        revisar(gestor, "B", 3);
+        assertEquals(List.of("B"), gestor.inscritosDe("C3"));
+    }
+
+    // Quien mientras esperaba llegó a un total con el que este curso lo pasaría del máximo sale de la
+    // fila sin asiento (con su aviso) y el lugar es para el siguiente; sus créditos no cambian.
+    @Test
+    void quienSePasariaSaleDeLaFilaSinAsiento() {
+        GestorUniversidad gestor = nuevoGestor();
+        List<TipoEvento> avisos = new ArrayList<>();
+        gestor.setSumideroEventos((tipo, alumno, curso) -> avisos.add(tipo));
+        curso(gestor, "C4", 1, 4);
+        curso(gestor, "C7", 10, 7);
+        alumno(gestor, "A", 6.0);
+        alumno(gestor, "B", 9.5); // Primero en la fila
+        alumno(gestor, "D", 7.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C4"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "C4"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("D", "C4"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("B", "C7")); // 7 + 4 > 10
+
+        avisos.clear();
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "C4"));
+
+        assertEquals(List.of(TipoEvento.BAJA, TipoEvento.RETIRADO_DE_ESPERA_POR_CREDITOS,
+                TipoEvento.PROMOVIDO_DESDE_ESPERA), avisos);
+        assertEquals(List.of("D"), gestor.inscritosDe("C4"));
+        assertEquals(0, gestor.paginaListaEspera("C4", 0, 10).size());
+        revisar(gestor, "A", 0);
+        revisar(gestor, "B", 7);
+        revisar(gestor, "D", 4);
+    }
+
+    // --- Retiro de Todo ---
+
+    // Se queda en 0 créditos, fuera de todas las filas, y cada asiento que suelta lo toma el siguiente
+    // de su fila (que suma esos créditos).
+    @Test
+    void retirarseDeTodoDejaCeroYAsciendeALosDemas() {
+        GestorUniversidad gestor = nuevoGestor();
+        curso(gestor, "C2", 1, 2);
+        curso(gestor, "C3", 1, 3);
+        curso(gestor, "C5", 1, 5);
+        alumno(gestor, "A", 6.0);
+        alumno(gestor, "B", 8.0);
+        alumno(gestor, "D", 9.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C2"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "C3"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("D", "C5"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("A", "C5"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "C2"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "C3"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("D", "C3"));
+        revisar(gestor, "A", 5);
+
+        assertEquals(2, gestor.retirarAlumnoDeTodosLosCursos("A"));
+
+        revisar(gestor, "A", 0);
+        revisar(gestor, "B", 2);     // Único en la fila de C2
+        revisar(gestor, "D", 5 + 3); // Por promedio va antes que B en la fila de C3
+        assertEquals(List.of("D"), gestor.inscritosDe("C5"));
+        assertEquals(0, gestor.paginaListaEspera("C5", 0, 10).size());
+        assertEquals(List.of("B"), ids(gestor.paginaListaEspera("C3", 0, 10)));
+        assertEquals(0, gestor.retirarAlumnoDeTodosLosCursos("A"));
+        revisar(gestor, "A", 0);
+    }
+
+    // --- Ayudas ---
+
+    private static GestorUniversidad nuevoGestor() {
+        return new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false).maximoCreditos(MAXIMO));
+    }
+
+    private static void curso(GestorUniversidad gestor, String id, int cupo, int creditos) {
+        gestor.registrarCurso(new Curso(id, "Curso " + id, "Docente", cupo, creditos, Set.of("x")));
+    }
+
+    private static void alumno(GestorUniversidad gestor, String id, double promedio) {
+        gestor.registrarAlumno(new Alumno(id, "Alumno " + id, 3, promedio, Set.of()));
+    }
+
+    // El total del alumno, la suma de sus cursos y su lugar en el índice de carga dicen lo mismo
+    private static void revisar(GestorUniversidad gestor, String idAlumno, int creditos) {
+        Alumno alumno = gestor.consultarAlumno(idAlumno);
+        int suma = 0;
+        for (String idCurso : alumno.getCursosInscritos()) {
+            suma += gestor.consultarCurso(idCurso).getCreditos();
+        }
+        assertEquals(creditos, alumno.getCreditosInscritos(), "total de " + idAlumno);
+        assertEquals(creditos, suma, "suma de los cursos de " + idAlumno);
+        assertTrue(ids(gestor.obtenerAlumnosPorCarga(creditos, creditos)).contains(idAlumno),
+                idAlumno + " en el índice con " + creditos + " créditos");
+        assertEquals(1, ids(gestor.obtenerAlumnosPorCarga(0, MAXIMO)).stream().filter(idAlumno::equals).count(),
+                idAlumno + " aparece una sola vez en el índice");
+    }
+
+    private static List<String> ids(List<Alumno> alumnos) {
+        List<String> ids = new ArrayList<>();
+        for (Alumno alumno : alumnos) ids.add(alumno.getIdAlumno());
+        return ids;
+    }
+}
@@ -0,0 +1,158 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas del diario (Diario): group commit con varios hilos, registros más grandes que el búfer
+// y recuperación cuando el final del archivo quedó a medio escribir.
+class DiarioTest {
+
+    @TempDir
+    Path directorio;
+
+    // --- Group Commit ---
+
+    // Muchos hilos anotan y esperan su fsync al mismo tiempo: nada se pierde ni se duplica,
+    // y los registros de cada hilo quedan en el orden en que ese hilo los anotó.
+    @Test
+    void variosHilosCompartenElFsyncSinPerderRegistros() throws Exception {
+        Path archivo = directorio.resolve("diario-1.log");
+        int hilos = 8;
+        int porHilo = 500;
+        try (Diario diario = new Diario(archivo, PoliticaSincronizacion.CADA_COMMIT, 5)) {
+            List<Thread> trabajadores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                trabajadores.add(new Thread(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        diario.esperar(diario.anotar(registro(hilo, i)));
+                    }
+                }));
+            }
+            for (Thread t : trabajadores) t.start();
+            for (Thread t : trabajadores) t.join();
+        }
+
+        int[] siguiente = new int[hilos];
+        long leidos = Diario.leer(archivo, entrada -> {
+            ByteBuffer contenido = ByteBuffer.wrap(leerTodo(entrada));
+            int hilo = contenido.getInt(0);
+            int numero = contenido.getInt(4);
+            assertEquals(siguiente[hilo], numero, "orden del hilo " + hilo);
+            siguiente[hilo]++;
+        }).registros;
+        assertEquals(hilos * porHilo, leidos);
+        for (int h = 0; h < hilos; h++) assertEquals(porHilo, siguiente[h]);
+    }
+
+    // Un registro más grande que el búfer entero llega mientras el escritor vacía otra tanda:
+    // la tanda en vuelo no se pierde y el registro grande se relee completo.
+    @Test
+    void registroMasGrandeQueElBuferNoPisaLaTandaEnVuelo() throws Exception {
+        Path archivo = directorio.resolve("diario-1.log");
+        byte[] grande = new byte[3 << 20];
+        Arrays.fill(grande, (byte) 7);
+        int pequenos = 20_000;
+        try (Diario diario = new Diario(archivo, PoliticaSincronizacion.NUNCA, 1)) {
+            Thread chicos = new Thread(() -> {
+                for (int i = 0; i < pequenos; i++) diario.anotar(registro(0, i));
+            });
+            chicos.start();
+            diario.anotar(grande);
+            chicos.join();
+        }
+
+        List<Integer> numeros = new ArrayList<>();
+        int[] grandes = {0};
+        long leidos = Diario.leer(archivo, entrada -> {
+            byte[] contenido = leerTodo(entrada);
+            if (contenido.length == grande.length) {
+                assertArrayEquals(grande, contenido);
+                grandes[0]++;
+            } else {
+                numeros.add(ByteBuffer.wrap(contenido).getInt(4));
+            }
+        }).registros;
+        assertEquals(pequenos + 1, leidos);
+        assertEquals(1, grandes[0]);
+        for (int i = 0; i < pequenos; i++) assertEquals(i, numeros.get(i));
+    }
+
+    // --- Recuperación ---
+
+    // Caída a mitad de un registro: se releen los sanos, leer() avisa el corte sin tocar el archivo,
+    // y después de recortar la cola se puede seguir anotando.
+    @Test
+    void colaIncompletaSeDescartaYElArchivoSeRecorta() throws Exception {
+        Path archivo = directorio.resolve("diario-1.log");
+        escribir(archivo, 3);
+        long sano = Files.size(archivo);
+        Files.write(archivo, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND); // Encabezado sin contenido
+
+        Diario.Lectura lectura = Diario.leer(archivo, entrada -> { });
+        assertEquals(3, lectura.registros);
+        assertTrue(lectura.cortada());
+        assertEquals(sano, lectura.finSano);
+        assertEquals(sano + 7, Files.size(archivo));
+
+        Diario.recortar(archivo, lectura);
+        assertEquals(sano, Files.size(archivo));
+        escribir(archivo, 1);
+        lectura = Diario.leer(archivo, entrada -> { });
+        assertEquals(4, lectura.registros);
+        assertFalse(lectura.cortada());
+    }
+
+    // El último registro está completo pero dañado: el crc lo delata y se descarta desde ahí.
+    @Test
+    void registroConCrcIncorrectoCortaLaLectura() throws Exception {
+        Path archivo = directorio.resolve("diario-1.log");
+        escribir(archivo, 3);
+        byte[] bytes = Files.readAllBytes(archivo);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(archivo, bytes);
+
+        List<Integer> numeros = new ArrayList<>();
+        Diario.Lectura lectura = Diario.leer(archivo, entrada -> numeros.add(ByteBuffer.wrap(leerTodo(entrada)).getInt(4)));
+        assertEquals(2, lectura.registros);
+        assertEquals(List.of(0, 1), numeros);
+        assertTrue(lectura.cortada());
+        assertEquals(bytes.length - (8 + 8), lectura.finSano); // Sin el registro dañado (8 de encabezado + 8 de contenido)
+    }
+
+    // --- Herramientas ---
+
+    private static void escribir(Path archivo, int cantidad) throws IOException {
+        try (Diario diario = new Diario(archivo, PoliticaSincronizacion.CADA_COMMIT, 5)) {
+            for (int i = 0; i < cantidad; i++) diario.esperar(diario.anotar(registro(0, i)));
+        }
+    }
+
+    // Contenido de 8 bytes: [hilo][número]
+    private static byte[] registro(int hilo, int numero) {
+        return ByteBuffer.allocate(8).putInt(hilo).putInt(numero).array();
+    }
+
+    private static byte[] leerTodo(DataInputStream entrada) {
+        try {
+            return entrada.readAllBytes();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static gestor.ResultadoInscripcion.CHOQUE_HORARIO;
+import static gestor.ResultadoInscripcion.EN_ESPERA;
+import static gestor.ResultadoInscripcion.INSCRITO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas de Horario (el mapa de bits de la semana) y de la regla de choque de horario en el gestor:
+// cuándo dos franjas se pisan, que un alumno que espera y ya tiene esa hora ocupada no asciende, y que
+// dar de baja una materia libera sus horas.
+class HorarioTest {
+
+    // --- Texto ---
+
+    @Test
+    void leeYEscribeElMismoTexto() {
+        Horario horario = Horario.desdeTexto("LUN MIE 08:00-10:00; VIE 12:00-13:30");
+        assertEquals("LUN 08:00-10:00; MIE 08:00-10:00; VIE 12:00-13:30", horario.toString());
+        assertEquals(horario, Horario.desdeTexto(horario.toString()));
+        assertEquals(horario, Horario.desdeTexto("vie 12:00-13:30;miércoles 8:00-10:00 ; Lunes 08-10"));
+    }
+
+    // Lo que no cae justo en un bloque de 15 minutos se redondea hacia afuera
+    @Test
+    void redondeaHaciaAfuera() {
+        assertEquals("MAR 08:00-10:00", Horario.desdeTexto("MAR 08:10-09:50").toString());
+        assertEquals("DOM 23:45-24:00", Horario.desdeTexto("DOM 23:50-24:00").toString()); // El último bit de la semana
+    }
+
+    @Test
+    void vacioYErrores() {
+        assertTrue(Horario.desdeTexto("").estaVacio());
+        assertTrue(Horario.desdeTexto(null).estaVacio());
+        assertTrue(Horario.desdeTexto(" ; ").estaVacio());
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("LUN"));
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("XYZ 08:00-10:00"));
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("LUN 08:00"));
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("LUN 10:00-08:00"));
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("LUN 08:60-09:00"));
+        assertThrows(IllegalArgumentException.class, () -> Horario.desdeTexto("LUN 08:00-25:00"));
+    }
+
+    // --- Choques ---
+
+    @Test
+    void chocanSoloSiSePisan() {
+        Horario manana = Horario.desdeTexto("LUN 08:00-10:00");
+        assertTrue(manana.chocaCon(Horario.desdeTexto("LUN 09:45-11:00")));
+        assertTrue(manana.chocaCon(Horario.desdeTexto("MAR 08:00-09:00; LUN 07:00-08:15")));
+        assertTrue(manana.chocaCon(manana));
+        assertFalse(manana.chocaCon(Horario.desdeTexto("LUN 10:00-12:00"))); // Una termina cuando empieza la otra
+        assertFalse(manana.chocaCon(Horario.desdeTexto("LUN 06:00-08:00")));
+        assertFalse(manana.chocaCon(Horario.desdeTexto("MAR 08:00-10:00")));
+        assertFalse(manana.chocaCon(Horario.VACIO));
+        assertFalse(Horario.VACIO.chocaCon(manana));
+        // Bloques en palabras distintas del mapa (el domingo está al final)
+        assertTrue(Horario.desdeTexto("DOM 23:00-24:00").chocaCon(Horario.desdeTexto("SAB 20:00-24:00; DOM 23:45-24:00")));
+        assertFalse(Horario.desdeTexto("DOM 00:00-01:00").chocaCon(Horario.desdeTexto("SAB 23:00-24:00")));
+    }
+
+    // --- En el Gestor ---
+
+    @Test
+    void inscribirRechazaElChoqueYLaBajaLiberaLasHoras() {
+        GestorUniversidad gestor = nuevoGestor();
+        curso(gestor, "MAT", 10, "LUN MIE 08:00-10:00");
+        curso(gestor, "FIS", 10, "MIE 09:00-11:00");
+        curso(gestor, "QUI", 10, "MIE 10:00-12:00");
+        curso(gestor, "ART", 10, "");
+        alumno(gestor, "A", 8.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "MAT"));
+        assertEquals(CHOQUE_HORARIO, gestor.inscribirAlumnoEnCurso("A", "FIS"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "QUI"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "ART")); // Sin horario no choca con nada
+        assertEquals(List.of(), gestor.inscritosDe("FIS"));
+
+        // Sin MAT sigue chocando por QUI; sin las dos ya entra
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "MAT"));
+        assertEquals(CHOQUE_HORARIO, gestor.inscribirAlumnoEnCurso("A", "FIS"));
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "QUI"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "FIS"));
+        assertEquals(CHOQUE_HORARIO, gestor.inscribirAlumnoEnCurso("A", "MAT")); // Ahora el choque es al revés
+    }
+
+    // El primero de la fila se inscribió mientras esperaba en otro curso a la misma hora: al liberarse
+    // el asiento sale de la fila sin él (con su aviso) y asciende el siguiente.
+    @Test
+    void quienChocaSeSaltaAlAscender() {
+        GestorUniversidad gestor = nuevoGestor();
+        List<TipoEvento> avisos = new ArrayList<>();
+        gestor.setSumideroEventos((tipo, alumno, curso) -> avisos.add(tipo));
+        curso(gestor, "MAT", 1, "LUN 08:00-10:00");
+        curso(gestor, "FIS", 5, "LUN 09:00-10:00");
+        alumno(gestor, "A", 6.0);
+        alumno(gestor, "B", 9.5); // Primero en la fila
+        alumno(gestor, "D", 7.0);
+
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("A", "MAT"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "MAT"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("D", "MAT"));
+        assertEquals(INSCRITO, gestor.inscribirAlumnoEnCurso("B", "FIS")); // Esperar no reserva la hora
+
+        avisos.clear();
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("A", "MAT"));
+
+        assertEquals(List.of(TipoEvento.BAJA, TipoEvento.RETIRADO_DE_ESPERA_POR_HORARIO,
+                TipoEvento.PROMOVIDO_DESDE_ESPERA), avisos);
+        assertEquals(List.of("D"), gestor.inscritosDe("MAT"));
+        assertEquals(0, gestor.paginaListaEspera("MAT", 0, 10).size());
+        assertEquals(List.of("FIS"), gestor.consultarAlumno("B").getCursosInscritos());
+
+        // B suelta FIS: ya puede volver a pedir MAT (y queda esperando, porque D tiene el asiento)
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("B", "FIS"));
+        assertEquals(EN_ESPERA, gestor.inscribirAlumnoEnCurso("B", "MAT"));
+        assertTrue(gestor.darDeBajaAlumnoDelCurso("D", "MAT"));
+        assertEquals(List.of("B"), gestor.inscritosDe("MAT"));
+    }
+
+    // --- Ayudas ---
+
+    private static GestorUniversidad nuevoGestor() {
+        return new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false));
+    }
+
+    private static void curso(GestorUniversidad gestor, String id, int cupo, String horario) {
+        gestor.registrarCurso(new Curso(id, "Curso " + id, "Docente", cupo, 3, Set.of("x"), Horario.desdeTexto(horario)));
+    }
+
+    private static void alumno(GestorUniversidad gestor, String id, double promedio) {
+        gestor.registrarAlumno(new Alumno(id, "Alumno " + id, 3, promedio, Set.of()));
+    }
+}
@@ -0,0 +1,228 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas de la importación desde CSV (ImportadorCsv sobre LectorCsv): campos con comillas, filas con
+// la cantidad equivocada de campos, números que no son números (NaN, infinito) y que cada error se
+// informe con el número de línea del archivo, contando encabezado, líneas vacías y saltos \r\n.
+class ImportadorCsvTest {
+
+    @TempDir
+    Path carpeta;
+
+    // --- Comillas ---
+
+    @Test
+    void camposEntreComillas() throws IOException {
+        GestorUniversidad gestor = nuevoGestor();
+        ResultadoImportacion resultado = new ImportadorCsv(gestor).importarAlumnos(archivo(
+                "idAlumno,nombre,semestre,promedio,intereses",
+                "A1,\"Pérez, Ana\",3,8.5,IA;redes",
+                "A2, \"Dice \"\"hola\"\"\" ,2,7.0,",
+                "  A3  ,  Luis  ,1,6.0"));
+
+        assertEquals(3, resultado.getFilas());
+        assertEquals(3, resultado.getAgregados());
+        assertEquals(0, resultado.getErrores(), resultado.getMensajes().toString());
+        assertEquals("Pérez, Ana", gestor.consultarAlumno("A1").getNombre());
+        assertEquals(Set.of("IA", "redes"), gestor.consultarAlumno("A1").getIntereses());
+        assertEquals("Dice \"hola\"", gestor.consultarAlumno("A2").getNombre());
+        assertEquals(Set.of(), gestor.consultarAlumno("A2").getIntereses());
+        assertEquals("Luis", gestor.consultarAlumno("A3").getNombre()); // Sin comillas se recortan los espacios
+    }
+
+    @Test
+    void comillasMalCerradas() throws IOException {
+        ResultadoImportacion resultado = new ImportadorCsv(nuevoGestor()).importarAlumnos(archivo(
+                "idAlumno,nombre,semestre,promedio",
+                "A1,\"Sin cerrar,3,8.5",
+                "A2,\"Ana\"x,3,8.5",
+                "A3,Bien,3,8.5"));
+
+        assertEquals(3, resultado.getFilas());
+        assertEquals(1, resultado.getAgregados());
+        assertEquals(List.of("línea 2: comillas sin cerrar", "línea 3: texto después de cerrar comillas"),
+                resultado.getMensajes());
+    }
+
+    // --- Cantidad de Campos ---
+
+    @Test
+    void cantidadDeCamposEquivocada() throws IOException {
+        GestorUniversidad gestor = nuevoGestor();
+        ResultadoImportacion resultado = new ImportadorCsv(gestor).importarCursos(archivo(
+                "idCurso,nombre,docente,cupoMaximo,creditos,areas,horario",
+                "C1,Uno,Docente,10",
+                "C2,Dos,Docente,10,3,x,LUN 08:00-10:00,sobra",
+                "C3,Tres,Docente,10,3",
+                "C4,Cuatro,Docente,10,3,x;y,MAR 10:00-12:00"));
+
+        assertEquals(4, resultado.getFilas());
+        assertEquals(2, resultado.getAgregados());
+        assertEquals(List.of("línea 2: se esperaban 5 a 7 campos y hay 4",
+                "línea 3: se esperaban 5 a 7 campos y hay 8"), resultado.getMensajes());
+        assertEquals(Horario.desdeTexto("MAR 10:00-12:00"), gestor.consultarCurso("C4").getHorario());
+        assertNull(gestor.consultarCurso("C2"));
+    }
+
+    @Test
+    void inscripcionesConCamposDeMasODeMenos() throws IOException {
+        GestorUniversidad gestor = nuevoGestor();
+        gestor.registrarAlumno(new Alumno("A1", "Ana", 2, 8.0, Set.of()));
+        gestor.registrarCurso(new Curso("C1", "Uno", "Docente", 5, 3, Set.of("x")));
+        ResultadoImportacion resultado = new ImportadorCsv(gestor).importarInscripciones(archivo(
+                "idAlumno,idCurso",
+                "A1",
+                "A1,C1,extra",
+                "A1,C1",
+                "A1,NINGUNO"));
+
+        assertEquals(4, resultado.getFilas());
+        assertEquals(1, resultado.getAgregados());
+        assertEquals(1, resultado.getRechazados()); // Bien escrita, pero el curso no existe
+        assertEquals(List.of("línea 2: se esperaban 2 campos y hay 1", "línea 3: se esperaban 2 campos y hay 3"),
+                resultado.getMensajes());
+        assertEquals(List.of("A1"), gestor.inscritosDe("C1"));
+    }
+
+    // --- Números ---
+
+    @Test
+    void numerosQueNoSonNumeros() throws IOException {
+        GestorUniversidad gestor = nuevoGestor();
+        ResultadoImportacion resultado = new ImportadorCsv(gestor).importarAlumnos(archivo(
+                "idAlumno,nombre,semestre,promedio",
+                "A1,Ana,3,NaN",
+                "A2,Beto,3,Infinity",
+                "A3,Caro,3,-Infinity",
+                "A4,Dani,3,1e400",
+                "A5,Eli,tres,8.0",
+                "A6,Fede,3.5,8.0",
+                "A7,Gabi,3,8,5",
+                "A8,Hugo,3,8.25"));
+
+        assertEquals(8, resultado.getFilas());
+        assertEquals(2, resultado.getAgregados()); // A7 (con "5" como intereses) y A8
+        assertEquals(List.of(
+                "línea 2: promedio no es un número: 'NaN'",
+                "línea 3: promedio no es un número: 'Infinity'",
+                "línea 4: promedio no es un número: '-Infinity'",
+                "línea 5: promedio no es un número: '1e400'",
+                "línea 6: semestre no es un número entero: 'tres'",
+                "línea 7: semestre no es un número entero: '3.5'"), resultado.getMensajes());
+        assertEquals(8.25, gestor.consultarAlumno("A8").getPromedio());
+        assertNull(gestor.consultarAlumno("A1"));
+    }
+
+    @Test
+    void cupoOCreditosNegativosYHorarioInvalido() throws IOException {
+        ResultadoImportacion resultado = new ImportadorCsv(nuevoGestor()).importarCursos(archivo(
+                "idCurso,nombre,docente,cupoMaximo,creditos,areas,horario",
+                "C1,Uno,Docente,-1,3,x",
+                "C2,Dos,Docente,10,-3,x",
+                "C3,Tres,Docente,10,3,x,LUN 10:00-08:00",
+                ",Cuatro,Docente,10,3,x"));
+
+        assertEquals(0, resultado.getAgregados());
+        assertEquals(4, resultado.getErrores());
+        List<String> mensajes = resultado.getMensajes();
+        assertEquals("línea 2: cupoMaximo y creditos no pueden ser negativos", mensajes.get(0));
+        assertEquals("línea 3: cupoMaximo y creditos no pueden ser negativos", mensajes.get(1));
+        assertTrue(mensajes.get(2).startsWith("línea 4: horario: "), mensajes.get(2));
+        assertEquals("línea 5: el ID del curso está vacío", mensajes.get(3));
+    }
+
+    // --- Números de Línea ---
+
+    // Las líneas vacías no cuentan como filas pero sí como líneas; \r\n se trata igual que \n.
+    @Test
+    void elNumeroDeLineaCuentaVaciasYRetornos() throws IOException {
+        Path ruta = carpeta.resolve("alumnos.csv");
+        Files.writeString(ruta, "idAlumno,nombre,semestre,promedio\r\n"
+                + "\r\n"
+                + "A1,Ana,3,8.0\r\n"
+                + "\n"
+                + "\n"
+                + "A2,Beto,x,8.0\r\n"
+                + "A3,Caro,3,8.0\r\n"
+                + "A4,\"Dani,3,8.0", StandardCharsets.UTF_8); // Última línea sin salto final
+
+        GestorUniversidad gestor = nuevoGestor();
+        ResultadoImportacion resultado = new ImportadorCsv(gestor).importarAlumnos(ruta);
+
+        assertEquals(4, resultado.getFilas());
+        assertEquals(2, resultado.getAgregados());
+        assertEquals(List.of("línea 6: semestre no es un número entero: 'x'", "línea 8: comillas sin cerrar"),
+                resultado.getMensajes());
+        assertEquals(8.0, gestor.consultarAlumno("A3").getPromedio()); // Sin el \r pegado al último campo
+    }
+
+    // Filas que cruzan el borde del buffer de 64 KB y una línea de más de 1 MB (se descarta como error
+    // y la lectura sigue en la línea siguiente con la cuenta correcta).
+    @Test
+    void lineasLargasNoCorrenLaCuenta() throws IOException {
+        StringBuilder texto = new StringBuilder("encabezado\n");
+        List<String> nombres = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String nombre = "nombre-" + i + "-" + "x".repeat(i % 50);
+            nombres.add(nombre);
+            texto.append(i).append(",\"").append(nombre).append("\"\n");
+        }
+        texto.append("grande,").append("y".repeat(70_000)).append('\n'); // Cabe creciendo el buffer
+        texto.append("enorme,").append("z".repeat(2_000_000)).append('\n'); // No cabe: error
+        texto.append("ultima,fila\n");
+
+        try (LectorCsv lector = new LectorCsv(Channels.newChannel(
+                new ByteArrayInputStream(texto.toString().getBytes(StandardCharsets.UTF_8))))) {
+            assertTrue(lector.siguiente());
+            for (int i = 0; i < 3000; i++) {
+                assertTrue(lector.siguiente());
+                assertNull(lector.error());
+                assertEquals(i + 2, lector.linea());
+                assertEquals(String.valueOf(i), lector.campo(0));
+                assertEquals(nombres.get(i), lector.campo(1));
+            }
+            assertTrue(lector.siguiente());
+            assertNull(lector.error());
+            assertEquals(70_000, lector.campo(1).length());
+
+            assertTrue(lector.siguiente());
+            assertEquals(3003, lector.linea());
+            assertEquals("la línea supera 1024 KB", lector.error());
+
+            assertTrue(lector.siguiente());
+            assertNull(lector.error());
+            assertEquals(3004, lector.linea());
+            assertEquals("fila", lector.campo(1));
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    // --- Ayudas ---
+
+    private static GestorUniversidad nuevoGestor() {
+        return new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false));
+    }
+
+    private Path archivo(String... lineas) throws IOException {
+        Path ruta = Files.createTempFile(carpeta, "datos", ".csv");
+        Files.writeString(ruta, String.join("\n", lineas) + "\n", StandardCharsets.UTF_8);
+        return ruta;
+    }
+}
@@ -0,0 +1,207 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas del índice de nombres (IndiceNombres): búsqueda por comienzo de palabra y por parecido, sin
+// tildes ni mayúsculas, con letras cambiadas o dos vecinas al revés; y, con nombres al azar, que ambas
+// búsquedas devuelvan lo mismo que revisar nombre por nombre (en el orden prometido).
+class IndiceNombresTest {
+
+    private static final String[] NOMBRES = {
+            "María Díaz", "Marcos Ruiz", "Ana María Pérez", "José Núñez", "MARTA DIAS", "Mario Ortega-Díaz",
+    };
+
+    // --- Prefijos ---
+
+    @Test
+    void buscaDesdeElComienzoDeCualquierPalabra() {
+        IndiceNombres indice = nuevoIndice(NOMBRES);
+        assertEquals(Set.of(0, 1, 2, 4, 5), conjunto(indice.buscar("mar", 10)));
+        assertEquals(Set.of(0, 5), conjunto(indice.buscar("diaz", 10))); // "Ortega-Díaz" también separa
+        assertEquals(Set.of(2), conjunto(indice.buscar("maria p", 10)));  // Puede seguir en la palabra siguiente
+        assertEquals(Set.of(0), conjunto(indice.buscar("maria d", 10)));
+        assertEquals(Set.of(), conjunto(indice.buscar("aria", 10)));      // No busca en medio de una palabra
+        assertEquals(Set.of(), conjunto(indice.buscar("  ", 10)));
+        assertEquals(3, indice.buscar("mar", 3).length);
+    }
+
+    @Test
+    void sinTildesNiMayusculas() {
+        IndiceNombres indice = nuevoIndice(NOMBRES);
+        assertEquals(Set.of(3), conjunto(indice.buscar("NUÑEZ", 10)));
+        assertEquals(Set.of(3), conjunto(indice.buscar("nunez", 10)));
+        assertEquals(Set.of(0, 2), conjunto(indice.buscar("MaRíA", 10)));
+        assertEquals(Set.of(4), conjunto(indice.buscar("marta días", 10)));
+        assertEquals("jose nunez", IndiceNombres.normalizar("  José   NÚÑEZ! "));
+    }
+
+    // Un nombre que calza en dos palabras sale una sola vez; el orden es el alfabético de la palabra que calzó
+    @Test
+    void ordenAlfabeticoSinRepetir() {
+        IndiceNombres indice = nuevoIndice("Mar Mar", "Mara Zeta", "Luz Mar", "Mab Gil");
+        assertArrayEquals(new int[] {3, 0, 2, 1}, indice.buscar("ma", 10));
+    }
+
+    // --- Parecidos ---
+
+    @Test
+    void letrasCambiadasDeMasODeMenos() {
+        IndiceNombres indice = nuevoIndice(NOMBRES);
+        assertEquals(Set.of(0, 4, 5), conjunto(indice.buscarParecidos("dias", 1, 10)));
+        assertEquals(Set.of(0, 4, 5), conjunto(indice.buscarParecidos("dia", 0, 10)));
+        assertEquals(Set.of(3), conjunto(indice.buscarParecidos("nunnez", 1, 10)));    // Una de más
+        assertEquals(Set.of(3), conjunto(indice.buscarParecidos("nuez", 1, 10)));      // Una de menos
+        assertEquals(Set.of(1), conjunto(indice.buscarParecidos("ruis", 1, 10)));      // Una cambiada
+        assertEquals(Set.of(), conjunto(indice.buscarParecidos("roix", 1, 10)));       // Dos cambiadas
+        assertEquals(Set.of(1), conjunto(indice.buscarParecidos("roix", 2, 10)));
+    }
+
+    // Dos letras vecinas al revés cuentan como UN error, no dos
+    @Test
+    void transposicionEsUnSoloError() {
+        IndiceNombres indice = nuevoIndice(NOMBRES);
+        assertEquals(Set.of(1), conjunto(indice.buscarParecidos("mracos", 1, 10)));
+        assertEquals(Set.of(3), conjunto(indice.buscarParecidos("jsoe", 1, 10)));
+        assertEquals(Set.of(0, 2), conjunto(indice.buscarParecidos("MRAÍA", 1, 10)));
+    }
+
+    // Primero los exactos, después a 1 y a 2; la distancia se recorta a DISTANCIA_MAXIMA y al largo - 1
+    @Test
+    void primeroLosMasParecidosYDistanciaRecortada() {
+        IndiceNombres indice = nuevoIndice("Ortiz", "Ortez", "Artez", "Zeta");
+        assertArrayEquals(new int[] {0, 1, 2}, indice.buscarParecidos("ortiz", 2, 10));
+        assertArrayEquals(new int[] {0, 1, 2}, indice.buscarParecidos("ortiz", 9, 10));
+        assertArrayEquals(new int[] {3}, indice.buscarParecidos("z", 5, 10)); // Una letra: sin errores
+        assertArrayEquals(new int[] {0}, indice.buscarParecidos("ortiz", 2, 1));
+    }
+
+    // --- Contra Revisar Uno por Uno ---
+
+    // Muchos nombres hechos de pocas sílabas (así hay muchos parecidos) en varios tramos, más una parte
+    // cargada en forma perezosa: cada consulta tiene que dar el mismo conjunto que la fuerza bruta, y
+    // los parecidos en orden de distancia.
+    @Test
+    void coincideConRevisarCadaNombre() {
+        Random azar = new Random(11);
+        String[] silabas = {"ma", "ri", "a", "na", "ro", "sa", "le", "o", "ta", "ni", "ña", "lú"};
+        List<String> nombres = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            StringBuilder nombre = new StringBuilder();
+            int palabras = 1 + azar.nextInt(3);
+            for (int p = 0; p < palabras; p++) {
+                if (p > 0) nombre.append(' ');
+                int largo = 1 + azar.nextInt(3);
+                for (int s = 0; s < largo; s++) nombre.append(silabas[azar.nextInt(silabas.length)]);
+            }
+            nombres.add(azar.nextBoolean() ? nombre.toString().toUpperCase() : nombre.toString());
+        }
+        IndiceNombres indice = new IndiceNombres();
+        indice.cargarPerezoso(200, nombres::get);
+        for (int i = 200; i < nombres.size(); i++) indice.agregar(i, nombres.get(i));
+
+        for (int consulta = 0; consulta < 300; consulta++) {
+            String texto = consulta(azar, nombres.get(azar.nextInt(nombres.size())));
+            int distancia = azar.nextInt(3);
+            String normalizado = IndiceNombres.normalizar(texto);
+
+            Set<Integer> prefijos = new TreeSet<>();
+            for (int i = 0; i < nombres.size(); i++) {
+                if (distanciaAPalabras(normalizado, IndiceNombres.normalizar(nombres.get(i))) == 0) prefijos.add(i);
+            }
+            assertEquals(prefijos, conjunto(indice.buscar(texto, nombres.size())), "buscar '" + texto + "'");
+
+            int tope = Math.max(0, Math.min(distancia, normalizado.length() - 1));
+            Set<Integer> parecidos = new TreeSet<>();
+            for (int i = 0; i < nombres.size(); i++) {
+                if (distanciaAPalabras(normalizado, IndiceNombres.normalizar(nombres.get(i))) <= tope) parecidos.add(i);
+            }
+            int[] encontrados = indice.buscarParecidos(texto, distancia, nombres.size());
+            assertEquals(parecidos, conjunto(encontrados), "parecidos a '" + texto + "' con " + distancia);
+            for (int k = 1; k < encontrados.length; k++) {
+                assertTrue(distanciaAPalabras(normalizado, IndiceNombres.normalizar(nombres.get(encontrados[k - 1])))
+                        <= distanciaAPalabras(normalizado, IndiceNombres.normalizar(nombres.get(encontrados[k]))),
+                        "orden de los parecidos a '" + texto + "'");
+            }
+        }
+    }
+
+    // --- Ayudas ---
+
+    private static IndiceNombres nuevoIndice(String... nombres) {
+        IndiceNombres indice = new IndiceNombres();
+        for (int i = 0; i < nombres.length; i++) indice.agregar(i, nombres[i]);
+        return indice;
+    }
+
+    private static Set<Integer> conjunto(int[] indices) {
+        Set<Integer> conjunto = new TreeSet<>();
+        for (int indice : indices) assertTrue(conjunto.add(indice), "repetido: " + indice);
+        return conjunto;
+    }
+
+    // Un trozo del nombre desde una palabra, a veces con un error de tipeo (o dos)
+    private static String consulta(Random azar, String nombre) {
+        String limpio = IndiceNombres.normalizar(nombre);
+        List<Integer> inicios = new ArrayList<>();
+        for (int i = 0; i < limpio.length(); i++) {
+            if (i == 0 || limpio.charAt(i - 1) == ' ') inicios.add(i);
+        }
+        int desde = inicios.get(azar.nextInt(inicios.size()));
+        StringBuilder texto = new StringBuilder(limpio.substring(desde, Math.min(limpio.length(), desde + 1 + azar.nextInt(6))));
+        int errores = azar.nextInt(3);
+        for (int e = 0; e < errores && texto.length() > 1; e++) {
+            int i = azar.nextInt(texto.length() - 1);
+            switch (azar.nextInt(4)) {
+                case 0 -> texto.setCharAt(i, (char) ('a' + azar.nextInt(26)));
+                case 1 -> texto.deleteCharAt(i);
+                case 2 -> texto.insert(i, (char) ('a' + azar.nextInt(26)));
+                default -> {
+                    char c = texto.charAt(i);
+                    texto.setCharAt(i, texto.charAt(i + 1));
+                    texto.setCharAt(i + 1, c);
+                }
+            }
+        }
+        return texto.toString();
+    }
+
+    // La menor distancia (con transposición de vecinas) entre la consulta y algún comienzo de lo que
+    // sigue desde una palabra del nombre
+    private static int distanciaAPalabras(String consulta, String nombre) {
+        if (consulta.isEmpty()) return Integer.MAX_VALUE;
+        int mejor = Integer.MAX_VALUE;
+        for (int i = 0; i < nombre.length(); i++) {
+            if (i == 0 || nombre.charAt(i - 1) == ' ') mejor = Math.min(mejor, distanciaAPrefijo(consulta, nombre.substring(i)));
+        }
+        return mejor;
+    }
+
+    private static int distanciaAPrefijo(String consulta, String clave) {
+        int m = consulta.length();
+        int[][] d = new int[clave.length() + 1][m + 1];
+        for (int j = 0; j <= m; j++) d[0][j] = j;
+        int mejor = d[0][m];
+        for (int i = 1; i <= clave.length(); i++) {
+            d[i][0] = i;
+            for (int j = 1; j <= m; j++) {
+                int costo = clave.charAt(i - 1) == consulta.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + costo);
+                if (i > 1 && j > 1 && clave.charAt(i - 1) == consulta.charAt(j - 2) && clave.charAt(i - 2) == consulta.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+            mejor = Math.min(mejor, d[i][m]);
+        }
+        return mejor;
+    }
+}
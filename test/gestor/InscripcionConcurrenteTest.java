@@ -0,0 +1,134 @@
+package gestor;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Muchos hilos inscribiendo, dando de baja y retirando a la vez sobre pocos cursos chicos, mientras
+// otro hilo pide el ranking de demanda y los conteos por carga. Se corre sin fragmentos (candado por
+// curso) y con fragmentos (un hilo dueño por curso). Al final nadie puede sobrar en un curso y los
+// totales que se llevan aparte (cupos, créditos, ranking, índice de carga) tienen que cuadrar.
+class InscripcionConcurrenteTest {
+
+    private static final int CURSOS = 12;
+    private static final int CUPO = 5;
+    private static final int ALUMNOS = 200;
+    private static final int HILOS = 8;
+    private static final int OPERACIONES = 2000;
+    private static final int MAXIMO_CREDITOS = 9;
+
+    @ParameterizedTest(name = "fragmentos = {0}")
+    @ValueSource(ints = {0, 4})
+    void nadieSobraYLosTotalesCuadran(int fragmentos) throws Exception {
+        OpcionesGestor opciones = new OpcionesGestor()
+                .concurrente(true)
+                .fragmentos(fragmentos)
+                .cargarDatosDemo(false)
+                .maximoCreditos(MAXIMO_CREDITOS);
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones)) {
+            for (int c = 0; c < CURSOS; c++) {
+                gestor.registrarCurso(new Curso("C" + c, "Curso " + c, "Docente", CUPO, 1 + c % 3, Set.of("x")));
+            }
+            for (int a = 0; a < ALUMNOS; a++) {
+                gestor.registrarAlumno(new Alumno("A" + a, "Alumno " + a, 1 + a % 9, (a % 100) / 10.0, Set.of("x")));
+            }
+
+            ExecutorService hilos = Executors.newFixedThreadPool(HILOS + 1);
+            CountDownLatch largada = new CountDownLatch(1);
+            AtomicBoolean terminaron = new AtomicBoolean(false);
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                Random azar = new Random(h);
+                tareas.add(hilos.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < OPERACIONES; i++) {
+                        String alumno = "A" + azar.nextInt(ALUMNOS);
+                        String curso = "C" + azar.nextInt(CURSOS);
+                        int tipo = azar.nextInt(20);
+                        if (tipo < 12) gestor.inscribirAlumnoEnCurso(alumno, curso);
+                        else if (tipo < 19) gestor.darDeBajaAlumnoDelCurso(alumno, curso);
+                        else gestor.retirarAlumnoDeTodosLosCursos(alumno);
+                    }
+                    return null;
+                }));
+            }
+            // Mientras tanto: lecturas que ponen al día el ranking y el índice de carga, y ningún curso
+            // publicado con más inscritos que su cupo
+            Future<?> lector = hilos.submit(() -> {
+                largada.await();
+                while (!terminaron.get()) {
+                    gestor.obtenerCursosConMasDemanda(3);
+                    gestor.contarAlumnosPorCarga(0, MAXIMO_CREDITOS);
+                    for (int c = 0; c < CURSOS; c++) {
+                        assertTrue(gestor.obtenerVersionCurso("C" + c).getCantidadInscritos() <= CUPO);
+                    }
+                }
+                return null;
+            });
+            largada.countDown();
+            for (Future<?> tarea : tareas) tarea.get();
+            terminaron.set(true);
+            lector.get();
+            hilos.shutdown();
+
+            revisarTotales(gestor);
+        }
+    }
+
+    // --- Ayudas ---
+
+    private static void revisarTotales(GestorUniversidad gestor) {
+        Map<String, Integer> inscritosPorCurso = new HashMap<>();
+        Map<Integer, Integer> alumnosPorCarga = new HashMap<>();
+        for (int a = 0; a < ALUMNOS; a++) {
+            Alumno alumno = gestor.consultarAlumno("A" + a);
+            int creditos = 0;
+            for (String idCurso : alumno.getCursosInscritos()) {
+                inscritosPorCurso.merge(idCurso, 1, Integer::sum);
+                creditos += gestor.consultarCurso(idCurso).getCreditos();
+            }
+            assertEquals(creditos, alumno.getCreditosInscritos(), "créditos de " + alumno.getIdAlumno());
+            assertTrue(creditos <= MAXIMO_CREDITOS);
+            alumnosPorCarga.merge(creditos, 1, Integer::sum);
+        }
+
+        Map<String, Integer> demandaEsperada = new HashMap<>();
+        for (int c = 0; c < CURSOS; c++) {
+            Curso curso = gestor.consultarCurso("C" + c);
+            int inscritos = inscritosPorCurso.getOrDefault(curso.getIdCurso(), 0);
+            assertTrue(inscritos <= CUPO, "sobran alumnos en " + curso.getIdCurso());
+            assertEquals(CUPO - inscritos, curso.getCuposDisponibles(), "cupos de " + curso.getIdCurso());
+            VersionCurso version = gestor.obtenerVersionCurso(curso.getIdCurso());
+            assertEquals(inscritos, version.getCantidadInscritos());
+            demandaEsperada.put(curso.getIdCurso(), inscritos + version.getTamanoListaEspera());
+        }
+
+        List<RankingDemanda.Entrada> ranking = gestor.obtenerCursosConMasDemanda(CURSOS);
+        assertEquals(CURSOS, ranking.size());
+        for (int i = 0; i < ranking.size(); i++) {
+            RankingDemanda.Entrada entrada = ranking.get(i);
+            assertEquals(demandaEsperada.get(entrada.getCurso().getIdCurso()), entrada.getDemanda());
+            if (i > 0) assertFalse(entrada.getDemanda() > ranking.get(i - 1).getDemanda());
+        }
+
+        for (int carga = 0; carga <= MAXIMO_CREDITOS; carga++) {
+            assertEquals(alumnosPorCarga.getOrDefault(carga, 0), gestor.contarAlumnosPorCarga(carga, carga),
+                    "alumnos con " + carga + " créditos");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static gestor.ResultadoInscripcion.EN_ESPERA;
+import static gestor.ResultadoInscripcion.INSCRITO;
+import static gestor.ResultadoInscripcion.LIMITE_CREDITOS;
+import static gestor.ResultadoInscripcion.NO_ENCONTRADO;
+import static gestor.ResultadoInscripcion.YA_EN_ESPERA;
+import static gestor.ResultadoInscripcion.YA_INSCRITO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Pruebas de inscribirEnLote (sin fragmentos): el lote tiene que dar exactamente lo mismo que mandar
+// los mismos pedidos de a uno con inscribirAlumnoEnCurso, pedido por pedido y en el estado final
+// (asientos, filas en orden, créditos), con repetidos, cursos llenos, topes de créditos y choques.
+class InscripcionEnLoteTest {
+
+    private static final int CURSOS = 6;
+    private static final int ALUMNOS = 40;
+
+    // --- Casos Chicos ---
+
+    // Curso de 2 lugares: los dos primeros entran, el resto espera en orden de prioridad y los
+    // repetidos (dentro del lote o ya inscritos) no cambian nada.
+    @Test
+    void cursoLlenoYRepetidos() {
+        GestorUniversidad gestor = nuevoGestor(0);
+        gestor.registrarCurso(new Curso("C", "Curso", "Docente", 2, 3, Set.of("x")));
+        gestor.registrarAlumno(new Alumno("A", "A", 2, 7.0, Set.of()));
+        gestor.registrarAlumno(new Alumno("B", "B", 2, 6.0, Set.of()));
+        gestor.registrarAlumno(new Alumno("D", "D", 2, 8.0, Set.of()));
+        gestor.registrarAlumno(new Alumno("E", "E", 5, 9.0, Set.of()));
+
+        ResultadoInscripcion[] resultados = gestor.inscribirEnLote(List.of(
+                pedido("A", "C"), pedido("B", "C"), pedido("A", "C"), pedido("D", "C"),
+                pedido("E", "C"), pedido("D", "C"), pedido("B", "C"), pedido("X", "C"), pedido("A", "Z")));
+
+        assertArrayEquals(new ResultadoInscripcion[] {INSCRITO, INSCRITO, YA_INSCRITO, EN_ESPERA,
+                EN_ESPERA, YA_EN_ESPERA, YA_INSCRITO, NO_ENCONTRADO, NO_ENCONTRADO}, resultados);
+        assertEquals(List.of("A", "B"), gestor.inscritosDe("C"));
+        assertEquals(List.of("E", "D"), ids(gestor.paginaListaEspera("C", 0, 10)));
+    }
+
+    // Un alumno que pide sus cursos en otro orden que los demás: con tope de créditos gana el que pidió
+    // primero, igual que de a uno (el lote no puede atender antes su segundo pedido).
+    @Test
+    void elTopeDeCreditosRespetaElOrdenDeCadaAlumno() {
+        GestorUniversidad gestor = nuevoGestor(4);
+        gestor.registrarCurso(new Curso("C1", "Uno", "Docente", 5, 3, Set.of("x")));
+        gestor.registrarCurso(new Curso("C2", "Dos", "Docente", 5, 3, Set.of("x")));
+        gestor.registrarAlumno(new Alumno("A", "A", 2, 7.0, Set.of()));
+        gestor.registrarAlumno(new Alumno("B", "B", 2, 6.0, Set.of()));
+
+        ResultadoInscripcion[] resultados = gestor.inscribirEnLote(List.of(
+                pedido("B", "C1"), pedido("A", "C2"), pedido("A", "C1"), pedido("B", "C2")));
+
+        assertArrayEquals(new ResultadoInscripcion[] {INSCRITO, INSCRITO, LIMITE_CREDITOS, LIMITE_CREDITOS}, resultados);
+        assertEquals(List.of("C2"), gestor.consultarAlumno("A").getCursosInscritos());
+        assertEquals(List.of("C1"), gestor.consultarAlumno("B").getCursosInscritos());
+    }
+
+    // --- Lote Contra Pedidos de a Uno ---
+
+    // Lotes al azar sobre un registro que ya tiene inscritos y filas: mismos resultados y mismo estado.
+    @Test
+    void loteEquivaleAPedirDeAUno() {
+        for (int semilla = 0; semilla < 20; semilla++) {
+            Random azar = new Random(semilla);
+            GestorUniversidad enLote = nuevoGestor(7);
+            GestorUniversidad deAUno = nuevoGestor(7);
+            poblar(enLote);
+            poblar(deAUno);
+            List<SolicitudInscripcion> previos = pedidosAlAzar(azar, 60);
+            for (SolicitudInscripcion p : previos) {
+                enLote.inscribirAlumnoEnCurso(p.getIdAlumno(), p.getIdCurso());
+                deAUno.inscribirAlumnoEnCurso(p.getIdAlumno(), p.getIdCurso());
+            }
+
+            List<SolicitudInscripcion> lote = pedidosAlAzar(azar, 150);
+            lote.add(pedido("NADIE", "C0"));
+            lote.add(pedido("A0", "NINGUNO"));
+            Collections.shuffle(lote, azar);
+
+            ResultadoInscripcion[] resultados = enLote.inscribirEnLote(lote);
+            for (int i = 0; i < lote.size(); i++) {
+                ResultadoInscripcion esperado = deAUno.inscribirAlumnoEnCurso(lote.get(i).getIdAlumno(), lote.get(i).getIdCurso());
+                assertEquals(esperado, resultados[i], "semilla " + semilla + ", pedido " + i + " " + lote.get(i));
+            }
+            assertEquals(estado(deAUno), estado(enLote), "semilla " + semilla);
+        }
+    }
+
+    // --- Ayudas ---
+
+    private static GestorUniversidad nuevoGestor(int maximoCreditos) {
+        return new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false).maximoCreditos(maximoCreditos));
+    }
+
+    // Cursos chicos (para que se llenen), con créditos distintos y dos que se pisan en el horario
+    private static void poblar(GestorUniversidad gestor) {
+        for (int c = 0; c < CURSOS; c++) {
+            Horario horario = c < 2 ? Horario.desdeTexto("LUN 08:00-10:00") : Horario.VACIO;
+            gestor.registrarCurso(new Curso("C" + c, "Curso " + c, "Docente", 3 + c % 2, 1 + c % 3, Set.of("x"), horario));
+        }
+        for (int a = 0; a < ALUMNOS; a++) {
+            gestor.registrarAlumno(new Alumno("A" + a, "Alumno " + a, 1 + a % 5, (a * 7 % 10) / 2.0 + 5, Set.of()));
+        }
+    }
+
+    // Pocos alumnos y cursos a propósito: así hay repetidos, cursos llenos y alumnos con varios pedidos
+    private static List<SolicitudInscripcion> pedidosAlAzar(Random azar, int cantidad) {
+        List<SolicitudInscripcion> pedidos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            pedidos.add(pedido("A" + azar.nextInt(ALUMNOS), "C" + azar.nextInt(CURSOS)));
+        }
+        return pedidos;
+    }
+
+    private static SolicitudInscripcion pedido(String alumno, String curso) {
+        return new SolicitudInscripcion(alumno, curso);
+    }
+
+    // Inscritos y fila (en orden) de cada curso; créditos y cursos (en orden) de cada alumno
+    private static String estado(GestorUniversidad gestor) {
+        StringBuilder texto = new StringBuilder();
+        for (int c = 0; c < CURSOS; c++) {
+            String curso = "C" + c;
+            texto.append(curso).append(' ').append(gestor.consultarCurso(curso).getCuposDisponibles())
+                    .append(' ').append(gestor.inscritosDe(curso))
+                    .append(' ').append(ids(gestor.paginaListaEspera(curso, 0, ALUMNOS))).append('\n');
+        }
+        for (int a = 0; a < ALUMNOS; a++) {
+            Alumno alumno = gestor.consultarAlumno("A" + a);
+            texto.append(alumno.getIdAlumno()).append(' ').append(alumno.getCreditosInscritos())
+                    .append(' ').append(alumno.getCursosInscritos()).append('\n');
+        }
+        return texto.toString();
+    }
+
+    private static List<String> ids(List<Alumno> alumnos) {
+        List<String> ids = new ArrayList<>();
+        for (Alumno alumno : alumnos) ids.add(alumno.getIdAlumno());
+        return ids;
+    }
+}
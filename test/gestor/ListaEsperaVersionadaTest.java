@@ -0,0 +1,270 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas de la fila de espera del gestor (ListaEsperaVersionada): el orden de prioridad con sus
+// desempates, salir de la fila, cambiar de promedio estando en ella, las entradas en lote y las
+// consultas de lugar y de páginas comparadas contra una lista ordenada a mano.
+class ListaEsperaVersionadaTest {
+
+    // --- Orden y Desempates ---
+
+    // Mayor promedio primero; si empatan, mayor semestre; si también empatan, el que llegó antes.
+    @Test
+    void ordenPorPromedioSemestreYLlegada() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno tardio = alumno("A1", 3, 8.0);
+        Alumno temprano = alumno("A2", 3, 8.0);
+        Alumno masSemestre = alumno("A3", 5, 8.0);
+        Alumno mejorPromedio = alumno("A4", 1, 9.5);
+        Alumno ultimo = alumno("A5", 9, 6.0);
+        fila.offer(temprano);
+        fila.offer(ultimo);
+        fila.offer(tardio);
+        fila.offer(mejorPromedio);
+        fila.offer(masSemestre);
+
+        assertEquals(List.of(mejorPromedio, masSemestre, temprano, tardio, ultimo), fila.toList());
+        assertEquals(mejorPromedio, fila.peek());
+        assertEquals(List.of(mejorPromedio, masSemestre, temprano, tardio, ultimo), vaciar(fila));
+        assertNull(fila.poll());
+        assertTrue(fila.isEmpty());
+    }
+
+    // Muchos empatados en todo: salen exactamente en el orden en que llegaron.
+    @Test
+    void empatadosSalenEnOrdenDeLlegada() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        List<Alumno> llegaron = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Alumno a = alumno("E" + i, 4, 7.5);
+            llegaron.add(a);
+            fila.offer(a);
+        }
+        assertEquals(llegaron, vaciar(fila));
+    }
+
+    @Test
+    void entrarDosVecesNoDuplica() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno a = alumno("A1", 2, 8.0);
+        fila.offer(a);
+        fila.offer(a);
+        assertEquals(1, fila.size());
+        assertTrue(fila.contains(a));
+        assertFalse(fila.contains(alumno("A2", 2, 8.0)));
+    }
+
+    // --- Salir de la Fila ---
+
+    @Test
+    void removeSacaSoloAlQueRenuncia() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno a = alumno("A1", 2, 9.0);
+        Alumno b = alumno("A2", 2, 8.0);
+        Alumno c = alumno("A3", 2, 7.0);
+        fila.offer(a);
+        fila.offer(b);
+        fila.offer(c);
+
+        assertTrue(fila.remove(b));
+        assertFalse(fila.remove(b)); // Ya no estaba
+        assertFalse(fila.contains(b));
+        assertEquals(List.of(a, c), fila.toList());
+        assertEquals(0, fila.posicionDe(b));
+    }
+
+    // Si renuncia y vuelve, pierde su turno entre los empatados: vuelve a entrar como recién llegado.
+    @Test
+    void quienVuelveQuedaDetrasDeSusEmpatados() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno a = alumno("A1", 2, 8.0);
+        Alumno b = alumno("A2", 2, 8.0);
+        fila.offer(a);
+        fila.offer(b);
+        fila.remove(a);
+        fila.offer(a);
+        assertEquals(List.of(b, a), fila.toList());
+    }
+
+    // --- Cambios de Promedio ---
+
+    @Test
+    void updateReacomodaConLosDatosNuevos() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno a = alumno("A1", 2, 9.0);
+        Alumno b = alumno("A2", 2, 8.0);
+        Alumno c = alumno("A3", 2, 7.0);
+        fila.offer(a);
+        fila.offer(b);
+        fila.offer(c);
+
+        c.setPromedio(9.5);
+        assertTrue(fila.update(c));
+        assertEquals(List.of(c, a, b), fila.toList());
+
+        a.setPromedio(1.0);
+        assertTrue(fila.update(a));
+        assertEquals(List.of(c, b, a), fila.toList());
+        assertEquals(3, fila.size());
+
+        assertFalse(fila.update(alumno("A9", 2, 5.0))); // No estaba esperando
+    }
+
+    // Al cambiar de promedio conserva su llegada: si queda empatado con alguien que llegó después,
+    // sigue yendo antes que él.
+    @Test
+    void updateConservaLaLlegada() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno antiguo = alumno("A1", 2, 6.0);
+        Alumno nuevo = alumno("A2", 2, 8.0);
+        fila.offer(antiguo);
+        fila.offer(nuevo);
+
+        antiguo.setPromedio(8.0);
+        fila.update(antiguo);
+        assertEquals(List.of(antiguo, nuevo), fila.toList());
+    }
+
+    // Una versión ya publicada no cambia aunque la fila siga moviéndose.
+    @Test
+    void lasVersionesViejasNoSeDesordenan() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Alumno a = alumno("A1", 2, 9.0);
+        Alumno b = alumno("A2", 2, 8.0);
+        fila.offer(a);
+        fila.offer(b);
+        ListaEsperaVersionada.Nodo antes = fila.foto();
+
+        b.setPromedio(10.0);
+        fila.update(b);
+        fila.poll();
+        fila.offer(alumno("A3", 2, 9.9));
+
+        assertEquals(List.of(a, b), ListaEsperaVersionada.pagina(antes, 0, 10));
+        assertEquals(2, ListaEsperaVersionada.tam(antes));
+    }
+
+    // --- Entradas en Lote ---
+
+    // Lote chico (se inserta uno por uno) y lote grande (se reconstruye el árbol): el mismo orden que
+    // si hubieran entrado de a uno, sin duplicar a quien ya estaba ni a los repetidos del lote.
+    @Test
+    void offerTodosEquivaleAEntrarDeAUno() {
+        for (int yaEsperando : new int[] {0, 5, 50}) {
+            ListaEsperaVersionada enLote = new ListaEsperaVersionada();
+            ListaEsperaVersionada deAUno = new ListaEsperaVersionada();
+            List<Alumno> previos = new ArrayList<>();
+            for (int i = 0; i < yaEsperando; i++) {
+                Alumno a = alumno("P" + i, 1 + i % 4, (i % 7) + 3.0);
+                previos.add(a);
+                enLote.offer(a);
+                deAUno.offer(a);
+            }
+            List<Alumno> lote = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                lote.add(alumno("L" + i, 1 + i % 3, (i % 5) + 4.0));
+            }
+            lote.add(lote.get(3)); // Repetido dentro del lote
+            if (!previos.isEmpty()) lote.add(previos.get(0)); // Ya estaba esperando
+
+            assertEquals(20, enLote.offerTodos(lote));
+            for (Alumno a : lote) deAUno.offer(a);
+
+            assertEquals(deAUno.toList(), enLote.toList());
+            assertEquals(yaEsperando + 20, enLote.size());
+        }
+    }
+
+    // --- Lugar y Páginas ---
+
+    // Operaciones al azar (entrar, salir el primero, renunciar, cambiar de promedio) y después de cada
+    // una: el lugar de todos y varias páginas tienen que coincidir con el modelo (una lista ordenada
+    // con las mismas reglas, llevando a mano la llegada de cada uno).
+    @Test
+    void lugarYPaginasCoincidenConUnaListaOrdenada() {
+        Random azar = new Random(7);
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        Map<Alumno, Long> llegadas = new HashMap<>(); // El modelo: quién espera y desde cuándo
+        long reloj = 0;
+        List<Alumno> todos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            todos.add(alumno("M" + i, 1 + azar.nextInt(3), 5 + azar.nextInt(4) * 0.5)); // Muchos empates
+        }
+
+        for (int paso = 0; paso < 600; paso++) {
+            Alumno a = todos.get(azar.nextInt(todos.size()));
+            int operacion = azar.nextInt(10);
+            if (operacion < 5) {
+                fila.offer(a);
+                llegadas.putIfAbsent(a, reloj++);
+            } else if (operacion < 6) {
+                Alumno primero = fila.poll(); // Que era el primero lo revisa el lugar del paso anterior
+                if (primero == null) assertTrue(llegadas.isEmpty());
+                else assertTrue(llegadas.remove(primero) != null);
+            } else if (operacion < 8) {
+                assertEquals(llegadas.remove(a) != null, fila.remove(a));
+            } else {
+                a.setPromedio(5 + azar.nextInt(4) * 0.5);
+                assertEquals(llegadas.containsKey(a), fila.update(a));
+            }
+
+            List<Alumno> esperado = new ArrayList<>(llegadas.keySet());
+            esperado.sort(Comparator.comparingDouble(Alumno::getPromedio).reversed()
+                    .thenComparing(Comparator.comparingInt(Alumno::getSemestre).reversed())
+                    .thenComparing(llegadas::get));
+
+            assertEquals(esperado.size(), fila.size());
+            for (Alumno alumno : todos) {
+                assertEquals(esperado.indexOf(alumno) + 1, fila.posicionDe(alumno), "lugar de " + alumno.getIdAlumno());
+            }
+            for (int inicio : new int[] {0, 1, esperado.size() / 2, esperado.size() - 1}) {
+                for (int cantidad : new int[] {1, 7, 500}) {
+                    int desde = Math.max(0, Math.min(inicio, esperado.size()));
+                    int hasta = Math.min(esperado.size(), desde + cantidad);
+                    assertEquals(esperado.subList(desde, hasta), fila.pagina(desde, cantidad));
+                }
+            }
+        }
+    }
+
+    @Test
+    void paginasFueraDeRango() {
+        ListaEsperaVersionada fila = new ListaEsperaVersionada();
+        assertEquals(List.of(), fila.pagina(0, 10)); // Fila vacía
+        Alumno a = alumno("A1", 2, 8.0);
+        Alumno b = alumno("A2", 2, 7.0);
+        fila.offer(a);
+        fila.offer(b);
+        assertEquals(List.of(), fila.pagina(2, 10));  // Justo después del último
+        assertEquals(List.of(), fila.pagina(50, 10)); // Mucho después
+        assertEquals(List.of(), fila.pagina(0, 0));
+        assertEquals(List.of(), fila.pagina(-1, 5));
+        assertEquals(List.of(b), fila.pagina(1, 10));
+    }
+
+    // --- Ayudas ---
+
+    private static Alumno alumno(String id, int semestre, double promedio) {
+        return new Alumno(id, "Alumno " + id, semestre, promedio, Set.of());
+    }
+
+    private static List<Alumno> vaciar(ListaEsperaVersionada fila) {
+        List<Alumno> salieron = new ArrayList<>();
+        for (Alumno a; (a = fila.poll()) != null; ) salieron.add(a);
+        return salieron;
+    }
+}
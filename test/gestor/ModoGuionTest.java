@@ -0,0 +1,93 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Prueba de ModoGuion con un guion chico: lo que queda en el gestor, lo que se imprime, los avisos que
+// llegan al sumidero y que cada línea mal escrita se informe con su número y el guion siga adelante.
+class ModoGuionTest {
+
+    @Test
+    void corridaChicaConErroresPorLinea() throws IOException {
+        String guion = String.join("\n",
+                "# Un comentario no cuenta como comando",                      // 1
+                "curso,C1,\"Cálculo, I\",Docente,2,4,IA;datos,LUN 08:00-10:00", // 2
+                "curso,C2,Física,Docente,5,3",                                 // 3
+                "curso,C3,Química,Docente,dos,3",                              // 4: cupo no numérico
+                "alumno,A1,Ana,3,9.0,IA",                                      // 5
+                "alumno,A2,Beto,2,NaN",                                        // 6: promedio NaN
+                "alumno,A2,Beto,2,7.5",                                        // 7
+                "alumno,A3,Caro,1,8.0",                                        // 8
+                "inscribir,A1,C1",                                             // 9
+                "inscribir,A2,C1",                                             // 10
+                "inscribir,A3,C1",                                             // 11: queda esperando
+                "inscribir,A1",                                                // 12: falta el curso
+                "volar,A1",                                                    // 13: no existe
+                "",                                                            // 14: vacía
+                "cupo,C1,muchos",                                              // 15: no es número
+                "alumno,\"A4,Sin cerrar,1,8.0",                                // 16: comillas sin cerrar
+                "avisos,no",                                                   // 17
+                "inscribir,A1,C2",                                             // 18: sin aviso
+                "avisos,si",                                                   // 19
+                "RETIRAR,A1",                                                  // 20: libera C1 y C2; asciende A3
+                "ver-alumno,A3",                                               // 21
+                "ver-curso,C9");                                               // 22
+
+        GestorUniversidad gestor = new GestorUniversidad(new OpcionesGestor().cargarDatosDemo(false));
+        List<String> avisos = new ArrayList<>();
+        SumideroEventos sumidero = (tipo, alumno, curso) ->
+                avisos.add(tipo + (alumno != null ? " " + alumno.getIdAlumno() : "") + (curso != null ? " " + curso.getIdCurso() : ""));
+        gestor.setSumideroEventos(sumidero);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream salida = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        ModoGuion modo = new ModoGuion(gestor, salida, sumidero);
+
+        try (LectorCsv lector = new LectorCsv(Channels.newChannel(new ByteArrayInputStream(guion.getBytes(StandardCharsets.UTF_8))))) {
+            modo.ejecutar(lector);
+        }
+
+        // El estado que dejó el guion
+        assertEquals("Cálculo, I", gestor.consultarCurso("C1").getNombre());
+        assertNull(gestor.consultarCurso("C3"));
+        assertEquals(7.5, gestor.consultarAlumno("A2").getPromedio());
+        assertEquals(List.of("A2", "A3"), gestor.inscritosDe("C1"));
+        assertEquals(List.of(), gestor.inscritosDe("C2"));
+        assertEquals(List.of(), gestor.consultarAlumno("A1").getCursosInscritos());
+
+        // Lo impreso: un error por línea mala, con su número, el retiro, las consultas y el resumen
+        List<String> lineas = List.of(bytes.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(List.of(
+                "⚠️ Línea 4: cupoMaximo no es un número entero: 'dos'",
+                "⚠️ Línea 6: promedio no es un número: 'NaN'",
+                "⚠️ Línea 12: 'inscribir' espera 2 datos y tiene 1",
+                "⚠️ Línea 13: comando desconocido 'volar'",
+                "⚠️ Línea 15: se esperaba un número (For input string: \"muchos\")",
+                "⚠️ Línea 16: comillas sin cerrar",
+                "Cursos liberados: 2"), lineas.subList(0, 7));
+        assertTrue(lineas.get(7).startsWith("✅ ") && lineas.get(7).contains("A3"), lineas.get(7));
+        assertEquals("❌ Curso no encontrado.", lineas.get(8));
+        assertTrue(lineas.get(9).startsWith("📜 Guion terminado: 19 comandos (6 con error)"), lineas.get(9));
+        assertEquals(10, lineas.size());
+        assertEquals(19, modo.getComandos());
+        assertEquals(6, modo.getErrores());
+
+        // Los avisos: solo de las altas bien escritas, y nada mientras estuvieron apagados (A1 en C2)
+        assertEquals(List.of(
+                "CURSO_REGISTRADO C1", "CURSO_REGISTRADO C2",
+                "ALUMNO_REGISTRADO A1", "ALUMNO_REGISTRADO A2", "ALUMNO_REGISTRADO A3",
+                "INSCRITO A1 C1", "INSCRITO A2 C1", "EN_ESPERA A3 C1",
+                "BAJA A1 C1", "PROMOVIDO_DESDE_ESPERA A3 C1", "BAJA A1 C2"), avisos);
+    }
+}
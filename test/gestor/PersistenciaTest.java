@@ -0,0 +1,263 @@
+package gestor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pruebas de ida y vuelta de la persistencia: lo que se guarda (diario + imagen mapeada) se vuelve
+// a abrir igual, los alumnos de la imagen se arman recién al pedirlos y una imagen dañada no se usa.
+class PersistenciaTest {
+
+    private static final int CURSOS = 8;
+    private static final int ALUMNOS = 120;
+
+    @TempDir
+    Path directorio;
+
+    // --- Ida y Vuelta ---
+
+    // Escribir, compactar, seguir escribiendo, cerrar y reabrir: mismo estado, fila por fila.
+    @Test
+    void reabrirDespuesDeCompactarDejaElMismoEstado() throws Exception {
+        String antes;
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(1), 1500);
+            gestor.compactar();
+            mover(gestor, new Random(2), 1500); // Esto queda solo en el diario nuevo
+            antes = estado(gestor);
+        }
+        assertTrue(archivos().contains("imagen-2.map"));
+
+        try (GestorUniversidad reabierto = new GestorUniversidad(opciones())) {
+            assertEquals(antes, estado(reabierto));
+            mover(reabierto, new Random(3), 500); // Sigue anotando sobre lo recuperado
+            antes = estado(reabierto);
+        }
+        try (GestorUniversidad otraVez = new GestorUniversidad(opciones())) {
+            assertEquals(antes, estado(otraVez));
+        }
+    }
+
+    // Sin cerrar (como una caída): con CADA_COMMIT todo lo confirmado ya está en el diario.
+    @Test
+    void sinCerrarSeRecuperaTodoLoConfirmado() {
+        GestorUniversidad gestor = new GestorUniversidad(opciones());
+        poblar(gestor, new Random(4), 1000);
+        String antes = estado(gestor);
+
+        try (GestorUniversidad reabierto = new GestorUniversidad(opciones())) {
+            assertEquals(antes, estado(reabierto));
+        }
+        gestor.close();
+    }
+
+    // El último diario quedó con la cola a medio escribir: se usa hasta el último registro sano.
+    @Test
+    void colaRotaEnElUltimoDiarioSeDescarta() throws Exception {
+        String antes;
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(8), 600);
+            antes = estado(gestor);
+        }
+        Files.write(directorio.resolve("diario-1.log"), new byte[]{0, 0, 0, 90, 7, 7}, StandardOpenOption.APPEND);
+
+        try (GestorUniversidad reabierto = new GestorUniversidad(opciones())) {
+            assertEquals(antes, estado(reabierto));
+        }
+    }
+
+    // Un diario que NO es el último no puede estar cortado: lo que sigue se aplicaría sobre un hueco.
+    // El arranque falla y el archivo dañado queda como estaba (no se recorta).
+    @Test
+    void diarioIntermedioDanadoFrenaElArranque() throws Exception {
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(9), 400);
+        }
+        try (GestorUniversidad reabierto = new GestorUniversidad(opciones())) {
+            mover(reabierto, new Random(10), 200); // Esto va al diario 2
+        }
+        Path primero = directorio.resolve("diario-1.log");
+        byte[] bytes = Files.readAllBytes(primero);
+        bytes[bytes.length / 2] ^= 0x20;
+        Files.write(primero, bytes);
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> new GestorUniversidad(opciones()));
+        assertInstanceOf(IOException.class, error.getCause());
+        assertEquals(bytes.length, Files.size(primero));
+    }
+
+    // --- Imagen Mapeada y Carga Perezosa ---
+
+    // La imagen pasa su crc y, cargada en una TablaIds perezosa, solo arma al alumno que se pide.
+    @Test
+    void laImagenArmaCadaAlumnoRecienCuandoSePide() throws Exception {
+        double promedio;
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(5), 800);
+            gestor.compactar();
+            promedio = gestor.consultarAlumno("A77").getPromedio();
+        }
+        ImagenRegistro imagen = ImagenRegistro.abrir(directorio.resolve("imagen-2.map"));
+        assertTrue(imagen.verificar());
+        assertEquals(CURSOS, imagen.cantidadCursos());
+        assertEquals(ALUMNOS, imagen.cantidadAlumnos());
+
+        TablaIds<Alumno> alumnos = new TablaIds<>(true);
+        alumnos.cargarPerezoso(new TablaIds.Origen<Alumno>() {
+            public int buscar(String id) { return imagen.buscarAlumno(id); }
+            public String id(int indice) { return imagen.idAlumno(indice); }
+            public Alumno crear(int indice) { return imagen.alumno(indice); }
+        }, imagen.cantidadAlumnos());
+
+        int indice = alumnos.indiceDe("A77");
+        assertTrue(indice >= 0);
+        assertEquals("A77", alumnos.idDe(indice)); // Buscar por ID no arma a nadie
+        for (int i = 0; i < ALUMNOS; i++) assertFalse(alumnos.estaArmado(i));
+
+        Alumno alumno = alumnos.get("A77");
+        assertNotNull(alumno);
+        assertEquals("A77", alumno.getIdAlumno());
+        assertEquals(promedio, alumno.getPromedio());
+        for (int i = 0; i < ALUMNOS; i++) assertEquals(i == indice, alumnos.estaArmado(i));
+        assertEquals(-1, alumnos.indiceDe("NO-EXISTE"));
+    }
+
+    // Una imagen con el índice dañado no se usa: sin los diarios anteriores el arranque falla; con ellos
+    // se reconstruye todo desde el diario y queda igual.
+    @Test
+    void imagenDanadaSeRechazaOSeReconstruyeDesdeElDiario() throws Exception {
+        String antes;
+        byte[] primerDiario;
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(6), 800);
+            primerDiario = Files.readAllBytes(directorio.resolve("diario-1.log"));
+            gestor.compactar(); // imagen-2.map, y se borra diario-1.log
+            mover(gestor, new Random(7), 300);
+            antes = estado(gestor);
+        }
+        Path imagen = directorio.resolve("imagen-2.map");
+        byte[] bytes = Files.readAllBytes(imagen);
+        bytes[40] ^= 0x10; // Dentro de la tabla de cursos
+        Files.write(imagen, bytes);
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> new GestorUniversidad(opciones()));
+        assertInstanceOf(IOException.class, error.getCause());
+
+        Files.write(directorio.resolve("diario-1.log"), primerDiario);
+        try (GestorUniversidad reconstruido = new GestorUniversidad(opciones())) {
+            assertEquals(antes, estado(reconstruido));
+        }
+    }
+
+    // Un alumno dañado no frena el arranque (su crc se revisa recién al armarlo): falla quien lo usa,
+    // y la compactación no lo copia a una imagen nueva, así la anterior y sus diarios siguen en disco.
+    @Test
+    void alumnoDanadoSeDescubreAlUsarloYNoSeCopia() throws Exception {
+        try (GestorUniversidad gestor = new GestorUniversidad(opciones())) {
+            poblar(gestor, new Random(8), 800);
+            gestor.registrarAlumno(new Alumno("Z", "Sin Cursos", 1, 5.0, Set.of())); // Su registro es el último
+            gestor.compactar();
+        }
+        Path imagen = directorio.resolve("imagen-2.map");
+        byte[] bytes = Files.readAllBytes(imagen);
+        bytes[bytes.length - 1] ^= 0x01; // La cantidad de cursos de "Z"
+        Files.write(imagen, bytes);
+
+        try (GestorUniversidad reabierto = new GestorUniversidad(opciones())) {
+            assertNotNull(reabierto.consultarAlumno("A7"));
+            UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> reabierto.consultarAlumno("Z"));
+            assertTrue(error.getMessage().contains("Z"));
+            assertThrows(UncheckedIOException.class, reabierto::compactar);
+        }
+        assertTrue(archivos().contains("imagen-2.map"));
+        assertTrue(archivos().contains("diario-2.log"));
+        assertFalse(archivos().contains("imagen-3.map"));
+    }
+
+    // --- Herramientas ---
+
+    private OpcionesGestor opciones() {
+        return new OpcionesGestor()
+                .cargarDatosDemo(false)
+                .directorioDatos(directorio)
+                .politicaSincronizacion(PoliticaSincronizacion.CADA_COMMIT)
+                .intervaloSnapshotSegundos(0);
+    }
+
+    private static double promedio(int alumno) {
+        return (alumno * 37 % 100) / 10.0;
+    }
+
+    // Cursos con cupo chico (para que haya filas), alumnos y una mezcla de movimientos
+    private static void poblar(GestorUniversidad gestor, Random azar, int movimientos) {
+        for (int c = 0; c < CURSOS; c++) {
+            Horario horario = c % 2 == 0 ? Horario.VACIO : Horario.desdeTexto("LUN 08:00-09:00");
+            gestor.registrarCurso(new Curso("C" + c, "Curso " + c, "Docente", 4, 1 + c % 4, Set.of("x", "t" + c), horario));
+        }
+        for (int a = 0; a < ALUMNOS; a++) {
+            gestor.registrarAlumno(new Alumno("A" + a, "Alumno " + a, 1 + a % 9, promedio(a), Set.of("x")));
+        }
+        mover(gestor, azar, movimientos);
+    }
+
+    private static void mover(GestorUniversidad gestor, Random azar, int movimientos) {
+        for (int i = 0; i < movimientos; i++) {
+            String alumno = "A" + azar.nextInt(ALUMNOS);
+            String curso = "C" + azar.nextInt(CURSOS);
+            int tipo = azar.nextInt(20);
+            if (tipo < 11) gestor.inscribirAlumnoEnCurso(alumno, curso);
+            else if (tipo < 17) gestor.darDeBajaAlumnoDelCurso(alumno, curso);
+            else if (tipo < 18) gestor.actualizarDatosAcademicos(alumno, 1 + azar.nextInt(9), azar.nextInt(100) / 10.0);
+            else if (tipo < 19) gestor.cambiarCupoMaximo(curso, 2 + azar.nextInt(5));
+            else gestor.retirarAlumnoDeTodosLosCursos(alumno);
+        }
+    }
+
+    // Todo lo que se guarda, en texto: cupos y fila (en orden) de cada curso; datos y cursos de cada alumno
+    private static String estado(GestorUniversidad gestor) {
+        StringBuilder texto = new StringBuilder();
+        for (int c = 0; c < CURSOS; c++) {
+            Curso curso = gestor.consultarCurso("C" + c);
+            texto.append(curso.getIdCurso()).append(' ').append(curso.getCupoMaximo()).append('/')
+                    .append(curso.getCuposDisponibles()).append(" horario=").append(curso.getHorario().estaVacio())
+                    .append(" espera=");
+            for (Alumno a : gestor.paginaListaEspera(curso.getIdCurso(), 0, ALUMNOS)) {
+                texto.append(a.getIdAlumno()).append(',');
+            }
+            texto.append('\n');
+        }
+        for (int a = 0; a < ALUMNOS; a++) {
+            Alumno alumno = gestor.consultarAlumno("A" + a);
+            List<String> cursos = new ArrayList<>(alumno.getCursosInscritos());
+            Collections.sort(cursos);
+            texto.append(alumno.getIdAlumno()).append(' ').append(alumno.getSemestre()).append(' ')
+                    .append(alumno.getPromedio()).append(' ').append(alumno.getCreditosInscritos())
+                    .append(' ').append(cursos).append('\n');
+        }
+        return texto.toString();
+    }
+
+    private List<String> archivos() throws IOException {
+        try (Stream<Path> lista = Files.list(directorio)) {
+            return lista.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+}